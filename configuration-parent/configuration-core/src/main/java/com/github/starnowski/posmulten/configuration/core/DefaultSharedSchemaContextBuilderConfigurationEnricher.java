@@ -1,6 +1,8 @@
 package com.github.starnowski.posmulten.configuration.core;
 
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration;
+import com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties;
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
 
 public class DefaultSharedSchemaContextBuilderConfigurationEnricher {
@@ -56,6 +58,11 @@ public class DefaultSharedSchemaContextBuilderConfigurationEnricher {
         {
             builder.setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(contextConfiguration.getCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables());
         }
+        if (contextConfiguration.getTenantFunctionsMetadata() != null)
+        {
+            TenantFunctionsMetadataConfiguration tenantFunctionsMetadata = contextConfiguration.getTenantFunctionsMetadata();
+            builder.setTenantFunctionsMetadataProperties(new DefaultFunctionMetadataProperties(tenantFunctionsMetadata.getLeakproof(), tenantFunctionsMetadata.getCost(), tenantFunctionsMetadata.getSupportFunction()));
+        }
         validTenantValueConstraintConfigurationEnricher.enrich(builder, contextConfiguration.getValidTenantValueConstraint());
         tablesEntriesEnricher.enrich(builder, contextConfiguration.getTables());
         return builder;
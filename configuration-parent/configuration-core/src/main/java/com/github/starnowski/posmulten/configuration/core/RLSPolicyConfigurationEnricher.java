@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.configuration.core;
 
+import com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy;
 import com.github.starnowski.posmulten.configuration.core.model.RLSPolicy;
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry;
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
@@ -11,6 +12,11 @@ public class RLSPolicyConfigurationEnricher implements ITableEntryEnricher {
             RLSPolicy rlsPolicy = tableEntry.getRlsPolicy();
             builder.createRLSPolicyForTable(tableEntry.getName(), rlsPolicy.getPrimaryKeyDefinition() == null ? null : rlsPolicy.getPrimaryKeyDefinition().getPrimaryKeyColumnsNameToTypeMap(), rlsPolicy.getTenantColumn(), rlsPolicy.getName());
 
+            if (rlsPolicy.getCommandPolicies() != null) {
+                for (CommandRLSPolicy commandPolicy : rlsPolicy.getCommandPolicies()) {
+                    builder.createRLSPolicyForTableCommand(tableEntry.getName(), commandPolicy.getCommand(), commandPolicy.getName(), commandPolicy.getUsingExpressionStrategy(), commandPolicy.getWithCheckExpressionStrategy());
+                }
+            }
             if (Boolean.TRUE.equals(rlsPolicy.getCreateTenantColumnForTable())) {
                 builder.createTenantColumnForTable(tableEntry.getName());
             }
@@ -13,7 +13,7 @@ public class TablesEntriesEnricher {
     private final List<ITableEntryEnricher> enrichers;
 
     public TablesEntriesEnricher() {
-        this(Arrays.asList(new RLSPolicyConfigurationEnricher(), new ForeignKeyConfigurationsEnricher()));
+        this(Arrays.asList(new RLSPolicyConfigurationEnricher(), new ForeignKeyConfigurationsEnricher(), new TenantPartitioningConfigurationEnricher()));
     }
 
     public TablesEntriesEnricher(List<ITableEntryEnricher> enrichers) {
@@ -0,0 +1,21 @@
+package com.github.starnowski.posmulten.configuration.core;
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry;
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration;
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+
+public class TenantPartitioningConfigurationEnricher implements ITableEntryEnricher {
+    @Override
+    public DefaultSharedSchemaContextBuilder enrich(DefaultSharedSchemaContextBuilder builder, TableEntry tableEntry) {
+        if (tableEntry != null && tableEntry.getTenantPartitioning() != null) {
+            TenantPartitioningConfiguration partitioning = tableEntry.getTenantPartitioning();
+            if (PartitionStrategyEnum.HASH.equals(partitioning.getStrategy())) {
+                builder.createTenantHashPartitioningForTable(tableEntry.getName(), partitioning.getTemplateTable(), partitioning.getHashPartitionsCount() == null ? 0 : partitioning.getHashPartitionsCount(), partitioning.getHashPartitionNamePrefix());
+            } else {
+                builder.createTenantListPartitioningForTable(tableEntry.getName(), partitioning.getTemplateTable(), partitioning.getTenantPartitions(), partitioning.getDefaultPartitionName());
+            }
+        }
+        return builder;
+    }
+}
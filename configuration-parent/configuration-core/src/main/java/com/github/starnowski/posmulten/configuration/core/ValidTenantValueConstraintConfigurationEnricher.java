@@ -9,6 +9,14 @@ public class ValidTenantValueConstraintConfigurationEnricher {
         if (configuration != null)
         {
             builder.createValidTenantValueConstraint(configuration.getTenantIdentifiersBlacklist(), configuration.getIsTenantValidFunctionName(), configuration.getIsTenantValidConstraintName());
+            if (configuration.getBlacklistStrategy() != null)
+            {
+                builder.setTenantValuesBlacklistStrategy(configuration.getBlacklistStrategy());
+            }
+            if (configuration.getBlacklistTableName() != null)
+            {
+                builder.setTenantValuesBlacklistTableName(configuration.getBlacklistTableName());
+            }
         }
         return builder;
     }
@@ -3,27 +3,103 @@ package com.github.starnowski.posmulten.configuration.core.context;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.zip.GZIPOutputStream;
 
-import static java.nio.file.Files.write;
-import static java.util.stream.Collectors.toList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * Component that saves DDL statements from the {@link ISharedSchemaContext} object.
+ * Statements are written one by one to the buffered output, without copying the list of SQL definitions.
+ */
 public class DDLWriter {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public void saveCreteScripts(String filePath, ISharedSchemaContext sharedSchemaContext) throws IOException {
-        List<String> lines = sharedSchemaContext.getSqlDefinitions().stream().map(SQLDefinition::getCreateScript).collect(toList());
-        write(Paths.get(new File(filePath).toURI()), lines);
+        saveCreteScripts(filePath, sharedSchemaContext, false);
+    }
+
+    /**
+     * Saves DDL statements that create the shared schema strategy to the file.
+     * @param filePath path to the file
+     * @param sharedSchemaContext context object
+     * @param gzip if true then the file content is compressed with the gzip format
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveCreteScripts(String filePath, ISharedSchemaContext sharedSchemaContext, boolean gzip) throws IOException {
+        try (Writer writer = openWriter(filePath, gzip)) {
+            writeCreateScripts(writer, sharedSchemaContext);
+        }
     }
 
     public void saveDropScripts(String filePath, ISharedSchemaContext sharedSchemaContext) throws IOException {
-        //Save DDL statements in reverse order
-        LinkedList<SQLDefinition> stack = new LinkedList<>();
-        sharedSchemaContext.getSqlDefinitions().forEach(stack::push);
-        List<String> lines = stack.stream().map(SQLDefinition::getDropScript).collect(toList());
-        write(Paths.get(new File(filePath).toURI()), lines);
+        saveDropScripts(filePath, sharedSchemaContext, false);
+    }
+
+    /**
+     * Saves DDL statements that drop the shared schema strategy to the file.
+     * @param filePath path to the file
+     * @param sharedSchemaContext context object
+     * @param gzip if true then the file content is compressed with the gzip format
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveDropScripts(String filePath, ISharedSchemaContext sharedSchemaContext, boolean gzip) throws IOException {
+        try (Writer writer = openWriter(filePath, gzip)) {
+            writeDropScripts(writer, sharedSchemaContext);
+        }
+    }
+
+    /**
+     * Writes DDL statements that create the shared schema strategy, each statement in a separate line.
+     * The writer is not closed by the method.
+     * @param writer output
+     * @param sharedSchemaContext context object
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeCreateScripts(Writer writer, ISharedSchemaContext sharedSchemaContext) throws IOException {
+        for (SQLDefinition sqlDefinition : sharedSchemaContext.getSqlDefinitionsView()) {
+            writeLine(writer, sqlDefinition.getCreateScript());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes DDL statements that drop the shared schema strategy, each statement in a separate line.
+     * Statements are written in the reverse order to the order of the SQL definitions.
+     * The writer is not closed by the method.
+     * @param writer output
+     * @param sharedSchemaContext context object
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeDropScripts(Writer writer, ISharedSchemaContext sharedSchemaContext) throws IOException {
+        List<SQLDefinition> sqlDefinitions = sharedSchemaContext.getSqlDefinitionsView();
+        ListIterator<SQLDefinition> iterator = sqlDefinitions.listIterator(sqlDefinitions.size());
+        while (iterator.hasPrevious()) {
+            writeLine(writer, iterator.previous().getDropScript());
+        }
+        writer.flush();
+    }
+
+    private static void writeLine(Writer writer, String line) throws IOException {
+        writer.write(line);
+        writer.write(System.lineSeparator());
+    }
+
+    private static Writer openWriter(String filePath, boolean gzip) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(Paths.get(new File(filePath).toURI()));
+        try {
+            if (gzip) {
+                outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            }
+            return new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8), BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            outputStream.close();
+            throw e;
+        }
     }
 }
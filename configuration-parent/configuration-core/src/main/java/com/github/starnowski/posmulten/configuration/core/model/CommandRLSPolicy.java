@@ -0,0 +1,21 @@
+package com.github.starnowski.posmulten.configuration.core.model;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class CommandRLSPolicy {
+    private PermissionCommandPolicyEnum command;
+    private String name;
+    private RLSPolicyExpressionStrategyEnum usingExpressionStrategy;
+    private RLSPolicyExpressionStrategyEnum withCheckExpressionStrategy;
+}
@@ -6,6 +6,8 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 
+import java.util.List;
+
 @Accessors(chain = true)
 @Getter
 @Setter
@@ -18,4 +20,5 @@ public class RLSPolicy {
     private String validTenantValueConstraintName;
     private Boolean skipAddingOfTenantColumnDefaultValue;
     private PrimaryKeyDefinition primaryKeyDefinition;
+    private List<CommandRLSPolicy> commandPolicies;
 }
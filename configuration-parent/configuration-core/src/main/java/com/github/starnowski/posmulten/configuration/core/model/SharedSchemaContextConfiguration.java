@@ -27,5 +27,6 @@ public class SharedSchemaContextConfiguration {
     private String grantee;
     private Boolean currentTenantIdentifierAsDefaultValueForTenantColumnInAllTables;
     private ValidTenantValueConstraintConfiguration validTenantValueConstraint;
+    private TenantFunctionsMetadataConfiguration tenantFunctionsMetadata;
     private List<TableEntry> tables;
 }
@@ -21,4 +21,5 @@ public class TableEntry {
     private String name;
     private RLSPolicy rlsPolicy;
     private List<ForeignKeyConfiguration> foreignKeys;
+    private TenantPartitioningConfiguration tenantPartitioning;
 }
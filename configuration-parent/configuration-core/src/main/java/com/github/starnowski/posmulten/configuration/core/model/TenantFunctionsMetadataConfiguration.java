@@ -0,0 +1,18 @@
+package com.github.starnowski.posmulten.configuration.core.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class TenantFunctionsMetadataConfiguration {
+    private Boolean leakproof;
+    private Double cost;
+    private String supportFunction;
+}
@@ -0,0 +1,24 @@
+package com.github.starnowski.posmulten.configuration.core.model;
+
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class TenantPartitioningConfiguration {
+    private PartitionStrategyEnum strategy;
+    private String templateTable;
+    private Map<String, String> tenantPartitions;
+    private String defaultPartitionName;
+    private Integer hashPartitionsCount;
+    private String hashPartitionNamePrefix;
+}
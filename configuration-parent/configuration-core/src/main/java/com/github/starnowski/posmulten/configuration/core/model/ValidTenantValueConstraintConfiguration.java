@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.configuration.core.model;
 
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -18,4 +19,6 @@ public class ValidTenantValueConstraintConfiguration {
     private List<String> tenantIdentifiersBlacklist;
     private String isTenantValidFunctionName;
     private String isTenantValidConstraintName;
+    private TenantValuesBlacklistStrategyEnum blacklistStrategy;
+    private String blacklistTableName;
 }
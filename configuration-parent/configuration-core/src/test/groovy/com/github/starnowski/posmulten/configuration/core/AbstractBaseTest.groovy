@@ -18,14 +18,20 @@ abstract class AbstractBaseTest extends Specification {
         0 * builder.setDefaultTenantIdColumn(_)
         0 * builder.setGrantee(_)
         0 * builder.setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(_)
+        0 * builder.setTenantFunctionsMetadataProperties(_)
         0 * builder.registerCustomValidTenantValueConstraintNameForTable(_, _)
         0 * builder.createValidTenantValueConstraint(_, _, _)
+        0 * builder.setTenantValuesBlacklistStrategy(_)
+        0 * builder.setTenantValuesBlacklistTableName(_)
         0 * builder.createRLSPolicyForTable(_, _, _, _)
+        0 * builder.createRLSPolicyForTableCommand(_, _, _, _, _)
         0 * builder.createTenantColumnForTable(_)
         0 * builder.skipAddingOfTenantColumnDefaultValueForTable(_)
         0 * builder.registerCustomValidTenantValueConstraintNameForTable(_, _)
         0 * builder.setNameForFunctionThatChecksIfRecordExistsInTable(_, _)
         0 * builder.createSameTenantConstraintForForeignKey(_, _, _, _)
+        0 * builder.createTenantListPartitioningForTable(_, _, _, _)
+        0 * builder.createTenantHashPartitioningForTable(_, _, _, _)
         builder
     }
 }
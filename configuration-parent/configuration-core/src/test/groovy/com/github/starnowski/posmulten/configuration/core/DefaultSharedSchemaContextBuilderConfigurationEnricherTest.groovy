@@ -2,7 +2,9 @@ package com.github.starnowski.posmulten.configuration.core
 
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties
 import spock.lang.Unroll
 
 import static java.lang.Boolean.FALSE
@@ -102,4 +104,26 @@ class DefaultSharedSchemaContextBuilderConfigurationEnricherTest extends Abstrac
             new ValidTenantValueConstraintConfiguration()   |   []
             new ValidTenantValueConstraintConfiguration()   |   [new TableEntry()]
     }
+
+    @Unroll
+    def "should set builder component with tenant functions metadata properties, leakproof (#leakproof), cost (#cost), support function (#supportFunction)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new SharedSchemaContextConfiguration()
+                    .setTenantFunctionsMetadata(new TenantFunctionsMetadataConfiguration().setLeakproof(leakproof).setCost(cost).setSupportFunction(supportFunction))
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.setTenantFunctionsMetadataProperties(new DefaultFunctionMetadataProperties(leakproof, cost, supportFunction))
+
+        where:
+            leakproof   |   cost    |   supportFunction
+            TRUE        |   null    |   null
+            FALSE       |   10d     |   null
+            null        |   0.5d    |   "tenant_support"
+    }
 }
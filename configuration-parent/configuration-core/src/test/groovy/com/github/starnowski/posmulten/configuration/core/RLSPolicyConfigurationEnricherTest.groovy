@@ -1,11 +1,17 @@
 package com.github.starnowski.posmulten.configuration.core
 
+import com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy
 import com.github.starnowski.posmulten.configuration.core.model.PrimaryKeyDefinition
 import com.github.starnowski.posmulten.configuration.core.model.RLSPolicy
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
 import com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.INSERT
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.SELECT
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.TENANT_HAS_AUTHORITIES_FUNCTION
+
 class RLSPolicyConfigurationEnricherTest extends AbstractBaseTest {
 
     def tested = new RLSPolicyConfigurationEnricher()
@@ -95,6 +101,34 @@ class RLSPolicyConfigurationEnricherTest extends AbstractBaseTest {
             "comments"  |   "row_level_pol" |   "ten_id"        |   MapBuilder.mapBuilder().put("tab_id", "bigint").put("uuid", "UUID").build()
     }
 
+    @Unroll
+    def "should invoke createRLSPolicyForTableCommand method for each command policy for table name '#tableName', rls policy name '#rlsPolicyName'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setRlsPolicy(new RLSPolicy()
+                            .setName(rlsPolicyName)
+                            .setCommandPolicies([
+                                    new CommandRLSPolicy().setCommand(SELECT).setName(rlsPolicyName + "_select").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON),
+                                    new CommandRLSPolicy().setCommand(INSERT).setName(rlsPolicyName + "_insert").setWithCheckExpressionStrategy(TENANT_HAS_AUTHORITIES_FUNCTION)
+                            ]))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createRLSPolicyForTable(tableName, null, null, rlsPolicyName)
+            1 * builder.createRLSPolicyForTableCommand(tableName, SELECT, rlsPolicyName + "_select", INLINED_TENANT_COLUMN_COMPARISON, null)
+            1 * builder.createRLSPolicyForTableCommand(tableName, INSERT, rlsPolicyName + "_insert", null, TENANT_HAS_AUTHORITIES_FUNCTION)
+
+        where:
+            tableName   |   rlsPolicyName
+            "t1"        |   "rls_pol"
+            "comments"  |   "row_level_pol"
+    }
+
     @Unroll
     def "should not invoke any builder's component method when invalid object is passed (#message)"()
     {
@@ -0,0 +1,83 @@
+package com.github.starnowski.posmulten.configuration.core
+
+import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration
+import com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.LIST
+
+class TenantPartitioningConfigurationEnricherTest extends AbstractBaseTest {
+
+    def tested = new TenantPartitioningConfigurationEnricher()
+
+    @Unroll
+    def "should invoke createTenantListPartitioningForTable method for table name '#tableName', template table '#templateTable', tenant partitions '#tenantPartitions' and default partition name '#defaultPartitionName'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setTenantPartitioning(new TenantPartitioningConfiguration()
+                            .setStrategy(strategy)
+                            .setTemplateTable(templateTable)
+                            .setTenantPartitions(tenantPartitions)
+                            .setDefaultPartitionName(defaultPartitionName))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantListPartitioningForTable(tableName, templateTable, tenantPartitions, defaultPartitionName)
+
+        where:
+            tableName   |   strategy    |   templateTable       |   tenantPartitions                                                                    |   defaultPartitionName
+            "users"     |   LIST        |   "users_template"    |   MapBuilder.mapBuilder().put("ten1", "users_ten1").build()                           |   "users_other"
+            "posts"     |   null        |   null                |   MapBuilder.mapBuilder().put("xxx", "posts_xxx").put("yyy", "posts_yyy").build()     |   null
+    }
+
+    @Unroll
+    def "should invoke createTenantHashPartitioningForTable method for table name '#tableName', template table '#templateTable', partitions count #partitionsCount and partition name prefix '#prefix'"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def entry = new TableEntry().setName(tableName)
+                    .setTenantPartitioning(new TenantPartitioningConfiguration()
+                            .setStrategy(HASH)
+                            .setTemplateTable(templateTable)
+                            .setHashPartitionsCount(partitionsCount)
+                            .setHashPartitionNamePrefix(prefix))
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            1 * builder.createTenantHashPartitioningForTable(tableName, templateTable, partitionsCount, prefix)
+
+        where:
+            tableName   |   templateTable       |   partitionsCount |   prefix
+            "users"     |   "users_template"    |   4               |   "users_p"
+            "comments"  |   null                |   16              |   "comments_hash_"
+    }
+
+    @Unroll
+    def "should not invoke any builder's component method when invalid object is passed (#message)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+
+        when:
+            def result = tested.enrich(builder, entry)
+
+        then:
+            result == builder
+            0 * builder._
+
+        where:
+            entry               |   message
+            null                |   "null object"
+            new TableEntry()    |   "table entry without tenant partitioning object"
+    }
+}
@@ -4,6 +4,9 @@ package com.github.starnowski.posmulten.configuration.core
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.INLINED_CONSTRAINT
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE
+
 class ValidTenantValueConstraintConfigurationEnricherTest extends AbstractBaseTest {
 
     def tested = new ValidTenantValueConstraintConfigurationEnricher()
@@ -33,6 +36,33 @@ class ValidTenantValueConstraintConfigurationEnricherTest extends AbstractBaseTe
             null                    |   null                        |   null
     }
 
+    @Unroll
+    def "should set builder component with blacklist strategy (#blacklistStrategy) and blacklist table name (#blacklistTableName)"()
+    {
+        given:
+            def builder = prepareBuilderMockWithZeroExpectationOfMethodsInvocation()
+            def configuration = new ValidTenantValueConstraintConfiguration()
+                    .setTenantIdentifiersBlacklist(["invalid"])
+                    .setBlacklistStrategy(blacklistStrategy)
+                    .setBlacklistTableName(blacklistTableName)
+
+        when:
+            def result = tested.enrich(builder, configuration)
+
+        then:
+            result == builder
+            1 * builder.createValidTenantValueConstraint(["invalid"], null, null)
+            (blacklistStrategy == null ? 0 : 1) * builder.setTenantValuesBlacklistStrategy(blacklistStrategy)
+            (blacklistTableName == null ? 0 : 1) * builder.setTenantValuesBlacklistTableName(blacklistTableName)
+
+        where:
+            blacklistStrategy       |   blacklistTableName
+            LOOKUP_TABLE            |   "invalid_tenants"
+            LOOKUP_TABLE            |   null
+            INLINED_CONSTRAINT      |   null
+            null                    |   null
+    }
+
     def "should not enrich builder when configuration object is null"()
     {
         given:
@@ -44,5 +74,6 @@ class ValidTenantValueConstraintConfigurationEnricherTest extends AbstractBaseTe
         then:
             result == builder
             0 * builder.createValidTenantValueConstraint(_, _, _)
+            0 * builder.setTenantValuesBlacklistStrategy(_)
     }
 }
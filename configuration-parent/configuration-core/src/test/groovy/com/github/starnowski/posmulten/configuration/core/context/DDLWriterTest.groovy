@@ -7,6 +7,8 @@ import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.zip.GZIPInputStream
+
 import static java.util.stream.Collectors.toList
 
 class DDLWriterTest extends Specification {
@@ -28,7 +30,7 @@ class DDLWriterTest extends Specification {
                 mockedDefinition.getDropScript() >> it.getDropScript()
                 mockedDefinition
             }).collect(toList())
-            context.getSqlDefinitions() >> mockedSQLDefinitions
+            context.getSqlDefinitionsView() >> mockedSQLDefinitions
 
         when:
             tested.saveCreteScripts(tmpFile.getAbsolutePath(), context)
@@ -59,7 +61,7 @@ class DDLWriterTest extends Specification {
                 mockedDefinition.getDropScript() >> it.getDropScript()
                 mockedDefinition
             }).collect(toList())
-            context.getSqlDefinitions() >> mockedSQLDefinitions
+            context.getSqlDefinitionsView() >> mockedSQLDefinitions
 
         when:
             tested.saveDropScripts(tmpFile.getAbsolutePath(), context)
@@ -78,6 +80,65 @@ class DDLWriterTest extends Specification {
             [te("grant privilege to object ", "revoke privilege")]                                      ||  ["revoke privilege"]
     }
 
+    def "should save compressed DDL statements that creates shared schema strategy to file"()
+    {
+        given:
+            def tmpFile = tempFolder.newFile("output.sql.gz")
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> [mockedDefinition("create some ...", "drop this record"), mockedDefinition("CREATE RLS_POLICY", "REVOKE Policy")]
+
+        when:
+            tested.saveCreteScripts(tmpFile.getAbsolutePath(), context, true)
+
+        then:
+            returnGzipFileLines(tmpFile) == ["create some ...", "CREATE RLS_POLICY"]
+    }
+
+    def "should save compressed DDL statements that drops shared schema strategy to file"()
+    {
+        given:
+            def tmpFile = tempFolder.newFile("output.sql.gz")
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> [mockedDefinition("create some ...", "drop this record"), mockedDefinition("CREATE RLS_POLICY", "REVOKE Policy")]
+
+        when:
+            tested.saveDropScripts(tmpFile.getAbsolutePath(), context, true)
+
+        then:
+            returnGzipFileLines(tmpFile) == ["REVOKE Policy", "drop this record"]
+    }
+
+    def "should write DDL statements to writer without copying list of SQL definitions"()
+    {
+        given:
+            def context = Mock(ISharedSchemaContext)
+            def createWriter = new StringWriter()
+            def dropWriter = new StringWriter()
+
+        when:
+            tested.writeCreateScripts(createWriter, context)
+            tested.writeDropScripts(dropWriter, context)
+
+        then:
+            2 * context.getSqlDefinitionsView() >> [mockedDefinition("CREATE A", "DROP A"), mockedDefinition("CREATE B", "DROP B"), mockedDefinition("CREATE C", "DROP C")]
+            0 * context.getSqlDefinitions()
+            createWriter.toString().readLines() == ["CREATE A", "CREATE B", "CREATE C"]
+            dropWriter.toString().readLines() == ["DROP C", "DROP B", "DROP A"]
+    }
+
+    SQLDefinition mockedDefinition(String createScript, String dropScript)
+    {
+        def mockedDefinition = Mock(SQLDefinition)
+        mockedDefinition.getCreateScript() >> createScript
+        mockedDefinition.getDropScript() >> dropScript
+        mockedDefinition
+    }
+
+    List<String> returnGzipFileLines(File file)
+    {
+        new GZIPInputStream(new FileInputStream(file)).withReader("UTF-8") { it.readLines() }
+    }
+
     List<String> returnFileLines(File file)
     {
         Scanner scanner = new Scanner(file)
@@ -3,6 +3,9 @@ package com.github.starnowski.posmulten.configuration.core.model
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.INSERT
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.SELECT
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
 import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
 
 class RLSPolicyTest extends Specification {
@@ -23,6 +26,7 @@ class RLSPolicyTest extends Specification {
             new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(true)                                                                                                                           |   new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(true)
             new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(false)                                                                                                                          |   new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(false)
             new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "bigint").put("record_uuid", "UUID").build()))              |   new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "bigint").put("record_uuid", "UUID").build()))
+            new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])                                                                                     |   new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])
 
     }
 
@@ -42,6 +46,7 @@ class RLSPolicyTest extends Specification {
             new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(true)                                                                                                                           |   new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(true)
             new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(false)                                                                                                                          |   new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(false)
             new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "bigint").put("record_uuid", "UUID").build()))              |   new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "bigint").put("record_uuid", "UUID").build()))
+            new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])                                                                                     |   new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])
     }
 
     @Unroll
@@ -59,5 +64,7 @@ class RLSPolicyTest extends Specification {
             new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setNameForFunctionThatChecksIfRecordExistsInTable("is_record_exists")).setValidTenantValueConstraintName("t_valid")  |   new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setNameForFunctionThatChecksIfRecordExistsInTable("is_record_exists")).setValidTenantValueConstraintName("tvalid")
             new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(true)                                                                                                                           |   new RLSPolicy().setSkipAddingOfTenantColumnDefaultValue(false)
             new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "VARCHAR(255)").put("record_uuid", "UUID").build()))        |   new RLSPolicy().setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "bigint").put("record_uuid", "UUID").build()))
+            new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])                                                                                     |   new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(INSERT).setName("sel_pol")])
+            new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol")])                                                                                     |   new RLSPolicy().setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("sel_pol").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON)])
     }
 }
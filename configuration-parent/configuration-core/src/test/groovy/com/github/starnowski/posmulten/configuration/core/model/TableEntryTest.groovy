@@ -17,6 +17,7 @@ class TableEntryTest extends Specification {
             new TableEntry().setName("table1")                                                                  |   new TableEntry().setName("table1")
             new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_test_policy"))                           |   new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_test_policy"))
             new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tab2")))  |   new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tab2")))
+            new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("t")) |   new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("t"))
     }
 
     @Unroll
@@ -31,6 +32,7 @@ class TableEntryTest extends Specification {
             new TableEntry().setName("table1")                                                                  |   new TableEntry().setName("table1")
             new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_test_policy"))                           |   new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_test_policy"))
             new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tab2")))  |   new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tab2")))
+            new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("t")) |   new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("t"))
     }
 
     @Unroll
@@ -44,5 +46,6 @@ class TableEntryTest extends Specification {
             new TableEntry().setName("tableN")                                                                  |   new TableEntry().setName("table1")
             new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_test_policy"))                           |   new TableEntry().setRlsPolicy(new RLSPolicy().setName("rls_tab_policy"))
             new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tab2")))  |   new TableEntry().setForeignKeys(Arrays.asList(new ForeignKeyConfiguration().setTableName("tabX")))
+            new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("t")) |   new TableEntry().setTenantPartitioning(new TenantPartitioningConfiguration().setTemplateTable("x"))
     }
 }
@@ -0,0 +1,25 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers;
+
+import com.github.starnowski.posmulten.configuration.yaml.IConfigurationMapper;
+import com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy;
+
+public class CommandRLSPolicyMapper implements IConfigurationMapper<com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy, CommandRLSPolicy> {
+
+    @Override
+    public CommandRLSPolicy map(com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy input) {
+        return input == null ? null : new CommandRLSPolicy()
+                .setCommand(input.getCommand())
+                .setName(input.getName())
+                .setUsingExpressionStrategy(input.getUsingExpressionStrategy())
+                .setWithCheckExpressionStrategy(input.getWithCheckExpressionStrategy());
+    }
+
+    @Override
+    public com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy unmap(CommandRLSPolicy output) {
+        return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy()
+                .setCommand(output.getCommand())
+                .setName(output.getName())
+                .setUsingExpressionStrategy(output.getUsingExpressionStrategy())
+                .setWithCheckExpressionStrategy(output.getWithCheckExpressionStrategy());
+    }
+}
@@ -4,9 +4,12 @@ import com.github.starnowski.posmulten.configuration.yaml.IConfigurationMapper;
 import com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy;
 import com.github.starnowski.posmulten.configuration.yaml.model.StringWrapperWithNotBlankValue;
 
+import static java.util.stream.Collectors.toList;
+
 public class RLSPolicyMapper implements IConfigurationMapper<com.github.starnowski.posmulten.configuration.core.model.RLSPolicy, RLSPolicy> {
 
     private final PrimaryKeyDefinitionMapper primaryKeyDefinitionMapper = new PrimaryKeyDefinitionMapper();
+    private final CommandRLSPolicyMapper commandRLSPolicyMapper = new CommandRLSPolicyMapper();
 
     @Override
     public RLSPolicy map(com.github.starnowski.posmulten.configuration.core.model.RLSPolicy input) {
@@ -16,7 +19,8 @@ public class RLSPolicyMapper implements IConfigurationMapper<com.github.starnows
                 .setPrimaryKeyDefinition(input.getPrimaryKeyDefinition() == null ? null : primaryKeyDefinitionMapper.map(input.getPrimaryKeyDefinition()))
                 .setSkipAddingOfTenantColumnDefaultValue(input.getSkipAddingOfTenantColumnDefaultValue())
                 .setTenantColumn(input.getTenantColumn() == null ? null : new StringWrapperWithNotBlankValue(input.getTenantColumn()))
-                .setValidTenantValueConstraintName(input.getValidTenantValueConstraintName() == null ? null : new StringWrapperWithNotBlankValue(input.getValidTenantValueConstraintName()));
+                .setValidTenantValueConstraintName(input.getValidTenantValueConstraintName() == null ? null : new StringWrapperWithNotBlankValue(input.getValidTenantValueConstraintName()))
+                .setCommandPolicies(input.getCommandPolicies() == null ? null : input.getCommandPolicies().stream().map(policy -> commandRLSPolicyMapper.map(policy)).collect(toList()));
     }
 
     @Override
@@ -27,6 +31,7 @@ public class RLSPolicyMapper implements IConfigurationMapper<com.github.starnows
                 .setPrimaryKeyDefinition(output.getPrimaryKeyDefinition() == null ? null : primaryKeyDefinitionMapper.unmap(output.getPrimaryKeyDefinition()))
                 .setSkipAddingOfTenantColumnDefaultValue(output.getSkipAddingOfTenantColumnDefaultValue())
                 .setTenantColumn(output.getTenantColumn() == null ? null : output.getTenantColumn().getValue())
-                .setValidTenantValueConstraintName(output.getValidTenantValueConstraintName() == null ? null : output.getValidTenantValueConstraintName().getValue());
+                .setValidTenantValueConstraintName(output.getValidTenantValueConstraintName() == null ? null : output.getValidTenantValueConstraintName().getValue())
+                .setCommandPolicies(output.getCommandPolicies() == null ? null : output.getCommandPolicies().stream().map(policy -> commandRLSPolicyMapper.unmap(policy)).collect(toList()));
     }
 }
@@ -9,16 +9,19 @@ public class TableEntryMapper implements IConfigurationMapper<com.github.starnow
 
     private final RLSPolicyMapper rlsPolicyMapper = new RLSPolicyMapper();
     private final ForeignKeyConfigurationMapper foreignKeyConfigurationMapper = new ForeignKeyConfigurationMapper();
+    private final TenantPartitioningConfigurationMapper tenantPartitioningConfigurationMapper = new TenantPartitioningConfigurationMapper();
 
     @Override
     public TableEntry map(com.github.starnowski.posmulten.configuration.core.model.TableEntry input) {
         return input == null ? null : new TableEntry().setName(input.getName()).setRlsPolicy(rlsPolicyMapper.map(input.getRlsPolicy()))
-                .setForeignKeys(input.getForeignKeys() == null ? null : input.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.map(key)).collect(toList()));
+                .setForeignKeys(input.getForeignKeys() == null ? null : input.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.map(key)).collect(toList()))
+                .setTenantPartitioning(tenantPartitioningConfigurationMapper.map(input.getTenantPartitioning()));
     }
 
     @Override
     public com.github.starnowski.posmulten.configuration.core.model.TableEntry unmap(TableEntry output) {
         return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.TableEntry().setName(output.getName()).setRlsPolicy(rlsPolicyMapper.unmap(output.getRlsPolicy()))
-                .setForeignKeys(output.getForeignKeys() == null ? null : output.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.unmap(key)).collect(toList()));
+                .setForeignKeys(output.getForeignKeys() == null ? null : output.getForeignKeys().stream().map(key -> foreignKeyConfigurationMapper.unmap(key)).collect(toList()))
+                .setTenantPartitioning(tenantPartitioningConfigurationMapper.unmap(output.getTenantPartitioning()));
     }
 }
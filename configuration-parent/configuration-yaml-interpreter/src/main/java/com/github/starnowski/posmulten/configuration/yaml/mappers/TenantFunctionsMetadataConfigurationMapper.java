@@ -0,0 +1,25 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers;
+
+import com.github.starnowski.posmulten.configuration.yaml.IConfigurationMapper;
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantFunctionsMetadataConfiguration;
+
+import static com.github.starnowski.posmulten.configuration.yaml.model.StringWrapperWithNotBlankValue.valueOf;
+
+public class TenantFunctionsMetadataConfigurationMapper implements IConfigurationMapper<com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration, TenantFunctionsMetadataConfiguration> {
+
+    @Override
+    public TenantFunctionsMetadataConfiguration map(com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration input) {
+        return input == null ? null : new TenantFunctionsMetadataConfiguration()
+                .setLeakproof(input.getLeakproof())
+                .setCost(input.getCost())
+                .setSupportFunction(input.getSupportFunction() == null ? null : valueOf(input.getSupportFunction()));
+    }
+
+    @Override
+    public com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration unmap(TenantFunctionsMetadataConfiguration output) {
+        return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration()
+                .setLeakproof(output.getLeakproof())
+                .setCost(output.getCost())
+                .setSupportFunction(output.getSupportFunction() == null ? null : output.getSupportFunction().getValue());
+    }
+}
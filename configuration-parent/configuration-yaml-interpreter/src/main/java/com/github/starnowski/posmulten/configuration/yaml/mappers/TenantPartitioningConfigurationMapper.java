@@ -0,0 +1,29 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers;
+
+import com.github.starnowski.posmulten.configuration.yaml.IConfigurationMapper;
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration;
+
+public class TenantPartitioningConfigurationMapper implements IConfigurationMapper<com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration, TenantPartitioningConfiguration> {
+
+    @Override
+    public TenantPartitioningConfiguration map(com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration input) {
+        return input == null ? null : new TenantPartitioningConfiguration()
+                .setStrategy(input.getStrategy())
+                .setTemplateTable(input.getTemplateTable())
+                .setTenantPartitions(input.getTenantPartitions())
+                .setDefaultPartitionName(input.getDefaultPartitionName())
+                .setHashPartitionsCount(input.getHashPartitionsCount())
+                .setHashPartitionNamePrefix(input.getHashPartitionNamePrefix());
+    }
+
+    @Override
+    public com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration unmap(TenantPartitioningConfiguration output) {
+        return output == null ? null : new com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration()
+                .setStrategy(output.getStrategy())
+                .setTemplateTable(output.getTemplateTable())
+                .setTenantPartitions(output.getTenantPartitions())
+                .setDefaultPartitionName(output.getDefaultPartitionName())
+                .setHashPartitionsCount(output.getHashPartitionsCount())
+                .setHashPartitionNamePrefix(output.getHashPartitionNamePrefix());
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.starnowski.posmulten.configuration.yaml.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommandRLSPolicy {
+    @NotNull
+    @JsonProperty(value = "command", required = true)
+    private PermissionCommandPolicyEnum command;
+    @NotBlank
+    @JsonProperty(value = "name", required = true)
+    private String name;
+    @JsonProperty(value = "using_expression_strategy")
+    private RLSPolicyExpressionStrategyEnum usingExpressionStrategy;
+    @JsonProperty(value = "with_check_expression_strategy")
+    private RLSPolicyExpressionStrategyEnum withCheckExpressionStrategy;
+}
@@ -10,6 +10,7 @@ import lombok.experimental.Accessors;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import java.util.List;
 
 @Accessors(chain = true)
 @Getter
@@ -34,6 +35,8 @@ public class RLSPolicy {
     @Valid
     @JsonProperty(value = "primary_key_definition")
     private PrimaryKeyDefinition primaryKeyDefinition;
+    @JsonProperty(value = "command_policies")
+    private List<@Valid CommandRLSPolicy> commandPolicies;
     public RLSPolicy setTenantColumn(String tenantColumn) {
         this.tenantColumn = new StringWrapperWithNotBlankValue(tenantColumn);
         return this;
@@ -54,6 +54,9 @@ public class SharedSchemaContextConfiguration {
     @Valid
     @JsonProperty(value = "valid_tenant_value_constraint")
     private ValidTenantValueConstraintConfiguration validTenantValueConstraint;
+    @Valid
+    @JsonProperty(value = "tenant_functions_metadata")
+    private TenantFunctionsMetadataConfiguration tenantFunctionsMetadata;
     @JsonProperty(value = "tables")
     private List<@Valid TableEntry> tables;
 
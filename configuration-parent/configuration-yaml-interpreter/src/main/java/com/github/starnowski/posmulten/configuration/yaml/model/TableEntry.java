@@ -31,4 +31,7 @@ public class TableEntry {
     private RLSPolicy rlsPolicy;
     @JsonProperty(value = "foreign_keys")
     private List<@Valid ForeignKeyConfiguration> foreignKeys;
+    @Valid
+    @JsonProperty(value = "tenant_partitioning")
+    private TenantPartitioningConfiguration tenantPartitioning;
 }
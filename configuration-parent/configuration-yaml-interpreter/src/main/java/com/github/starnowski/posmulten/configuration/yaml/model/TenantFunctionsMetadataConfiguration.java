@@ -0,0 +1,40 @@
+package com.github.starnowski.posmulten.configuration.yaml.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TenantFunctionsMetadataConfiguration {
+
+    @JsonProperty(value = "leakproof")
+    private Boolean leakproof;
+    @Positive
+    @JsonProperty(value = "cost")
+    private Double cost;
+    @Valid
+    @JsonProperty(value = "support_function")
+    private StringWrapperWithNotBlankValue supportFunction;
+
+    public TenantFunctionsMetadataConfiguration setSupportFunction(String supportFunction) {
+        this.supportFunction = new StringWrapperWithNotBlankValue(supportFunction);
+        return this;
+    }
+
+    public TenantFunctionsMetadataConfiguration setSupportFunction(StringWrapperWithNotBlankValue supportFunction) {
+        this.supportFunction = supportFunction;
+        return this;
+    }
+}
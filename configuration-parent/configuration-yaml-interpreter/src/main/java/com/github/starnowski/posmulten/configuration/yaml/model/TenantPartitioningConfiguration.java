@@ -0,0 +1,35 @@
+package com.github.starnowski.posmulten.configuration.yaml.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TenantPartitioningConfiguration {
+    @NotNull
+    @JsonProperty(value = "strategy", required = true)
+    private PartitionStrategyEnum strategy;
+    @JsonProperty(value = "template_table")
+    private String templateTable;
+    @JsonProperty(value = "tenant_partitions")
+    private Map<String, String> tenantPartitions;
+    @JsonProperty(value = "default_partition_name")
+    private String defaultPartitionName;
+    @JsonProperty(value = "hash_partitions_count")
+    private Integer hashPartitionsCount;
+    @JsonProperty(value = "hash_partition_name_prefix")
+    private String hashPartitionNamePrefix;
+}
@@ -2,6 +2,7 @@ package com.github.starnowski.posmulten.configuration.yaml.model;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -31,6 +32,11 @@ public class ValidTenantValueConstraintConfiguration {
     @Valid
     @JsonProperty(value = "is_tenant_valid_constraint_name")
     private StringWrapperWithNotBlankValue isTenantValidConstraintName;
+    @JsonProperty(value = "blacklist_strategy")
+    private TenantValuesBlacklistStrategyEnum blacklistStrategy;
+    @Valid
+    @JsonProperty(value = "blacklist_table_name")
+    private StringWrapperWithNotBlankValue blacklistTableName;
     public ValidTenantValueConstraintConfiguration setIsTenantValidFunctionName(String isTenantValidFunctionName) {
         this.isTenantValidFunctionName = new StringWrapperWithNotBlankValue(isTenantValidFunctionName);
         return this;
@@ -50,4 +56,14 @@ public class ValidTenantValueConstraintConfiguration {
         this.isTenantValidConstraintName = isTenantValidConstraintName;
         return this;
     }
+
+    public ValidTenantValueConstraintConfiguration setBlacklistTableName(String blacklistTableName) {
+        this.blacklistTableName = new StringWrapperWithNotBlankValue(blacklistTableName);
+        return this;
+    }
+
+    public ValidTenantValueConstraintConfiguration setBlacklistTableName(StringWrapperWithNotBlankValue blacklistTableName) {
+        this.blacklistTableName = blacklistTableName;
+        return this;
+    }
 }
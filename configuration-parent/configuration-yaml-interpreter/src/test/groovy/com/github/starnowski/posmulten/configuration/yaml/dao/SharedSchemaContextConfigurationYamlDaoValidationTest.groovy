@@ -47,7 +47,7 @@ class SharedSchemaContextConfigurationYamlDaoValidationTest extends AbstractSpec
             ex.getErrorMessages().contains(errorMessage)
 
         where:
-            errorMessage << ["valid_tenant_value_constraint.is_tenant_valid_function_name must not be blank", "valid_tenant_value_constraint.is_tenant_valid_constraint_name must not be blank", "valid_tenant_value_constraint.tenant_identifiers_blacklist must not be null"]
+            errorMessage << ["valid_tenant_value_constraint.is_tenant_valid_function_name must not be blank", "valid_tenant_value_constraint.is_tenant_valid_constraint_name must not be blank", "valid_tenant_value_constraint.tenant_identifiers_blacklist must not be null", "valid_tenant_value_constraint.blacklist_table_name must not be blank", "tenant_functions_metadata.cost must be greater than 0", "tenant_functions_metadata.support_function must not be blank"]
     }
 
     @Unroll
@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.*
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.TENANT_HAS_AUTHORITIES_FUNCTION
+
+class CommandRLSPolicyMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy, com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy, CommandRLSPolicyMapper> {
+
+    @Override
+    protected Class<CommandRLSPolicy> getConfigurationObjectClass() {
+        CommandRLSPolicy.class
+    }
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy> getYamlConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy.class
+    }
+
+    @Override
+    protected CommandRLSPolicyMapper getTestedObject() {
+        new CommandRLSPolicyMapper()
+    }
+
+    @Override
+    protected List<com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy> prepareExpectedMappedObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy(),
+                new com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy().setCommand(SELECT).setName("users_select"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy().setCommand(INSERT).setName("users_insert").setWithCheckExpressionStrategy(TENANT_HAS_AUTHORITIES_FUNCTION),
+                new com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy().setCommand(UPDATE).setName("users_update").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON).setWithCheckExpressionStrategy(TENANT_HAS_AUTHORITIES_FUNCTION)
+        ]
+    }
+
+    @Override
+    protected List<CommandRLSPolicy> prepareExpectedUnmappeddObjectsList() {
+        [
+                new CommandRLSPolicy(),
+                new CommandRLSPolicy().setCommand(SELECT).setName("users_select"),
+                new CommandRLSPolicy().setCommand(INSERT).setName("users_insert").setWithCheckExpressionStrategy(TENANT_HAS_AUTHORITIES_FUNCTION),
+                new CommandRLSPolicy().setCommand(UPDATE).setName("users_update").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON).setWithCheckExpressionStrategy(TENANT_HAS_AUTHORITIES_FUNCTION)
+        ]
+    }
+}
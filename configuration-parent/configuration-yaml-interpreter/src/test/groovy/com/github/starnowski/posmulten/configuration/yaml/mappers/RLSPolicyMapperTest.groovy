@@ -1,8 +1,11 @@
 package com.github.starnowski.posmulten.configuration.yaml.mappers
 
+import com.github.starnowski.posmulten.configuration.core.model.CommandRLSPolicy
 import com.github.starnowski.posmulten.configuration.core.model.PrimaryKeyDefinition
 import com.github.starnowski.posmulten.configuration.core.model.RLSPolicy
 
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.SELECT
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
 import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
 
 class RLSPolicyMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy, com.github.starnowski.posmulten.configuration.core.model.RLSPolicy, RLSPolicyMapper> {
@@ -32,7 +35,8 @@ class RLSPolicyMapperTest extends AbstractConfigurationMapperTest<com.github.sta
                 new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setValidTenantValueConstraintName("constr_1").setCreateTenantColumnForTable(true),
                 new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setValidTenantValueConstraintName("wrong_tenant_const").setPrimaryKeyDefinition(new com.github.starnowski.posmulten.configuration.yaml.model.PrimaryKeyDefinition().setNameForFunctionThatChecksIfRecordExistsInTable("record_is_valid")),
                 new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setTenantColumn("ten_col").setName("posts").setPrimaryKeyDefinition(new com.github.starnowski.posmulten.configuration.yaml.model.PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").build())),
-                new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setName("posts").setPrimaryKeyDefinition(new com.github.starnowski.posmulten.configuration.yaml.model.PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").put("some_uuid", "UUID").build()))
+                new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setName("posts").setPrimaryKeyDefinition(new com.github.starnowski.posmulten.configuration.yaml.model.PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").put("some_uuid", "UUID").build())),
+                new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setName("posts").setCommandPolicies([new com.github.starnowski.posmulten.configuration.yaml.model.CommandRLSPolicy().setCommand(SELECT).setName("posts_select").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON)])
 
         ]
     }
@@ -47,7 +51,8 @@ class RLSPolicyMapperTest extends AbstractConfigurationMapperTest<com.github.sta
                 new RLSPolicy().setValidTenantValueConstraintName("constr_1").setCreateTenantColumnForTable(true),
                 new RLSPolicy().setValidTenantValueConstraintName("wrong_tenant_const").setPrimaryKeyDefinition(new PrimaryKeyDefinition().setNameForFunctionThatChecksIfRecordExistsInTable("record_is_valid")),
                 new RLSPolicy().setTenantColumn("ten_col").setName("posts").setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").build())),
-                new RLSPolicy().setName("posts").setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").put("some_uuid", "UUID").build()))
+                new RLSPolicy().setName("posts").setPrimaryKeyDefinition(new PrimaryKeyDefinition().setPrimaryKeyColumnsNameToTypeMap(mapBuilder().put("id", "int").put("some_uuid", "UUID").build())),
+                new RLSPolicy().setName("posts").setCommandPolicies([new CommandRLSPolicy().setCommand(SELECT).setName("posts_select").setUsingExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON)])
 
         ]
     }
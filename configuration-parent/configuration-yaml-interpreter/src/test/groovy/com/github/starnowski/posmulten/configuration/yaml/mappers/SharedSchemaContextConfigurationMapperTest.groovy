@@ -2,6 +2,7 @@ package com.github.starnowski.posmulten.configuration.yaml.mappers
 
 import com.github.starnowski.posmulten.configuration.core.model.SharedSchemaContextConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
+import com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration
 
 import static java.util.Arrays.asList
@@ -38,6 +39,7 @@ class SharedSchemaContextConfigurationMapperTest extends AbstractConfigurationMa
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setForceRowLevelSecurityForTableOwner(true),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setForceRowLevelSecurityForTableOwner(false).setValidTenantValueConstraint(new com.github.starnowski.posmulten.configuration.yaml.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("Invalid"))),
                 new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTables(asList(new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("table_1"))),
+                new com.github.starnowski.posmulten.configuration.yaml.model.SharedSchemaContextConfiguration().setTenantFunctionsMetadata(new com.github.starnowski.posmulten.configuration.yaml.model.TenantFunctionsMetadataConfiguration().setLeakproof(true).setCost(1d)),
         ]
     }
 
@@ -57,6 +59,7 @@ class SharedSchemaContextConfigurationMapperTest extends AbstractConfigurationMa
                 new SharedSchemaContextConfiguration().setSetCurrentTenantIdFunctionName("set_cur_tenant").setForceRowLevelSecurityForTableOwner(true),
                 new SharedSchemaContextConfiguration().setForceRowLevelSecurityForTableOwner(false).setValidTenantValueConstraint(new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("Invalid"))),
                 new SharedSchemaContextConfiguration().setTables(asList(new TableEntry().setName("table_1"))),
+                new SharedSchemaContextConfiguration().setTenantFunctionsMetadata(new TenantFunctionsMetadataConfiguration().setLeakproof(true).setCost(1d)),
         ]
     }
 }
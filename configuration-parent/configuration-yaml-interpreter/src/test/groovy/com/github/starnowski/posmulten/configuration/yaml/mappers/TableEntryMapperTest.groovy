@@ -3,7 +3,9 @@ package com.github.starnowski.posmulten.configuration.yaml.mappers
 import com.github.starnowski.posmulten.configuration.core.model.TableEntry
 import com.github.starnowski.posmulten.configuration.core.model.ForeignKeyConfiguration
 import com.github.starnowski.posmulten.configuration.core.model.RLSPolicy
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration
 
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
 import static java.util.Arrays.asList
 
 class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.TableEntry, com.github.starnowski.posmulten.configuration.core.model.TableEntry, TableEntryMapper> {
@@ -32,6 +34,7 @@ class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.st
                 new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users_t").setForeignKeys(asList(new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("tabXXX"))),
                 new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("posts").setRlsPolicy(new com.github.starnowski.posmulten.configuration.yaml.model.RLSPolicy().setName("rls_users_policy"))
                         .setForeignKeys(asList(new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("tabXXX"), new com.github.starnowski.posmulten.configuration.yaml.model.ForeignKeyConfiguration().setTableName("comments"))),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TableEntry().setName("users").setTenantPartitioning(new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration().setStrategy(HASH).setHashPartitionsCount(8)),
         ]
     }
 
@@ -45,6 +48,7 @@ class TableEntryMapperTest extends AbstractConfigurationMapperTest<com.github.st
                 new TableEntry().setName("users_t").setForeignKeys(asList(new ForeignKeyConfiguration().setTableName("tabXXX"))),
                 new TableEntry().setName("posts").setRlsPolicy(new RLSPolicy().setName("rls_users_policy"))
                         .setForeignKeys(asList(new ForeignKeyConfiguration().setTableName("tabXXX"), new ForeignKeyConfiguration().setTableName("comments"))),
+                new TableEntry().setName("users").setTenantPartitioning(new TenantPartitioningConfiguration().setStrategy(HASH).setHashPartitionsCount(8)),
         ]
     }
 }
@@ -0,0 +1,39 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.yaml.model.TenantFunctionsMetadataConfiguration
+
+class TenantFunctionsMetadataConfigurationMapperTest extends AbstractConfigurationMapperTest<TenantFunctionsMetadataConfiguration, com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration, TenantFunctionsMetadataConfigurationMapper> {
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration> getConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration.class
+    }
+
+    @Override
+    protected Class<TenantFunctionsMetadataConfiguration> getYamlConfigurationObjectClass() {
+        TenantFunctionsMetadataConfiguration.class
+    }
+
+    @Override
+    protected TenantFunctionsMetadataConfigurationMapper getTestedObject() {
+        new TenantFunctionsMetadataConfigurationMapper()
+    }
+
+    protected List<TenantFunctionsMetadataConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new TenantFunctionsMetadataConfiguration(),
+                new TenantFunctionsMetadataConfiguration().setLeakproof(true),
+                new TenantFunctionsMetadataConfiguration().setLeakproof(false).setCost(10d),
+                new TenantFunctionsMetadataConfiguration().setLeakproof(true).setCost(0.5d).setSupportFunction("tenant_support")
+        ]
+    }
+
+    protected List<com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration(),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration().setLeakproof(true),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration().setLeakproof(false).setCost(10d),
+                new com.github.starnowski.posmulten.configuration.core.model.TenantFunctionsMetadataConfiguration().setLeakproof(true).setCost(0.5d).setSupportFunction("tenant_support")
+        ]
+    }
+}
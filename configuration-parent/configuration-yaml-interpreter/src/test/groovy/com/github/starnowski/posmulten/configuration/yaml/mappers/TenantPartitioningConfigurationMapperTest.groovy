@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.configuration.yaml.mappers
+
+import com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration
+
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.LIST
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder
+
+class TenantPartitioningConfigurationMapperTest extends AbstractConfigurationMapperTest<com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration, com.github.starnowski.posmulten.configuration.core.model.TenantPartitioningConfiguration, TenantPartitioningConfigurationMapper> {
+
+    @Override
+    protected Class<TenantPartitioningConfiguration> getConfigurationObjectClass() {
+        TenantPartitioningConfiguration.class
+    }
+
+    @Override
+    protected Class<com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration> getYamlConfigurationObjectClass() {
+        com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration.class
+    }
+
+    @Override
+    protected TenantPartitioningConfigurationMapper getTestedObject() {
+        new TenantPartitioningConfigurationMapper()
+    }
+
+    @Override
+    protected List<com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration> prepareExpectedMappedObjectsList() {
+        [
+                new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration(),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration().setStrategy(LIST).setTenantPartitions(mapBuilder().put("ten1", "users_ten1").build()),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration().setStrategy(LIST).setTemplateTable("users_tmp").setDefaultPartitionName("users_other"),
+                new com.github.starnowski.posmulten.configuration.yaml.model.TenantPartitioningConfiguration().setStrategy(HASH).setHashPartitionsCount(4).setHashPartitionNamePrefix("users_p")
+        ]
+    }
+
+    @Override
+    protected List<TenantPartitioningConfiguration> prepareExpectedUnmappeddObjectsList() {
+        [
+                new TenantPartitioningConfiguration(),
+                new TenantPartitioningConfiguration().setStrategy(LIST).setTenantPartitions(mapBuilder().put("ten1", "users_ten1").build()),
+                new TenantPartitioningConfiguration().setStrategy(LIST).setTemplateTable("users_tmp").setDefaultPartitionName("users_other"),
+                new TenantPartitioningConfiguration().setStrategy(HASH).setHashPartitionsCount(4).setHashPartitionNamePrefix("users_p")
+        ]
+    }
+}
@@ -2,6 +2,8 @@ package com.github.starnowski.posmulten.configuration.yaml.mappers
 
 import com.github.starnowski.posmulten.configuration.yaml.model.ValidTenantValueConstraintConfiguration
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.INLINED_CONSTRAINT
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE
 import static java.util.Arrays.asList
 
 class ValidTenantValueConstraintConfigurationMapperTest extends AbstractConfigurationMapperTest<ValidTenantValueConstraintConfiguration, com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration, ValidTenantValueConstraintConfigurationMapper> {
@@ -28,7 +30,12 @@ class ValidTenantValueConstraintConfigurationMapperTest extends AbstractConfigur
                 new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint"),
                 new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint")
                         .setIsTenantValidFunctionName("function_name_is_tenant_valid")
-                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant")),
+                new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistStrategy(LOOKUP_TABLE)
+                        .setBlacklistTableName("invalid_tenants"),
+                new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX"))
+                        .setBlacklistStrategy(INLINED_CONSTRAINT)
         ]
     }
 
@@ -39,7 +46,12 @@ class ValidTenantValueConstraintConfigurationMapperTest extends AbstractConfigur
                 new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint"),
                 new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_t_v_constraint")
                         .setIsTenantValidFunctionName("function_name_is_tenant_valid")
-                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant")),
+                new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX", "invalid_tenant"))
+                        .setBlacklistStrategy(LOOKUP_TABLE)
+                        .setBlacklistTableName("invalid_tenants"),
+                new com.github.starnowski.posmulten.configuration.core.model.ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(asList("XXX"))
+                        .setBlacklistStrategy(INLINED_CONSTRAINT)
         ]
     }
 }
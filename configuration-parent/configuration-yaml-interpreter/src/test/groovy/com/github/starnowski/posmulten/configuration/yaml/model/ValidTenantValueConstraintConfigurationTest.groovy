@@ -3,6 +3,9 @@ package com.github.starnowski.posmulten.configuration.yaml.model
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.CONSTANT_ARRAY
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE
+
 class ValidTenantValueConstraintConfigurationTest extends Specification {
 
     @Unroll
@@ -41,5 +44,7 @@ class ValidTenantValueConstraintConfigurationTest extends Specification {
             ob1 |   ob2
             new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_f_v")   |   new ValidTenantValueConstraintConfiguration().setIsTenantValidConstraintName("i_xxx")
             new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(Arrays.asList("invalid_t", "UUID-SOME-13")) |   new ValidTenantValueConstraintConfiguration().setTenantIdentifiersBlacklist(Arrays.asList("invalid_t", "UXID-SOME-13"))
+            new ValidTenantValueConstraintConfiguration().setBlacklistStrategy(LOOKUP_TABLE)   |   new ValidTenantValueConstraintConfiguration().setBlacklistStrategy(CONSTANT_ARRAY)
+            new ValidTenantValueConstraintConfiguration().setBlacklistTableName("invalid_tenants")   |   new ValidTenantValueConstraintConfiguration().setBlacklistTableName("blacklist")
     }
 }
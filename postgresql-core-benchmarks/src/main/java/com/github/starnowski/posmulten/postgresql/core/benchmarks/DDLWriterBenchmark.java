@@ -0,0 +1,61 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.configuration.core.context.DDLWriter;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving of the DDL statements generated for the synthetic schemas into a file by the {@link DDLWriter},
+ * with and without gzip compression (parameter "gzip").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DDLWriterBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int tablesCount;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private final DDLWriter ddlWriter = new DDLWriter();
+    private ISharedSchemaContext context;
+    private File createScriptsFile;
+    private File dropScriptsFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SharedSchemaContextBuilderException, IOException
+    {
+        context = SyntheticSchema.prepareBuilder(tablesCount).build();
+        createScriptsFile = File.createTempFile("posmulten-create-scripts", ".sql");
+        dropScriptsFile = File.createTempFile("posmulten-drop-scripts", ".sql");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        createScriptsFile.delete();
+        dropScriptsFile.delete();
+    }
+
+    @Benchmark
+    public void saveCreteScripts() throws IOException
+    {
+        ddlWriter.saveCreteScripts(createScriptsFile.getAbsolutePath(), context, gzip);
+    }
+
+    @Benchmark
+    public void saveDropScripts() throws IOException
+    {
+        ddlWriter.saveDropScripts(dropScriptsFile.getAbsolutePath(), context, gzip);
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.IIsRecordBelongsToCurrentTenantProducerParameters.pairOfColumnWithType;
+import static java.util.Arrays.asList;
+
+/**
+ * Measures the {@link com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactory#produce(com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters)}
+ * method for factories of functions that are generated by the builder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FunctionFactoryBenchmark {
+
+    private final GetCurrentTenantIdFunctionProducer getCurrentTenantIdFunctionProducer = new GetCurrentTenantIdFunctionProducer();
+    private final SetCurrentTenantIdFunctionProducer setCurrentTenantIdFunctionProducer = new SetCurrentTenantIdFunctionProducer();
+    private final EqualsCurrentTenantIdentifierFunctionProducer equalsCurrentTenantIdentifierFunctionProducer = new EqualsCurrentTenantIdentifierFunctionProducer();
+    private final TenantHasAuthoritiesFunctionProducer tenantHasAuthoritiesFunctionProducer = new TenantHasAuthoritiesFunctionProducer();
+    private final IsRecordBelongsToCurrentTenantProducer isRecordBelongsToCurrentTenantProducer = new IsRecordBelongsToCurrentTenantProducer();
+
+    private GetCurrentTenantIdFunctionProducerParameters getCurrentTenantIdFunctionProducerParameters;
+    private SetCurrentTenantIdFunctionProducerParameters setCurrentTenantIdFunctionProducerParameters;
+    private EqualsCurrentTenantIdentifierFunctionProducerParameters equalsCurrentTenantIdentifierFunctionProducerParameters;
+    private TenantHasAuthoritiesFunctionProducerParameters tenantHasAuthoritiesFunctionProducerParameters;
+    private IIsRecordBelongsToCurrentTenantProducerParameters isRecordBelongsToCurrentTenantProducerParameters;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        getCurrentTenantIdFunctionProducerParameters = new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant_id", "posmulten.tenant_id", SyntheticSchema.SCHEMA, "VARCHAR(255)");
+        GetCurrentTenantIdFunctionDefinition getCurrentTenantIdFunctionDefinition = getCurrentTenantIdFunctionProducer.produce(getCurrentTenantIdFunctionProducerParameters);
+        setCurrentTenantIdFunctionProducerParameters = new SetCurrentTenantIdFunctionProducerParameters("set_current_tenant_id", "posmulten.tenant_id", SyntheticSchema.SCHEMA, "VARCHAR(255)");
+        equalsCurrentTenantIdentifierFunctionProducerParameters = new EqualsCurrentTenantIdentifierFunctionProducerParameters("equals_current_tenant_identifier", SyntheticSchema.SCHEMA, "VARCHAR(255)", getCurrentTenantIdFunctionDefinition);
+        EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunctionDefinition = equalsCurrentTenantIdentifierFunctionProducer.produce(equalsCurrentTenantIdentifierFunctionProducerParameters);
+        tenantHasAuthoritiesFunctionProducerParameters = new TenantHasAuthoritiesFunctionProducerParameters("tenant_has_authorities", SyntheticSchema.SCHEMA, equalsCurrentTenantIdentifierFunctionDefinition);
+        isRecordBelongsToCurrentTenantProducerParameters = new IsRecordBelongsToCurrentTenantProducerParameters.Builder()
+                .withSchema(SyntheticSchema.SCHEMA)
+                .withFunctionName("is_tab_0_exists")
+                .withRecordTableName(SyntheticSchema.tableName(0))
+                .withRecordSchemaName(SyntheticSchema.SCHEMA)
+                .withiGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionDefinition)
+                .withTenantColumn("tenant_id")
+                .withKeyColumnsPairsList(asList(pairOfColumnWithType("id", "bigint"), pairOfColumnWithType("uuid", "UUID")))
+                .build();
+    }
+
+    @Benchmark
+    public GetCurrentTenantIdFunctionDefinition getCurrentTenantIdFunction()
+    {
+        return getCurrentTenantIdFunctionProducer.produce(getCurrentTenantIdFunctionProducerParameters);
+    }
+
+    @Benchmark
+    public SetCurrentTenantIdFunctionDefinition setCurrentTenantIdFunction()
+    {
+        return setCurrentTenantIdFunctionProducer.produce(setCurrentTenantIdFunctionProducerParameters);
+    }
+
+    @Benchmark
+    public EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunction()
+    {
+        return equalsCurrentTenantIdentifierFunctionProducer.produce(equalsCurrentTenantIdentifierFunctionProducerParameters);
+    }
+
+    @Benchmark
+    public TenantHasAuthoritiesFunctionDefinition tenantHasAuthoritiesFunction()
+    {
+        return tenantHasAuthoritiesFunctionProducer.produce(tenantHasAuthoritiesFunctionProducerParameters);
+    }
+
+    @Benchmark
+    public IsRecordBelongsToCurrentTenantFunctionDefinition isRecordBelongsToCurrentTenantFunction()
+    {
+        return isRecordBelongsToCurrentTenantProducer.produce(isRecordBelongsToCurrentTenantProducerParameters);
+    }
+}
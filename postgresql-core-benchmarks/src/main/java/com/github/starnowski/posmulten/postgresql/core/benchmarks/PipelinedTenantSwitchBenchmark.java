@@ -0,0 +1,105 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.jdbc.PipelinedCurrentTenantConnectionFactory;
+import com.github.starnowski.posmulten.postgresql.jdbc.SharedSchemaContextApplier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of the request that sets the current tenant in the separate round trip before the application query
+ * with the request that sends the function that sets the current tenant together with the application query
+ * ({@link PipelinedCurrentTenantConnectionFactory}).
+ * Each operation switches the tenant and executes the query that returns the current tenant identifier.
+ * The benchmark requires the running Postgres database (parameters "jdbcUrl", "user" and "password"),
+ * the "SampleTime" mode reports the latency percentiles (p0.50, p0.99).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelinedTenantSwitchBenchmark {
+
+    @Param({"jdbc:postgresql://localhost:5432/postgresql_core"})
+    public String jdbcUrl;
+
+    @Param({"postgresql-core-superuser"})
+    public String user;
+
+    @Param({"superuser123"})
+    public String password;
+
+    private final SharedSchemaContextApplier applier = new SharedSchemaContextApplier();
+    private ISharedSchemaContext context;
+    private Connection connection;
+    private PipelinedCurrentTenantConnectionFactory pipelinedCurrentTenantConnectionFactory;
+    private String setCurrentTenantStatement;
+    private String query;
+    private long operationsCount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SharedSchemaContextBuilderException, SQLException
+    {
+        context = new DefaultSharedSchemaContextBuilder(null).build();
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        applier.applyCreateScripts(connection, context);
+        pipelinedCurrentTenantConnectionFactory = new PipelinedCurrentTenantConnectionFactory(context.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory());
+        setCurrentTenantStatement = context.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().returnPreparedStatementThatSetCurrentTenant();
+        query = "SELECT " + context.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException
+    {
+        try {
+            applier.applyDropScripts(connection, context);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public void separateTenantSwitch(Blackhole blackhole) throws SQLException
+    {
+        try (PreparedStatement setTenantStatement = connection.prepareStatement(setCurrentTenantStatement)) {
+            setTenantStatement.setString(1, nextTenant());
+            setTenantStatement.execute();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void pipelinedTenantSwitch(Blackhole blackhole) throws SQLException
+    {
+        Connection wrapped = pipelinedCurrentTenantConnectionFactory.wrap(connection, nextTenant());
+        try (PreparedStatement statement = wrapped.prepareStatement(query)) {
+            consume(statement, blackhole);
+        }
+    }
+
+    private String nextTenant()
+    {
+        return (operationsCount++ % 2 == 0) ? "tenant1" : "tenant2";
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException
+    {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            blackhole.consume(resultSet.getString(1));
+        }
+    }
+}
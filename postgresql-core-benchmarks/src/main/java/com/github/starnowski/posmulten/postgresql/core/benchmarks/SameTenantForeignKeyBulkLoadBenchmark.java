@@ -0,0 +1,114 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.jdbc.SharedSchemaContextApplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Measures the time of the single statement that inserts many rows (parameter "rowsCount") into the table with the
+ * foreign key that has to refer to the record that belongs to the same tenant, for each strategy of checking it
+ * (parameter "strategy", {@link SameTenantConstraintForForeignKeyStrategyEnum}).
+ * The check constraint invokes the function for each inserted row, the statement-level trigger checks all rows with
+ * the single anti-join.
+ * The benchmark requires the running Postgres database (parameters "jdbcUrl", "user" and "password").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SameTenantForeignKeyBulkLoadBenchmark {
+
+    private static final String USERS_TABLE_NAME = "bulk_benchmark_users";
+    private static final String POSTS_TABLE_NAME = "bulk_benchmark_posts";
+    private static final String TENANT = "tenant1";
+    private static final int USERS_COUNT = 1000;
+
+    @Param({"jdbc:postgresql://localhost:5432/postgresql_core"})
+    public String jdbcUrl;
+
+    @Param({"postgresql-core-superuser"})
+    public String user;
+
+    @Param({"superuser123"})
+    public String password;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rowsCount;
+
+    @Param({"CHECK_CONSTRAINT_WITH_FUNCTION", "STATEMENT_LEVEL_TRIGGER"})
+    public SameTenantConstraintForForeignKeyStrategyEnum strategy;
+
+    private final SharedSchemaContextApplier applier = new SharedSchemaContextApplier();
+    private ISharedSchemaContext context;
+    private Connection connection;
+    private PreparedStatement bulkInsertStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SharedSchemaContextBuilderException, SQLException
+    {
+        context = new DefaultSharedSchemaContextBuilder(null)
+                .setGrantee(user)
+                .setSameTenantConstraintForForeignKeyStrategy(strategy)
+                .createRLSPolicyForTable(USERS_TABLE_NAME, singletonMap("id", "bigint"), "tenant_id", "bulk_benchmark_users_rls_policy")
+                .createRLSPolicyForTable(POSTS_TABLE_NAME, singletonMap("id", "bigint"), "tenant_id", "bulk_benchmark_posts_rls_policy")
+                .createSameTenantConstraintForForeignKey(POSTS_TABLE_NAME, USERS_TABLE_NAME, singletonMap("user_id", "id"), "bulk_benchmark_posts_users_fk")
+                .setNameForFunctionThatChecksIfRecordExistsInTable(USERS_TABLE_NAME, "is_bulk_benchmark_user_belongs_to_current_tenant")
+                .build();
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + USERS_TABLE_NAME + " (id bigint PRIMARY KEY, tenant_id VARCHAR(255))");
+            statement.execute("CREATE TABLE " + POSTS_TABLE_NAME + " (id bigint PRIMARY KEY, user_id bigint, tenant_id VARCHAR(255))");
+        }
+        applier.applyCreateScripts(connection, context);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO " + USERS_TABLE_NAME + " (id, tenant_id) SELECT n, '" + TENANT + "' FROM generate_series(1, " + USERS_COUNT + ") n");
+            statement.execute("ANALYZE " + USERS_TABLE_NAME);
+            statement.execute(context.getISetCurrentTenantIdFunctionInvocationFactory().generateStatementThatSetTenant(TENANT));
+        }
+        bulkInsertStatement = connection.prepareStatement("INSERT INTO " + POSTS_TABLE_NAME + " (id, user_id, tenant_id) SELECT n, 1 + n % " + USERS_COUNT + ", '" + TENANT + "' FROM generate_series(1, ?) n");
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException
+    {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + POSTS_TABLE_NAME);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException
+    {
+        try {
+            bulkInsertStatement.close();
+            applier.applyDropScripts(connection, context);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + POSTS_TABLE_NAME);
+                statement.execute("DROP TABLE IF EXISTS " + USERS_TABLE_NAME);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int bulkInsert() throws SQLException
+    {
+        bulkInsertStatement.setInt(1, rowsCount);
+        return bulkInsertStatement.executeUpdate();
+    }
+}
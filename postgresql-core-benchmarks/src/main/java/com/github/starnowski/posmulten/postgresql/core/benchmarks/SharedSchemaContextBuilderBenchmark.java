@@ -0,0 +1,41 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultSharedSchemaContextBuilder#build()} for the synthetic schemas with a different number of tables
+ * and a different number of threads used by enrichers (see {@link DefaultSharedSchemaContextBuilder#setEnrichersParallelism(int)}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SharedSchemaContextBuilderBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int tablesCount;
+
+    @Param({"1", "4"})
+    public int enrichersParallelism;
+
+    private DefaultSharedSchemaContextBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        builder = SyntheticSchema.prepareBuilder(tablesCount).setEnrichersParallelism(enrichersParallelism);
+    }
+
+    @Benchmark
+    public ISharedSchemaContext build() throws SharedSchemaContextBuilderException
+    {
+        return builder.build();
+    }
+}
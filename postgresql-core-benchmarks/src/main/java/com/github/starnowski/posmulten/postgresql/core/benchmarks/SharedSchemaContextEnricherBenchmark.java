@@ -0,0 +1,86 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.enrichers.ISharedSchemaContextEnricher;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link ISharedSchemaContextEnricher} from the default enrichers list of the {@link DefaultSharedSchemaContextBuilder}.
+ * Some enrichers use components registered in the context by previous enrichers. That is why the enrichers that are
+ * before the measured enricher are executed during the trial setup, and the measured enricher gets a fresh context
+ * with those components (without SQL definitions) for each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SharedSchemaContextEnricherBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int tablesCount;
+
+    @Param({"GetCurrentTenantIdFunctionDefinitionEnricher",
+            "SetCurrentTenantIdFunctionDefinitionEnricher",
+            "TenantHasAuthoritiesFunctionDefinitionEnricher",
+            "IsTenantValidFunctionInvocationFactoryEnricher",
+            "TenantPartitioningSQLDefinitionsEnricher",
+            "TenantColumnSQLDefinitionsEnricher",
+            "TenantIndexSQLDefinitionsEnricher",
+            "TableRLSSettingsSQLDefinitionsEnricher",
+            "TableRLSPolicyEnricher",
+            "IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher",
+            "IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher",
+            "IsTenantIdentifierValidConstraintEnricher",
+            "DefaultValueForTenantColumnEnricher"})
+    public String enricherName;
+
+    private ISharedSchemaContextEnricher enricher;
+    private SharedSchemaContextRequest request;
+    private ISharedSchemaContext preparedContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SharedSchemaContextBuilderException
+    {
+        DefaultSharedSchemaContextBuilder builder = SyntheticSchema.prepareBuilder(tablesCount);
+        request = builder.getSharedSchemaContextRequestCopy();
+        preparedContext = new SharedSchemaContext();
+        List<ISharedSchemaContextEnricher> enrichers = builder.getEnrichersCopy();
+        for (ISharedSchemaContextEnricher e : enrichers)
+        {
+            if (e.getClass().getSimpleName().equals(enricherName))
+            {
+                enricher = e;
+                return;
+            }
+            preparedContext = e.enrich(preparedContext, builder.getSharedSchemaContextRequestCopy());
+        }
+        throw new IllegalArgumentException("There is no enricher with name " + enricherName);
+    }
+
+    @Benchmark
+    public ISharedSchemaContext enrich() throws SharedSchemaContextBuilderException
+    {
+        return enricher.enrich(copyComponents(preparedContext), request);
+    }
+
+    private static ISharedSchemaContext copyComponents(ISharedSchemaContext source)
+    {
+        ISharedSchemaContext result = new SharedSchemaContext();
+        result.setIGetCurrentTenantIdFunctionInvocationFactory(source.getIGetCurrentTenantIdFunctionInvocationFactory());
+        result.setISetCurrentTenantIdFunctionInvocationFactory(source.getISetCurrentTenantIdFunctionInvocationFactory());
+        result.setISetCurrentTenantIdFunctionPreparedStatementInvocationFactory(source.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory());
+        result.setTenantHasAuthoritiesFunctionInvocationFactory(source.getTenantHasAuthoritiesFunctionInvocationFactory());
+        result.setIIsTenantValidFunctionInvocationFactory(source.getIIsTenantValidFunctionInvocationFactory());
+        result.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().putAll(source.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap());
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.enrichers.ISharedSchemaContextEnricher;
+import com.github.starnowski.posmulten.postgresql.core.context.validators.ISharedSchemaContextRequestValidator;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares passing the request copy to each validator and enricher with passing the single read-only view of the request
+ * ({@link ImmutableSharedSchemaContextRequest}) which is done by {@link DefaultSharedSchemaContextBuilder#build()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SharedSchemaContextRequestSnapshotBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int tablesCount;
+
+    private DefaultSharedSchemaContextBuilder builder;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        builder = SyntheticSchema.prepareBuilder(tablesCount);
+    }
+
+    @Benchmark
+    public ISharedSchemaContext requestCopyPerComponent() throws SharedSchemaContextBuilderException
+    {
+        ISharedSchemaContext context = new SharedSchemaContext();
+        for (ISharedSchemaContextRequestValidator validator : builder.getValidatorsCopy())
+        {
+            validator.validate(builder.getSharedSchemaContextRequestCopy());
+        }
+        for (ISharedSchemaContextEnricher enricher : builder.getEnrichersCopy())
+        {
+            context = enricher.enrich(context, builder.getSharedSchemaContextRequestCopy());
+        }
+        return context;
+    }
+
+    @Benchmark
+    public ISharedSchemaContext singleReadOnlyRequest() throws SharedSchemaContextBuilderException
+    {
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Factory of builders for synthetic schemas used by benchmarks.
+ * Each table has the single column primary key, the RLS policy, the tenant column and the default value for the tenant column.
+ * Each table, except the first one, has a foreign key to the previous table that is checked by the same tenant constraint.
+ */
+public class SyntheticSchema {
+
+    public static final String SCHEMA = "public";
+    public static final String GRANTEE = "benchmark_user";
+
+    private static final Map<String, String> PRIMARY_KEY = singletonMap("id", "bigint");
+
+    private SyntheticSchema() {
+    }
+
+    public static DefaultSharedSchemaContextBuilder prepareBuilder(int tablesCount)
+    {
+        DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(SCHEMA)
+                .setGrantee(GRANTEE)
+                .setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(true)
+                .createValidTenantValueConstraint(asList("invalid_tenant", "some_invalid_tenant"), "is_tenant_valid", "tenant_should_be_valid");
+        for (int i = 0; i < tablesCount; i++)
+        {
+            String table = tableName(i);
+            builder.createRLSPolicyForTable(table, PRIMARY_KEY, null, table + "_rls_policy")
+                    .createTenantColumnForTable(table)
+                    .setNameForFunctionThatChecksIfRecordExistsInTable(table, "is_" + table + "_exists");
+            if (i > 0)
+            {
+                builder.createSameTenantConstraintForForeignKey(table, tableName(i - 1), Collections.singletonMap("parent_id", "id"), table + "_parent_fk_cu");
+            }
+        }
+        return builder;
+    }
+
+    public static String tableName(int index)
+    {
+        return "tab_" + index;
+    }
+}
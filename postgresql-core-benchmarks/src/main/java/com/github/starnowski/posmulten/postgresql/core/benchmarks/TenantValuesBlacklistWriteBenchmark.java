@@ -0,0 +1,108 @@
+package com.github.starnowski.posmulten.postgresql.core.benchmarks;
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.jdbc.SharedSchemaContextApplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Measures the throughput of inserts into the table with the constraint that checks if the tenant identifier is not one of
+ * the invalid tenant identifiers, for the growing number of invalid identifiers (parameter "blacklistSize") and each
+ * strategy of checking them (parameter "strategy", {@link TenantValuesBlacklistStrategyEnum}).
+ * The benchmark requires the running Postgres database (parameters "jdbcUrl", "user" and "password").
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TenantValuesBlacklistWriteBenchmark {
+
+    private static final String TABLE_NAME = "blacklist_benchmark_records";
+
+    @Param({"jdbc:postgresql://localhost:5432/postgresql_core"})
+    public String jdbcUrl;
+
+    @Param({"postgresql-core-superuser"})
+    public String user;
+
+    @Param({"superuser123"})
+    public String password;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int blacklistSize;
+
+    @Param({"CONSTANT_COMPARISONS", "CONSTANT_ARRAY", "LOOKUP_TABLE", "INLINED_CONSTRAINT"})
+    public TenantValuesBlacklistStrategyEnum strategy;
+
+    private final SharedSchemaContextApplier applier = new SharedSchemaContextApplier();
+    private ISharedSchemaContext context;
+    private Connection connection;
+    private PreparedStatement insertStatement;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SharedSchemaContextBuilderException, SQLException
+    {
+        List<String> blacklist = new ArrayList<>(blacklistSize);
+        for (int i = 0; i < blacklistSize; i++) {
+            blacklist.add("invalid_tenant_" + i);
+        }
+        context = new DefaultSharedSchemaContextBuilder(null)
+                .setGrantee(user)
+                .createRLSPolicyForTable(TABLE_NAME, singletonMap("id", "bigint"), "tenant_id", "blacklist_benchmark_records_rls_policy")
+                .createValidTenantValueConstraint(blacklist, "is_benchmark_tenant_valid", "blacklist_benchmark_tenant_valid")
+                .setTenantValuesBlacklistStrategy(strategy)
+                .build();
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + " (id bigint PRIMARY KEY, tenant_id VARCHAR(255))");
+        }
+        applier.applyCreateScripts(connection, context);
+        insertStatement = connection.prepareStatement("INSERT INTO " + TABLE_NAME + " (id, tenant_id) VALUES (?, ?)");
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException
+    {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + TABLE_NAME);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException
+    {
+        try {
+            insertStatement.close();
+            applier.applyDropScripts(connection, context);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE_NAME);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int insert() throws SQLException
+    {
+        insertStatement.setLong(1, id++);
+        insertStatement.setString(2, "tenant1");
+        return insertStatement.executeUpdate();
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.constraint;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.VALID_CURRENT_TENANT_ID_PROPERTY_NAME;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.selectAndReturnFirstRecordAsBoolean;
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test checks that the constraints created with the "NOT VALID" option (see {@link DefaultSharedSchemaContextBuilder#setAddConstraintsAsNotValid(boolean)})
+ * can be added to tables that already contain rows which do not satisfy them, that they are checked for new rows,
+ * and that the statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method validate them
+ * only when all existing rows are correct.
+ */
+public class NotValidConstraintsValidationTest extends DefaultTestNGTest {
+
+    private static final String USERS_TABLE = "not_valid_users";
+    private static final String POSTS_TABLE = "not_valid_posts";
+    private static final String INVALID_TENANT = "INVALID_TENANT";
+    private static final String TENANT_VALID_CONSTRAINT_NAME = "not_valid_tenant_valid";
+    private static final String POSTS_USERS_CONSTRAINT_NAME = "not_valid_posts_users_fk_con";
+
+    private List<String> validateConstraintStatements = new ArrayList<>();
+
+    @Test(testName = "create SQL definitions", description = "Create tables with rows that have invalid tenant identifier and constraints with NOT VALID option")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, tenant_id VARCHAR(255)); CREATE TABLE %2$s (id bigint PRIMARY KEY, user_id bigint, tenant_id VARCHAR(255));", USERS_TABLE, POSTS_TABLE), format("DROP TABLE IF EXISTS %1$s; DROP TABLE IF EXISTS %2$s;", POSTS_TABLE, USERS_TABLE)));
+        sqlDefinitions.add(new DefaultSQLDefinition(format("INSERT INTO %1$s (id, tenant_id) VALUES (1, 'tenant1'), (2, '%2$s');", USERS_TABLE, INVALID_TENANT), format("DELETE FROM %1$s;", USERS_TABLE)));
+        ISharedSchemaContext sharedSchemaContext = new DefaultSharedSchemaContextBuilder(null)
+                .setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME)
+                .setGrantee(CORE_OWNER_USER)
+                .setAddConstraintsAsNotValid(true)
+                .createRLSPolicyForTable(USERS_TABLE, mapBuilder().put("id", "bigint").build(), "tenant_id", "not_valid_users_rls_policy")
+                .createRLSPolicyForTable(POSTS_TABLE, mapBuilder().put("id", "bigint").build(), "tenant_id", "not_valid_posts_rls_policy")
+                .createSameTenantConstraintForForeignKey(POSTS_TABLE, USERS_TABLE, mapBuilder().put("user_id", "id").build(), POSTS_USERS_CONSTRAINT_NAME)
+                .createValidTenantValueConstraint(singletonList(INVALID_TENANT), "is_not_valid_test_tenant_valid", TENANT_VALID_CONSTRAINT_NAME)
+                .build();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        validateConstraintStatements.addAll(sharedSchemaContext.getValidateConstraintStatements());
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions", description = "constraints with NOT VALID option should be added even if existing rows do not satisfy them")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, testName = "constraints should not be validated", description = "check if constraints added with NOT VALID option are not marked as validated")
+    public void constraintsShouldNotBeValidated()
+    {
+        assertThat(validateConstraintStatements).hasSize(3);
+        assertThat(isConstraintValidated(TENANT_VALID_CONSTRAINT_NAME, USERS_TABLE)).isFalse();
+        assertThat(isConstraintValidated(TENANT_VALID_CONSTRAINT_NAME, POSTS_TABLE)).isFalse();
+        assertThat(isConstraintValidated(POSTS_USERS_CONSTRAINT_NAME, POSTS_TABLE)).isFalse();
+    }
+
+    @Test(dependsOnMethods = {"constraintsShouldNotBeValidated"}, testName = "constraint should be checked for new rows", description = "constraint added with NOT VALID option should not allow to insert row that does not satisfy it")
+    public void constraintShouldBeCheckedForNewRows()
+    {
+        assertThatThrownBy(() ->
+                jdbcTemplate.execute(format("INSERT INTO %1$s (id, tenant_id) VALUES (3, '%2$s');", USERS_TABLE, INVALID_TENANT))
+        ).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test(dependsOnMethods = {"constraintShouldBeCheckedForNewRows"}, testName = "validation should fail for invalid rows", description = "statement that validates constraint should fail when existing rows do not satisfy the constraint")
+    public void validationShouldFailForInvalidRows()
+    {
+        assertThatThrownBy(() -> validateConstraintStatements.forEach(jdbcTemplate::execute))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(isConstraintValidated(TENANT_VALID_CONSTRAINT_NAME, USERS_TABLE)).isFalse();
+    }
+
+    @Test(dependsOnMethods = {"validationShouldFailForInvalidRows"}, testName = "validate constraints", description = "statements that validate constraints should pass after removing invalid rows")
+    public void validateConstraints()
+    {
+        jdbcTemplate.execute(format("DELETE FROM %1$s WHERE tenant_id = '%2$s';", USERS_TABLE, INVALID_TENANT));
+        validateConstraintStatements.forEach(jdbcTemplate::execute);
+        assertThat(isConstraintValidated(TENANT_VALID_CONSTRAINT_NAME, USERS_TABLE)).isTrue();
+        assertThat(isConstraintValidated(TENANT_VALID_CONSTRAINT_NAME, POSTS_TABLE)).isTrue();
+        assertThat(isConstraintValidated(POSTS_USERS_CONSTRAINT_NAME, POSTS_TABLE)).isTrue();
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"constraintsShouldNotBeValidated", "constraintShouldBeCheckedForNewRows", "validationShouldFailForInvalidRows", "validateConstraints"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+
+    private Boolean isConstraintValidated(String constraintName, String table)
+    {
+        return selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT convalidated FROM pg_constraint WHERE conname = '%1$s' AND conrelid = '%2$s'::regclass;", constraintName, table));
+    }
+}
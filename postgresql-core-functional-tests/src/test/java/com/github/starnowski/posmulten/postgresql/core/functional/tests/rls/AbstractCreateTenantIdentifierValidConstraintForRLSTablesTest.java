@@ -2,6 +2,7 @@ package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
 
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
 import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
 import com.github.starnowski.posmulten.postgresql.core.functional.tests.pojos.Group;
@@ -49,6 +50,11 @@ public abstract class AbstractCreateTenantIdentifierValidConstraintForRLSTablesT
 
     abstract protected String getSchema();
 
+    protected TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy()
+    {
+        return TenantValuesBlacklistStrategyEnum.CONSTANT_COMPARISONS;
+    }
+
     protected ISetCurrentTenantIdFunctionInvocationFactory setCurrentTenantIdFunctionInvocationFactory;
 
     @Autowired
@@ -126,6 +132,7 @@ public abstract class AbstractCreateTenantIdentifierValidConstraintForRLSTablesT
                 .createSameTenantConstraintForForeignKey(NOTIFICATIONS_TABLE_NAME, USERS_TABLE_NAME, mapBuilder().put("user_id", "id").build(), "notification_users_tenant_fk")
                 .setNameForFunctionThatChecksIfRecordExistsInTable(USERS_TABLE_NAME, "is_user_belongs_to_current_tenant")
                 .createValidTenantValueConstraint(asList(FIRST_INVALID_TENANT_IDENTIFIER, SECOND_INVALID_TENANT_IDENTIFIER), "is_tenant_id_valid", DEFAULT_CONSTRAINT_NAME)
+                .setTenantValuesBlacklistStrategy(getTenantValuesBlacklistStrategy())
                 .registerCustomValidTenantValueConstraintNameForTable(POSTS_TABLE_NAME, POSTS_TABLE_CONSTRAINT_NAME)
                 .setCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables(true)
                 .skipAddingOfTenantColumnDefaultValueForTable(GROUPS_TABLE_NAME)
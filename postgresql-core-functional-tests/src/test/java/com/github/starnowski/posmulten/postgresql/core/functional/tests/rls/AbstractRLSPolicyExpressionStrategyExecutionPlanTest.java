@@ -0,0 +1,181 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionInvocationFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON;
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.TENANT_HAS_AUTHORITIES_FUNCTION;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.*;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test compares execution plans of the same select statement for two tables with the same records whose row level security policies
+ * were created with different expression strategies (see {@link RLSPolicyExpressionStrategyEnum}).
+ * The tables are analysed and contain records of many tenants, so the index for the tenant column is selective enough to be chosen
+ * by the planner with its default settings.
+ * For the {@link RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON} strategy the policy expression is always used as the index condition.
+ * For the {@link RLSPolicyExpressionStrategyEnum#TENANT_HAS_AUTHORITIES_FUNCTION} strategy the result depends on whether the planner inlines
+ * the SQL functions. When the function invocation remains in the plan then it is evaluated as the filter of the sequential scan,
+ * otherwise the inlined expression is used as the index condition, the same way as for the flat expression.
+ */
+public abstract class AbstractRLSPolicyExpressionStrategyExecutionPlanTest extends DefaultTestNGTest {
+
+    protected static final String TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME = "function_strategy_records";
+    protected static final String TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_INDEX_NAME = "function_strategy_records_tenant_idx";
+    protected static final String INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME = "inlined_strategy_records";
+    protected static final String INLINED_TENANT_COLUMN_COMPARISON_TABLE_INDEX_NAME = "inlined_strategy_records_tenant_idx";
+    protected static final String TENANT_HAS_AUTHORITIES_FUNCTION_NAME = "tenant_has_authorities";
+    protected static final String USER_TENANT = "tenant7";
+    protected static final int NUMBER_OF_TENANTS = 50;
+    protected static final int NUMBER_OF_RECORDS_FOR_EACH_TENANT = 200;
+
+    abstract protected String getSchema();
+
+    protected boolean isCurrentTenantIdAsSubquery()
+    {
+        return false;
+    }
+
+    protected ISetCurrentTenantIdFunctionInvocationFactory setCurrentTenantIdFunctionInvocationFactory;
+
+    @Autowired
+    @Qualifier("ownerJdbcTemplate")
+    protected JdbcTemplate ownerJdbcTemplate;
+
+    @DataProvider(name = "tables")
+    protected static Object[][] tables()
+    {
+        return new Object[][]{{TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME}, {INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME}};
+    }
+
+    protected String getTableReference(String table)
+    {
+        return (getSchema() == null ? "" : getSchema() + ".") + table;
+    }
+
+    @Test(testName = "create SQL definitions", description = "Create two tables with row level security policies based on different expression strategies and indexes for tenant column")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        addTableDefinitions(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME);
+        DefaultSharedSchemaContextBuilder defaultSharedSchemaContextBuilder = prepareBuilder(TENANT_HAS_AUTHORITIES_FUNCTION);
+        defaultSharedSchemaContextBuilder.setTenantHasAuthoritiesFunctionName(TENANT_HAS_AUTHORITIES_FUNCTION_NAME);
+        defaultSharedSchemaContextBuilder.createRLSPolicyForTable(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME, mapBuilder().put("id", "bigint").build(), "tenant_id", "function_strategy_records_rls_policy");
+        ISharedSchemaContext sharedSchemaContext = defaultSharedSchemaContextBuilder.build();
+        setCurrentTenantIdFunctionInvocationFactory = sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        addIndexDefinition(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME, TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_INDEX_NAME);
+
+        addTableDefinitions(INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME);
+        DefaultSharedSchemaContextBuilder inlinedBuilder = prepareBuilder(INLINED_TENANT_COLUMN_COMPARISON);
+        inlinedBuilder.setGetCurrentTenantIdFunctionName("inl_get_current_tenant_id");
+        inlinedBuilder.setSetCurrentTenantIdFunctionName("inl_set_current_tenant_id");
+        inlinedBuilder.setEqualsCurrentTenantIdentifierFunctionName("inl_is_id_equals_current_tenant_id");
+        inlinedBuilder.setTenantHasAuthoritiesFunctionName("inl_has_authorities");
+        inlinedBuilder.setCurrentTenantIdAsSubquery(isCurrentTenantIdAsSubquery());
+        inlinedBuilder.createRLSPolicyForTable(INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME, mapBuilder().put("id", "bigint").build(), "tenant_id", "inlined_strategy_records_rls_policy");
+        sqlDefinitions.addAll(inlinedBuilder.build().getSqlDefinitions());
+        addIndexDefinition(INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME, INLINED_TENANT_COLUMN_COMPARISON_TABLE_INDEX_NAME);
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, dataProvider = "tables", testName = "insert records for many tenants", description = "insert the same records that belongs to many tenants into the table and analyse the table")
+    public void insertRecords(String table)
+    {
+        jdbcTemplate.execute(format("INSERT INTO %1$s (id, name, tenant_id) SELECT g, 'record' || g, 'tenant' || ((g - 1) / %2$d) FROM generate_series(1, %3$d) g;", getTableReference(table), NUMBER_OF_RECORDS_FOR_EACH_TENANT, NUMBER_OF_TENANTS * NUMBER_OF_RECORDS_FOR_EACH_TENANT));
+        jdbcTemplate.execute(format("ANALYZE %1$s;", getTableReference(table)));
+        assertThat(countRowsInTable(getTableReference(table))).isEqualTo(NUMBER_OF_TENANTS * NUMBER_OF_RECORDS_FOR_EACH_TENANT);
+    }
+
+    @Test(dependsOnMethods = {"insertRecords"}, dataProvider = "tables", testName = "select statement should return only records that belongs to current tenant", description = "test case assumes that row level security policy returns only records that belongs to current tenant, no matter what expression strategy was used")
+    public void selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant(String table)
+    {
+        Long numberOfRecordsForCurrentTenant = selectAndReturnFirstRecordAsLongWithSettingCurrentTenantId(ownerJdbcTemplate, format("SELECT COUNT(0) FROM %1$s;", getTableReference(table)), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(USER_TENANT));
+        assertThat(numberOfRecordsForCurrentTenant).isEqualTo(NUMBER_OF_RECORDS_FOR_EACH_TENANT);
+    }
+
+    @Test(dependsOnMethods = {"selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant"}, testName = "compare execution plans for select statement", description = "test case compares the execution plans of the select statement for tables with row level security policies based on different expression strategies, without changing the planner settings")
+    public void compareExecutionPlans()
+    {
+        String tenantHasAuthoritiesFunctionExecutionPlan = selectAndReturnExecutionPlanWithSettingCurrentTenantId(ownerJdbcTemplate, format("SELECT * FROM %1$s;", getTableReference(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME)), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(USER_TENANT));
+        String inlinedTenantColumnComparisonExecutionPlan = selectAndReturnExecutionPlanWithSettingCurrentTenantId(ownerJdbcTemplate, format("SELECT * FROM %1$s;", getTableReference(INLINED_TENANT_COLUMN_COMPARISON_TABLE_NAME)), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(USER_TENANT));
+
+        assertInlinedTenantColumnComparisonExecutionPlan(inlinedTenantColumnComparisonExecutionPlan);
+        assertTenantHasAuthoritiesFunctionExecutionPlan(tenantHasAuthoritiesFunctionExecutionPlan);
+    }
+
+    protected void assertInlinedTenantColumnComparisonExecutionPlan(String executionPlan)
+    {
+        assertThat(executionPlan).contains(INLINED_TENANT_COLUMN_COMPARISON_TABLE_INDEX_NAME);
+        assertThat(executionPlan).contains("Index Cond: ((tenant_id)::text = ");
+        assertThat(executionPlan).doesNotContain("Seq Scan");
+        assertThat(executionPlan).doesNotContain("has_authorities");
+    }
+
+    protected void assertTenantHasAuthoritiesFunctionExecutionPlan(String executionPlan)
+    {
+        if (executionPlan.contains(TENANT_HAS_AUTHORITIES_FUNCTION_NAME + "(")) {
+            // The planner did not inline the function, so it can only be evaluated for each row
+            assertThat(executionPlan).contains("Seq Scan on " + TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_NAME);
+            assertThat(executionPlan).containsPattern("Filter: .*" + TENANT_HAS_AUTHORITIES_FUNCTION_NAME + "\\(tenant_id");
+            assertThat(executionPlan).doesNotContain(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_INDEX_NAME);
+            assertThat(executionPlan).doesNotContain("Index Cond");
+        } else {
+            // The planner inlined the function, so the inlined expression is used as the index condition
+            assertThat(executionPlan).contains(TENANT_HAS_AUTHORITIES_FUNCTION_TABLE_INDEX_NAME);
+            assertThat(executionPlan).contains("Index Cond: ((tenant_id)::text = ");
+            assertThat(executionPlan).doesNotContain("Seq Scan");
+        }
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"insertRecords", "selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant", "compareExecutionPlans"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+
+    private DefaultSharedSchemaContextBuilder prepareBuilder(RLSPolicyExpressionStrategyEnum rlsPolicyExpressionStrategy)
+    {
+        DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(getSchema());
+        builder.setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME);
+        builder.setForceRowLevelSecurityForTableOwner(true);
+        builder.setGrantee(CORE_OWNER_USER);
+        builder.setRLSPolicyExpressionStrategy(rlsPolicyExpressionStrategy);
+        return builder;
+    }
+
+    private void addTableDefinitions(String table)
+    {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, name text, tenant_id VARCHAR(255) NOT NULL); GRANT SELECT, INSERT, UPDATE, DELETE ON %1$s TO \"%2$s\";", getTableReference(table), CORE_OWNER_USER), format("DROP TABLE IF EXISTS %1$s;", getTableReference(table))));
+    }
+
+    private void addIndexDefinition(String table, String index)
+    {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE INDEX %1$s ON %2$s (tenant_id);", index, getTableReference(table)), format("DROP INDEX IF EXISTS %1$s;", getTableReference(index))));
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionInvocationFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.Test;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.*;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test checks that for the tenant column of the type other than character type (specified by the
+ * {@link DefaultSharedSchemaContextBuilder#setCurrentTenantIdPropertyType(String)} method) the row level security policy
+ * compares the column with the current tenant identifier of the same type, so the index for the tenant column is used.
+ */
+public abstract class AbstractTypedTenantIdentifierExecutionPlanTest extends DefaultTestNGTest {
+
+    protected static final String TYPED_TENANT_TABLE_NAME = "typed_tenant_records";
+    protected static final String TYPED_TENANT_INDEX_NAME = "typed_tenant_records_tenant_id_idx";
+    protected static final int NUMBER_OF_RECORDS_FOR_EACH_TENANT = 100;
+
+    protected ISetCurrentTenantIdFunctionInvocationFactory setCurrentTenantIdFunctionInvocationFactory;
+
+    @Autowired
+    @Qualifier("ownerJdbcTemplate")
+    protected JdbcTemplate ownerJdbcTemplate;
+
+    abstract protected String getTenantIdentifierType();
+
+    abstract protected String getTenant();
+
+    abstract protected String getSecondaryTenant();
+
+    protected String getTableReference()
+    {
+        return TYPED_TENANT_TABLE_NAME;
+    }
+
+    @Test(testName = "create SQL definitions", description = "Create table with tenant column of specified type, row level security policy for that table and index for tenant column")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, name text, tenant_id %2$s NOT NULL); GRANT SELECT, INSERT, UPDATE, DELETE ON %1$s TO \"%3$s\";", getTableReference(), getTenantIdentifierType(), CORE_OWNER_USER), format("DROP TABLE IF EXISTS %1$s;", getTableReference())));
+        DefaultSharedSchemaContextBuilder defaultSharedSchemaContextBuilder = new DefaultSharedSchemaContextBuilder(null);
+        defaultSharedSchemaContextBuilder.setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME);
+        defaultSharedSchemaContextBuilder.setCurrentTenantIdPropertyType(getTenantIdentifierType());
+        defaultSharedSchemaContextBuilder.setForceRowLevelSecurityForTableOwner(true);
+        defaultSharedSchemaContextBuilder.setGrantee(CORE_OWNER_USER);
+        defaultSharedSchemaContextBuilder.createRLSPolicyForTable(TYPED_TENANT_TABLE_NAME, mapBuilder().put("id", "bigint").build(), "tenant_id", "typed_tenant_records_rls_policy");
+        ISharedSchemaContext sharedSchemaContext = defaultSharedSchemaContextBuilder.build();
+        setCurrentTenantIdFunctionInvocationFactory = sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE INDEX %1$s ON %2$s (tenant_id);", TYPED_TENANT_INDEX_NAME, getTableReference()), format("DROP INDEX IF EXISTS %1$s;", TYPED_TENANT_INDEX_NAME)));
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, testName = "insert records for two tenants", description = "insert records that belongs to two different tenants")
+    public void insertRecords()
+    {
+        long id = 1;
+        for (String tenant : new String[]{getTenant(), getSecondaryTenant()}) {
+            for (int i = 0; i < NUMBER_OF_RECORDS_FOR_EACH_TENANT; i++, id++) {
+                jdbcTemplate.execute(format("INSERT INTO %1$s (id, name, tenant_id) VALUES (%2$d, 'record%2$d', '%3$s');", getTableReference(), id, tenant));
+            }
+        }
+        jdbcTemplate.execute(format("ANALYZE %1$s;", getTableReference()));
+        assertThat(countRowsInTable(getTableReference())).isEqualTo(2 * NUMBER_OF_RECORDS_FOR_EACH_TENANT);
+    }
+
+    @Test(dependsOnMethods = {"insertRecords"}, testName = "select statement should return only records that belongs to current tenant", description = "test case assumes that row level security policy returns only records that belongs to current tenant")
+    public void selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant()
+    {
+        Long numberOfRecordsForCurrentTenant = selectAndReturnFirstRecordAsLongWithSettingCurrentTenantId(ownerJdbcTemplate, format("SELECT COUNT(0) FROM %1$s;", getTableReference()), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(getTenant()));
+        assertThat(numberOfRecordsForCurrentTenant).isEqualTo(NUMBER_OF_RECORDS_FOR_EACH_TENANT);
+    }
+
+    @Test(dependsOnMethods = {"selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant"}, testName = "check execution plan for select statement", description = "test case checks that the index for tenant column is used and the column is not casted to the text type")
+    public void checkExecutionPlan()
+    {
+        String executionPlan = selectAndReturnExecutionPlanWithSettingCurrentTenantIdAndDisabledSequentialScan(ownerJdbcTemplate, format("SELECT * FROM %1$s;", getTableReference()), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(getTenant()));
+        assertThat(executionPlan).contains(TYPED_TENANT_INDEX_NAME);
+        assertThat(executionPlan).contains("Index Cond");
+        assertThat(executionPlan).doesNotContain("tenant_id)::text");
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"insertRecords", "selectAllShouldReturnOnlyRecordsThatBelongsToCurrentTenant", "checkExecutionPlan"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+public class BigintTenantIdentifierExecutionPlanTest extends AbstractTypedTenantIdentifierExecutionPlanTest {
+
+    @Override
+    protected String getTenantIdentifierType() {
+        return "bigint";
+    }
+
+    @Override
+    protected String getTenant() {
+        return "9000000001";
+    }
+
+    @Override
+    protected String getSecondaryTenant() {
+        return "9000000002";
+    }
+}
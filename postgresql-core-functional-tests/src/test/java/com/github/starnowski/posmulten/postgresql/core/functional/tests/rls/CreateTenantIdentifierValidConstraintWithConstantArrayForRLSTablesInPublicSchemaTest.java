@@ -0,0 +1,15 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
+
+public class CreateTenantIdentifierValidConstraintWithConstantArrayForRLSTablesInPublicSchemaTest extends AbstractCreateTenantIdentifierValidConstraintForRLSTablesTest {
+    @Override
+    protected String getSchema() {
+        return null;
+    }
+
+    @Override
+    protected TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy() {
+        return TenantValuesBlacklistStrategyEnum.CONSTANT_ARRAY;
+    }
+}
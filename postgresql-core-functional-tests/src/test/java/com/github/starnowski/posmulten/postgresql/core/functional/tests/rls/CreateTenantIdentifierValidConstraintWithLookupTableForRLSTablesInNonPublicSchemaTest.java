@@ -0,0 +1,15 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
+
+public class CreateTenantIdentifierValidConstraintWithLookupTableForRLSTablesInNonPublicSchemaTest extends AbstractCreateTenantIdentifierValidConstraintForRLSTablesTest {
+    @Override
+    protected String getSchema() {
+        return "non_public_schema";
+    }
+
+    @Override
+    protected TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy() {
+        return TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+public class IntegerTenantIdentifierExecutionPlanTest extends AbstractTypedTenantIdentifierExecutionPlanTest {
+
+    @Override
+    protected String getTenantIdentifierType() {
+        return "integer";
+    }
+
+    @Override
+    protected String getTenant() {
+        return "1";
+    }
+
+    @Override
+    protected String getSecondaryTenant() {
+        return "2";
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionInvocationFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.*;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test checks that the functions created with metadata properties specified by the
+ * {@link DefaultSharedSchemaContextBuilder#setTenantFunctionsMetadataProperties(com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties)}
+ * method are marked as leakproof and have the specified cost.
+ * The test compares execution plans of the same user predicate that invokes the function that returns the current tenant identifier
+ * for two tables with row level security policies. For the table that uses leakproof functions the predicate is used as the index condition,
+ * and for the table that uses functions without the LEAKPROOF attribute the predicate can not be evaluated before the policy expression,
+ * so it is not used as the index condition.
+ */
+public class LeakproofTenantFunctionsExecutionPlanTest extends DefaultTestNGTest {
+
+    private static final String LEAKPROOF_TABLE_NAME = "leakproof_records";
+    private static final String NAME_INDEX_NAME = "leakproof_records_name_idx";
+    private static final String NON_LEAKPROOF_TABLE_NAME = "non_leakproof_records";
+    private static final String NON_LEAKPROOF_NAME_INDEX_NAME = "non_leakproof_records_name_idx";
+    private static final String NON_LEAKPROOF_GET_CURRENT_TENANT_ID_FUNCTION_NAME = "nl_get_current_tenant_id";
+    private static final int NUMBER_OF_RECORDS_FOR_EACH_TENANT = 100;
+
+    private ISetCurrentTenantIdFunctionInvocationFactory setCurrentTenantIdFunctionInvocationFactory;
+
+    @Autowired
+    @Qualifier("ownerJdbcTemplate")
+    private JdbcTemplate ownerJdbcTemplate;
+
+    @DataProvider(name = "functionNames")
+    protected static Object[][] functionNames()
+    {
+        return new Object[][]{{"get_current_tenant_id"}, {"is_id_equals_current_tenant_id"}, {"tenant_has_authorities"}};
+    }
+
+    @DataProvider(name = "nonLeakproofFunctionNames")
+    protected static Object[][] nonLeakproofFunctionNames()
+    {
+        return new Object[][]{{NON_LEAKPROOF_GET_CURRENT_TENANT_ID_FUNCTION_NAME}, {"nl_is_id_equals_current_tenant_id"}, {"nl_tenant_has_authorities"}};
+    }
+
+    @DataProvider(name = "tablesAndFunctions")
+    protected static Object[][] tablesAndFunctions()
+    {
+        return new Object[][]{{LEAKPROOF_TABLE_NAME, "get_current_tenant_id"}, {NON_LEAKPROOF_TABLE_NAME, NON_LEAKPROOF_GET_CURRENT_TENANT_ID_FUNCTION_NAME}};
+    }
+
+    @Test(testName = "create SQL definitions", description = "Create tables, row level security policies for those tables, leakproof and non-leakproof functions and indexes for name column")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, name text, tenant_id VARCHAR(255) NOT NULL); GRANT SELECT, INSERT, UPDATE, DELETE ON %1$s TO \"%2$s\";", LEAKPROOF_TABLE_NAME, CORE_OWNER_USER), format("DROP TABLE IF EXISTS %1$s;", LEAKPROOF_TABLE_NAME)));
+        DefaultSharedSchemaContextBuilder defaultSharedSchemaContextBuilder = new DefaultSharedSchemaContextBuilder(null);
+        defaultSharedSchemaContextBuilder.setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME);
+        defaultSharedSchemaContextBuilder.setForceRowLevelSecurityForTableOwner(true);
+        defaultSharedSchemaContextBuilder.setGrantee(CORE_OWNER_USER);
+        defaultSharedSchemaContextBuilder.setTenantFunctionsMetadataProperties(new DefaultFunctionMetadataProperties(true, 1d, null));
+        defaultSharedSchemaContextBuilder.createRLSPolicyForTable(LEAKPROOF_TABLE_NAME, mapBuilder().put("id", "bigint").build(), "tenant_id", "leakproof_records_rls_policy");
+        ISharedSchemaContext sharedSchemaContext = defaultSharedSchemaContextBuilder.build();
+        setCurrentTenantIdFunctionInvocationFactory = sharedSchemaContext.getISetCurrentTenantIdFunctionInvocationFactory();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE INDEX %1$s ON %2$s (name);", NAME_INDEX_NAME, LEAKPROOF_TABLE_NAME), format("DROP INDEX IF EXISTS %1$s;", NAME_INDEX_NAME)));
+
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, name text, tenant_id VARCHAR(255) NOT NULL); GRANT SELECT, INSERT, UPDATE, DELETE ON %1$s TO \"%2$s\";", NON_LEAKPROOF_TABLE_NAME, CORE_OWNER_USER), format("DROP TABLE IF EXISTS %1$s;", NON_LEAKPROOF_TABLE_NAME)));
+        DefaultSharedSchemaContextBuilder nonLeakproofBuilder = new DefaultSharedSchemaContextBuilder(null);
+        nonLeakproofBuilder.setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME);
+        nonLeakproofBuilder.setForceRowLevelSecurityForTableOwner(true);
+        nonLeakproofBuilder.setGrantee(CORE_OWNER_USER);
+        nonLeakproofBuilder.setGetCurrentTenantIdFunctionName(NON_LEAKPROOF_GET_CURRENT_TENANT_ID_FUNCTION_NAME);
+        nonLeakproofBuilder.setSetCurrentTenantIdFunctionName("nl_set_current_tenant_id");
+        nonLeakproofBuilder.setEqualsCurrentTenantIdentifierFunctionName("nl_is_id_equals_current_tenant_id");
+        nonLeakproofBuilder.setTenantHasAuthoritiesFunctionName("nl_tenant_has_authorities");
+        nonLeakproofBuilder.setTenantFunctionsMetadataProperties(new DefaultFunctionMetadataProperties(null, 1d, null));
+        nonLeakproofBuilder.createRLSPolicyForTable(NON_LEAKPROOF_TABLE_NAME, mapBuilder().put("id", "bigint").build(), "tenant_id", "non_leakproof_records_rls_policy");
+        sqlDefinitions.addAll(nonLeakproofBuilder.build().getSqlDefinitions());
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE INDEX %1$s ON %2$s (name);", NON_LEAKPROOF_NAME_INDEX_NAME, NON_LEAKPROOF_TABLE_NAME), format("DROP INDEX IF EXISTS %1$s;", NON_LEAKPROOF_NAME_INDEX_NAME)));
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, dataProvider = "functionNames", testName = "function should be leakproof and have specified cost")
+    public void functionShouldBeLeakproofAndHaveSpecifiedCost(String functionName)
+    {
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT proleakproof FROM pg_proc WHERE proname = '%1$s';", functionName))).isTrue();
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT procost = 1 FROM pg_proc WHERE proname = '%1$s';", functionName))).isTrue();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, dataProvider = "nonLeakproofFunctionNames", testName = "function should not be leakproof")
+    public void functionShouldNotBeLeakproof(String functionName)
+    {
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT proleakproof FROM pg_proc WHERE proname = '%1$s';", functionName))).isFalse();
+    }
+
+    @Test(dependsOnMethods = {"functionShouldBeLeakproofAndHaveSpecifiedCost", "functionShouldNotBeLeakproof"}, testName = "insert records for two tenants", description = "insert records that belongs to two different tenants, for each tenant there is one record which name is equal to the identifier of the first tenant")
+    public void insertRecords()
+    {
+        for (String table : new String[]{LEAKPROOF_TABLE_NAME, NON_LEAKPROOF_TABLE_NAME}) {
+            long id = 1;
+            for (String tenant : new String[]{"tenant1", "tenant2"}) {
+                for (int i = 0; i < NUMBER_OF_RECORDS_FOR_EACH_TENANT; i++, id++) {
+                    String name = i == 0 ? "tenant1" : "record" + id;
+                    jdbcTemplate.execute(format("INSERT INTO %1$s (id, name, tenant_id) VALUES (%2$d, '%3$s', '%4$s');", table, id, name, tenant));
+                }
+            }
+            jdbcTemplate.execute(format("ANALYZE %1$s;", table));
+            assertThat(countRowsInTable(table)).isEqualTo(2 * NUMBER_OF_RECORDS_FOR_EACH_TENANT);
+        }
+    }
+
+    @Test(dependsOnMethods = {"insertRecords"}, dataProvider = "tablesAndFunctions", testName = "select statement with predicate that invokes tenant function should return only records that belongs to current tenant", description = "test case assumes that row level security policy is applied regardless of the LEAKPROOF attribute")
+    public void selectWithPredicateThatInvokesTenantFunctionShouldReturnOnlyRecordsThatBelongsToCurrentTenant(String table, String getCurrentTenantIdFunctionName)
+    {
+        Long numberOfRecordsForCurrentTenant = selectAndReturnFirstRecordAsLongWithSettingCurrentTenantId(ownerJdbcTemplate, format("SELECT COUNT(0) FROM %1$s WHERE name = %2$s();", table, getCurrentTenantIdFunctionName), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant("tenant1"));
+        assertThat(numberOfRecordsForCurrentTenant).isEqualTo(1L);
+    }
+
+    @Test(dependsOnMethods = {"selectWithPredicateThatInvokesTenantFunctionShouldReturnOnlyRecordsThatBelongsToCurrentTenant"}, testName = "check execution plans for select statement with user predicate that invokes tenant function", description = "test case checks that only the predicate that invokes the leakproof function is pushed down to the index scan")
+    public void executionPlanShouldDependOnLeakproofAttributeOfTenantFunction()
+    {
+        String leakproofExecutionPlan = selectAndReturnExecutionPlanWithSettingCurrentTenantIdAndDisabledSequentialScan(ownerJdbcTemplate, format("SELECT * FROM %1$s WHERE name = get_current_tenant_id();", LEAKPROOF_TABLE_NAME), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant("tenant1"));
+        String nonLeakproofExecutionPlan = selectAndReturnExecutionPlanWithSettingCurrentTenantIdAndDisabledSequentialScan(ownerJdbcTemplate, format("SELECT * FROM %1$s WHERE name = %2$s();", NON_LEAKPROOF_TABLE_NAME, NON_LEAKPROOF_GET_CURRENT_TENANT_ID_FUNCTION_NAME), setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant("tenant1"));
+
+        assertThat(leakproofExecutionPlan).contains(NAME_INDEX_NAME);
+        assertThat(leakproofExecutionPlan).contains("Index Cond");
+        assertThat(nonLeakproofExecutionPlan).doesNotContain(NON_LEAKPROOF_NAME_INDEX_NAME);
+        assertThat(nonLeakproofExecutionPlan).doesNotContain("Index Cond");
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"functionShouldBeLeakproofAndHaveSpecifiedCost", "functionShouldNotBeLeakproof", "insertRecords", "selectWithPredicateThatInvokesTenantFunctionShouldReturnOnlyRecordsThatBelongsToCurrentTenant", "executionPlanShouldDependOnLeakproofAttributeOfTenantFunction"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+}
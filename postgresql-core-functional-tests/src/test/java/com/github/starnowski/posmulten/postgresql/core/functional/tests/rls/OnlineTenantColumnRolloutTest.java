@@ -0,0 +1,118 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantColumnRolloutStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.VALID_CURRENT_TENANT_ID_PROPERTY_NAME;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.isConstraintExists;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.selectAndReturnFirstRecordAsBoolean;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test checks that the tenant column added with the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy has the specified value
+ * for existing rows, that the column gets the "NOT NULL" option only after applying the statements returned by the
+ * {@link ISharedSchemaContext#getValidateConstraintStatements()} and {@link ISharedSchemaContext#getPostValidateConstraintStatements()} methods,
+ * and that the helper check constraint with the custom name is dropped after that.
+ */
+public class OnlineTenantColumnRolloutTest extends DefaultTestNGTest {
+
+    private static final String TABLE_NAME = "online_rollout_notifications";
+    private static final String TENANT_COLUMN = "tenant_x";
+    private static final String LEGACY_TENANT = "legacy_tenant";
+    private static final String NOT_NULL_CONSTRAINT_NAME = "online_rollout_tenant_nn";
+
+    private List<String> validateConstraintStatements = new ArrayList<>();
+    private List<String> postValidateConstraintStatements = new ArrayList<>();
+
+    @Test(testName = "create SQL definitions", description = "Create table with rows and add tenant column with online rollout strategy")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, name text);", TABLE_NAME), format("DROP TABLE IF EXISTS %1$s;", TABLE_NAME)));
+        sqlDefinitions.add(new DefaultSQLDefinition(format("INSERT INTO %1$s (id, name) VALUES (1, 'first'), (2, 'second');", TABLE_NAME), format("DELETE FROM %1$s;", TABLE_NAME)));
+        ISharedSchemaContext sharedSchemaContext = new DefaultSharedSchemaContextBuilder(null)
+                .setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME)
+                .setGrantee(CORE_OWNER_USER)
+                .setTenantColumnRolloutStrategy(TenantColumnRolloutStrategyEnum.ONLINE)
+                .setTenantColumnValueForExistingRows(LEGACY_TENANT)
+                .createTenantColumnForTable(TABLE_NAME)
+                .registerCustomTenantColumnNotNullConstraintNameForTable(TABLE_NAME, NOT_NULL_CONSTRAINT_NAME)
+                .createRLSPolicyForTable(TABLE_NAME, mapBuilder().put("id", "bigint").build(), TENANT_COLUMN, "online_rollout_notifications_rls_policy")
+                .build();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        validateConstraintStatements.addAll(sharedSchemaContext.getValidateConstraintStatements());
+        postValidateConstraintStatements.addAll(sharedSchemaContext.getPostValidateConstraintStatements());
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions", description = "tenant column should be added to table that already contains rows")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, testName = "existing rows should have tenant identifier", description = "check if existing rows have the value specified for existing rows and column does not have NOT NULL option yet")
+    public void existingRowsShouldHaveTenantIdentifier()
+    {
+        assertThat(validateConstraintStatements).hasSize(1);
+        assertThat(postValidateConstraintStatements).hasSize(2);
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT COUNT(*) = 2 FROM %1$s WHERE %2$s = '%3$s';", TABLE_NAME, TENANT_COLUMN, LEGACY_TENANT))).isTrue();
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT column_default IS NULL FROM information_schema.columns WHERE table_name = '%1$s' AND column_name = '%2$s';", TABLE_NAME, TENANT_COLUMN))).isTrue();
+        assertThat(isColumnNullable()).isTrue();
+        assertThat(isConstraintExists(jdbcTemplate, "public", TABLE_NAME, NOT_NULL_CONSTRAINT_NAME)).isTrue();
+    }
+
+    @Test(dependsOnMethods = {"existingRowsShouldHaveTenantIdentifier"}, testName = "check constraint should not allow null tenant for new rows", description = "check constraint added with NOT VALID option should not allow to insert row without tenant identifier")
+    public void checkConstraintShouldNotAllowNullTenantForNewRows()
+    {
+        assertThatThrownBy(() ->
+                jdbcTemplate.execute(format("INSERT INTO %1$s (id, name, %2$s) VALUES (3, 'third', NULL);", TABLE_NAME, TENANT_COLUMN))
+        ).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test(dependsOnMethods = {"checkConstraintShouldNotAllowNullTenantForNewRows"}, testName = "apply validate statements", description = "statements should only validate the check constraint")
+    public void applyValidateStatements()
+    {
+        validateConstraintStatements.forEach(jdbcTemplate::execute);
+        assertThat(isColumnNullable()).isTrue();
+        assertThat(isConstraintExists(jdbcTemplate, "public", TABLE_NAME, NOT_NULL_CONSTRAINT_NAME)).isTrue();
+    }
+
+    @Test(dependsOnMethods = {"applyValidateStatements"}, testName = "apply post validate statements", description = "statements should set NOT NULL option for the tenant column and drop the check constraint")
+    public void applyPostValidateStatements()
+    {
+        postValidateConstraintStatements.forEach(jdbcTemplate::execute);
+        assertThat(isColumnNullable()).isFalse();
+        assertThat(isConstraintExists(jdbcTemplate, "public", TABLE_NAME, NOT_NULL_CONSTRAINT_NAME)).isFalse();
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"existingRowsShouldHaveTenantIdentifier", "checkConstraintShouldNotAllowNullTenantForNewRows", "applyValidateStatements", "applyPostValidateStatements"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+
+    private Boolean isColumnNullable()
+    {
+        return selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT is_nullable = 'YES' FROM information_schema.columns WHERE table_name = '%1$s' AND column_name = '%2$s';", TABLE_NAME, TENANT_COLUMN));
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+public class RLSPolicyExpressionStrategyExecutionPlanInPublicSchemaTest extends AbstractRLSPolicyExpressionStrategyExecutionPlanTest{
+    @Override
+    protected String getSchema() {
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test checks that the current tenant identifier wrapped in the scalar subquery is computed once for the query (as the "InitPlan")
+ * and that the index for the tenant column is still used.
+ */
+public class RLSPolicyExpressionStrategyWithCurrentTenantIdAsSubqueryExecutionPlanInPublicSchemaTest extends AbstractRLSPolicyExpressionStrategyExecutionPlanTest {
+
+    @Override
+    protected String getSchema() {
+        return null;
+    }
+
+    @Override
+    protected boolean isCurrentTenantIdAsSubquery() {
+        return true;
+    }
+
+    @Override
+    protected void assertInlinedTenantColumnComparisonExecutionPlan(String executionPlan) {
+        super.assertInlinedTenantColumnComparisonExecutionPlan(executionPlan);
+        assertThat(executionPlan).contains("InitPlan");
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatementProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatements;
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantColumnRolloutStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.functional.tests.DefaultTestNGTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static com.github.starnowski.posmulten.postgresql.test.utils.MapBuilder.mapBuilder;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.VALID_CURRENT_TENANT_ID_PROPERTY_NAME;
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.selectAndReturnFirstRecordAsBoolean;
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test checks that the statements produced by the {@link TenantColumnBackfillStatementProducer} component fill the tenant column,
+ * added with the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy, based on the parent table in batches,
+ * and that the column can be validated after the backfill.
+ */
+public class TenantColumnBackfillTest extends DefaultTestNGTest {
+
+    private static final String USERS_TABLE = "backfill_users";
+    private static final String POSTS_TABLE = "backfill_posts";
+    private static final String TENANT_COLUMN = "tenant_id";
+    private static final int NUMBER_OF_POSTS = 25;
+    private static final int BATCH_SIZE = 10;
+
+    private List<String> validateConstraintStatements = new ArrayList<>();
+    private List<String> postValidateConstraintStatements = new ArrayList<>();
+    private TenantColumnBackfillStatements backfillStatements;
+
+    @Test(testName = "create SQL definitions", description = "Create tables with rows and add tenant column to the child table with online rollout strategy")
+    public void createSQLDefinitions() throws SharedSchemaContextBuilderException {
+        sqlDefinitions.add(new DefaultSQLDefinition(format("CREATE TABLE %1$s (id bigint PRIMARY KEY, tenant_id VARCHAR(255) NOT NULL); CREATE TABLE %2$s (id bigint PRIMARY KEY, user_id bigint NOT NULL REFERENCES %1$s (id));", USERS_TABLE, POSTS_TABLE), format("DROP TABLE IF EXISTS %1$s; DROP TABLE IF EXISTS %2$s;", POSTS_TABLE, USERS_TABLE)));
+        sqlDefinitions.add(new DefaultSQLDefinition(format("INSERT INTO %1$s (id, tenant_id) VALUES (1, 'tenant1'), (2, 'tenant2'); INSERT INTO %2$s (id, user_id) SELECT i, i %% 2 + 1 FROM generate_series(1, %3$d) i;", USERS_TABLE, POSTS_TABLE, NUMBER_OF_POSTS), format("DELETE FROM %1$s; DELETE FROM %2$s;", POSTS_TABLE, USERS_TABLE)));
+        ISharedSchemaContext sharedSchemaContext = new DefaultSharedSchemaContextBuilder(null)
+                .setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME)
+                .setGrantee(CORE_OWNER_USER)
+                .setTenantColumnRolloutStrategy(TenantColumnRolloutStrategyEnum.ONLINE)
+                .createTenantColumnForTable(POSTS_TABLE)
+                .createRLSPolicyForTable(POSTS_TABLE, mapBuilder().put("id", "bigint").build(), TENANT_COLUMN, "backfill_posts_rls_policy")
+                .build();
+        sqlDefinitions.addAll(sharedSchemaContext.getSqlDefinitions());
+        validateConstraintStatements.addAll(sharedSchemaContext.getValidateConstraintStatements());
+        postValidateConstraintStatements.addAll(sharedSchemaContext.getPostValidateConstraintStatements());
+        backfillStatements = new TenantColumnBackfillStatementProducer().produce(TenantColumnBackfillStatementProducerParameters.builder()
+                .withTable(POSTS_TABLE)
+                .withTenantColumn(TENANT_COLUMN)
+                .withKeyColumns(singletonList("id"))
+                .withValueExpression(format("(SELECT u.tenant_id FROM %1$s u WHERE u.id = %2$s.user_id)", USERS_TABLE, POSTS_TABLE))
+                .withBatchSize(BATCH_SIZE)
+                .build());
+    }
+
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    @Test(dependsOnMethods = {"createSQLDefinitions"}, testName = "execute SQL definitions", description = "tenant column should be added to table that already contains rows")
+    public void executeSQLDefinitions()
+    {
+        super.executeSQLDefinitions();
+    }
+
+    @Test(dependsOnMethods = {"executeSQLDefinitions"}, testName = "fill tenant column in batches", description = "backfill statements should fill tenant column based on the parent table and return checkpoint for each batch")
+    public void fillTenantColumnInBatches()
+    {
+        long updatedRows = 0;
+        int batches = 0;
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(backfillStatements.getFirstBatchStatement());
+        while (!rows.isEmpty()) {
+            batches++;
+            updatedRows += ((Number) rows.get(0).get("count")).longValue();
+            rows = jdbcTemplate.queryForList(backfillStatements.getNextBatchStatement(), rows.get(0).get("id"));
+        }
+        assertThat(batches).isEqualTo((NUMBER_OF_POSTS + BATCH_SIZE - 1) / BATCH_SIZE);
+        assertThat(updatedRows).isEqualTo(NUMBER_OF_POSTS);
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT COUNT(*) = 0 FROM %1$s p JOIN %2$s u ON u.id = p.user_id WHERE p.%3$s IS DISTINCT FROM u.tenant_id;", POSTS_TABLE, USERS_TABLE, TENANT_COLUMN))).isTrue();
+    }
+
+    @Test(dependsOnMethods = {"fillTenantColumnInBatches"}, testName = "repeated backfill should not update rows", description = "backfill statements should not update rows that already have tenant identifier")
+    public void repeatedBackfillShouldNotUpdateRows()
+    {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(backfillStatements.getFirstBatchStatement());
+        assertThat(((Number) rows.get(0).get("count")).longValue()).isZero();
+    }
+
+    @Test(dependsOnMethods = {"repeatedBackfillShouldNotUpdateRows"}, testName = "apply validate statements", description = "tenant column should be validated after backfill")
+    public void applyValidateStatements()
+    {
+        validateConstraintStatements.forEach(jdbcTemplate::execute);
+        postValidateConstraintStatements.forEach(jdbcTemplate::execute);
+        assertThat(selectAndReturnFirstRecordAsBoolean(jdbcTemplate, format("SELECT is_nullable = 'NO' FROM information_schema.columns WHERE table_name = '%1$s' AND column_name = '%2$s';", POSTS_TABLE, TENANT_COLUMN))).isTrue();
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"fillTenantColumnInBatches", "repeatedBackfillShouldNotUpdateRows", "applyValidateStatements"}, alwaysRun = true)
+    public void dropAllSQLDefinitions() {
+        super.dropAllSQLDefinitions();
+    }
+}
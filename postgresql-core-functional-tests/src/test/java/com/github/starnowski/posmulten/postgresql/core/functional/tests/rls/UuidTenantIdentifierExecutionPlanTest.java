@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.rls;
+
+public class UuidTenantIdentifierExecutionPlanTest extends AbstractTypedTenantIdentifierExecutionPlanTest {
+
+    @Override
+    protected String getTenantIdentifierType() {
+        return "uuid";
+    }
+
+    @Override
+    protected String getTenant() {
+        return "8c5b3f52-1a3e-4a5e-9a6f-2f0f3a1b2c01";
+    }
+
+    @Override
+    protected String getSecondaryTenant() {
+        return "0e6f9b2a-5d4c-4b3a-8f2e-1d0c9b8a7f02";
+    }
+}
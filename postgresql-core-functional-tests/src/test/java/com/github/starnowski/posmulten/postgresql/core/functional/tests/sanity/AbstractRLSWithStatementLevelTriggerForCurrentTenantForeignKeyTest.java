@@ -0,0 +1,58 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.sanity;
+
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyStrategyEnum;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.testng.annotations.Test;
+
+import static com.github.starnowski.posmulten.postgresql.core.functional.tests.TestApplication.CLEAR_DATABASE_SCRIPT_PATH;
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.context.jdbc.SqlConfig.TransactionMode.ISOLATED;
+
+/**
+ * Test runs the same scenarios as {@link AbstractRLSWithSettingReferenceWithConstraintForCurrentTenantForeignKeyTest}
+ * for the {@link SameTenantConstraintForForeignKeyStrategyEnum#STATEMENT_LEVEL_TRIGGER} strategy, and additionally
+ * checks the statements that insert many rows at once.
+ */
+public abstract class AbstractRLSWithStatementLevelTriggerForCurrentTenantForeignKeyTest extends AbstractRLSWithSettingReferenceWithConstraintForCurrentTenantForeignKeyTest {
+
+    private static final int NUMBER_OF_BULK_RECORDS = 100;
+
+    @Override
+    protected SameTenantConstraintForForeignKeyStrategyEnum getSameTenantConstraintForForeignKeyStrategy() {
+        return SameTenantConstraintForForeignKeyStrategyEnum.STATEMENT_LEVEL_TRIGGER;
+    }
+
+    @Test(dependsOnMethods = {"insertPostWithReferenceToUserFromSameTenant"}, testName = "try to insert many posts in single statement when one of them refers to user from different tenant")
+    public void tryInsertManyPostsWhenOneOfThemRefersToUserFromDifferentTenant()
+    {
+        assertThatThrownBy(() ->
+                ownerJdbcTemplate.execute(format("%1$s INSERT INTO %2$s (id, user_id, text, tenant_id) SELECT 1000 + n, CASE WHEN n = %3$d THEN 2 ELSE 1 END, 'bulk', '%4$s' FROM generate_series(1, %5$d) n;", setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(USER_TENANT), getPostsTableReference(), NUMBER_OF_BULK_RECORDS / 2, USER_TENANT, NUMBER_OF_BULK_RECORDS))
+        )
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(countRowsInTableWhere(getPostsTableReference(), "text = 'bulk'")).isEqualTo(0);
+    }
+
+    @Test(dependsOnMethods = {"tryInsertManyPostsWhenOneOfThemRefersToUserFromDifferentTenant"}, testName = "insert many posts in single statement that refer to user from same tenant")
+    public void insertManyPostsWithReferenceToUserFromSameTenant()
+    {
+        ownerJdbcTemplate.execute(format("%1$s INSERT INTO %2$s (id, user_id, text, tenant_id) SELECT 1000 + n, 1, 'bulk', '%3$s' FROM generate_series(1, %4$d) n;", setCurrentTenantIdFunctionInvocationFactory.generateStatementThatSetTenant(USER_TENANT), getPostsTableReference(), USER_TENANT, NUMBER_OF_BULK_RECORDS));
+        assertThat(countRowsInTableWhere(getPostsTableReference(), "text = 'bulk'")).isEqualTo(NUMBER_OF_BULK_RECORDS);
+    }
+
+    @Override
+    @Test(dependsOnMethods = {"tryInsertPostWithReferenceToUserFromDifferentTenant", "insertPostWithReferenceToUserFromSameTenant", "tryUpdatePostWithReferenceToUserFromDifferentTenant", "tryInsertManyPostsWhenOneOfThemRefersToUserFromDifferentTenant", "insertManyPostsWithReferenceToUserFromSameTenant"}, alwaysRun = true)
+    @SqlGroup({
+            @Sql(value = CLEAR_DATABASE_SCRIPT_PATH,
+                    config = @SqlConfig(transactionMode = ISOLATED),
+                    executionPhase = BEFORE_TEST_METHOD)})
+    public void deleteTestData()
+    {
+        super.deleteTestData();
+    }
+}
@@ -0,0 +1,8 @@
+package com.github.starnowski.posmulten.postgresql.core.functional.tests.sanity;
+
+public class RLSWithStatementLevelTriggerForCurrentTenantForeignKeyInNonPublicSchemaTest extends AbstractRLSWithStatementLevelTriggerForCurrentTenantForeignKeyTest {
+    @Override
+    protected String getSchema() {
+        return "non_public_schema";
+    }
+}
@@ -54,6 +54,9 @@ public class CreateColumnStatementProducer {
             if (columnType.trim().isEmpty()) {
                 throw new IllegalArgumentException("Statement for column type cannot be blank");
             }
+            if (parameters.getValueForExistingRows() != null && parameters.getValueForExistingRows().trim().isEmpty()) {
+                throw new IllegalArgumentException("Value for existing rows cannot be blank");
+            }
             return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
         }
 
@@ -71,6 +74,10 @@ public class CreateColumnStatementProducer {
         String columnType = parameters.getColumnType();
         String schema = parameters.getSchema();
         String tableReference = schema == null ? table : schema + "." + table;
-        return "ALTER TABLE " + tableReference + " ADD COLUMN " + column + " " + columnType + ";";
+        String valueForExistingRows = parameters.getValueForExistingRows();
+        if (valueForExistingRows == null) {
+            return "ALTER TABLE " + tableReference + " ADD COLUMN " + column + " " + columnType + ";";
+        }
+        return "ALTER TABLE " + tableReference + " ADD COLUMN " + column + " " + columnType + " DEFAULT " + valueForExistingRows + ";";
     }
 }
@@ -29,12 +29,18 @@ public class CreateColumnStatementProducerParameters implements ICreateColumnSta
     private final String column;
     private final String columnType;
     private final String schema;
+    private final String valueForExistingRows;
 
     public CreateColumnStatementProducerParameters(String table, String column, String columnType, String schema) {
+        this(table, column, columnType, schema, null);
+    }
+
+    public CreateColumnStatementProducerParameters(String table, String column, String columnType, String schema, String valueForExistingRows) {
         this.table = table;
         this.column = column;
         this.columnType = columnType;
         this.schema = schema;
+        this.valueForExistingRows = valueForExistingRows;
     }
 
     public String getTable() {
@@ -52,4 +58,9 @@ public class CreateColumnStatementProducerParameters implements ICreateColumnSta
     public String getSchema() {
         return schema;
     }
+
+    @Override
+    public String getValueForExistingRows() {
+        return valueForExistingRows;
+    }
 }
@@ -0,0 +1,74 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+/**
+ * Component produces the statement that creates an index for the table, for example:
+ * <pre>
+ * CREATE INDEX CONCURRENTLY users_tenant_idx ON public.users (tenant_id);
+ * </pre>
+ * and the statement that drops it.
+ * The definition of the index created with the CONCURRENTLY option is not transactional (see {@link SQLDefinition#isTransactional()}).
+ */
+public class CreateIndexStatementProducer {
+
+    public SQLDefinition produce(ICreateIndexStatementProducerParameters parameters) {
+        if (parameters == null)
+        {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        String indexName = parameters.getIndexName();
+        String table = parameters.getTable();
+        if (indexName == null) {
+            throw new IllegalArgumentException("Index name cannot be null");
+        }
+        if (indexName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be blank");
+        }
+        if (table == null) {
+            throw new IllegalArgumentException("Table name cannot be null");
+        }
+        if (table.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be blank");
+        }
+        if (parameters.getColumns() == null) {
+            throw new IllegalArgumentException("Columns list cannot be null");
+        }
+        if (parameters.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Columns list cannot be empty");
+        }
+        if (parameters.getColumns().stream().anyMatch(column -> column == null || column.trim().isEmpty())) {
+            throw new IllegalArgumentException("Columns list cannot contain null or blank elements");
+        }
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters), !parameters.isConcurrently());
+    }
+
+    private String prepareCreateScript(ICreateIndexStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        String table = parameters.getTable();
+        String tableReference = schema == null ? table : schema + "." + table;
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE ");
+        if (parameters.isUnique()) {
+            sb.append("UNIQUE ");
+        }
+        sb.append("INDEX ");
+        if (parameters.isConcurrently()) {
+            sb.append("CONCURRENTLY ");
+        }
+        sb.append(parameters.getIndexName());
+        sb.append(" ON ");
+        sb.append(tableReference);
+        sb.append(" (");
+        sb.append(String.join(", ", parameters.getColumns()));
+        sb.append(");");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ICreateIndexStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        String indexReference = schema == null ? parameters.getIndexName() : schema + "." + parameters.getIndexName();
+        return "DROP INDEX " + (parameters.isConcurrently() ? "CONCURRENTLY " : "") + "IF EXISTS " + indexReference + ";";
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class CreateIndexStatementProducerParameters implements ICreateIndexStatementProducerParameters {
+
+    private final String indexName;
+    private final String table;
+    private final String schema;
+    private final List<String> columns;
+    private final boolean unique;
+    private final boolean concurrently;
+
+    public CreateIndexStatementProducerParameters(String indexName, String table, String schema, List<String> columns, boolean unique, boolean concurrently) {
+        this.indexName = indexName;
+        this.table = table;
+        this.schema = schema;
+        this.columns = columns;
+        this.unique = unique;
+        this.concurrently = concurrently;
+    }
+
+    @Override
+    public String getIndexName() {
+        return indexName;
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public boolean isUnique() {
+        return unique;
+    }
+
+    @Override
+    public boolean isConcurrently() {
+        return concurrently;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CreateIndexStatementProducerParameters that = (CreateIndexStatementProducerParameters) o;
+        return unique == that.unique &&
+                concurrently == that.concurrently &&
+                Objects.equals(indexName, that.indexName) &&
+                Objects.equals(table, that.table) &&
+                Objects.equals(schema, that.schema) &&
+                Objects.equals(columns, that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indexName, table, schema, columns, unique, concurrently);
+    }
+
+    @Override
+    public String toString() {
+        return "CreateIndexStatementProducerParameters{" +
+                "indexName='" + indexName + '\'' +
+                ", table='" + table + '\'' +
+                ", schema='" + schema + '\'' +
+                ", columns=" + columns +
+                ", unique=" + unique +
+                ", concurrently=" + concurrently +
+                '}';
+    }
+
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    public static class Builder
+    {
+        private String indexName;
+        private String table;
+        private String schema;
+        private List<String> columns = new ArrayList<>();
+        private boolean unique;
+        private boolean concurrently;
+
+        public Builder withIndexName(String indexName) {
+            this.indexName = indexName;
+            return this;
+        }
+
+        public Builder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public Builder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Builder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public Builder withUnique(boolean unique) {
+            this.unique = unique;
+            return this;
+        }
+
+        public Builder withConcurrently(boolean concurrently) {
+            this.concurrently = concurrently;
+            return this;
+        }
+
+        public CreateIndexStatementProducerParameters build()
+        {
+            return new CreateIndexStatementProducerParameters(indexName, table, schema, columns == null ? null : new ArrayList<>(columns), unique, concurrently);
+        }
+    }
+}
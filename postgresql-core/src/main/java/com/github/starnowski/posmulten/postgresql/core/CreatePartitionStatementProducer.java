@@ -0,0 +1,85 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Component produces the statement that creates the partition of the partitioned table, for example:
+ * <pre>
+ * CREATE TABLE public.users_tenant_a PARTITION OF public.users FOR VALUES IN ('tenant_a');
+ * CREATE TABLE public.users_other PARTITION OF public.users DEFAULT;
+ * CREATE TABLE public.users_p0 PARTITION OF public.users FOR VALUES WITH (MODULUS 4, REMAINDER 0);
+ * </pre>
+ * and the statement that drops it.
+ */
+public class CreatePartitionStatementProducer {
+
+    public SQLDefinition produce(ICreatePartitionStatementProducerParameters parameters) {
+        if (parameters == null)
+        {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        validateName(parameters.getPartitionName(), "Partition name");
+        validateName(parameters.getTable(), "Table name");
+        if (parameters.getPartitionStrategy() == null) {
+            throw new IllegalArgumentException("Partition strategy cannot be null");
+        }
+        if (PartitionStrategyEnum.LIST.equals(parameters.getPartitionStrategy()) && !parameters.isDefaultPartition()) {
+            if (parameters.getValues() == null || parameters.getValues().isEmpty()) {
+                throw new IllegalArgumentException("Values list cannot be null or empty");
+            }
+            if (parameters.getValues().stream().anyMatch(value -> value == null)) {
+                throw new IllegalArgumentException("Values list cannot contain null elements");
+            }
+        }
+        if (PartitionStrategyEnum.HASH.equals(parameters.getPartitionStrategy())) {
+            if (parameters.getModulus() <= 0) {
+                throw new IllegalArgumentException("Modulus has to be greater than zero");
+            }
+            if (parameters.getRemainder() < 0 || parameters.getRemainder() >= parameters.getModulus()) {
+                throw new IllegalArgumentException("Remainder has to be greater or equal to zero and less than modulus");
+            }
+        }
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
+    }
+
+    private void validateName(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+    }
+
+    private String prepareCreateScript(ICreatePartitionStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE ");
+        sb.append(schema == null ? parameters.getPartitionName() : schema + "." + parameters.getPartitionName());
+        sb.append(" PARTITION OF ");
+        sb.append(schema == null ? parameters.getTable() : schema + "." + parameters.getTable());
+        if (PartitionStrategyEnum.HASH.equals(parameters.getPartitionStrategy())) {
+            sb.append(" FOR VALUES WITH (MODULUS ");
+            sb.append(parameters.getModulus());
+            sb.append(", REMAINDER ");
+            sb.append(parameters.getRemainder());
+            sb.append(")");
+        } else if (parameters.isDefaultPartition()) {
+            sb.append(" DEFAULT");
+        } else {
+            sb.append(" FOR VALUES IN (");
+            sb.append(parameters.getValues().stream().map(value -> "'" + value.replace("'", "''") + "'").collect(joining(", ")));
+            sb.append(")");
+        }
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ICreatePartitionStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        return "DROP TABLE IF EXISTS " + (schema == null ? parameters.getPartitionName() : schema + "." + parameters.getPartitionName()) + ";";
+    }
+}
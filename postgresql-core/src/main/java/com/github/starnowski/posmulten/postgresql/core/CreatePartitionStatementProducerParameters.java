@@ -0,0 +1,160 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+import java.util.Objects;
+
+public class CreatePartitionStatementProducerParameters implements ICreatePartitionStatementProducerParameters {
+
+    private final String partitionName;
+    private final String table;
+    private final String schema;
+    private final PartitionStrategyEnum partitionStrategy;
+    private final List<String> values;
+    private final int modulus;
+    private final int remainder;
+    private final boolean defaultPartition;
+
+    public CreatePartitionStatementProducerParameters(String partitionName, String table, String schema, PartitionStrategyEnum partitionStrategy, List<String> values, int modulus, int remainder, boolean defaultPartition) {
+        this.partitionName = partitionName;
+        this.table = table;
+        this.schema = schema;
+        this.partitionStrategy = partitionStrategy;
+        this.values = values;
+        this.modulus = modulus;
+        this.remainder = remainder;
+        this.defaultPartition = defaultPartition;
+    }
+
+    public static CreatePartitionStatementProducerParametersBuilder builder() {
+        return new CreatePartitionStatementProducerParametersBuilder();
+    }
+
+    @Override
+    public String getPartitionName() {
+        return partitionName;
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public PartitionStrategyEnum getPartitionStrategy() {
+        return partitionStrategy;
+    }
+
+    @Override
+    public List<String> getValues() {
+        return values;
+    }
+
+    @Override
+    public int getModulus() {
+        return modulus;
+    }
+
+    @Override
+    public int getRemainder() {
+        return remainder;
+    }
+
+    @Override
+    public boolean isDefaultPartition() {
+        return defaultPartition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CreatePartitionStatementProducerParameters that = (CreatePartitionStatementProducerParameters) o;
+        return modulus == that.modulus &&
+                remainder == that.remainder &&
+                defaultPartition == that.defaultPartition &&
+                Objects.equals(partitionName, that.partitionName) &&
+                Objects.equals(table, that.table) &&
+                Objects.equals(schema, that.schema) &&
+                partitionStrategy == that.partitionStrategy &&
+                Objects.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partitionName, table, schema, partitionStrategy, values, modulus, remainder, defaultPartition);
+    }
+
+    @Override
+    public String toString() {
+        return "CreatePartitionStatementProducerParameters{" +
+                "partitionName='" + partitionName + '\'' +
+                ", table='" + table + '\'' +
+                ", schema='" + schema + '\'' +
+                ", partitionStrategy=" + partitionStrategy +
+                ", values=" + values +
+                ", modulus=" + modulus +
+                ", remainder=" + remainder +
+                ", defaultPartition=" + defaultPartition +
+                '}';
+    }
+
+    public static class CreatePartitionStatementProducerParametersBuilder {
+        private String partitionName;
+        private String table;
+        private String schema;
+        private PartitionStrategyEnum partitionStrategy;
+        private List<String> values;
+        private int modulus;
+        private int remainder;
+        private boolean defaultPartition;
+
+        public CreatePartitionStatementProducerParametersBuilder withPartitionName(String partitionName) {
+            this.partitionName = partitionName;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withPartitionStrategy(PartitionStrategyEnum partitionStrategy) {
+            this.partitionStrategy = partitionStrategy;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withValues(List<String> values) {
+            this.values = values;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withModulus(int modulus) {
+            this.modulus = modulus;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withRemainder(int remainder) {
+            this.remainder = remainder;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParametersBuilder withDefaultPartition(boolean defaultPartition) {
+            this.defaultPartition = defaultPartition;
+            return this;
+        }
+
+        public CreatePartitionStatementProducerParameters build() {
+            return new CreatePartitionStatementProducerParameters(partitionName, table, schema, partitionStrategy, values, modulus, remainder, defaultPartition);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+/**
+ * Component produces the statement that creates the partitioned table based on the template table, for example:
+ * <pre>
+ * CREATE TABLE public.users (LIKE public.users_template INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY LIST (tenant_id);
+ * </pre>
+ * and the statement that drops it.
+ * Indexes, primary keys and unique constraints are not copied from the template table because for the partitioned table
+ * they have to contain the partition column.
+ */
+public class CreatePartitionedTableStatementProducer {
+
+    public SQLDefinition produce(ICreatePartitionedTableStatementProducerParameters parameters) {
+        if (parameters == null)
+        {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        validateName(parameters.getTable(), "Table name");
+        validateName(parameters.getTemplateTable(), "Template table name");
+        validateName(parameters.getPartitionColumn(), "Partition column");
+        if (parameters.getPartitionStrategy() == null) {
+            throw new IllegalArgumentException("Partition strategy cannot be null");
+        }
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
+    }
+
+    private void validateName(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+    }
+
+    private String prepareCreateScript(ICreatePartitionedTableStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE ");
+        sb.append(schema == null ? parameters.getTable() : schema + "." + parameters.getTable());
+        sb.append(" (LIKE ");
+        sb.append(schema == null ? parameters.getTemplateTable() : schema + "." + parameters.getTemplateTable());
+        sb.append(" INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY ");
+        sb.append(parameters.getPartitionStrategy().name());
+        sb.append(" (");
+        sb.append(parameters.getPartitionColumn());
+        sb.append(");");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ICreatePartitionedTableStatementProducerParameters parameters) {
+        String schema = parameters.getSchema();
+        return "DROP TABLE IF EXISTS " + (schema == null ? parameters.getTable() : schema + "." + parameters.getTable()) + ";";
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+public class CreatePartitionedTableStatementProducerParameters implements ICreatePartitionedTableStatementProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String templateTable;
+    private final PartitionStrategyEnum partitionStrategy;
+    private final String partitionColumn;
+
+    public CreatePartitionedTableStatementProducerParameters(String table, String schema, String templateTable, PartitionStrategyEnum partitionStrategy, String partitionColumn) {
+        this.table = table;
+        this.schema = schema;
+        this.templateTable = templateTable;
+        this.partitionStrategy = partitionStrategy;
+        this.partitionColumn = partitionColumn;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getTemplateTable() {
+        return templateTable;
+    }
+
+    public PartitionStrategyEnum getPartitionStrategy() {
+        return partitionStrategy;
+    }
+
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+}
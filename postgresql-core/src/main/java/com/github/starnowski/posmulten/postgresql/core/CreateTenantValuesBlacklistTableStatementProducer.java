@@ -0,0 +1,74 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.stream.Collectors;
+
+/**
+ * The component produces statements that create the table that stores invalid tenant identifiers and insert the identifiers, for example:
+ * <pre>
+ * CREATE TABLE tenant_identifiers_blacklist (tenant_id text PRIMARY KEY);
+ * INSERT INTO tenant_identifiers_blacklist (tenant_id) VALUES ('invalid1'), ('invalid2');
+ * </pre>
+ * Checking if the value is in the table requires a single probe of the primary key index, no matter how many identifiers the table contains.
+ * @see com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum#LOOKUP_TABLE
+ */
+public class CreateTenantValuesBlacklistTableStatementProducer {
+
+    public SQLDefinition produce(ICreateTenantValuesBlacklistTableStatementProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        validateName(parameters.getTable(), "Table name");
+        validateName(parameters.getColumn(), "Column name");
+        if (parameters.getColumnType() != null && parameters.getColumnType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Column type cannot be blank");
+        }
+        if (parameters.getBlacklistTenantIds() == null) {
+            throw new IllegalArgumentException("The list of invalid value cannot be null");
+        }
+        if (parameters.getBlacklistTenantIds().isEmpty()) {
+            throw new IllegalArgumentException("The list of invalid value cannot be empty");
+        }
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
+    }
+
+    private void validateName(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+    }
+
+    private String prepareCreateScript(ICreateTenantValuesBlacklistTableStatementProducerParameters parameters) {
+        String tableReference = returnTableReference(parameters);
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TABLE ");
+        sb.append(tableReference);
+        sb.append(" (");
+        sb.append(parameters.getColumn());
+        sb.append(" ");
+        sb.append(parameters.getColumnType() == null ? "text" : parameters.getColumnType());
+        sb.append(" PRIMARY KEY);");
+        sb.append("\n");
+        sb.append("INSERT INTO ");
+        sb.append(tableReference);
+        sb.append(" (");
+        sb.append(parameters.getColumn());
+        sb.append(") VALUES ");
+        sb.append(parameters.getBlacklistTenantIds().stream().sorted().map(tenantId -> "('" + tenantId.replace("'", "''") + "')").collect(Collectors.joining(", ")));
+        sb.append(";");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ICreateTenantValuesBlacklistTableStatementProducerParameters parameters) {
+        return "DROP TABLE IF EXISTS " + returnTableReference(parameters) + ";";
+    }
+
+    private String returnTableReference(ICreateTenantValuesBlacklistTableStatementProducerParameters parameters) {
+        return parameters.getSchema() == null ? parameters.getTable() : parameters.getSchema() + "." + parameters.getTable();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.Set;
+
+public class CreateTenantValuesBlacklistTableStatementProducerParameters implements ICreateTenantValuesBlacklistTableStatementProducerParameters {
+
+    private final String table;
+    private final String schema;
+    private final String column;
+    private final String columnType;
+    private final Set<String> blacklistTenantIds;
+
+    public CreateTenantValuesBlacklistTableStatementProducerParameters(String table, String schema, String column, String columnType, Set<String> blacklistTenantIds) {
+        this.table = table;
+        this.schema = schema;
+        this.column = column;
+        this.columnType = columnType;
+        this.blacklistTenantIds = blacklistTenantIds;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getColumnType() {
+        return columnType;
+    }
+
+    public Set<String> getBlacklistTenantIds() {
+        return blacklistTenantIds;
+    }
+}
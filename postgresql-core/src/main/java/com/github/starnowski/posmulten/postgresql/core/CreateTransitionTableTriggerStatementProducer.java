@@ -0,0 +1,75 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The component produces the statement that creates the statement-level trigger which passes the rows changed by the
+ * statement to the trigger function as the transition table, for example:
+ * <pre>
+ * CREATE TRIGGER posts_users_fk_insert AFTER INSERT ON public.posts REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE public.posts_users_fk();
+ * </pre>
+ * and the statement that drops it.
+ * Transition tables are supported by Postgres 10 and newer versions.
+ * Postgres does not allow transition tables for a trigger with more than one event, that is why the trigger has only one event.
+ * @see <a href="https://www.postgresql.org/docs/10/sql-createtrigger.html">Postgres, create trigger</a>
+ */
+public class CreateTransitionTableTriggerStatementProducer {
+
+    private static final Set<String> SUPPORTED_EVENTS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("INSERT", "UPDATE")));
+
+    public SQLDefinition produce(ICreateTransitionTableTriggerStatementProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        validateName(parameters.getTriggerName(), "Trigger name");
+        validateName(parameters.getTable(), "Table name");
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        if (!SUPPORTED_EVENTS.contains(parameters.getEvent())) {
+            throw new IllegalArgumentException("Event has to be INSERT or UPDATE");
+        }
+        validateName(parameters.getTransitionTableName(), "Transition table name");
+        validateName(parameters.getFunctionReference(), "Function reference");
+        return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
+    }
+
+    private void validateName(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+    }
+
+    private String prepareCreateScript(ICreateTransitionTableTriggerStatementProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CREATE TRIGGER ");
+        sb.append(parameters.getTriggerName());
+        sb.append(" AFTER ");
+        sb.append(parameters.getEvent());
+        sb.append(" ON ");
+        sb.append(returnTableReference(parameters));
+        sb.append(" REFERENCING NEW TABLE AS ");
+        sb.append(parameters.getTransitionTableName());
+        sb.append(" FOR EACH STATEMENT EXECUTE PROCEDURE ");
+        sb.append(parameters.getFunctionReference());
+        sb.append("();");
+        return sb.toString();
+    }
+
+    private String prepareDropScript(ICreateTransitionTableTriggerStatementProducerParameters parameters) {
+        return "DROP TRIGGER IF EXISTS " + parameters.getTriggerName() + " ON " + returnTableReference(parameters) + ";";
+    }
+
+    private String returnTableReference(ICreateTransitionTableTriggerStatementProducerParameters parameters) {
+        return parameters.getSchema() == null ? parameters.getTable() : parameters.getSchema() + "." + parameters.getTable();
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+public class CreateTransitionTableTriggerStatementProducerParameters implements ICreateTransitionTableTriggerStatementProducerParameters {
+
+    private final String triggerName;
+    private final String table;
+    private final String schema;
+    private final String event;
+    private final String transitionTableName;
+    private final String functionReference;
+
+    public CreateTransitionTableTriggerStatementProducerParameters(String triggerName, String table, String schema, String event, String transitionTableName, String functionReference) {
+        this.triggerName = triggerName;
+        this.table = table;
+        this.schema = schema;
+        this.event = event;
+        this.transitionTableName = transitionTableName;
+        this.functionReference = functionReference;
+    }
+
+    public String getTriggerName() {
+        return triggerName;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getTransitionTableName() {
+        return transitionTableName;
+    }
+
+    public String getFunctionReference() {
+        return functionReference;
+    }
+}
@@ -32,4 +32,16 @@ public interface ICreateColumnStatementProducerParameters {
     String getColumnType();
 
     String getSchema();
+
+    /**
+     * The value that is set for the rows that already exist in the table.
+     * The column is added with the value as the default value. The statement does not remove the default value,
+     * it has to be removed by the separate statement (see {@link SetDefaultStatementProducer}) if the value should not be used for new rows.
+     * For constant values, the Postgres 11 and newer stores the value in the catalog ("fast default") and does not rewrite the table.
+     * The default value is null, which means that the column is added without any value.
+     * @return SQL expression for the value of existing rows, or null
+     */
+    default String getValueForExistingRows() {
+        return null;
+    }
 }
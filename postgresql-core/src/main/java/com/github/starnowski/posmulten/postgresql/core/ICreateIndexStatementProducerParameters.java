@@ -0,0 +1,27 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+
+public interface ICreateIndexStatementProducerParameters {
+
+    String getIndexName();
+
+    String getTable();
+
+    String getSchema();
+
+    /**
+     * The method returns the list of indexed columns in the order in which they should be declared in the index.
+     * @return list of indexed columns
+     */
+    List<String> getColumns();
+
+    boolean isUnique();
+
+    /**
+     * The method returns information if the index should be created (and dropped) with the CONCURRENTLY option.
+     * Statements with that option cannot be executed inside a transaction block.
+     * @return true if the index should be created with the CONCURRENTLY option
+     */
+    boolean isConcurrently();
+}
@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+
+public interface ICreatePartitionStatementProducerParameters {
+
+    String getPartitionName();
+
+    /**
+     * @return name of the partitioned table
+     */
+    String getTable();
+
+    /**
+     * @return schema of the partitioned table and the partition
+     */
+    String getSchema();
+
+    PartitionStrategyEnum getPartitionStrategy();
+
+    /**
+     * The method returns values of the partition key that are stored in the partition.
+     * Used only for the {@link PartitionStrategyEnum#LIST} strategy when the partition is not the default partition.
+     * @return list of values
+     */
+    List<String> getValues();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#HASH} strategy.
+     * @return modulus, equal to the number of hash partitions
+     */
+    int getModulus();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#HASH} strategy.
+     * @return remainder of the hash value stored in the partition
+     */
+    int getRemainder();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#LIST} strategy.
+     * @return true if the partition should store rows that do not fit into any other partition
+     */
+    boolean isDefaultPartition();
+}
@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+public interface ICreatePartitionedTableStatementProducerParameters {
+
+    String getTable();
+
+    String getSchema();
+
+    /**
+     * The method returns the name of the table (in the same schema) from which column definitions, defaults and check
+     * constraints are copied to the partitioned table.
+     * @return name of the template table
+     */
+    String getTemplateTable();
+
+    PartitionStrategyEnum getPartitionStrategy();
+
+    String getPartitionColumn();
+}
@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.Set;
+
+public interface ICreateTenantValuesBlacklistTableStatementProducerParameters {
+
+    String getTable();
+
+    String getSchema();
+
+    String getColumn();
+
+    /**
+     * @return type of the column that stores tenant identifier, for null value the "text" type is used
+     */
+    String getColumnType();
+
+    Set<String> getBlacklistTenantIds();
+}
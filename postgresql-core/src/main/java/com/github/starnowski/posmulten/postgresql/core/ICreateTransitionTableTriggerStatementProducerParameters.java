@@ -0,0 +1,25 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+public interface ICreateTransitionTableTriggerStatementProducerParameters {
+
+    String getTriggerName();
+
+    String getTable();
+
+    String getSchema();
+
+    /**
+     * @return the event that fires the trigger, "INSERT" or "UPDATE"
+     */
+    String getEvent();
+
+    /**
+     * @return name under which the rows changed by the statement are available for the trigger function
+     */
+    String getTransitionTableName();
+
+    /**
+     * @return reference of the trigger function, for example "public.posts_users_fk_trigger"
+     */
+    String getFunctionReference();
+}
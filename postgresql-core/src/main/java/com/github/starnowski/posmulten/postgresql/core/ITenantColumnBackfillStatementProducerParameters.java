@@ -0,0 +1,32 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+
+public interface ITenantColumnBackfillStatementProducerParameters {
+
+    String getTable();
+
+    String getSchema();
+
+    String getTenantColumn();
+
+    /**
+     * Columns of the unique key (usually the primary key) based on which the table is paginated.
+     * The key should have the index, so that each batch reads only the next range of keys.
+     * @return key columns
+     */
+    List<String> getKeyColumns();
+
+    /**
+     * SQL expression that returns the tenant identifier for the updated row, for example
+     * "(SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id)" or "'legacy_tenant'".
+     * Columns of the updated table should be qualified with the table name.
+     * @return SQL expression
+     */
+    String getValueExpression();
+
+    /**
+     * @return maximum number of keys read by a single batch
+     */
+    int getBatchSize();
+}
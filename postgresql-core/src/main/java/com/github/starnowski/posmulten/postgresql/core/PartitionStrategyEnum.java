@@ -0,0 +1,15 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+/**
+ * Partitioning method of the partitioned table.
+ */
+public enum PartitionStrategyEnum {
+    /**
+     * Partitioning by explicitly listed values of the partition key, "PARTITION BY LIST (column)".
+     */
+    LIST,
+    /**
+     * Partitioning by the modulus and remainder of the partition key hash value, "PARTITION BY HASH (column)".
+     */
+    HASH
+}
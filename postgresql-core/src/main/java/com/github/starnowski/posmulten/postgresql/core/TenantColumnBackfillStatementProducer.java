@@ -0,0 +1,97 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The component produces statements that fill the tenant column for rows that already exist in the table, in batches
+ * paginated by the key (keyset pagination), for example:
+ * <pre>
+ * WITH backfill_batch AS (SELECT id FROM posts WHERE (id) &gt; (?) ORDER BY id LIMIT 1000),
+ * backfill_update AS (UPDATE posts SET tenant_id = (SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id) WHERE (id) IN (SELECT id FROM backfill_batch) AND tenant_id IS NULL RETURNING 1)
+ * SELECT (SELECT count(*) FROM backfill_update), id FROM backfill_batch ORDER BY id DESC LIMIT 1;
+ * </pre>
+ * Each batch reads only the next range of keys from the index and updates only rows that do not have the tenant identifier yet,
+ * so executing each batch in its own transaction keeps the locks and the generated WAL small, and allows to resume the backfill
+ * from the last committed checkpoint.
+ * @see TenantColumnBackfillStatements
+ */
+public class TenantColumnBackfillStatementProducer {
+
+    public TenantColumnBackfillStatements produce(ITenantColumnBackfillStatementProducerParameters parameters) {
+        if (parameters == null) {
+            throw new IllegalArgumentException("The parameters object cannot be null");
+        }
+        validateName(parameters.getTable(), "Table name");
+        if (parameters.getSchema() != null && parameters.getSchema().trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be blank");
+        }
+        validateName(parameters.getTenantColumn(), "Tenant column name");
+        if (parameters.getKeyColumns() == null) {
+            throw new IllegalArgumentException("The list of key columns cannot be null");
+        }
+        if (parameters.getKeyColumns().isEmpty()) {
+            throw new IllegalArgumentException("The list of key columns cannot be empty");
+        }
+        for (String keyColumn : parameters.getKeyColumns()) {
+            validateName(keyColumn, "Key column name");
+        }
+        validateName(parameters.getValueExpression(), "Value expression");
+        if (parameters.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Batch size has to be greater than zero");
+        }
+        List<String> keyColumns = Collections.unmodifiableList(new ArrayList<>(parameters.getKeyColumns()));
+        return new TenantColumnBackfillStatements(prepareStatement(parameters, keyColumns, false), prepareStatement(parameters, keyColumns, true), keyColumns);
+    }
+
+    private void validateName(String value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be blank");
+        }
+    }
+
+    private String prepareStatement(ITenantColumnBackfillStatementProducerParameters parameters, List<String> keyColumns, boolean afterCheckpoint) {
+        String tableReference = parameters.getSchema() == null ? parameters.getTable() : parameters.getSchema() + "." + parameters.getTable();
+        String keys = String.join(", ", keyColumns);
+        StringBuilder sb = new StringBuilder();
+        sb.append("WITH backfill_batch AS (SELECT ");
+        sb.append(keys);
+        sb.append(" FROM ");
+        sb.append(tableReference);
+        if (afterCheckpoint) {
+            sb.append(" WHERE (");
+            sb.append(keys);
+            sb.append(") > (");
+            sb.append(keyColumns.stream().map(column -> "?").collect(joining(", ")));
+            sb.append(")");
+        }
+        sb.append(" ORDER BY ");
+        sb.append(keys);
+        sb.append(" LIMIT ");
+        sb.append(parameters.getBatchSize());
+        sb.append("), backfill_update AS (UPDATE ");
+        sb.append(tableReference);
+        sb.append(" SET ");
+        sb.append(parameters.getTenantColumn());
+        sb.append(" = ");
+        sb.append(parameters.getValueExpression());
+        sb.append(" WHERE (");
+        sb.append(keys);
+        sb.append(") IN (SELECT ");
+        sb.append(keys);
+        sb.append(" FROM backfill_batch) AND ");
+        sb.append(parameters.getTenantColumn());
+        sb.append(" IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), ");
+        sb.append(keys);
+        sb.append(" FROM backfill_batch ORDER BY ");
+        sb.append(keyColumns.stream().map(column -> column + " DESC").collect(joining(", ")));
+        sb.append(" LIMIT 1;");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+
+public class TenantColumnBackfillStatementProducerParameters implements ITenantColumnBackfillStatementProducerParameters {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final String table;
+    private final String schema;
+    private final String tenantColumn;
+    private final List<String> keyColumns;
+    private final String valueExpression;
+    private final int batchSize;
+
+    public TenantColumnBackfillStatementProducerParameters(String table, String schema, String tenantColumn, List<String> keyColumns, String valueExpression, int batchSize) {
+        this.table = table;
+        this.schema = schema;
+        this.tenantColumn = tenantColumn;
+        this.keyColumns = keyColumns;
+        this.valueExpression = valueExpression;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String getTable() {
+        return table;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getTenantColumn() {
+        return tenantColumn;
+    }
+
+    @Override
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+
+    @Override
+    public String getValueExpression() {
+        return valueExpression;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public static TenantColumnBackfillStatementProducerParametersBuilder builder()
+    {
+        return new TenantColumnBackfillStatementProducerParametersBuilder();
+    }
+
+    public static class TenantColumnBackfillStatementProducerParametersBuilder
+    {
+        private String table;
+        private String schema;
+        private String tenantColumn;
+        private List<String> keyColumns;
+        private String valueExpression;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withTable(String table) {
+            this.table = table;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withSchema(String schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withTenantColumn(String tenantColumn) {
+            this.tenantColumn = tenantColumn;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withKeyColumns(List<String> keyColumns) {
+            this.keyColumns = keyColumns;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withValueExpression(String valueExpression) {
+            this.valueExpression = valueExpression;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParametersBuilder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public TenantColumnBackfillStatementProducerParameters build()
+        {
+            return new TenantColumnBackfillStatementProducerParameters(table, schema, tenantColumn, keyColumns, valueExpression, batchSize);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.starnowski.posmulten.postgresql.core;
+
+import java.util.List;
+
+/**
+ * Statements that fill the tenant column in batches, produced by the {@link TenantColumnBackfillStatementProducer} component.
+ * Each statement updates rows from the next range of keys and returns a single row with the number of updated rows
+ * (first column) and the values of the last key in the range (next columns, in order of {@link #getKeyColumns()}),
+ * which are the checkpoint for the next batch. The statement returns no rows when there are no more keys.
+ */
+public class TenantColumnBackfillStatements {
+
+    private final String firstBatchStatement;
+    private final String nextBatchStatement;
+    private final List<String> keyColumns;
+
+    public TenantColumnBackfillStatements(String firstBatchStatement, String nextBatchStatement, List<String> keyColumns) {
+        this.firstBatchStatement = firstBatchStatement;
+        this.nextBatchStatement = nextBatchStatement;
+        this.keyColumns = keyColumns;
+    }
+
+    /**
+     * @return statement for the first batch, without parameters
+     */
+    public String getFirstBatchStatement() {
+        return firstBatchStatement;
+    }
+
+    /**
+     * @return statement for the batch after the checkpoint, with a parameter ("?") for each key column
+     */
+    public String getNextBatchStatement() {
+        return nextBatchStatement;
+    }
+
+    public List<String> getKeyColumns() {
+        return keyColumns;
+    }
+}
@@ -27,10 +27,16 @@ public class DefaultSQLDefinition implements SQLDefinition{
 
     private final String createScript;
     private final String dropScript;
+    private final boolean transactional;
 
     public DefaultSQLDefinition(String createScript, String dropScript) {
+        this(createScript, dropScript, true);
+    }
+
+    public DefaultSQLDefinition(String createScript, String dropScript, boolean transactional) {
         this.createScript = createScript;
         this.dropScript = dropScript;
+        this.transactional = transactional;
     }
 
     @Override
@@ -42,4 +48,9 @@ public class DefaultSQLDefinition implements SQLDefinition{
     public String getDropScript() {
         return dropScript;
     }
+
+    @Override
+    public boolean isTransactional() {
+        return transactional;
+    }
 }
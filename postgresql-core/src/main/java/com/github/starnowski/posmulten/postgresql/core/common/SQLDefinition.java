@@ -41,4 +41,14 @@ public interface SQLDefinition {
      * @return DDL statement that drops changes applied by statement returned by the {@link #getCreateScript()} method.
      */
     String getDropScript();
+
+    /**
+     * Returns information if the statements returned by the {@link #getCreateScript()} and {@link #getDropScript()} methods
+     * can be executed in the transaction block.
+     * For example, the statement that creates the index with the CONCURRENTLY option can not be executed in the transaction block.
+     * @return true if statements can be executed in the transaction block, by default true
+     */
+    default boolean isTransactional() {
+        return true;
+    }
 }
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.common.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
 import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
 
 import java.util.List;
@@ -86,9 +87,28 @@ public abstract class ExtendedAbstractFunctionFactory<P extends IFunctionFactory
     {
         MetadataPhraseBuilder metadataPhraseBuilder = new MetadataPhraseBuilder();
         enrichMetadataPhraseBuilder(parameters, metadataPhraseBuilder);
+        metadataPhraseBuilder.withFunctionMetadataProperties(parameters.getFunctionMetadataProperties());
         return metadataPhraseBuilder.build();
     }
 
+    @Override
+    protected void validate(P parameters) {
+        super.validate(parameters);
+        IFunctionMetadataProperties functionMetadataProperties = parameters.getFunctionMetadataProperties();
+        if (functionMetadataProperties == null)
+        {
+            return;
+        }
+        if (functionMetadataProperties.getCost() != null && functionMetadataProperties.getCost() <= 0)
+        {
+            throw new IllegalArgumentException("Function cost has to be greater than zero");
+        }
+        if (functionMetadataProperties.getSupportFunction() != null && functionMetadataProperties.getSupportFunction().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Support function cannot be blank");
+        }
+    }
+
     protected abstract void enrichMetadataPhraseBuilder(P parameters, MetadataPhraseBuilder metadataPhraseBuilder);
 
     protected abstract String buildBody(P parameters);
@@ -23,9 +23,18 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.common.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+
 public interface IFunctionFactoryParameters {
 
     String getFunctionName();
 
     String getSchema();
+
+    /**
+     * @return additional attributes of the function, applied by the {@link ExtendedAbstractFunctionFactory} type, can be null
+     */
+    default IFunctionMetadataProperties getFunctionMetadataProperties() {
+        return null;
+    }
 }
@@ -0,0 +1,55 @@
+package com.github.starnowski.posmulten.postgresql.core.common.function.metadata;
+
+import java.util.Objects;
+
+public class DefaultFunctionMetadataProperties implements IFunctionMetadataProperties {
+
+    private final Boolean leakproof;
+    private final Double cost;
+    private final String supportFunction;
+
+    public DefaultFunctionMetadataProperties(Boolean leakproof, Double cost, String supportFunction) {
+        this.leakproof = leakproof;
+        this.cost = cost;
+        this.supportFunction = supportFunction;
+    }
+
+    @Override
+    public Boolean getLeakproof() {
+        return leakproof;
+    }
+
+    @Override
+    public Double getCost() {
+        return cost;
+    }
+
+    @Override
+    public String getSupportFunction() {
+        return supportFunction;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DefaultFunctionMetadataProperties that = (DefaultFunctionMetadataProperties) o;
+        return Objects.equals(leakproof, that.leakproof) &&
+                Objects.equals(cost, that.cost) &&
+                Objects.equals(supportFunction, that.supportFunction);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(leakproof, cost, supportFunction);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultFunctionMetadataProperties{" +
+                "leakproof=" + leakproof +
+                ", cost=" + cost +
+                ", supportFunction='" + supportFunction + '\'' +
+                '}';
+    }
+}
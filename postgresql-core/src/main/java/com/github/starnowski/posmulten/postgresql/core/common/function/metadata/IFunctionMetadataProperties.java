@@ -0,0 +1,27 @@
+package com.github.starnowski.posmulten.postgresql.core.common.function.metadata;
+
+/**
+ * Additional attributes of the generated function that are passed to the planner.
+ * The null value of any property means that the attribute is not added to the function definition,
+ * so the database default is used.
+ */
+public interface IFunctionMetadataProperties {
+
+    /**
+     * The function declared as LEAKPROOF can be invoked by the user predicate before the row level security policy expressions
+     * are checked, so such predicate can be used for example as the index condition.
+     * Only the superuser can create the function with this attribute.
+     * @return true if function should be declared as LEAKPROOF, false if it should be declared as NOT LEAKPROOF
+     */
+    Boolean getLeakproof();
+
+    /**
+     * @return estimated execution cost of the function (COST attribute), has to be greater than zero
+     */
+    Double getCost();
+
+    /**
+     * @return reference of the planner support function (SUPPORT attribute), available since Postgres 12
+     */
+    String getSupportFunction();
+}
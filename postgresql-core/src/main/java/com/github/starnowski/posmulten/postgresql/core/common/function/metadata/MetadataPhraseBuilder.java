@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.common.function.metadata;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +35,17 @@ public class MetadataPhraseBuilder {
 
     private ParallelModeSupplier parallelModeSupplier;
 
+    private Boolean leakproof;
+
+    private Double cost;
+
+    /**
+     * Estimated number of rows, the attribute is allowed only for functions that return set.
+     */
+    private Double rows;
+
+    private String supportFunction;
+
     public String build()
     {
         List<String> metadataDefinitions = new ArrayList<>();
@@ -45,9 +57,30 @@ public class MetadataPhraseBuilder {
         {
             metadataDefinitions.add(parallelModeSupplier.getParallelModeString());
         }
+        if (leakproof != null)
+        {
+            metadataDefinitions.add(leakproof ? "LEAKPROOF" : "NOT LEAKPROOF");
+        }
+        if (cost != null)
+        {
+            metadataDefinitions.add("COST " + toNumberString(cost));
+        }
+        if (rows != null)
+        {
+            metadataDefinitions.add("ROWS " + toNumberString(rows));
+        }
+        if (supportFunction != null)
+        {
+            metadataDefinitions.add("SUPPORT " + supportFunction);
+        }
         return metadataDefinitions.stream().collect(joining("\n"));
     }
 
+    private static String toNumberString(Double value)
+    {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
     public VolatilityCategorySupplier getVolatilityCategorySupplier() {
         return volatilityCategorySupplier;
     }
@@ -56,6 +89,22 @@ public class MetadataPhraseBuilder {
         return parallelModeSupplier;
     }
 
+    public Boolean getLeakproof() {
+        return leakproof;
+    }
+
+    public Double getCost() {
+        return cost;
+    }
+
+    public Double getRows() {
+        return rows;
+    }
+
+    public String getSupportFunction() {
+        return supportFunction;
+    }
+
     public MetadataPhraseBuilder withParallelModeSupplier(ParallelModeSupplier parallelModeSupplier) {
         this.parallelModeSupplier = parallelModeSupplier;
         return this;
@@ -65,4 +114,49 @@ public class MetadataPhraseBuilder {
         this.volatilityCategorySupplier = volatilityCategorySupplier;
         return this;
     }
+
+    public MetadataPhraseBuilder withLeakproof(Boolean leakproof) {
+        this.leakproof = leakproof;
+        return this;
+    }
+
+    public MetadataPhraseBuilder withCost(Double cost) {
+        this.cost = cost;
+        return this;
+    }
+
+    public MetadataPhraseBuilder withRows(Double rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    public MetadataPhraseBuilder withSupportFunction(String supportFunction) {
+        this.supportFunction = supportFunction;
+        return this;
+    }
+
+    /**
+     * Sets attributes that are not null in passed object.
+     * @param functionMetadataProperties function attributes, can be null
+     * @return builder object
+     */
+    public MetadataPhraseBuilder withFunctionMetadataProperties(IFunctionMetadataProperties functionMetadataProperties) {
+        if (functionMetadataProperties == null)
+        {
+            return this;
+        }
+        if (functionMetadataProperties.getLeakproof() != null)
+        {
+            this.leakproof = functionMetadataProperties.getLeakproof();
+        }
+        if (functionMetadataProperties.getCost() != null)
+        {
+            this.cost = functionMetadataProperties.getCost();
+        }
+        if (functionMetadataProperties.getSupportFunction() != null)
+        {
+            this.supportFunction = functionMetadataProperties.getSupportFunction();
+        }
+        return this;
+    }
 }
@@ -23,16 +23,24 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantColumnTableMappingSharedSchemaContextRequestValidator;
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantIndexTableMappingSharedSchemaContextRequestValidator;
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.ForeignKeysMappingSharedSchemaContextRequestValidator;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.ISharedSchemaContextRequestValidator;
 import com.github.starnowski.posmulten.postgresql.core.context.validators.TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator;
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Arrays.asList;
 
@@ -47,15 +55,21 @@ public class DefaultSharedSchemaContextBuilder {
     /**
      * Collection that stores objects of type {@link ISharedSchemaContextEnricher} used for enriching result object ({@link #build()} method).
      */
-    private List<ISharedSchemaContextEnricher> enrichers = asList(new GetCurrentTenantIdFunctionDefinitionEnricher(), new SetCurrentTenantIdFunctionDefinitionEnricher(), new TenantHasAuthoritiesFunctionDefinitionEnricher(), new IsTenantValidFunctionInvocationFactoryEnricher(), new TenantColumnSQLDefinitionsEnricher(), new TableRLSSettingsSQLDefinitionsEnricher(), new TableRLSPolicyEnricher(), new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(), new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(), new IsTenantIdentifierValidConstraintEnricher(), new DefaultValueForTenantColumnEnricher());
+    private List<ISharedSchemaContextEnricher> enrichers = asList(new GetCurrentTenantIdFunctionDefinitionEnricher(), new SetCurrentTenantIdFunctionDefinitionEnricher(), new TenantHasAuthoritiesFunctionDefinitionEnricher(), new IsTenantValidFunctionInvocationFactoryEnricher(), new TenantPartitioningSQLDefinitionsEnricher(), new TenantColumnSQLDefinitionsEnricher(), new TenantIndexSQLDefinitionsEnricher(), new TableRLSSettingsSQLDefinitionsEnricher(), new TableRLSPolicyEnricher(), new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(), new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(), new IsTenantIdentifierValidConstraintEnricher(), new DefaultValueForTenantColumnEnricher());
 
     /**
      * Collection that stores objects of type {@link ISharedSchemaContextRequestValidator} used for validation of request object (type {@link SharedSchemaContextRequest}) in {@link #build()} method.
      */
-    private List<ISharedSchemaContextRequestValidator> validators = asList(new ForeignKeysMappingSharedSchemaContextRequestValidator(), new CreateTenantColumnTableMappingSharedSchemaContextRequestValidator(), new TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator());
+    private List<ISharedSchemaContextRequestValidator> validators = asList(new ForeignKeysMappingSharedSchemaContextRequestValidator(), new CreateTenantColumnTableMappingSharedSchemaContextRequestValidator(), new CreateTenantIndexTableMappingSharedSchemaContextRequestValidator(), new CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator(), new CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator(), new TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator());
 
     private final SharedSchemaContextRequest sharedSchemaContextRequest = new SharedSchemaContextRequest();
 
+    /**
+     * Number of threads used by the enrichers of type {@link IParallelSharedSchemaContextEnricher} in {@link #build()} method.
+     * The value lower than two means that all enrichers are executed in the current thread.
+     */
+    private int enrichersParallelism = 1;
+
     /**
      * Constructor set value null for the default schema
      */
@@ -76,28 +90,58 @@ public class DefaultSharedSchemaContextBuilder {
      * Context is enricher in the loop by each enricher from {@link #enrichers}  collection by an order which they were
      * added into the collection.
      * Before enriching the result object the request object is validated by all validators stored in the {@link #validators} collection.
+     * All validators and enrichers get the same read-only view of the request ({@link ImmutableSharedSchemaContextRequest}).
+     * In case when the {@link #enrichersParallelism} is greater than one, the enrichers of type {@link IParallelSharedSchemaContextEnricher}
+     * produce the SQL definitions for tables in the {@link ForkJoinPool}. Enrichers are still invoked one after another,
+     * so the order of the SQL definitions is the same as for the sequential execution.
      * @return object of type {@link ISharedSchemaContext}
      * @throws SharedSchemaContextBuilderException exceptions thrown by enrichers and validators
      */
     public ISharedSchemaContext build() throws SharedSchemaContextBuilderException
     {
         ISharedSchemaContext context = new SharedSchemaContext();
-        SharedSchemaContextRequest sharedSchemaContextRequestCopy = getSharedSchemaContextRequestCopy();
+        ISharedSchemaContextRequest request = new ImmutableSharedSchemaContextRequest(sharedSchemaContextRequest);
         List<ISharedSchemaContextRequestValidator>validators = getValidatorsCopy();
         for (ISharedSchemaContextRequestValidator validator : validators)
         {
-            SharedSchemaContextRequest request = getSharedSchemaContextRequestCopyOrNull(sharedSchemaContextRequestCopy);
             validator.validate(request);
         }
         List<ISharedSchemaContextEnricher> enrichers  = getEnrichersCopy();
-        for (ISharedSchemaContextEnricher enricher : enrichers)
-        {
-            SharedSchemaContextRequest request = getSharedSchemaContextRequestCopyOrNull(sharedSchemaContextRequestCopy);
-            context = enricher.enrich(context, request);
+        ForkJoinPool pool = enrichersParallelism > 1 ? new ForkJoinPool(enrichersParallelism) : null;
+        try {
+            for (ISharedSchemaContextEnricher enricher : enrichers)
+            {
+                context = enricher instanceof IParallelSharedSchemaContextEnricher ? ((IParallelSharedSchemaContextEnricher) enricher).enrich(context, request, pool) : enricher.enrich(context, request);
+            }
+        } finally {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
         }
         return context;
     }
 
+    /**
+     * Setting the number of threads used by the enrichers that produce the SQL definitions for tables in parallel.
+     * @param enrichersParallelism number of threads, the value lower than two means that all enrichers are executed in the current thread
+     * @return builder object for which method was invoked
+     * @see #enrichersParallelism
+     * @see IParallelSharedSchemaContextEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setEnrichersParallelism(int enrichersParallelism) {
+        this.enrichersParallelism = enrichersParallelism;
+        return this;
+    }
+
+    /**
+     *
+     * @return value of the {@link #enrichersParallelism} property
+     */
+    public int getEnrichersParallelism() {
+        return enrichersParallelism;
+    }
+
     /**
      *
      * @return copy of the {@link #enrichers} collection
@@ -223,6 +267,95 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Register the request for creation of the index for the tenant column in table from defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema}).
+     * The table has to have declared row level security policy.
+     * @param table name of table for which the index should be created
+     * @param indexName name of the index
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     * @see TenantIndexSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(String table, String indexName)
+    {
+        return createTenantIndexForTable(table, indexName, null);
+    }
+
+    /**
+     * Register the request for creation of the index for the tenant column and the composite index for the tenant column
+     * and primary key columns in table from defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema}).
+     * The composite index is used by the function that checks if the record with the specified primary key belongs to the current tenant.
+     * The table has to have declared row level security policy.
+     * @param table name of table for which the index should be created
+     * @param indexName name of the index for the tenant column
+     * @param primaryKeyCompositeIndexName name of the composite index for the tenant column and primary key columns, the null value means that such index is not going to be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantIndexProperties
+     * @see TenantIndexSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createTenantIndexForTable(String table, String indexName, String primaryKeyCompositeIndexName)
+    {
+        TableKey tableKey = new TableKey(table, sharedSchemaContextRequest.getDefaultSchema());
+        sharedSchemaContextRequest.getTenantIndexProperties().put(tableKey, new DefaultTenantIndexProperties(indexName, primaryKeyCompositeIndexName));
+        return this;
+    }
+
+    /**
+     * Register the request for partitioning of the table from defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema})
+     * by the list of tenant column values. Each specified tenant has its own partition.
+     * The table has to have declared row level security policy. The same policy is created for each partition.
+     * @param table name of the partitioned table
+     * @param templateTable name of the table based on which the partitioned table is going to be created, the template
+     *                      table has to contain the tenant column. The null value means that the table already exists
+     *                      and is partitioned by the "LIST" method.
+     * @param tenantPartitionNames map where the tenant identifier is the key and the name of its partition is the value
+     * @param defaultPartitionName name of the default partition for other tenants, the null value means that such partition is not going to be created
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     * @see TenantPartitioningSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createTenantListPartitioningForTable(String table, String templateTable, Map<String, String> tenantPartitionNames, String defaultPartitionName)
+    {
+        TableKey tableKey = new TableKey(table, sharedSchemaContextRequest.getDefaultSchema());
+        sharedSchemaContextRequest.getTenantPartitioningProperties().put(tableKey, new DefaultTenantPartitioningProperties(PartitionStrategyEnum.LIST, templateTable, tenantPartitionNames, defaultPartitionName, 0, null));
+        return this;
+    }
+
+    /**
+     * Register the request for partitioning of the table from defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema})
+     * by the hash of the tenant column value. Rows of tenants are distributed between the specified number of partitions.
+     * The table has to have declared row level security policy. The same policy is created for each partition.
+     * @param table name of the partitioned table
+     * @param templateTable name of the table based on which the partitioned table is going to be created, the template
+     *                      table has to contain the tenant column. The null value means that the table already exists
+     *                      and is partitioned by the "HASH" method.
+     * @param partitionsCount number of partitions
+     * @param partitionNamePrefix prefix of partitions names, the partition name is the prefix with the remainder value appended, for example "users_p0"
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantPartitioningProperties
+     * @see TenantPartitioningSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createTenantHashPartitioningForTable(String table, String templateTable, int partitionsCount, String partitionNamePrefix)
+    {
+        TableKey tableKey = new TableKey(table, sharedSchemaContextRequest.getDefaultSchema());
+        sharedSchemaContextRequest.getTenantPartitioningProperties().put(tableKey, new DefaultTenantPartitioningProperties(PartitionStrategyEnum.HASH, templateTable, null, null, partitionsCount, partitionNamePrefix));
+        return this;
+    }
+
+    /**
+     * Setting if builder should create indexes for the tenant column with the CONCURRENTLY option.
+     * Statements with that option cannot be executed inside a transaction block.
+     * By default, the builder does not do this.
+     * @param createTenantIndexesConcurrently true if builder should create indexes with the CONCURRENTLY option
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#createTenantIndexesConcurrently
+     * @see TenantIndexSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setCreateTenantIndexesConcurrently(boolean createTenantIndexesConcurrently) {
+        sharedSchemaContextRequest.setCreateTenantIndexesConcurrently(createTenantIndexesConcurrently);
+        return this;
+    }
+
     /**
      * Register table that should have create row level security policy.
      * Table belongs to defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema}).
@@ -244,6 +377,34 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Register row level security policy only for specific command for table.
+     * When at least one such policy is registered for table then the policies for specific commands are created
+     * instead of the single policy for all commands (the policy with name passed to the
+     * {@link #createRLSPolicyForTable(String, Map, String, String)} method).
+     * Commands without registered policy are not allowed for the table (the default behaviour of row level security).
+     * Each policy can have its own expression strategy, for example the inlined tenant column comparison
+     * ({@link RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON}) for the SELECT command and the function that checks
+     * tenant authorities ({@link RLSPolicyExpressionStrategyEnum#TENANT_HAS_AUTHORITIES_FUNCTION}) for the WITH CHECK expression of the INSERT command.
+     * Table belongs to defined default schema for builder ({@link SharedSchemaContextRequest#defaultSchema}) and it has to be registered
+     * by the {@link #createRLSPolicyForTable(String, Map, String, String)} method.
+     * @param table name of table
+     * @param permissionCommandPolicy command for which the policy is created
+     * @param rlsPolicyName name of row level security policy
+     * @param usingExpressionStrategy strategy for the USING expression, the null value means that the strategy specified by the {@link #setRLSPolicyExpressionStrategy(RLSPolicyExpressionStrategyEnum)} method is used
+     * @param withCheckExpressionStrategy strategy for the WITH CHECK expression, the null value means that the strategy specified by the {@link #setRLSPolicyExpressionStrategy(RLSPolicyExpressionStrategyEnum)} method is used
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tableCommandRLSPolicies
+     * @see TableRLSPolicyEnricher
+     * @see CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator
+     */
+    public DefaultSharedSchemaContextBuilder createRLSPolicyForTableCommand(String table, PermissionCommandPolicyEnum permissionCommandPolicy, String rlsPolicyName, RLSPolicyExpressionStrategyEnum usingExpressionStrategy, RLSPolicyExpressionStrategyEnum withCheckExpressionStrategy)
+    {
+        TableKey tableKey = new TableKey(table, sharedSchemaContextRequest.getDefaultSchema());
+        sharedSchemaContextRequest.getTableCommandRLSPolicies().computeIfAbsent(tableKey, key -> new ArrayList<>()).add(new DefaultTableCommandRLSPolicyProperties(permissionCommandPolicy, rlsPolicyName, usingExpressionStrategy, withCheckExpressionStrategy));
+        return this;
+    }
+
     /**
      * Setting if builder should <a href="https://www.postgresql.org/docs/9.6/ddl-rowsecurity.html">force row level security for table owner</a>.
      * By default, the builder does not do this.
@@ -257,6 +418,138 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting if the function that sets the current tenant identifier should set the value only for the current transaction.
+     * By default, the function sets the value for the whole session.
+     * The transaction scoped value does not have to be reset before returning the connection to the pool and
+     * can be used with the connection pooler in the transaction mode (for example, PgBouncer).
+     * <p>
+     * The transaction scoped tenant is reset at commit or rollback, so it can not be used with the components that remember the last tenant
+     * set for the connection and skip the function invocation, for example the CurrentTenantConnectionSwitcher component that skips redundant
+     * switches (also used by the TenantAwareDataSource and TenantAffinityDataSource types) or the R2DBC TenantConnectionFactory component.
+     * Those components refuse the function definition for which the
+     * {@link com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory#isTransactionScoped()} method returns true.
+     * @param currentTenantIdTransactionScoped true if the current tenant identifier should be set only for the current transaction
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#currentTenantIdTransactionScoped
+     * @see SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setCurrentTenantIdTransactionScoped(boolean currentTenantIdTransactionScoped) {
+        sharedSchemaContextRequest.setCurrentTenantIdTransactionScoped(currentTenantIdTransactionScoped);
+        return this;
+    }
+
+    /**
+     * Setting additional attributes of the functions used by the row level security policy expressions
+     * (the function that returns the current tenant identifier, the function that checks if the passed identifier is the current
+     * tenant identifier and the function that checks tenant authorities).
+     * The LEAKPROOF attribute allows the planner to evaluate the user predicates that invoke those functions before the policy
+     * expressions, for example as the index condition. Only the superuser can create functions with this attribute.
+     * <p>
+     * <b>Marking the functions as LEAKPROOF is unsafe when they can raise an error.</b>
+     * The planner trusts that a leakproof function has no side effects and does not raise errors that reveal its arguments,
+     * because it can be invoked for rows that the policy expression would filter out.
+     * For example, when the tenant identifier type is not a character type (see {@link #setCurrentTenantIdPropertyType(String)}, for example "uuid"),
+     * the function that returns the current tenant identifier casts the property value to that type, and the cast raises an error for an invalid value.
+     * Use this attribute only when the casts of the tenant identifier can not fail.
+     * <p>
+     * The COST attribute helps the planner to order the predicates and joins.
+     * @param tenantFunctionsMetadataProperties functions attributes
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantFunctionsMetadataProperties
+     * @see GetCurrentTenantIdFunctionDefinitionEnricher
+     * @see TenantHasAuthoritiesFunctionDefinitionEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setTenantFunctionsMetadataProperties(IFunctionMetadataProperties tenantFunctionsMetadataProperties) {
+        sharedSchemaContextRequest.setTenantFunctionsMetadataProperties(tenantFunctionsMetadataProperties);
+        return this;
+    }
+
+    /**
+     * Setting if the current tenant identifier should be wrapped in the scalar subquery, for example "(SELECT get_current_tenant_id())".
+     * The subquery does not depend on the table row, so the planner computes it once for the whole query (as the "InitPlan"),
+     * instead of computing the value for each row.
+     * The option is applied to the row level security policy expressions for the
+     * {@link RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON} strategy and to the functions that check if
+     * the record exists for the current tenant.
+     * The expression of the {@link RLSPolicyExpressionStrategyEnum#TENANT_HAS_AUTHORITIES_FUNCTION} strategy and the default value
+     * of the tenant column are not changed, the first one passes the tenant column to the function and Postgres does not allow subqueries in the second one.
+     * @param currentTenantIdAsSubquery true if the current tenant identifier should be wrapped in the scalar subquery
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#currentTenantIdAsSubquery
+     * @see TableRLSPolicyEnricher
+     * @see IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setCurrentTenantIdAsSubquery(boolean currentTenantIdAsSubquery) {
+        sharedSchemaContextRequest.setCurrentTenantIdAsSubquery(currentTenantIdAsSubquery);
+        return this;
+    }
+
+    /**
+     * Setting if the constraints that check if the foreign key refers to the record that belongs to the same tenant
+     * (for the {@link SameTenantConstraintForForeignKeyStrategyEnum#CHECK_CONSTRAINT_WITH_FUNCTION} and
+     * {@link SameTenantConstraintForForeignKeyStrategyEnum#COMPOSITE_FOREIGN_KEY} strategies) and the constraints that check
+     * if the tenant identifier is valid should be added with the "NOT VALID" option.
+     * The statement that adds such constraint takes the "SHARE ROW EXCLUSIVE" or "ACCESS EXCLUSIVE" lock only for a moment,
+     * because it does not scan the table.
+     * Existing rows are checked by the statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method,
+     * which take only the "SHARE UPDATE EXCLUSIVE" lock, so they do not block reads and writes and can be applied in parallel for different tables.
+     * The unique constraints created for the composite foreign keys cannot be added with the "NOT VALID" option, so they are always added as valid.
+     * @param addConstraintsAsNotValid true if the constraints should be added with the "NOT VALID" option
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#addConstraintsAsNotValid
+     * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see IsTenantIdentifierValidConstraintEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setAddConstraintsAsNotValid(boolean addConstraintsAsNotValid) {
+        sharedSchemaContextRequest.setAddConstraintsAsNotValid(addConstraintsAsNotValid);
+        return this;
+    }
+
+    /**
+     * Setting the strategy based on which the tenant column is added to tables (see {@link #createTenantColumnForTable(String)}).
+     * By default, the builder uses {@link TenantColumnRolloutStrategyEnum#DEFAULT} which sets the "NOT NULL" option right after adding the column.
+     * For large tables that already contain rows, the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy should be considered,
+     * in which case the statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method
+     * have to be applied after all existing rows have the tenant identifier, followed by the statements returned by the
+     * {@link ISharedSchemaContext#getPostValidateConstraintStatements()} method.
+     * @param tenantColumnRolloutStrategy strategy for adding the tenant column
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantColumnRolloutStrategy
+     * @see TenantColumnSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setTenantColumnRolloutStrategy(TenantColumnRolloutStrategyEnum tenantColumnRolloutStrategy) {
+        sharedSchemaContextRequest.setTenantColumnRolloutStrategy(tenantColumnRolloutStrategy);
+        return this;
+    }
+
+    /**
+     * Setting the tenant identifier for rows that already exist in tables for which the tenant column is added (see {@link #createTenantColumnForTable(String)}).
+     * The column is added with the default value, which is removed by the next statement, so the Postgres 11 and newer does not rewrite the table.
+     * @param tenantColumnValueForExistingRows tenant identifier for existing rows
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantColumnValueForExistingRows
+     * @see TenantColumnSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setTenantColumnValueForExistingRows(String tenantColumnValueForExistingRows) {
+        sharedSchemaContextRequest.setTenantColumnValueForExistingRows(tenantColumnValueForExistingRows);
+        return this;
+    }
+
+    /**
+     * Register custom name for the temporary check constraint "CHECK (tenant_column IS NOT NULL) NOT VALID" that is added
+     * to the specified table when the tenant column is created with the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy.
+     * By default, the constraint name is the table name joined with the tenant column name and the "not_null" suffix.
+     * @param table table name
+     * @param constraintName constraint name
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantColumnNotNullConstraintCustomNamePerTables
+     */
+    public DefaultSharedSchemaContextBuilder registerCustomTenantColumnNotNullConstraintNameForTable(String table, String constraintName) {
+        sharedSchemaContextRequest.getTenantColumnNotNullConstraintCustomNamePerTables().put(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), constraintName);
+        return this;
+    }
+
     /**
      * Setting the default name for the column that stores the tenant identifier for table row.
      * @param defaultTenantIdColumn name for column that stores the tenant identifier for table row
@@ -297,6 +590,60 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Register the request for creation of constraint that checks if foreign key in the main table refers to record
+     * that exists in the foreign table and which belongs to the current tenant.
+     * Additionally, the unique index for the tenant column and the primary key columns is going to be created for the foreign table.
+     * With such index, the function used by the constraint checks the record existence with the index-only scan.
+     * @param mainTable name of the main table that contains columns with foreign key
+     * @param foreignKeyTable name of the foreign table
+     * @param foreignKeyPrimaryKeyColumnsMappings map contains information about which foreign key column refers to specific primary key column. The foreign key column is the map key and the primary key column is its value.
+     * @param constraintName constraint name
+     * @param foreignKeyTableTenantUniqueIndexName name of the unique index for the tenant column and the primary key columns in the foreign table
+     * @return builder object for which method was invoked
+     * @see #createSameTenantConstraintForForeignKey(String, String, Map, String)
+     * @see SharedSchemaContextRequest#referencedTablesTenantUniqueIndexNames
+     * @see TenantIndexSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createSameTenantConstraintForForeignKey(String mainTable, String foreignKeyTable, Map<String, String> foreignKeyPrimaryKeyColumnsMappings, String constraintName, String foreignKeyTableTenantUniqueIndexName) {
+        createSameTenantConstraintForForeignKey(mainTable, foreignKeyTable, foreignKeyPrimaryKeyColumnsMappings, constraintName);
+        sharedSchemaContextRequest.getReferencedTablesTenantUniqueIndexNames().put(new TableKey(foreignKeyTable, sharedSchemaContextRequest.getDefaultSchema()), foreignKeyTableTenantUniqueIndexName);
+        return this;
+    }
+
+    /**
+     * Setting the strategy based on which the constraints that check if the foreign key refers to the record that belongs
+     * to the same tenant are created.
+     * By default, the builder uses {@link SameTenantConstraintForForeignKeyStrategyEnum#CHECK_CONSTRAINT_WITH_FUNCTION}.
+     * For the {@link SameTenantConstraintForForeignKeyStrategyEnum#COMPOSITE_FOREIGN_KEY} strategy each referenced table
+     * requires the unique constraint name ({@link #createTenantUniqueConstraintForReferencedTable(String, String)}) or
+     * the unique index name ({@link #createSameTenantConstraintForForeignKey(String, String, Map, String, String)}).
+     * For the {@link SameTenantConstraintForForeignKeyStrategyEnum#STATEMENT_LEVEL_TRIGGER} strategy the function names
+     * for the referenced tables are not required.
+     * @param sameTenantConstraintForForeignKeyStrategy strategy for same tenant constraints
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyStrategy
+     * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum sameTenantConstraintForForeignKeyStrategy) {
+        sharedSchemaContextRequest.setSameTenantConstraintForForeignKeyStrategy(sameTenantConstraintForForeignKeyStrategy);
+        return this;
+    }
+
+    /**
+     * Setting the name of the unique constraint for the tenant column and primary key columns that is going to be created
+     * for the table referenced by composite foreign keys ({@link SameTenantConstraintForForeignKeyStrategyEnum#COMPOSITE_FOREIGN_KEY}).
+     * @param table name of the referenced table in default schema ({@link SharedSchemaContextRequest#defaultSchema})
+     * @param constraintName constraint name
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#referencedTablesTenantUniqueConstraintNames
+     * @see IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     */
+    public DefaultSharedSchemaContextBuilder createTenantUniqueConstraintForReferencedTable(String table, String constraintName) {
+        sharedSchemaContextRequest.getReferencedTablesTenantUniqueConstraintNames().put(new TableKey(table, sharedSchemaContextRequest.getDefaultSchema()), constraintName);
+        return this;
+    }
+
     /**
      * Setting the name for a function that checks if there is a record with a specified identifier that is assigned to
      * the current tenant for the specified table that exists in default schema  ({@link SharedSchemaContextRequest#defaultSchema}).
@@ -336,6 +683,35 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting the strategy based on which the constraints check if the tenant column value is not one of the invalid
+     * tenant identifiers passed to the {@link #createValidTenantValueConstraint(List, String, String)} method.
+     * By default, the builder uses {@link TenantValuesBlacklistStrategyEnum#CONSTANT_COMPARISONS} which compares the value
+     * with each invalid identifier, so the cost of each insert and update grows with the size of the list.
+     * For the long lists the {@link TenantValuesBlacklistStrategyEnum#CONSTANT_ARRAY}, {@link TenantValuesBlacklistStrategyEnum#LOOKUP_TABLE}
+     * or {@link TenantValuesBlacklistStrategyEnum#INLINED_CONSTRAINT} strategy should be considered.
+     * @param tenantValuesBlacklistStrategy strategy for checking invalid tenant identifiers
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantValuesBlacklistStrategy
+     * @see IsTenantValidFunctionInvocationFactoryEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setTenantValuesBlacklistStrategy(TenantValuesBlacklistStrategyEnum tenantValuesBlacklistStrategy) {
+        sharedSchemaContextRequest.setTenantValuesBlacklistStrategy(tenantValuesBlacklistStrategy);
+        return this;
+    }
+
+    /**
+     * Setting the name of table that stores the invalid tenant identifiers for the {@link TenantValuesBlacklistStrategyEnum#LOOKUP_TABLE} strategy.
+     * The table is created in the default schema. By default, the table name is "tenant_identifiers_blacklist".
+     * @param tenantValuesBlacklistTableName name of table that stores the invalid tenant identifiers
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#tenantValuesBlacklistTableName
+     */
+    public DefaultSharedSchemaContextBuilder setTenantValuesBlacklistTableName(String tenantValuesBlacklistTableName) {
+        sharedSchemaContextRequest.setTenantValuesBlacklistTableName(tenantValuesBlacklistTableName);
+        return this;
+    }
+
     /**
      * Register custom name for constraint that are going to check if tenant column has valid value in specified
      * table that require rls policy.
@@ -370,6 +746,20 @@ public class DefaultSharedSchemaContextBuilder {
         return this;
     }
 
+    /**
+     * Setting the strategy based on which the row level security policy expressions check if the current tenant is allowed
+     * to process database table row.
+     * By default, the builder uses {@link RLSPolicyExpressionStrategyEnum#TENANT_HAS_AUTHORITIES_FUNCTION}.
+     * @param rlsPolicyExpressionStrategy strategy for row level security policy expressions
+     * @return builder object for which method was invoked
+     * @see SharedSchemaContextRequest#rlsPolicyExpressionStrategy
+     * @see TableRLSPolicyEnricher
+     */
+    public DefaultSharedSchemaContextBuilder setRLSPolicyExpressionStrategy(RLSPolicyExpressionStrategyEnum rlsPolicyExpressionStrategy) {
+        sharedSchemaContextRequest.setRlsPolicyExpressionStrategy(rlsPolicyExpressionStrategy);
+        return this;
+    }
+
     protected SharedSchemaContextRequest getSharedSchemaContextRequestCopyOrNull(SharedSchemaContextRequest request) {
         try {
             return (SharedSchemaContextRequest) request.clone();
@@ -0,0 +1,57 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+
+import java.util.Objects;
+
+public class DefaultTableCommandRLSPolicyProperties implements ITableCommandRLSPolicyProperties {
+
+    private final PermissionCommandPolicyEnum permissionCommandPolicy;
+    private final String policyName;
+    private final RLSPolicyExpressionStrategyEnum usingExpressionStrategy;
+    private final RLSPolicyExpressionStrategyEnum withCheckExpressionStrategy;
+
+    public DefaultTableCommandRLSPolicyProperties(PermissionCommandPolicyEnum permissionCommandPolicy, String policyName, RLSPolicyExpressionStrategyEnum usingExpressionStrategy, RLSPolicyExpressionStrategyEnum withCheckExpressionStrategy) {
+        this.permissionCommandPolicy = permissionCommandPolicy;
+        this.policyName = policyName;
+        this.usingExpressionStrategy = usingExpressionStrategy;
+        this.withCheckExpressionStrategy = withCheckExpressionStrategy;
+    }
+
+    @Override
+    public PermissionCommandPolicyEnum getPermissionCommandPolicy() {
+        return permissionCommandPolicy;
+    }
+
+    @Override
+    public String getPolicyName() {
+        return policyName;
+    }
+
+    @Override
+    public RLSPolicyExpressionStrategyEnum getUsingExpressionStrategy() {
+        return usingExpressionStrategy;
+    }
+
+    @Override
+    public RLSPolicyExpressionStrategyEnum getWithCheckExpressionStrategy() {
+        return withCheckExpressionStrategy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DefaultTableCommandRLSPolicyProperties that = (DefaultTableCommandRLSPolicyProperties) o;
+        return permissionCommandPolicy == that.permissionCommandPolicy &&
+                Objects.equals(policyName, that.policyName) &&
+                usingExpressionStrategy == that.usingExpressionStrategy &&
+                withCheckExpressionStrategy == that.withCheckExpressionStrategy;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(permissionCommandPolicy, policyName, usingExpressionStrategy, withCheckExpressionStrategy);
+    }
+}
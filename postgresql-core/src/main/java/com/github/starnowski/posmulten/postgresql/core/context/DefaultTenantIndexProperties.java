@@ -0,0 +1,38 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import java.util.Objects;
+
+public class DefaultTenantIndexProperties implements ITenantIndexProperties {
+
+    private final String indexName;
+    private final String primaryKeyCompositeIndexName;
+
+    public DefaultTenantIndexProperties(String indexName, String primaryKeyCompositeIndexName) {
+        this.indexName = indexName;
+        this.primaryKeyCompositeIndexName = primaryKeyCompositeIndexName;
+    }
+
+    @Override
+    public String getIndexName() {
+        return indexName;
+    }
+
+    @Override
+    public String getPrimaryKeyCompositeIndexName() {
+        return primaryKeyCompositeIndexName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DefaultTenantIndexProperties that = (DefaultTenantIndexProperties) o;
+        return Objects.equals(indexName, that.indexName) &&
+                Objects.equals(primaryKeyCompositeIndexName, that.primaryKeyCompositeIndexName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indexName, primaryKeyCompositeIndexName);
+    }
+}
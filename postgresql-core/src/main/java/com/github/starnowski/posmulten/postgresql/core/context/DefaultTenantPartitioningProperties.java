@@ -0,0 +1,73 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+
+import java.util.Map;
+import java.util.Objects;
+
+public class DefaultTenantPartitioningProperties implements ITenantPartitioningProperties {
+
+    private final PartitionStrategyEnum partitionStrategy;
+    private final String templateTable;
+    private final Map<String, String> tenantPartitionNames;
+    private final String defaultPartitionName;
+    private final int hashPartitionsCount;
+    private final String hashPartitionNamePrefix;
+
+    public DefaultTenantPartitioningProperties(PartitionStrategyEnum partitionStrategy, String templateTable, Map<String, String> tenantPartitionNames, String defaultPartitionName, int hashPartitionsCount, String hashPartitionNamePrefix) {
+        this.partitionStrategy = partitionStrategy;
+        this.templateTable = templateTable;
+        this.tenantPartitionNames = tenantPartitionNames;
+        this.defaultPartitionName = defaultPartitionName;
+        this.hashPartitionsCount = hashPartitionsCount;
+        this.hashPartitionNamePrefix = hashPartitionNamePrefix;
+    }
+
+    @Override
+    public PartitionStrategyEnum getPartitionStrategy() {
+        return partitionStrategy;
+    }
+
+    @Override
+    public String getTemplateTable() {
+        return templateTable;
+    }
+
+    @Override
+    public Map<String, String> getTenantPartitionNames() {
+        return tenantPartitionNames;
+    }
+
+    @Override
+    public String getDefaultPartitionName() {
+        return defaultPartitionName;
+    }
+
+    @Override
+    public int getHashPartitionsCount() {
+        return hashPartitionsCount;
+    }
+
+    @Override
+    public String getHashPartitionNamePrefix() {
+        return hashPartitionNamePrefix;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DefaultTenantPartitioningProperties that = (DefaultTenantPartitioningProperties) o;
+        return hashPartitionsCount == that.hashPartitionsCount &&
+                partitionStrategy == that.partitionStrategy &&
+                Objects.equals(templateTable, that.templateTable) &&
+                Objects.equals(tenantPartitionNames, that.tenantPartitionNames) &&
+                Objects.equals(defaultPartitionName, that.defaultPartitionName) &&
+                Objects.equals(hashPartitionNamePrefix, that.hashPartitionNamePrefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partitionStrategy, templateTable, tenantPartitionNames, defaultPartitionName, hashPartitionsCount, hashPartitionNamePrefix);
+    }
+}
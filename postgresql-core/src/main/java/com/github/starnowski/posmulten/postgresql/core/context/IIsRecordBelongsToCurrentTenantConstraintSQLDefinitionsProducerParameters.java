@@ -36,4 +36,12 @@ public interface IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer
     IsRecordBelongsToCurrentTenantFunctionInvocationFactory getIsRecordBelongsToCurrentTenantFunctionInvocationFactory();
 
     Map<String, String> getForeignKeyPrimaryKeyMappings();
+
+    /**
+     * @return true if the constraint should be added with the "NOT VALID" option, by default false
+     * @see com.github.starnowski.posmulten.postgresql.core.rls.IConstraintProducerParameters#isNotValid()
+     */
+    default boolean isNotValid() {
+        return false;
+    }
 }
@@ -27,6 +27,7 @@ import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,17 @@ public interface ISharedSchemaContext {
      */
     List<SQLDefinition> getSqlDefinitions();
 
+    /**
+     * Getting a read-only view of the list of objects of type {@link SQLDefinition}, in the same order as the {@link #getSqlDefinitions()} method.
+     * In contrast to the {@link #getSqlDefinitions()} method, the implementation should not copy the list.
+     * The default implementation returns the view of the list returned by the {@link #getSqlDefinitions()} method.
+     * @return read-only list of objects that represents DDL statements that should be applied
+     * @see SQLDefinition
+     */
+    default List<SQLDefinition> getSqlDefinitionsView() {
+        return Collections.unmodifiableList(getSqlDefinitions());
+    }
+
     /**
      * Adding an object of type SQLDefinition to the list that is returned by the {@link #getSqlDefinitions()} method.
      * The object is added to the end of that list.
@@ -50,6 +62,41 @@ public interface ISharedSchemaContext {
      */
     void addSQLDefinition(SQLDefinition sqlDefinition);
 
+    /**
+     * Getting a list of statements that validate constraints added with the "NOT VALID" option by statements returned by the {@link #getSqlDefinitions()} method.
+     * The statements should be applied after all statements returned by the {@link #getSqlDefinitions()} method.
+     * Each statement takes only the "SHARE UPDATE EXCLUSIVE" lock on its table, so the statements do not block reads and writes and
+     * can be applied in separate transactions, also in parallel.
+     * There is no need to drop anything applied by those statements, the constraints are dropped by the drop scripts of
+     * objects returned by the {@link #getSqlDefinitions()} method.
+     * @return list of statements that validate constraints
+     * @see SharedSchemaContextRequest#addConstraintsAsNotValid
+     */
+    List<String> getValidateConstraintStatements();
+
+    /**
+     * Adding a statement to the list that is returned by the {@link #getValidateConstraintStatements()} method.
+     * @param statement statement that validates constraint
+     */
+    void addValidateConstraintStatement(String statement);
+
+    /**
+     * Getting a list of statements that should be applied after all statements returned by the {@link #getValidateConstraintStatements()} method,
+     * in the order of the list and each statement in its own transaction.
+     * Unlike the validation, those statements take the "ACCESS EXCLUSIVE" lock on their table, but they do not scan the table,
+     * so the lock is held only for a short time. Executing them in separate transactions prevents upgrading of the lock taken
+     * by the validation, which could block reads and writes for the whole time of the table scan or end with a deadlock.
+     * @return list of statements applied after the validation of constraints
+     * @see TenantColumnRolloutStrategyEnum#ONLINE
+     */
+    List<String> getPostValidateConstraintStatements();
+
+    /**
+     * Adding a statement to the list that is returned by the {@link #getPostValidateConstraintStatements()} method.
+     * @param statement statement applied after the validation of constraints
+     */
+    void addPostValidateConstraintStatement(String statement);
+
     TenantHasAuthoritiesFunctionInvocationFactory getTenantHasAuthoritiesFunctionInvocationFactory();
 
     void setTenantHasAuthoritiesFunctionInvocationFactory(TenantHasAuthoritiesFunctionInvocationFactory factory);
@@ -66,6 +113,14 @@ public interface ISharedSchemaContext {
 
     ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory();
 
+    ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory getISetCurrentTenantIdFunctionIndexedParameterInvocationFactory();
+
+    void setISetCurrentTenantIdFunctionIndexedParameterInvocationFactory(ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory factory);
+
+    ISetCurrentTenantIdTransactionInvocationFactory getISetCurrentTenantIdTransactionInvocationFactory();
+
+    void setISetCurrentTenantIdTransactionInvocationFactory(ISetCurrentTenantIdTransactionInvocationFactory factory);
+
     Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap();
 
     IIsTenantValidFunctionInvocationFactory getIIsTenantValidFunctionInvocationFactory();
@@ -0,0 +1,214 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only contract of the request that is passed to validators and enrichers during the building process
+ * ({@link DefaultSharedSchemaContextBuilder#build()}).
+ * The meaning of each property is described by the matching field of the {@link SharedSchemaContextRequest} type.
+ * Each new property of the request has to be added to this interface, otherwise validators and enrichers can not read it.
+ * @see SharedSchemaContextRequest
+ * @see ImmutableSharedSchemaContextRequest
+ */
+public interface ISharedSchemaContextRequest {
+
+    /**
+     * @return name of the default column that stores the tenant identifier
+     */
+    String getDefaultTenantIdColumn();
+
+    /**
+     * @return name of the function that checks if passed identifier is equal to the current tenant identifier
+     */
+    String getEqualsCurrentTenantIdentifierFunctionName();
+
+    /**
+     * @return name of the function that checks if the current tenant is allowed to process database table row
+     */
+    String getTenantHasAuthoritiesFunctionName();
+
+    /**
+     * @return name of the function that set the current tenant identifier
+     */
+    String getSetCurrentTenantIdFunctionName();
+
+    /**
+     * @return name of the function that returns the current tenant identifier
+     */
+    String getGetCurrentTenantIdFunctionName();
+
+    /**
+     * @return type of column that stores the tenant identifier
+     */
+    String getCurrentTenantIdPropertyType();
+
+    /**
+     * @return name of the property that stores the current tenant identifier
+     */
+    String getCurrentTenantIdProperty();
+
+    /**
+     * @return name of default schema used during building process
+     */
+    String getDefaultSchema();
+
+    /**
+     * @return map of columns for tables that required to have row level security policy
+     */
+    Map<TableKey, ITableColumns> getTableColumnsList();
+
+    /**
+     * @return set of tables for which the tenant column should be created
+     */
+    Set<TableKey> getCreateTenantColumnTableLists();
+
+    /**
+     * @return true if the row level security policy should be forced for the table owner
+     */
+    boolean isForceRowLevelSecurityForTableOwner();
+
+    /**
+     * @return true if the current tenant identifier should be set only for the current transaction
+     */
+    boolean isCurrentTenantIdTransactionScoped();
+
+    /**
+     * @return metadata properties of the functions that return or compare the current tenant identifier
+     */
+    IFunctionMetadataProperties getTenantFunctionsMetadataProperties();
+
+    /**
+     * @return true if the current tenant identifier should be invoked as a subquery in the policy expressions
+     */
+    boolean isCurrentTenantIdAsSubquery();
+
+    /**
+     * @return true if the constraints should be added with the NOT VALID option
+     */
+    boolean isAddConstraintsAsNotValid();
+
+    /**
+     * @return strategy of adding the tenant column to the existing tables
+     */
+    TenantColumnRolloutStrategyEnum getTenantColumnRolloutStrategy();
+
+    /**
+     * @return value of the tenant column for rows that already exist in tables
+     */
+    String getTenantColumnValueForExistingRows();
+
+    /**
+     * @return map of custom names of the temporary check constraint that checks if the tenant column is not null
+     */
+    Map<TableKey, String> getTenantColumnNotNullConstraintCustomNamePerTables();
+
+    /**
+     * @return name of the database user for which the row level security policies are created
+     */
+    String getGrantee();
+
+    /**
+     * @return map of the row level security policy properties for tables
+     */
+    Map<TableKey, ITableRLSPolicyProperties> getTableRLSPolicies();
+
+    /**
+     * @return map of the constraints that check if the foreign key references the row of the same tenant
+     */
+    Map<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> getSameTenantConstraintForForeignKeyProperties();
+
+    /**
+     * @return map of names of the functions that check if the record exists in table
+     */
+    Map<TableKey, String> getFunctionThatChecksIfRecordExistsInTableNames();
+
+    /**
+     * @return list of the invalid tenant identifiers
+     */
+    List<String> getTenantValuesBlacklist();
+
+    /**
+     * @return name of the function that checks if the tenant identifier is valid
+     */
+    String getIsTenantValidFunctionName();
+
+    /**
+     * @return strategy of checking the tenant identifier against the list of the invalid tenant identifiers
+     */
+    TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy();
+
+    /**
+     * @return name of the table that stores the invalid tenant identifiers
+     */
+    String getTenantValuesBlacklistTableName();
+
+    /**
+     * @return name of the constraint that checks if the tenant identifier is valid
+     */
+    String getIsTenantValidConstraintName();
+
+    /**
+     * @return true if the constraint that checks if the tenant identifier is valid should be added
+     */
+    boolean isConstraintForValidTenantValueShouldBeAdded();
+
+    /**
+     * @return map of custom names of the constraint that checks if the tenant identifier is valid
+     */
+    Map<TableKey, String> getTenantValidConstraintCustomNamePerTables();
+
+    /**
+     * @return true if the current tenant identifier should be the default value of the tenant column in all tables
+     */
+    boolean isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables();
+
+    /**
+     * @return set of tables for which the default value of the tenant column should not be added
+     */
+    Set<TableKey> getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped();
+
+    /**
+     * @return strategy of the row level security policy expression
+     */
+    RLSPolicyExpressionStrategyEnum getRlsPolicyExpressionStrategy();
+
+    /**
+     * @return map of the tenant index properties for tables
+     */
+    Map<TableKey, ITenantIndexProperties> getTenantIndexProperties();
+
+    /**
+     * @return true if the tenant indexes should be created concurrently
+     */
+    boolean isCreateTenantIndexesConcurrently();
+
+    /**
+     * @return map of names of the unique indexes for the tenant column and the primary key columns in referenced tables
+     */
+    Map<TableKey, String> getReferencedTablesTenantUniqueIndexNames();
+
+    /**
+     * @return strategy of the constraint that checks if the foreign key references the row of the same tenant
+     */
+    SameTenantConstraintForForeignKeyStrategyEnum getSameTenantConstraintForForeignKeyStrategy();
+
+    /**
+     * @return map of names of the unique constraints for the tenant column and the primary key columns in referenced tables
+     */
+    Map<TableKey, String> getReferencedTablesTenantUniqueConstraintNames();
+
+    /**
+     * @return map of the tenant partitioning properties for tables
+     */
+    Map<TableKey, ITenantPartitioningProperties> getTenantPartitioningProperties();
+
+    /**
+     * @return map of the row level security policies for specific commands for tables
+     */
+    Map<TableKey, List<ITableCommandRLSPolicyProperties>> getTableCommandRLSPolicies();
+}
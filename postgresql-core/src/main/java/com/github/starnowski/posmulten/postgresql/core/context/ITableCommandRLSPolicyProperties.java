@@ -0,0 +1,31 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+
+public interface ITableCommandRLSPolicyProperties {
+
+    /**
+     * @return command for which the row level security policy is created
+     */
+    PermissionCommandPolicyEnum getPermissionCommandPolicy();
+
+    /**
+     * @return name of the row level security policy
+     */
+    String getPolicyName();
+
+    /**
+     * Used for all commands except {@link PermissionCommandPolicyEnum#INSERT}.
+     * @return strategy for the USING expression, the null value means that the strategy specified for the builder is used
+     * ({@link SharedSchemaContextRequest#getRlsPolicyExpressionStrategy()})
+     */
+    RLSPolicyExpressionStrategyEnum getUsingExpressionStrategy();
+
+    /**
+     * Used for all commands except {@link PermissionCommandPolicyEnum#SELECT} and {@link PermissionCommandPolicyEnum#DELETE}.
+     * @return strategy for the WITH CHECK expression, the null value means that the strategy specified for the builder is used
+     * ({@link SharedSchemaContextRequest#getRlsPolicyExpressionStrategy()})
+     */
+    RLSPolicyExpressionStrategyEnum getWithCheckExpressionStrategy();
+}
@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
 public interface ITableRLSPolicySQLDefinitionsProducerParameters {
@@ -38,4 +39,19 @@ public interface ITableRLSPolicySQLDefinitionsProducerParameters {
     String getTenantIdColumn();
 
     String getDefaultTenantIdColumn();
+
+    /**
+     * @return command for which the policy is created, the null value means {@link PermissionCommandPolicyEnum#ALL}
+     */
+    PermissionCommandPolicyEnum getPermissionCommandPolicy();
+
+    /**
+     * @return component for the USING expression, the null value means that the component returned by the {@link #getTenantHasAuthoritiesFunctionInvocationFactory()} method is used
+     */
+    TenantHasAuthoritiesFunctionInvocationFactory getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory();
+
+    /**
+     * @return component for the WITH CHECK expression, the null value means that the component returned by the {@link #getTenantHasAuthoritiesFunctionInvocationFactory()} method is used
+     */
+    TenantHasAuthoritiesFunctionInvocationFactory getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory();
 }
@@ -0,0 +1,20 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Type contains information about indexes that should be created for the tenant column in table.
+ */
+public interface ITenantIndexProperties {
+
+    /**
+     * The method returns name of the index for the tenant column.
+     * @return name of the index for the tenant column
+     */
+    String getIndexName();
+
+    /**
+     * The method returns name of the composite index for the tenant column and the primary key columns.
+     * The null value means that such an index should not be created.
+     * @return name of the composite index for the tenant column and the primary key columns
+     */
+    String getPrimaryKeyCompositeIndexName();
+}
@@ -0,0 +1,41 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum;
+
+import java.util.Map;
+
+public interface ITenantPartitioningProperties {
+
+    PartitionStrategyEnum getPartitionStrategy();
+
+    /**
+     * @return name of the table based on which the partitioned table should be created, the null value means that
+     * the partitioned table already exists
+     */
+    String getTemplateTable();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#LIST} strategy.
+     * @return map where the tenant identifier is the key and the name of its partition is the value
+     */
+    Map<String, String> getTenantPartitionNames();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#LIST} strategy.
+     * @return name of the default partition for tenants that do not have their own partition, the null value means that
+     * such partition is not going to be created
+     */
+    String getDefaultPartitionName();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#HASH} strategy.
+     * @return number of hash partitions
+     */
+    int getHashPartitionsCount();
+
+    /**
+     * Used only for the {@link PartitionStrategyEnum#HASH} strategy.
+     * @return prefix of hash partitions names, the partition name is the prefix with the remainder value appended
+     */
+    String getHashPartitionNamePrefix();
+}
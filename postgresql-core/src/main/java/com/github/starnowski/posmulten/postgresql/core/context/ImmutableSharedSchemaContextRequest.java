@@ -0,0 +1,223 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.*;
+
+/**
+ * Read-only view of the {@link SharedSchemaContextRequest} object that is passed to validators and enrichers during
+ * the building process ({@link DefaultSharedSchemaContextBuilder#build()}).
+ * The view does not copy any data. All methods return values of the wrapped request and collections are returned as
+ * unmodifiable views. The view implements only the {@link ISharedSchemaContextRequest} interface, so it does not have
+ * any setters and each new property added to that interface has to be delegated by this type.
+ * That is why a single object can be shared between all validators and enrichers and none of them can change the
+ * request for the next ones or the state of the builder.
+ */
+public class ImmutableSharedSchemaContextRequest implements ISharedSchemaContextRequest {
+
+    private final ISharedSchemaContextRequest request;
+
+    public ImmutableSharedSchemaContextRequest(ISharedSchemaContextRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String getDefaultTenantIdColumn() {
+        return request.getDefaultTenantIdColumn();
+    }
+
+    @Override
+    public String getEqualsCurrentTenantIdentifierFunctionName() {
+        return request.getEqualsCurrentTenantIdentifierFunctionName();
+    }
+
+    @Override
+    public String getTenantHasAuthoritiesFunctionName() {
+        return request.getTenantHasAuthoritiesFunctionName();
+    }
+
+    @Override
+    public String getSetCurrentTenantIdFunctionName() {
+        return request.getSetCurrentTenantIdFunctionName();
+    }
+
+    @Override
+    public String getGetCurrentTenantIdFunctionName() {
+        return request.getGetCurrentTenantIdFunctionName();
+    }
+
+    @Override
+    public String getCurrentTenantIdPropertyType() {
+        return request.getCurrentTenantIdPropertyType();
+    }
+
+    @Override
+    public String getCurrentTenantIdProperty() {
+        return request.getCurrentTenantIdProperty();
+    }
+
+    @Override
+    public String getDefaultSchema() {
+        return request.getDefaultSchema();
+    }
+
+    @Override
+    public Map<TableKey, ITableColumns> getTableColumnsList() {
+        return unmodifiableMap(request.getTableColumnsList());
+    }
+
+    @Override
+    public Set<TableKey> getCreateTenantColumnTableLists() {
+        return unmodifiableSet(request.getCreateTenantColumnTableLists());
+    }
+
+    @Override
+    public boolean isForceRowLevelSecurityForTableOwner() {
+        return request.isForceRowLevelSecurityForTableOwner();
+    }
+
+    @Override
+    public boolean isCurrentTenantIdTransactionScoped() {
+        return request.isCurrentTenantIdTransactionScoped();
+    }
+
+    @Override
+    public IFunctionMetadataProperties getTenantFunctionsMetadataProperties() {
+        return request.getTenantFunctionsMetadataProperties();
+    }
+
+    @Override
+    public boolean isCurrentTenantIdAsSubquery() {
+        return request.isCurrentTenantIdAsSubquery();
+    }
+
+    @Override
+    public boolean isAddConstraintsAsNotValid() {
+        return request.isAddConstraintsAsNotValid();
+    }
+
+    @Override
+    public TenantColumnRolloutStrategyEnum getTenantColumnRolloutStrategy() {
+        return request.getTenantColumnRolloutStrategy();
+    }
+
+    @Override
+    public String getTenantColumnValueForExistingRows() {
+        return request.getTenantColumnValueForExistingRows();
+    }
+
+    @Override
+    public Map<TableKey, String> getTenantColumnNotNullConstraintCustomNamePerTables() {
+        return unmodifiableMap(request.getTenantColumnNotNullConstraintCustomNamePerTables());
+    }
+
+    @Override
+    public String getGrantee() {
+        return request.getGrantee();
+    }
+
+    @Override
+    public Map<TableKey, ITableRLSPolicyProperties> getTableRLSPolicies() {
+        return unmodifiableMap(request.getTableRLSPolicies());
+    }
+
+    @Override
+    public Map<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> getSameTenantConstraintForForeignKeyProperties() {
+        return unmodifiableMap(request.getSameTenantConstraintForForeignKeyProperties());
+    }
+
+    @Override
+    public Map<TableKey, String> getFunctionThatChecksIfRecordExistsInTableNames() {
+        return unmodifiableMap(request.getFunctionThatChecksIfRecordExistsInTableNames());
+    }
+
+    @Override
+    public List<String> getTenantValuesBlacklist() {
+        return request.getTenantValuesBlacklist() == null ? null : unmodifiableList(request.getTenantValuesBlacklist());
+    }
+
+    @Override
+    public String getIsTenantValidFunctionName() {
+        return request.getIsTenantValidFunctionName();
+    }
+
+    @Override
+    public String getIsTenantValidConstraintName() {
+        return request.getIsTenantValidConstraintName();
+    }
+
+    @Override
+    public TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy() {
+        return request.getTenantValuesBlacklistStrategy();
+    }
+
+    @Override
+    public String getTenantValuesBlacklistTableName() {
+        return request.getTenantValuesBlacklistTableName();
+    }
+
+    @Override
+    public boolean isConstraintForValidTenantValueShouldBeAdded() {
+        return request.isConstraintForValidTenantValueShouldBeAdded();
+    }
+
+    @Override
+    public Map<TableKey, String> getTenantValidConstraintCustomNamePerTables() {
+        return unmodifiableMap(request.getTenantValidConstraintCustomNamePerTables());
+    }
+
+    @Override
+    public boolean isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables() {
+        return request.isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables();
+    }
+
+    @Override
+    public Set<TableKey> getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped() {
+        return unmodifiableSet(request.getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped());
+    }
+
+    @Override
+    public RLSPolicyExpressionStrategyEnum getRlsPolicyExpressionStrategy() {
+        return request.getRlsPolicyExpressionStrategy();
+    }
+
+    @Override
+    public Map<TableKey, ITenantIndexProperties> getTenantIndexProperties() {
+        return unmodifiableMap(request.getTenantIndexProperties());
+    }
+
+    @Override
+    public boolean isCreateTenantIndexesConcurrently() {
+        return request.isCreateTenantIndexesConcurrently();
+    }
+
+    @Override
+    public Map<TableKey, String> getReferencedTablesTenantUniqueIndexNames() {
+        return unmodifiableMap(request.getReferencedTablesTenantUniqueIndexNames());
+    }
+
+    @Override
+    public SameTenantConstraintForForeignKeyStrategyEnum getSameTenantConstraintForForeignKeyStrategy() {
+        return request.getSameTenantConstraintForForeignKeyStrategy();
+    }
+
+    @Override
+    public Map<TableKey, String> getReferencedTablesTenantUniqueConstraintNames() {
+        return unmodifiableMap(request.getReferencedTablesTenantUniqueConstraintNames());
+    }
+
+    @Override
+    public Map<TableKey, ITenantPartitioningProperties> getTenantPartitioningProperties() {
+        return unmodifiableMap(request.getTenantPartitioningProperties());
+    }
+
+    @Override
+    public Map<TableKey, List<ITableCommandRLSPolicyProperties>> getTableCommandRLSPolicies() {
+        return unmodifiableMap(request.getTableCommandRLSPolicies());
+    }
+}
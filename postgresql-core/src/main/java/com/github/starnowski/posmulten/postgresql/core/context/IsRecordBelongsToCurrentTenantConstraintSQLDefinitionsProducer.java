@@ -42,18 +42,33 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer {
 
     public List<SQLDefinition> produce(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters)
     {
-        IsRecordBelongsToCurrentTenantConstraintProducerParameters isRecordBelongsToCurrentTenantConstraintProducerParameters = DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters.builder()
+        return Collections.singletonList(isRecordBelongsToCurrentTenantConstraintProducer.produce(mapParameters(parameters)));
+    }
+
+    /**
+     * Produces the statements that validate the constraints added with the "NOT VALID" option by the {@link #produce(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters)} method.
+     * @param parameters constraint parameters
+     * @return list of statements that validate constraints
+     */
+    public List<String> produceValidateConstraintStatements(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters)
+    {
+        return Collections.singletonList(isRecordBelongsToCurrentTenantConstraintProducer.produceValidateConstraintStatement(mapParameters(parameters)));
+    }
+
+    void setIsRecordBelongsToCurrentTenantConstraintProducer(IsRecordBelongsToCurrentTenantConstraintProducer isRecordBelongsToCurrentTenantConstraintProducer) {
+        this.isRecordBelongsToCurrentTenantConstraintProducer = isRecordBelongsToCurrentTenantConstraintProducer;
+    }
+
+    private IsRecordBelongsToCurrentTenantConstraintProducerParameters mapParameters(IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters)
+    {
+        return DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters.builder()
                 .withConstraintName(parameters.getConstraintName())
                 .withTableName(parameters.getTableKey().getTable())
                 .withTableSchema(parameters.getTableKey().getSchema())
                 .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(parameters.getIsRecordBelongsToCurrentTenantFunctionInvocationFactory())
                 .withPrimaryColumnsValuesMap(convertForeignPrimaryKeyMapping(parameters.getForeignKeyPrimaryKeyMappings()))
+                .withNotValid(parameters.isNotValid())
                 .build();
-        return Collections.singletonList(isRecordBelongsToCurrentTenantConstraintProducer.produce(isRecordBelongsToCurrentTenantConstraintProducerParameters));
-    }
-
-    void setIsRecordBelongsToCurrentTenantConstraintProducer(IsRecordBelongsToCurrentTenantConstraintProducer isRecordBelongsToCurrentTenantConstraintProducer) {
-        this.isRecordBelongsToCurrentTenantConstraintProducer = isRecordBelongsToCurrentTenantConstraintProducer;
     }
 
     private Map<String, FunctionArgumentValue> convertForeignPrimaryKeyMapping(Map<String, String> foreignKeyPrimaryKeyMappings)
@@ -34,12 +34,18 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParam
     private final TableKey tableKey;
     private final IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory;
     private final Map<String, String> foreignKeyPrimaryKeyMappings;
+    private final boolean notValid;
 
     public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters(String constraintName, TableKey tableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory, Map<String, String> foreignKeyPrimaryKeyMappings) {
+        this(constraintName, tableKey, isRecordBelongsToCurrentTenantFunctionInvocationFactory, foreignKeyPrimaryKeyMappings, false);
+    }
+
+    public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters(String constraintName, TableKey tableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory, Map<String, String> foreignKeyPrimaryKeyMappings, boolean notValid) {
         this.constraintName = constraintName;
         this.tableKey = tableKey;
         this.isRecordBelongsToCurrentTenantFunctionInvocationFactory = isRecordBelongsToCurrentTenantFunctionInvocationFactory;
         this.foreignKeyPrimaryKeyMappings = foreignKeyPrimaryKeyMappings;
+        this.notValid = notValid;
     }
 
     @Override
@@ -59,12 +65,18 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParam
         return foreignKeyPrimaryKeyMappings;
     }
 
+    @Override
+    public boolean isNotValid() {
+        return notValid;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters that = (IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters) o;
-        return Objects.equals(constraintName, that.constraintName) &&
+        return notValid == that.notValid &&
+                Objects.equals(constraintName, that.constraintName) &&
                 Objects.equals(tableKey, that.tableKey) &&
                 Objects.equals(isRecordBelongsToCurrentTenantFunctionInvocationFactory, that.isRecordBelongsToCurrentTenantFunctionInvocationFactory) &&
                 Objects.equals(foreignKeyPrimaryKeyMappings, that.foreignKeyPrimaryKeyMappings);
@@ -72,7 +84,7 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParam
 
     @Override
     public int hashCode() {
-        return Objects.hash(constraintName, tableKey, isRecordBelongsToCurrentTenantFunctionInvocationFactory, foreignKeyPrimaryKeyMappings);
+        return Objects.hash(constraintName, tableKey, isRecordBelongsToCurrentTenantFunctionInvocationFactory, foreignKeyPrimaryKeyMappings, notValid);
     }
 
     public static IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParametersBuilder builder()
@@ -86,6 +98,7 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParam
         private TableKey tableKey;
         private IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory;
         private Map<String, String> foreignKeyPrimaryKeyMappings;
+        private boolean notValid;
 
         public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParametersBuilder withConstraintName(String constraintName) {
             this.constraintName = constraintName;
@@ -107,9 +120,14 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParam
             return this;
         }
 
+        public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParametersBuilder withNotValid(boolean notValid) {
+            this.notValid = notValid;
+            return this;
+        }
+
         public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters build()
         {
-            return new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters(constraintName, tableKey, isRecordBelongsToCurrentTenantFunctionInvocationFactory, foreignKeyPrimaryKeyMappings);
+            return new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters(constraintName, tableKey, isRecordBelongsToCurrentTenantFunctionInvocationFactory, foreignKeyPrimaryKeyMappings, notValid);
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Strategy that describes how the constraints that check if the foreign key refers to the record that belongs to the same
+ * tenant are created.
+ * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyStrategy
+ */
+public enum SameTenantConstraintForForeignKeyStrategyEnum {
+    /**
+     * The check constraint that invokes the function which checks if the referenced record belongs to the current tenant
+     * ({@link com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionDefinition}).
+     */
+    CHECK_CONSTRAINT_WITH_FUNCTION,
+    /**
+     * The unique constraint for the tenant column and primary key columns in the referenced table and the composite
+     * foreign key constraint for the tenant column and foreign key columns in the main table, for example
+     * "FOREIGN KEY (tenant_id, user_id) REFERENCES users (tenant_id, id)".
+     * The integrity is checked by the native foreign key triggers, also when the referenced record is deleted or updated,
+     * and no function is created for the referenced table.
+     * The tenant column of the main table has to be compared with the current tenant by the row level security policy,
+     * which is the default behaviour.
+     */
+    COMPOSITE_FOREIGN_KEY,
+    /**
+     * The trigger function and the statement-level triggers ("AFTER INSERT" and "AFTER UPDATE" with "FOR EACH STATEMENT")
+     * on the main table that pass the changed rows as the transition table ("REFERENCING NEW TABLE").
+     * All rows changed by the statement are checked by a single anti-join with the referenced table, which is much faster
+     * for bulk loads (for example "INSERT ... SELECT") than invoking the function for each row.
+     * The constraint name is used as the name of the trigger function and as the prefix for the trigger names
+     * (with the "_insert" and "_update" suffixes), and no function is created for the referenced table.
+     * Just like the check constraint, the triggers are not fired when the referenced record is deleted or updated.
+     * Transition tables require Postgres 10 or newer.
+     * @see com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantForeignKeyTriggerFunctionProducer
+     * @see com.github.starnowski.posmulten.postgresql.core.CreateTransitionTableTriggerStatementProducer
+     */
+    STATEMENT_LEVEL_TRIGGER
+}
@@ -28,6 +28,7 @@ import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesF
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +38,12 @@ public class SharedSchemaContext implements ISharedSchemaContext {
     private IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
     private ISetCurrentTenantIdFunctionInvocationFactory iSetCurrentTenantIdFunctionInvocationFactory;
     private ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    private ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory iSetCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+    private ISetCurrentTenantIdTransactionInvocationFactory iSetCurrentTenantIdTransactionInvocationFactory;
     private TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
     private List<SQLDefinition> sqlDefinitions = new ArrayList<>();
+    private List<String> validateConstraintStatements = new ArrayList<>();
+    private List<String> postValidateConstraintStatements = new ArrayList<>();
     private Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> tableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap = new HashMap();
     private IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory;
 
@@ -47,11 +52,36 @@ public class SharedSchemaContext implements ISharedSchemaContext {
         return new ArrayList<>(sqlDefinitions);
     }
 
+    @Override
+    public List<SQLDefinition> getSqlDefinitionsView() {
+        return Collections.unmodifiableList(sqlDefinitions);
+    }
+
     @Override
     public void addSQLDefinition(SQLDefinition sqlDefinition) {
         sqlDefinitions.add(sqlDefinition);
     }
 
+    @Override
+    public List<String> getValidateConstraintStatements() {
+        return new ArrayList<>(validateConstraintStatements);
+    }
+
+    @Override
+    public void addValidateConstraintStatement(String statement) {
+        validateConstraintStatements.add(statement);
+    }
+
+    @Override
+    public List<String> getPostValidateConstraintStatements() {
+        return new ArrayList<>(postValidateConstraintStatements);
+    }
+
+    @Override
+    public void addPostValidateConstraintStatement(String statement) {
+        postValidateConstraintStatements.add(statement);
+    }
+
     @Override
     public TenantHasAuthoritiesFunctionInvocationFactory getTenantHasAuthoritiesFunctionInvocationFactory() {
         return tenantHasAuthoritiesFunctionInvocationFactory;
@@ -90,6 +120,22 @@ public class SharedSchemaContext implements ISharedSchemaContext {
         this.iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory = iSetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
     }
 
+    public ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory getISetCurrentTenantIdFunctionIndexedParameterInvocationFactory() {
+        return iSetCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+    }
+
+    public void setISetCurrentTenantIdFunctionIndexedParameterInvocationFactory(ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory iSetCurrentTenantIdFunctionIndexedParameterInvocationFactory) {
+        this.iSetCurrentTenantIdFunctionIndexedParameterInvocationFactory = iSetCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+    }
+
+    public ISetCurrentTenantIdTransactionInvocationFactory getISetCurrentTenantIdTransactionInvocationFactory() {
+        return iSetCurrentTenantIdTransactionInvocationFactory;
+    }
+
+    public void setISetCurrentTenantIdTransactionInvocationFactory(ISetCurrentTenantIdTransactionInvocationFactory iSetCurrentTenantIdTransactionInvocationFactory) {
+        this.iSetCurrentTenantIdTransactionInvocationFactory = iSetCurrentTenantIdTransactionInvocationFactory;
+    }
+
     @Override
     public Map<TableKey, IsRecordBelongsToCurrentTenantFunctionInvocationFactory> getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap() {
         return tableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap;
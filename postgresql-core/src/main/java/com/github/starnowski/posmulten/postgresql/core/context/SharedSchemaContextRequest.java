@@ -23,10 +23,13 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+
 import java.util.*;
 import java.util.List;
 
-public class SharedSchemaContextRequest implements Cloneable{
+public class SharedSchemaContextRequest implements Cloneable, ISharedSchemaContextRequest {
 
     public static final String DEFAULT_TENANT_ID_COLUMN = "tenant_id";
 
@@ -41,6 +44,8 @@ public class SharedSchemaContextRequest implements Cloneable{
     /**
      * Type of column that stores the tenant identifier.
      * Default value is "VARCHAR(255)".
+     * The type is used by all generated functions, so for the types other than character types (for example "uuid" or "bigint")
+     * the tenant column is compared with the current tenant identifier without casting the column.
      */
     private String currentTenantIdPropertyType = "VARCHAR(255)";
     /**
@@ -88,6 +93,58 @@ public class SharedSchemaContextRequest implements Cloneable{
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSSettingsSQLDefinitionsEnricher
      */
     private boolean forceRowLevelSecurityForTableOwner;
+    /**
+     * The toggle, based on which the function that sets the current tenant identifier is going to set the value only for the current transaction
+     * (true, the "is_local" argument of the set_config function is true) or for the whole session (false). The default value is false.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurrentTenantIdFunctionDefinitionEnricher
+     */
+    private boolean currentTenantIdTransactionScoped;
+    /**
+     * Additional attributes (LEAKPROOF, COST, SUPPORT) of the functions used by the row level security policy expressions:
+     * the function that returns the current tenant identifier, the function that checks if the passed identifier is the current
+     * tenant identifier and the function that checks tenant authorities. The default value is null, which means that the attributes are not added.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.GetCurrentTenantIdFunctionDefinitionEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHasAuthoritiesFunctionDefinitionEnricher
+     */
+    private IFunctionMetadataProperties tenantFunctionsMetadataProperties;
+    /**
+     * The toggle, based on which the current tenant identifier in the row level security policy expressions (for the
+     * {@link com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON} strategy)
+     * and in the functions that check if the record exists for the current tenant is wrapped in the scalar subquery (true) or not (false).
+     * The planner computes such subquery once for the whole query, instead of computing the value for each row. The default value is false.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher
+     */
+    private boolean currentTenantIdAsSubquery;
+    /**
+     * The toggle, based on which the constraints that check if the foreign key refers to the record that belongs to the same tenant
+     * (also the composite foreign keys) and the constraints that check if the tenant identifier is valid are added with the "NOT VALID" option (true) or not (false).
+     * Such constraints are added without scanning the tables, and the statements that validate them are returned by the
+     * {@link ISharedSchemaContext#getValidateConstraintStatements()} method. The default value is false.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantIdentifierValidConstraintEnricher
+     */
+    private boolean addConstraintsAsNotValid;
+    /**
+     * Strategy based on which the tenant column is added to tables that are on the {@link #createTenantColumnTableLists} list.
+     * The default value is {@link TenantColumnRolloutStrategyEnum#DEFAULT}.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantColumnSQLDefinitionsEnricher
+     */
+    private TenantColumnRolloutStrategyEnum tenantColumnRolloutStrategy = TenantColumnRolloutStrategyEnum.DEFAULT;
+    /**
+     * The tenant identifier that is set for rows that already exist in tables for which the tenant column is added.
+     * The default value is null, which means that the existing rows have no tenant identifier.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantColumnSQLDefinitionsEnricher
+     */
+    private String tenantColumnValueForExistingRows;
+    /**
+     * A map that stores the custom names for the temporary check constraint "CHECK (tenant_column IS NOT NULL) NOT VALID",
+     * added to tables for which the tenant column is created with the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy.
+     * The map key is a table identifier ({@link TableKey}), and the value is the constraint name.
+     * By default, the constraint name is the table name joined with the tenant column name and the "not_null" suffix, for example "users_tenant_id_not_null".
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantColumnSQLDefinitionsEnricher
+     */
+    private Map<TableKey, String> tenantColumnNotNullConstraintCustomNamePerTables = new HashMap<>();
     /**
      * A map that stores information that describes the row level security policy properties for tables.
      * Properties are store for each table that required to have row level security policy.
@@ -135,6 +192,17 @@ public class SharedSchemaContextRequest implements Cloneable{
      * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantIdentifierValidConstraintEnricher
      */
     private String isTenantValidConstraintName;
+    /**
+     * Strategy based on which the constraints check if the tenant identifier is not one of the invalid values ({@link #tenantValuesBlacklist}).
+     * The default value is {@link TenantValuesBlacklistStrategyEnum#CONSTANT_COMPARISONS}.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
+     */
+    private TenantValuesBlacklistStrategyEnum tenantValuesBlacklistStrategy = TenantValuesBlacklistStrategyEnum.CONSTANT_COMPARISONS;
+    /**
+     * The name of table that stores invalid tenant identifiers for the {@link TenantValuesBlacklistStrategyEnum#LOOKUP_TABLE} strategy.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
+     */
+    private String tenantValuesBlacklistTableName;
 
     /**
      * The toggle, based on which builder is going to add constraint for all tables that required rls policy
@@ -163,6 +231,67 @@ public class SharedSchemaContextRequest implements Cloneable{
      */
     private Set<TableKey> tablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped = new HashSet<>();
 
+    /**
+     * Strategy based on which the row level security policy expressions check if the current tenant is allowed to process
+     * database table row. The default value is {@link RLSPolicyExpressionStrategyEnum#TENANT_HAS_AUTHORITIES_FUNCTION}.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     */
+    private RLSPolicyExpressionStrategyEnum rlsPolicyExpressionStrategy = RLSPolicyExpressionStrategyEnum.TENANT_HAS_AUTHORITIES_FUNCTION;
+
+    /**
+     * A map that stores information about indexes that should be created for the tenant column.
+     * The table identifier ({@link TableKey}) is the map key and the index properties ({@link ITenantIndexProperties}) are its value.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantIndexProperties> tenantIndexProperties = new HashMap<>();
+
+    /**
+     * The toggle, based on which builder is going to create indexes for the tenant column with the CONCURRENTLY option
+     * (true) or not (false). The default value is false.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private boolean createTenantIndexesConcurrently;
+
+    /**
+     * A map that stores the names of unique indexes for the tenant column and primary key columns that should be created
+     * for tables referenced by foreign keys for which the same tenant constraint was requested.
+     * The table identifier ({@link TableKey}) of the referenced table is the map key and the index name is its value.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
+     */
+    private Map<TableKey, String> referencedTablesTenantUniqueIndexNames = new HashMap<>();
+
+    /**
+     * Strategy based on which the constraints that check if the foreign key refers to the record that belongs to the same
+     * tenant are created. The default value is {@link SameTenantConstraintForForeignKeyStrategyEnum#CHECK_CONSTRAINT_WITH_FUNCTION}.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher
+     */
+    private SameTenantConstraintForForeignKeyStrategyEnum sameTenantConstraintForForeignKeyStrategy = SameTenantConstraintForForeignKeyStrategyEnum.CHECK_CONSTRAINT_WITH_FUNCTION;
+
+    /**
+     * A map that stores the names of unique constraints for the tenant column and primary key columns that should be created
+     * for tables referenced by composite foreign keys ({@link SameTenantConstraintForForeignKeyStrategyEnum#COMPOSITE_FOREIGN_KEY}).
+     * The table identifier ({@link TableKey}) of the referenced table is the map key and the constraint name is its value.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
+     */
+    private Map<TableKey, String> referencedTablesTenantUniqueConstraintNames = new HashMap<>();
+
+    /**
+     * A map that stores information about tables that should be partitioned by the tenant column.
+     * The table identifier ({@link TableKey}) is the map key and the partitioning properties are its value.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPartitioningSQLDefinitionsEnricher
+     */
+    private Map<TableKey, ITenantPartitioningProperties> tenantPartitioningProperties = new HashMap<>();
+
+    /**
+     * A map that stores information about the row level security policies created for specific commands (SELECT, INSERT, UPDATE, DELETE).
+     * For table that has such policies, the policies are created instead of the single policy for all commands
+     * ({@link ITableRLSPolicyProperties}).
+     * The table identifier ({@link TableKey}) is the map key and the list of policies properties is its value.
+     * @see com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
+     */
+    private Map<TableKey, List<ITableCommandRLSPolicyProperties>> tableCommandRLSPolicies = new HashMap<>();
+
     public String getDefaultTenantIdColumn() {
         return defaultTenantIdColumn;
     }
@@ -243,6 +372,58 @@ public class SharedSchemaContextRequest implements Cloneable{
         this.forceRowLevelSecurityForTableOwner = forceRowLevelSecurityForTableOwner;
     }
 
+    public boolean isCurrentTenantIdTransactionScoped() {
+        return currentTenantIdTransactionScoped;
+    }
+
+    public void setCurrentTenantIdTransactionScoped(boolean currentTenantIdTransactionScoped) {
+        this.currentTenantIdTransactionScoped = currentTenantIdTransactionScoped;
+    }
+
+    public IFunctionMetadataProperties getTenantFunctionsMetadataProperties() {
+        return tenantFunctionsMetadataProperties;
+    }
+
+    public void setTenantFunctionsMetadataProperties(IFunctionMetadataProperties tenantFunctionsMetadataProperties) {
+        this.tenantFunctionsMetadataProperties = tenantFunctionsMetadataProperties;
+    }
+
+    public boolean isCurrentTenantIdAsSubquery() {
+        return currentTenantIdAsSubquery;
+    }
+
+    public void setCurrentTenantIdAsSubquery(boolean currentTenantIdAsSubquery) {
+        this.currentTenantIdAsSubquery = currentTenantIdAsSubquery;
+    }
+
+    public boolean isAddConstraintsAsNotValid() {
+        return addConstraintsAsNotValid;
+    }
+
+    public void setAddConstraintsAsNotValid(boolean addConstraintsAsNotValid) {
+        this.addConstraintsAsNotValid = addConstraintsAsNotValid;
+    }
+
+    public TenantColumnRolloutStrategyEnum getTenantColumnRolloutStrategy() {
+        return tenantColumnRolloutStrategy;
+    }
+
+    public void setTenantColumnRolloutStrategy(TenantColumnRolloutStrategyEnum tenantColumnRolloutStrategy) {
+        this.tenantColumnRolloutStrategy = tenantColumnRolloutStrategy;
+    }
+
+    public String getTenantColumnValueForExistingRows() {
+        return tenantColumnValueForExistingRows;
+    }
+
+    public void setTenantColumnValueForExistingRows(String tenantColumnValueForExistingRows) {
+        this.tenantColumnValueForExistingRows = tenantColumnValueForExistingRows;
+    }
+
+    public Map<TableKey, String> getTenantColumnNotNullConstraintCustomNamePerTables() {
+        return tenantColumnNotNullConstraintCustomNamePerTables;
+    }
+
     public String getGrantee() {
         return grantee;
     }
@@ -284,6 +465,22 @@ public class SharedSchemaContextRequest implements Cloneable{
         this.isTenantValidFunctionName = isTenantValidFunctionName;
     }
 
+    public TenantValuesBlacklistStrategyEnum getTenantValuesBlacklistStrategy() {
+        return tenantValuesBlacklistStrategy;
+    }
+
+    public void setTenantValuesBlacklistStrategy(TenantValuesBlacklistStrategyEnum tenantValuesBlacklistStrategy) {
+        this.tenantValuesBlacklistStrategy = tenantValuesBlacklistStrategy;
+    }
+
+    public String getTenantValuesBlacklistTableName() {
+        return tenantValuesBlacklistTableName;
+    }
+
+    public void setTenantValuesBlacklistTableName(String tenantValuesBlacklistTableName) {
+        this.tenantValuesBlacklistTableName = tenantValuesBlacklistTableName;
+    }
+
     public String getIsTenantValidConstraintName() {
         return isTenantValidConstraintName;
     }
@@ -315,4 +512,48 @@ public class SharedSchemaContextRequest implements Cloneable{
     public Set<TableKey> getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped() {
         return tablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped;
     }
+
+    public RLSPolicyExpressionStrategyEnum getRlsPolicyExpressionStrategy() {
+        return rlsPolicyExpressionStrategy;
+    }
+
+    public void setRlsPolicyExpressionStrategy(RLSPolicyExpressionStrategyEnum rlsPolicyExpressionStrategy) {
+        this.rlsPolicyExpressionStrategy = rlsPolicyExpressionStrategy;
+    }
+
+    public Map<TableKey, ITenantIndexProperties> getTenantIndexProperties() {
+        return tenantIndexProperties;
+    }
+
+    public boolean isCreateTenantIndexesConcurrently() {
+        return createTenantIndexesConcurrently;
+    }
+
+    public void setCreateTenantIndexesConcurrently(boolean createTenantIndexesConcurrently) {
+        this.createTenantIndexesConcurrently = createTenantIndexesConcurrently;
+    }
+
+    public Map<TableKey, String> getReferencedTablesTenantUniqueIndexNames() {
+        return referencedTablesTenantUniqueIndexNames;
+    }
+
+    public SameTenantConstraintForForeignKeyStrategyEnum getSameTenantConstraintForForeignKeyStrategy() {
+        return sameTenantConstraintForForeignKeyStrategy;
+    }
+
+    public void setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum sameTenantConstraintForForeignKeyStrategy) {
+        this.sameTenantConstraintForForeignKeyStrategy = sameTenantConstraintForForeignKeyStrategy;
+    }
+
+    public Map<TableKey, String> getReferencedTablesTenantUniqueConstraintNames() {
+        return referencedTablesTenantUniqueConstraintNames;
+    }
+
+    public Map<TableKey, ITenantPartitioningProperties> getTenantPartitioningProperties() {
+        return tenantPartitioningProperties;
+    }
+
+    public Map<TableKey, List<ITableCommandRLSPolicyProperties>> getTableCommandRLSPolicies() {
+        return tableCommandRLSPolicies;
+    }
 }
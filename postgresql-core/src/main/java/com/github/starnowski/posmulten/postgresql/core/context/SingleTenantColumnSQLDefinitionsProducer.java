@@ -24,25 +24,104 @@
 package com.github.starnowski.posmulten.postgresql.core.context;
 
 import com.github.starnowski.posmulten.postgresql.core.*;
+import com.github.starnowski.posmulten.postgresql.core.common.DefaultSQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultNotNullConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.NotNullConstraintProducer;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
 public class SingleTenantColumnSQLDefinitionsProducer {
 
     private CreateColumnStatementProducer createColumnStatementProducer = new CreateColumnStatementProducer();
     private SetNotNullStatementProducer setNotNullStatementProducer = new SetNotNullStatementProducer();
+    private NotNullConstraintProducer notNullConstraintProducer = new NotNullConstraintProducer();
+    private SetDefaultStatementProducer setDefaultStatementProducer = new SetDefaultStatementProducer();
 
     public List<SQLDefinition> produce(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String defaultTenantColumnType)
+    {
+        return produce(tableKey, tableColumns, defaultTenantColumn, defaultTenantColumnType, TenantColumnRolloutStrategyEnum.DEFAULT, null, null);
+    }
+
+    /**
+     * Produces SQL definitions that add the tenant column to the table.
+     * When the value for existing rows is specified, the column is added with that value as the default value,
+     * and the default value is dropped by the separate SQL definition that is right after.
+     * For the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy, the "NOT NULL" option is not set, instead the check constraint
+     * with the "NOT VALID" option is added. The statements that finish the rollout are returned by the
+     * {@link #produceValidateStatements(TableKey, ITableColumns, String, String)} and
+     * {@link #producePostValidateStatements(TableKey, ITableColumns, String, String)} methods.
+     * @param tableKey table identifier
+     * @param tableColumns table columns
+     * @param defaultTenantColumn default name of the tenant column
+     * @param defaultTenantColumnType type of the tenant column
+     * @param strategy rollout strategy, null means {@link TenantColumnRolloutStrategyEnum#DEFAULT}
+     * @param valueForExistingRows tenant identifier that is set for the existing rows, can be null
+     * @param notNullConstraintName name of the check constraint added for the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy, null means the default name
+     * @return SQL definitions
+     */
+    public List<SQLDefinition> produce(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String defaultTenantColumnType, TenantColumnRolloutStrategyEnum strategy, String valueForExistingRows, String notNullConstraintName)
     {
         List<SQLDefinition> results = new ArrayList<>();
-        String tenantColumn = tableColumns.getTenantColumnName() == null ? defaultTenantColumn : tableColumns.getTenantColumnName();
-        results.add(createColumnStatementProducer.produce(new CreateColumnStatementProducerParameters(tableKey.getTable(), tenantColumn, defaultTenantColumnType, tableKey.getSchema())));
-        results.add(setNotNullStatementProducer.produce(new SetNotNullStatementProducerParameters(tableKey.getTable(), tenantColumn, tableKey.getSchema())));
+        String tenantColumn = resolveTenantColumn(tableColumns, defaultTenantColumn);
+        String valueExpression = valueForExistingRows == null ? null : "'" + valueForExistingRows.replace("'", "''") + "'";
+        results.add(createColumnStatementProducer.produce(new CreateColumnStatementProducerParameters(tableKey.getTable(), tenantColumn, defaultTenantColumnType, tableKey.getSchema(), valueExpression)));
+        if (valueExpression != null)
+        {
+            SQLDefinition setDefaultDefinition = setDefaultStatementProducer.produce(new SetDefaultStatementProducerParameters(tableKey.getTable(), tenantColumn, valueExpression, tableKey.getSchema()));
+            // The default value is only needed for rows that exist when the column is added
+            results.add(new DefaultSQLDefinition(setDefaultDefinition.getDropScript(), setDefaultDefinition.getCreateScript()));
+        }
+        if (TenantColumnRolloutStrategyEnum.ONLINE.equals(strategy))
+        {
+            results.add(notNullConstraintProducer.produce(prepareNotNullConstraintParameters(tableKey, tenantColumn, notNullConstraintName)));
+        }
+        else
+        {
+            results.add(setNotNullStatementProducer.produce(new SetNotNullStatementProducerParameters(tableKey.getTable(), tenantColumn, tableKey.getSchema())));
+        }
         return results;
     }
 
+    /**
+     * Produces statement that validates the check constraint added for the {@link TenantColumnRolloutStrategyEnum#ONLINE} strategy.
+     * The validation scans the whole table but takes only the "SHARE UPDATE EXCLUSIVE" lock, so it has to be executed
+     * in its own transaction, before statements returned by the {@link #producePostValidateStatements(TableKey, ITableColumns, String, String)} method.
+     * @param tableKey table identifier
+     * @param tableColumns table columns
+     * @param defaultTenantColumn default name of the tenant column
+     * @param notNullConstraintName name of the check constraint, null means the default name
+     * @return statements that validate the check constraint
+     */
+    public List<String> produceValidateStatements(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String notNullConstraintName)
+    {
+        String tenantColumn = resolveTenantColumn(tableColumns, defaultTenantColumn);
+        return singletonList(notNullConstraintProducer.produceValidateConstraintStatement(prepareNotNullConstraintParameters(tableKey, tenantColumn, notNullConstraintName)));
+    }
+
+    /**
+     * Produces statements that finish the {@link TenantColumnRolloutStrategyEnum#ONLINE} rollout of the tenant column after the validation
+     * of the check constraint: the statement that sets the "NOT NULL" option for the column and the statement that drops the check constraint.
+     * Both statements take the "ACCESS EXCLUSIVE" lock, but the Postgres 12 and newer does not scan the table when setting the "NOT NULL" option
+     * because of the validated check constraint. Each statement should be executed in its own transaction, in the order of the list.
+     * @param tableKey table identifier
+     * @param tableColumns table columns
+     * @param defaultTenantColumn default name of the tenant column
+     * @param notNullConstraintName name of the check constraint, null means the default name
+     * @return statements that finish the rollout
+     */
+    public List<String> producePostValidateStatements(TableKey tableKey, ITableColumns tableColumns, String defaultTenantColumn, String notNullConstraintName)
+    {
+        String tenantColumn = resolveTenantColumn(tableColumns, defaultTenantColumn);
+        SQLDefinition setNotNullDefinition = setNotNullStatementProducer.produce(new SetNotNullStatementProducerParameters(tableKey.getTable(), tenantColumn, tableKey.getSchema()));
+        SQLDefinition constraintDefinition = notNullConstraintProducer.produce(prepareNotNullConstraintParameters(tableKey, tenantColumn, notNullConstraintName));
+        return asList(setNotNullDefinition.getCreateScript(), constraintDefinition.getDropScript());
+    }
+
     public void setCreateColumnStatementProducer(CreateColumnStatementProducer createColumnStatementProducer) {
         this.createColumnStatementProducer = createColumnStatementProducer;
     }
@@ -51,4 +130,28 @@ public class SingleTenantColumnSQLDefinitionsProducer {
         this.setNotNullStatementProducer = setNotNullStatementProducer;
     }
 
+    public void setNotNullConstraintProducer(NotNullConstraintProducer notNullConstraintProducer) {
+        this.notNullConstraintProducer = notNullConstraintProducer;
+    }
+
+    public void setSetDefaultStatementProducer(SetDefaultStatementProducer setDefaultStatementProducer) {
+        this.setDefaultStatementProducer = setDefaultStatementProducer;
+    }
+
+    private String resolveTenantColumn(ITableColumns tableColumns, String defaultTenantColumn)
+    {
+        return tableColumns.getTenantColumnName() == null ? defaultTenantColumn : tableColumns.getTenantColumnName();
+    }
+
+    private DefaultNotNullConstraintProducerParameters prepareNotNullConstraintParameters(TableKey tableKey, String tenantColumn, String notNullConstraintName)
+    {
+        return DefaultNotNullConstraintProducerParameters.builder()
+                .withConstraintName(notNullConstraintName == null ? tableKey.getTable() + "_" + tenantColumn + "_not_null" : notNullConstraintName)
+                .withTableName(tableKey.getTable())
+                .withTableSchema(tableKey.getSchema())
+                .withColumnName(tenantColumn)
+                .withNotValid(true)
+                .build();
+    }
+
 }
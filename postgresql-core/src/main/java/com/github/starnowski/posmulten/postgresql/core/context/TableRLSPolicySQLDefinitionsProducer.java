@@ -43,9 +43,9 @@ public class TableRLSPolicySQLDefinitionsProducer {
                 .withPolicySchema(parameters.getTableKey().getSchema())
                 .withPolicyTable(parameters.getTableKey().getTable())
                 .withGrantee(parameters.getGrantee())
-                .withPermissionCommandPolicy(ALL)
-                .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getTenantHasAuthoritiesFunctionInvocationFactory())
-                .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getTenantHasAuthoritiesFunctionInvocationFactory())
+                .withPermissionCommandPolicy(parameters.getPermissionCommandPolicy() == null ? ALL : parameters.getPermissionCommandPolicy())
+                .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory() == null ? parameters.getTenantHasAuthoritiesFunctionInvocationFactory() : parameters.getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory())
+                .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(parameters.getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory() == null ? parameters.getTenantHasAuthoritiesFunctionInvocationFactory() : parameters.getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory())
                 .withTenantIdColumn(parameters.getTenantIdColumn() == null ? parameters.getDefaultTenantIdColumn() : parameters.getTenantIdColumn())
                 .build());
         results.add(sqlDefinition);
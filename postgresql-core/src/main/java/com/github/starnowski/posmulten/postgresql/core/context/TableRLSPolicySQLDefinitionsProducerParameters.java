@@ -23,6 +23,7 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context;
 
+import com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum;
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
 import java.util.Objects;
@@ -37,13 +38,23 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
     private final TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
     private final String tenantIdColumn;
     private final String defaultTenantIdColumn;
+    private final PermissionCommandPolicyEnum permissionCommandPolicy;
+    private final TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+    private final TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
     public TableRLSPolicySQLDefinitionsProducerParameters(String grantee, TableKey tableKey, String policyName, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory, String tenantIdColumn, String defaultTenantIdColumn) {
+        this(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, null, null, null);
+    }
+
+    public TableRLSPolicySQLDefinitionsProducerParameters(String grantee, TableKey tableKey, String policyName, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory, String tenantIdColumn, String defaultTenantIdColumn, PermissionCommandPolicyEnum permissionCommandPolicy, TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory) {
         this.grantee = grantee;
         this.tableKey = tableKey;
         this.policyName = policyName;
         this.tenantHasAuthoritiesFunctionInvocationFactory = tenantHasAuthoritiesFunctionInvocationFactory;
         this.tenantIdColumn = tenantIdColumn;
         this.defaultTenantIdColumn = defaultTenantIdColumn;
+        this.permissionCommandPolicy = permissionCommandPolicy;
+        this.usingExpressionTenantHasAuthoritiesFunctionInvocationFactory = usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+        this.withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory = withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
     }
 
     @Override
@@ -56,12 +67,15 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
                 Objects.equals(policyName, that.policyName) &&
                 Objects.equals(tenantHasAuthoritiesFunctionInvocationFactory, that.tenantHasAuthoritiesFunctionInvocationFactory) &&
                 Objects.equals(tenantIdColumn, that.tenantIdColumn) &&
-                Objects.equals(defaultTenantIdColumn, that.defaultTenantIdColumn);
+                Objects.equals(defaultTenantIdColumn, that.defaultTenantIdColumn) &&
+                permissionCommandPolicy == that.permissionCommandPolicy &&
+                Objects.equals(usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, that.usingExpressionTenantHasAuthoritiesFunctionInvocationFactory) &&
+                Objects.equals(withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory, that.withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn);
+        return Objects.hash(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, permissionCommandPolicy, usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory);
     }
 
     public String getGrantee() {
@@ -89,6 +103,21 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
         return defaultTenantIdColumn;
     }
 
+    @Override
+    public PermissionCommandPolicyEnum getPermissionCommandPolicy() {
+        return permissionCommandPolicy;
+    }
+
+    @Override
+    public TenantHasAuthoritiesFunctionInvocationFactory getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory() {
+        return usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+    }
+
+    @Override
+    public TenantHasAuthoritiesFunctionInvocationFactory getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory() {
+        return withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+    }
+
     public static class TableRLSPolicySQLDefinitionsProducerParametersBuilder
     {
         private String grantee;
@@ -97,6 +126,9 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
         private TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory;
         private String tenantIdColumn;
         private String defaultTenantIdColumn;
+        private PermissionCommandPolicyEnum permissionCommandPolicy;
+        private TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+        private TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
 
         public TableRLSPolicySQLDefinitionsProducerParametersBuilder withGrantee(String grantee) {
             this.grantee = grantee;
@@ -128,9 +160,24 @@ public class TableRLSPolicySQLDefinitionsProducerParameters implements ITableRLS
             return this;
         }
 
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withPermissionCommandPolicy(PermissionCommandPolicyEnum permissionCommandPolicy) {
+            this.permissionCommandPolicy = permissionCommandPolicy;
+            return this;
+        }
+
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(TenantHasAuthoritiesFunctionInvocationFactory usingExpressionTenantHasAuthoritiesFunctionInvocationFactory) {
+            this.usingExpressionTenantHasAuthoritiesFunctionInvocationFactory = usingExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+            return this;
+        }
+
+        public TableRLSPolicySQLDefinitionsProducerParametersBuilder withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(TenantHasAuthoritiesFunctionInvocationFactory withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory) {
+            this.withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory = withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory;
+            return this;
+        }
+
         public TableRLSPolicySQLDefinitionsProducerParameters build()
         {
-            return new TableRLSPolicySQLDefinitionsProducerParameters(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn);
+            return new TableRLSPolicySQLDefinitionsProducerParameters(grantee, tableKey, policyName, tenantHasAuthoritiesFunctionInvocationFactory, tenantIdColumn, defaultTenantIdColumn, permissionCommandPolicy, usingExpressionTenantHasAuthoritiesFunctionInvocationFactory, withCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory);
         }
     }
 }
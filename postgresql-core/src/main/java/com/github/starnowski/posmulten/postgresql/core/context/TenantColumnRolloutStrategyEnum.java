@@ -0,0 +1,26 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Strategy that describes how the tenant column is added to the existing tables.
+ * @see SharedSchemaContextRequest#tenantColumnRolloutStrategy
+ */
+public enum TenantColumnRolloutStrategyEnum {
+    /**
+     * The column is added and the "NOT NULL" option is set right after, for example
+     * "ALTER TABLE users ADD COLUMN tenant_id VARCHAR(255);" and "ALTER TABLE users ALTER COLUMN tenant_id SET NOT NULL;".
+     * Setting the "NOT NULL" option scans the whole table while holding the "ACCESS EXCLUSIVE" lock,
+     * so the strategy is suitable for empty or small tables.
+     */
+    DEFAULT,
+    /**
+     * The column is added (with the value for existing rows stored as the "fast default" when it is specified,
+     * see {@link SharedSchemaContextRequest#tenantColumnValueForExistingRows}) together with the check constraint
+     * "CHECK (tenant_id IS NOT NULL) NOT VALID", which does not scan the table.
+     * The statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method validate the check constraint,
+     * taking only the "SHARE UPDATE EXCLUSIVE" lock. After that, the statements returned by the {@link ISharedSchemaContext#getPostValidateConstraintStatements()} method
+     * set the "NOT NULL" option and drop the check constraint, each in its own transaction. They take the "ACCESS EXCLUSIVE" lock only for a moment,
+     * because the Postgres 12 and newer proves the "NOT NULL" option from the validated constraint without scanning the table.
+     * Rows without the tenant identifier have to be filled before the validation.
+     */
+    ONLINE
+}
@@ -0,0 +1,37 @@
+package com.github.starnowski.posmulten.postgresql.core.context;
+
+/**
+ * Strategy that describes how the constraints check if the tenant column value is not one of the invalid tenant identifiers
+ * (tenant values blacklist).
+ * @see SharedSchemaContextRequest#tenantValuesBlacklistStrategy
+ */
+public enum TenantValuesBlacklistStrategyEnum {
+    /**
+     * The check constraint invokes the function that compares the passed value with each invalid tenant identifier, for example
+     * "SELECT $1 &lt;&gt; CAST ('invalid1' AS text) AND $1 &lt;&gt; CAST ('invalid2' AS text)".
+     * The number of comparisons for each inserted or updated row is equal to the number of invalid tenant identifiers.
+     */
+    CONSTANT_COMPARISONS,
+    /**
+     * The check constraint invokes the function that compares the passed value with the sorted array constant, for example
+     * "SELECT $1 &lt;&gt; ALL (CAST ('{"invalid1","invalid2"}' AS text[]))".
+     * The whole list is a single constant, and the newer Postgres versions (15 and later) check the value
+     * by the hash lookup when the array has many elements.
+     */
+    CONSTANT_ARRAY,
+    /**
+     * The invalid tenant identifiers are stored in the table with the primary key and the check constraint invokes the
+     * function that probes the primary key index, for example
+     * "SELECT NOT EXISTS (SELECT 1 FROM tenant_identifiers_blacklist WHERE tenant_id = $1)".
+     * The cost of the check does not depend on the number of invalid tenant identifiers, and the list can be modified without
+     * recreating the function and constraints.
+     * @see SharedSchemaContextRequest#tenantValuesBlacklistTableName
+     */
+    LOOKUP_TABLE,
+    /**
+     * The check constraint compares the tenant column with the sorted array constant directly, without any function invocation, for example
+     * "tenant_id IS NULL OR tenant_id &lt;&gt; ALL (CAST ('{"invalid1","invalid2"}' AS text[]))".
+     * No function is created.
+     */
+    INLINED_CONSTRAINT
+}
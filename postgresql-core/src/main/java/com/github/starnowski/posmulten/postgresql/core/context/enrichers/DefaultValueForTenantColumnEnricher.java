@@ -3,7 +3,7 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 import com.github.starnowski.posmulten.postgresql.core.SetDefaultStatementProducer;
 import com.github.starnowski.posmulten.postgresql.core.SetDefaultStatementProducerParameters;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
@@ -25,7 +25,7 @@ public class DefaultValueForTenantColumnEnricher implements ISharedSchemaContext
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) {
         List<Pair<TableKey, String>> tableColumnPairs = emptyList();
         if (request.isCurrentTenantIdentifierAsDefaultValueForTenantColumnInAllTables()) {
             tableColumnPairs = request.getTableColumnsList().entrySet().stream().filter(entry -> !request.getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped().contains(entry.getKey())).map(entry -> new Pair<>(entry.getKey(), entry.getValue().getTenantColumnName())).collect(toList());
@@ -24,7 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionDefinition;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionProducer;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionProducerParameters;
@@ -42,9 +42,9 @@ public class GetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSche
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) {
         String functionName = request.getGetCurrentTenantIdFunctionName() == null ? "get_current_tenant_id" : request.getGetCurrentTenantIdFunctionName();
-        GetCurrentTenantIdFunctionDefinition sqlDefinition = getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType()));
+        GetCurrentTenantIdFunctionDefinition sqlDefinition = getCurrentTenantIdFunctionProducer.produce(new GetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), request.getTenantFunctionsMetadataProperties()));
         context.addSQLDefinition(sqlDefinition);
         context.setIGetCurrentTenantIdFunctionInvocationFactory(sqlDefinition);
         return context;
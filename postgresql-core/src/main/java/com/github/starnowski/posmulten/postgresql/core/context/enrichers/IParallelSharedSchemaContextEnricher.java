@@ -0,0 +1,32 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The enricher that can produce the SQL definitions for each table in parallel.
+ * Implementation has to add the SQL definitions to the context in the same order as it would be done by sequential execution.
+ * The enricher still depends on the values set by the enrichers that are executed before it, which is why the enrichers
+ * are invoked one after another and only the work for the single enricher is split between the threads.
+ */
+public interface IParallelSharedSchemaContextEnricher extends ISharedSchemaContextEnricher {
+
+    /**
+     * Enriches the context, the SQL definitions for tables are produced by tasks executed in the passed pool.
+     * @param context context object
+     * @param request request object
+     * @param pool pool used for the execution of the tasks, if it is null then tasks are executed sequentially in the current thread
+     * @return enriched context object
+     * @throws SharedSchemaContextBuilderException exception thrown by enricher
+     */
+    ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request, ForkJoinPool pool) throws SharedSchemaContextBuilderException;
+
+    @Override
+    default ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws SharedSchemaContextBuilderException
+    {
+        return enrich(context, request, null);
+    }
+}
@@ -24,10 +24,10 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
 
 public interface ISharedSchemaContextEnricher {
 
-    ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException;
+    ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws SharedSchemaContextBuilderException;
 }
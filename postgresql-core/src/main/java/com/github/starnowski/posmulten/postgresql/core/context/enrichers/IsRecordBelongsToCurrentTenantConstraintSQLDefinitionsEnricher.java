@@ -23,24 +23,80 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.CreateTransitionTableTriggerStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.CreateTransitionTableTriggerStatementProducerParameters;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.IncorrectForeignKeysMappingException;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingTenantUniqueConstraintNameDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultForeignKeyConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultUniqueConstraintProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.ForeignKeyConstraintProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.UniqueConstraintProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantForeignKeyTriggerFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantForeignKeyTriggerFunctionProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SameTenantForeignKeyTriggerFunctionProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.util.Pair;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
+/**
+ * The enricher creates constraints that check if the foreign key refers to the record that belongs to the same tenant.
+ * By default, the check constraints that invoke the function created by {@link IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher}
+ * are created.
+ * For the {@link SameTenantConstraintForForeignKeyStrategyEnum#COMPOSITE_FOREIGN_KEY} strategy, the enricher creates
+ * the unique constraint for the tenant column and primary key columns in each referenced table (unless the unique index
+ * for those columns was requested) and the composite foreign key for the tenant column and foreign key columns in the main table.
+ * For the {@link SameTenantConstraintForForeignKeyStrategyEnum#STATEMENT_LEVEL_TRIGGER} strategy, the enricher creates
+ * the trigger function and the statement-level triggers for inserts and updates on the main table.
+ * When the {@link SharedSchemaContextRequest#addConstraintsAsNotValid} toggle is set, the check constraints and composite foreign keys
+ * are added with the "NOT VALID" option and the statements that validate them are added to the context
+ * (see {@link ISharedSchemaContext#getValidateConstraintStatements()}).
+ * For the composite foreign key and the statement-level trigger strategies, the enricher throws the {@link IncorrectForeignKeysMappingException}
+ * when the foreign key columns mapping does not cover exactly the primary key columns of the referenced table,
+ * and the {@link MissingRLSPolicyDeclarationForTableException} when there is no RLS policy declaration for the referenced table.
+ * @see SharedSchemaContextRequest#sameTenantConstraintForForeignKeyStrategy
+ */
 public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
 
+    private static final String TRANSITION_TABLE_NAME = "new_rows";
+    private static final List<String> TRIGGER_EVENTS = asList("INSERT", "UPDATE");
+
     private final IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer;
+    private final UniqueConstraintProducer uniqueConstraintProducer;
+    private final ForeignKeyConstraintProducer foreignKeyConstraintProducer;
+    private final SameTenantForeignKeyTriggerFunctionProducer sameTenantForeignKeyTriggerFunctionProducer;
+    private final CreateTransitionTableTriggerStatementProducer createTransitionTableTriggerStatementProducer;
 
     public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer) {
+        this(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer, new UniqueConstraintProducer(), new ForeignKeyConstraintProducer());
+    }
+
+    public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer, UniqueConstraintProducer uniqueConstraintProducer, ForeignKeyConstraintProducer foreignKeyConstraintProducer) {
+        this(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer, uniqueConstraintProducer, foreignKeyConstraintProducer, new SameTenantForeignKeyTriggerFunctionProducer(), new CreateTransitionTableTriggerStatementProducer());
+    }
+
+    public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer, UniqueConstraintProducer uniqueConstraintProducer, ForeignKeyConstraintProducer foreignKeyConstraintProducer, SameTenantForeignKeyTriggerFunctionProducer sameTenantForeignKeyTriggerFunctionProducer, CreateTransitionTableTriggerStatementProducer createTransitionTableTriggerStatementProducer) {
         this.isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer = isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer;
+        this.uniqueConstraintProducer = uniqueConstraintProducer;
+        this.foreignKeyConstraintProducer = foreignKeyConstraintProducer;
+        this.sameTenantForeignKeyTriggerFunctionProducer = sameTenantForeignKeyTriggerFunctionProducer;
+        this.createTransitionTableTriggerStatementProducer = createTransitionTableTriggerStatementProducer;
     }
 
     public IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher() {
@@ -48,8 +104,14 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher impl
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingConstraintNameDeclarationForTableException, MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws MissingConstraintNameDeclarationForTableException, MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException, MissingTenantUniqueConstraintNameDeclarationForTableException, IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
         List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream().map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue())).collect(toList());
+        boolean compositeForeignKeyStrategy = SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY.equals(request.getSameTenantConstraintForForeignKeyStrategy());
+        boolean statementLevelTriggerStrategy = SameTenantConstraintForForeignKeyStrategyEnum.STATEMENT_LEVEL_TRIGGER.equals(request.getSameTenantConstraintForForeignKeyStrategy());
+        if (compositeForeignKeyStrategy)
+        {
+            addTenantUniqueConstraintsForReferencedTables(context, request, constrainsRequests);
+        }
         for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constraintRequest : constrainsRequests)
         {
             SameTenantConstraintForForeignKey key = constraintRequest.getKey();
@@ -62,6 +124,16 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher impl
                                 key.getMainTable().getSchema(),
                                 key.getForeignKeyColumns().stream().sorted().collect(joining(", "))));
             }
+            if (compositeForeignKeyStrategy)
+            {
+                addCompositeForeignKeyConstraint(context, request, key, requestProperties);
+                continue;
+            }
+            if (statementLevelTriggerStrategy)
+            {
+                addStatementLevelTriggers(context, request, key, requestProperties);
+                continue;
+            }
             IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory = context.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().get(key.getForeignKeyTable());
             if (isRecordBelongsToCurrentTenantFunctionInvocationFactory == null)
             {
@@ -74,9 +146,143 @@ public class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher impl
                     .withTableKey(key.getMainTable())
                     .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(isRecordBelongsToCurrentTenantFunctionInvocationFactory)
                     .withForeignKeyPrimaryKeyMappings(requestProperties.getForeignKeyPrimaryKeyColumnsMappings())
+                    .withNotValid(request.isAddConstraintsAsNotValid())
                     .build();
             isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(parameters).forEach(sqlDefinition -> context.addSQLDefinition(sqlDefinition));
+            if (request.isAddConstraintsAsNotValid())
+            {
+                isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produceValidateConstraintStatements(parameters).forEach(statement -> context.addValidateConstraintStatement(statement));
+            }
         }
         return context;
     }
+
+    private void addTenantUniqueConstraintsForReferencedTables(ISharedSchemaContext context, ISharedSchemaContextRequest request, List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constrainsRequests) throws MissingTenantUniqueConstraintNameDeclarationForTableException, MissingRLSPolicyDeclarationForTableException {
+        List<TableKey> referencedTables = constrainsRequests.stream().map(pair -> pair.getKey().getForeignKeyTable()).distinct().collect(toList());
+        for (TableKey tableKey : referencedTables)
+        {
+            if (request.getReferencedTablesTenantUniqueIndexNames().containsKey(tableKey))
+            {
+                // The unique index for the tenant column and primary key columns is created by the TenantIndexSQLDefinitionsEnricher
+                continue;
+            }
+            String constraintName = request.getReferencedTablesTenantUniqueConstraintNames().get(tableKey);
+            if (constraintName == null)
+            {
+                throw new MissingTenantUniqueConstraintNameDeclarationForTableException(tableKey, format("Missing name of the unique constraint for the tenant column and primary key columns in table %1$s and schema %2$s that is referenced by the composite foreign key",
+                        tableKey.getTable(),
+                        tableKey.getSchema()));
+            }
+            ITableColumns tableColumns = resolveTableColumns(request, tableKey);
+            List<String> columns = new ArrayList<>();
+            columns.add(resolveTenantColumn(request, tableKey));
+            columns.addAll(tableColumns.getIdentityColumnNameAndTypeMap().keySet());
+            context.addSQLDefinition(uniqueConstraintProducer.produce(DefaultUniqueConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(tableKey.getTable())
+                    .withTableSchema(tableKey.getSchema())
+                    .withColumns(columns)
+                    .build()));
+        }
+    }
+
+    private void addCompositeForeignKeyConstraint(ISharedSchemaContext context, ISharedSchemaContextRequest request, SameTenantConstraintForForeignKey key, ISameTenantConstraintForForeignKeyProperties requestProperties) throws IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
+        List<String> columns = new ArrayList<>();
+        List<String> referencedColumns = new ArrayList<>();
+        columns.add(resolveTenantColumn(request, key.getMainTable()));
+        referencedColumns.add(resolveTenantColumn(request, key.getForeignKeyTable()));
+        for (Pair<String, String> foreignKeyPrimaryKeyColumnsPair : resolveForeignKeyPrimaryKeyColumnsPairs(request, key, requestProperties))
+        {
+            columns.add(foreignKeyPrimaryKeyColumnsPair.getKey());
+            referencedColumns.add(foreignKeyPrimaryKeyColumnsPair.getValue());
+        }
+        DefaultForeignKeyConstraintProducerParameters parameters = DefaultForeignKeyConstraintProducerParameters.builder()
+                .withConstraintName(requestProperties.getConstraintName())
+                .withTableName(key.getMainTable().getTable())
+                .withTableSchema(key.getMainTable().getSchema())
+                .withColumns(columns)
+                .withReferencedTableName(key.getForeignKeyTable().getTable())
+                .withReferencedTableSchema(key.getForeignKeyTable().getSchema())
+                .withReferencedColumns(referencedColumns)
+                .withNotValid(request.isAddConstraintsAsNotValid())
+                .build();
+        context.addSQLDefinition(foreignKeyConstraintProducer.produce(parameters));
+        if (request.isAddConstraintsAsNotValid())
+        {
+            context.addValidateConstraintStatement(foreignKeyConstraintProducer.produceValidateConstraintStatement(parameters));
+        }
+    }
+
+    private void addStatementLevelTriggers(ISharedSchemaContext context, ISharedSchemaContextRequest request, SameTenantConstraintForForeignKey key, ISameTenantConstraintForForeignKeyProperties requestProperties) throws IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
+        List<Pair<String, String>> foreignKeyPrimaryKeyColumnsPairs = resolveForeignKeyPrimaryKeyColumnsPairs(request, key, requestProperties);
+        IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = request.isCurrentTenantIdAsSubquery() ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(context.getIGetCurrentTenantIdFunctionInvocationFactory()) : context.getIGetCurrentTenantIdFunctionInvocationFactory();
+        SameTenantForeignKeyTriggerFunctionDefinition functionDefinition = sameTenantForeignKeyTriggerFunctionProducer.produce(new SameTenantForeignKeyTriggerFunctionProducerParameters(requestProperties.getConstraintName(),
+                request.getDefaultSchema(),
+                key.getForeignKeyTable().getTable(),
+                key.getForeignKeyTable().getSchema(),
+                resolveTenantColumn(request, key.getForeignKeyTable()),
+                foreignKeyPrimaryKeyColumnsPairs,
+                TRANSITION_TABLE_NAME,
+                getCurrentTenantIdFunctionInvocationFactory));
+        context.addSQLDefinition(functionDefinition);
+        for (String event : TRIGGER_EVENTS)
+        {
+            context.addSQLDefinition(createTransitionTableTriggerStatementProducer.produce(new CreateTransitionTableTriggerStatementProducerParameters(requestProperties.getConstraintName() + "_" + event.toLowerCase(Locale.ENGLISH),
+                    key.getMainTable().getTable(),
+                    key.getMainTable().getSchema(),
+                    event,
+                    TRANSITION_TABLE_NAME,
+                    functionDefinition.getFunctionReference())));
+        }
+    }
+
+    /**
+     * Returns pairs of the foreign key column and the primary key column in the order of the primary key columns of the referenced table.
+     */
+    private List<Pair<String, String>> resolveForeignKeyPrimaryKeyColumnsPairs(ISharedSchemaContextRequest request, SameTenantConstraintForForeignKey key, ISameTenantConstraintForForeignKeyProperties requestProperties) throws IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
+        Set<String> primaryKeyColumns = resolveTableColumns(request, key.getForeignKeyTable()).getIdentityColumnNameAndTypeMap().keySet();
+        Set<String> primaryKeyColumnsInMapping = requestProperties.getForeignKeyPrimaryKeyColumnsMappings().values().stream().collect(toSet());
+        if (!primaryKeyColumnsInMapping.equals(primaryKeyColumns))
+        {
+            throw new IncorrectForeignKeysMappingException(format("There is mismatch between foreign keys column mapping (%1$s) in %2$s table and primary keys column declaration (%3$s) for %4$s table",
+                    primaryKeyColumnsInMapping.stream().sorted().collect(joining(", ")),
+                    returnTableName(key.getMainTable()),
+                    primaryKeyColumns.stream().sorted().collect(joining(", ")),
+                    returnTableName(key.getForeignKeyTable())),
+                    key.getMainTable(),
+                    key.getForeignKeyTable(),
+                    primaryKeyColumnsInMapping,
+                    primaryKeyColumns);
+        }
+        List<Pair<String, String>> foreignKeyPrimaryKeyColumnsPairs = new ArrayList<>();
+        for (String primaryKeyColumn : primaryKeyColumns)
+        {
+            requestProperties.getForeignKeyPrimaryKeyColumnsMappings().entrySet().stream()
+                    .filter(entry -> primaryKeyColumn.equals(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .ifPresent(foreignKeyColumn -> foreignKeyPrimaryKeyColumnsPairs.add(new Pair<>(foreignKeyColumn, primaryKeyColumn)));
+        }
+        return foreignKeyPrimaryKeyColumnsPairs;
+    }
+
+    private ITableColumns resolveTableColumns(ISharedSchemaContextRequest request, TableKey tableKey) throws MissingRLSPolicyDeclarationForTableException {
+        ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+        if (tableColumns == null)
+        {
+            throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
+        }
+        return tableColumns;
+    }
+
+    private String returnTableName(TableKey tableKey)
+    {
+        return (tableKey.getSchema() == null ? "" : tableKey.getSchema() + ".") + tableKey.getTable();
+    }
+
+    private String resolveTenantColumn(ISharedSchemaContextRequest request, TableKey tableKey)
+    {
+        ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+        return tableColumns == null || tableColumns.getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : tableColumns.getTenantColumnName();
+    }
 }
@@ -25,14 +25,17 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingFunctionNameDeclarationForTableException;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
-public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implements ISharedSchemaContextEnricher {
+public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implements IParallelSharedSchemaContextEnricher {
 
     private IsRecordBelongsToCurrentTenantFunctionDefinitionProducer isRecordBelongsToCurrentTenantFunctionDefinitionProducer;
 
@@ -45,7 +48,13 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implement
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingFunctionNameDeclarationForTableException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request, ForkJoinPool pool) throws MissingFunctionNameDeclarationForTableException {
+        if (SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY.equals(request.getSameTenantConstraintForForeignKeyStrategy())
+                || SameTenantConstraintForForeignKeyStrategyEnum.STATEMENT_LEVEL_TRIGGER.equals(request.getSameTenantConstraintForForeignKeyStrategy()))
+        {
+            // Composite foreign keys and statement-level triggers do not use function that checks if record belongs to the current tenant
+            return context;
+        }
         List<TableKey> tableRequiredFunction = request.getSameTenantConstraintForForeignKeyProperties().keySet().stream().map(constraintKey -> constraintKey.getForeignKeyTable()).distinct().collect(toList());
         for (TableKey tableKey : tableRequiredFunction)
         {
@@ -54,11 +63,18 @@ public class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher implement
             {
                 throw new MissingFunctionNameDeclarationForTableException(tableKey, format("Missing function name that checks if record exists in table %1$s and schema %2$s", tableKey.getTable(), tableKey.getSchema()));
             }
+        }
+        IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory = request.isCurrentTenantIdAsSubquery() ? new SubqueryGetCurrentTenantIdFunctionInvocationFactory(context.getIGetCurrentTenantIdFunctionInvocationFactory()) : context.getIGetCurrentTenantIdFunctionInvocationFactory();
+        List<IsRecordBelongsToCurrentTenantFunctionDefinition> functionDefinitions = OrderedParallelTasksExecutor.map(pool, tableRequiredFunction, tableKey ->
+        {
             ITableColumns tableProperties = request.getTableColumnsList().get(tableKey);
             String tenantColumn = tableProperties.getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : tableProperties.getTenantColumnName();
-            IsRecordBelongsToCurrentTenantFunctionDefinition functionDefinition = isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(tableKey, tenantColumn, tableProperties.getIdentityColumnNameAndTypeMap(), context.getIGetCurrentTenantIdFunctionInvocationFactory(), functionName, request.getDefaultSchema());
-            context.addSQLDefinition(functionDefinition);
-            context.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().put(tableKey, functionDefinition);
+            return isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(tableKey, tenantColumn, tableProperties.getIdentityColumnNameAndTypeMap(), getCurrentTenantIdFunctionInvocationFactory, request.getFunctionThatChecksIfRecordExistsInTableNames().get(tableKey), request.getDefaultSchema());
+        });
+        for (int i = 0; i < tableRequiredFunction.size(); i++)
+        {
+            context.addSQLDefinition(functionDefinitions.get(i));
+            context.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().put(tableRequiredFunction.get(i), functionDefinitions.get(i));
         }
         return context;
     }
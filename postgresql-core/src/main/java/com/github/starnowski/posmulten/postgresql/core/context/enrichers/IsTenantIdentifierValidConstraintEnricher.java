@@ -2,9 +2,10 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
 import com.github.starnowski.posmulten.postgresql.core.context.ITableColumns;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.rls.DefaultIsTenantIdentifierValidConstraintProducerParameters;
 import com.github.starnowski.posmulten.postgresql.core.rls.IsTenantIdentifierValidConstraintProducer;
 
 import java.util.Map;
@@ -24,7 +25,7 @@ public class IsTenantIdentifierValidConstraintEnricher implements ISharedSchemaC
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
         if (request.isConstraintForValidTenantValueShouldBeAdded())
         {
             String defaultConstraintName = request.getIsTenantValidConstraintName() == null ? "tenant_identifier_valid" : request.getIsTenantValidConstraintName();
@@ -32,12 +33,18 @@ public class IsTenantIdentifierValidConstraintEnricher implements ISharedSchemaC
             {
                 String constraintName = request.getTenantValidConstraintCustomNamePerTables().getOrDefault(entry.getKey(), defaultConstraintName);
                 String tenantColumnName = entry.getValue().getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : entry.getValue().getTenantColumnName();
-                context.addSQLDefinition(producer.produce(builder()
+                DefaultIsTenantIdentifierValidConstraintProducerParameters parameters = builder()
                         .withConstraintName(constraintName)
                         .withTableName(entry.getKey().getTable())
                         .withTableSchema(entry.getKey().getSchema())
                         .withIIsTenantValidFunctionInvocationFactory(context.getIIsTenantValidFunctionInvocationFactory())
-                        .withTenantColumnName(tenantColumnName).build()));
+                        .withTenantColumnName(tenantColumnName)
+                        .withNotValid(request.isAddConstraintsAsNotValid()).build();
+                context.addSQLDefinition(producer.produce(parameters));
+                if (request.isAddConstraintsAsNotValid())
+                {
+                    context.addValidateConstraintStatement(producer.produceValidateConstraintStatement(parameters));
+                }
             }
         }
         return context;
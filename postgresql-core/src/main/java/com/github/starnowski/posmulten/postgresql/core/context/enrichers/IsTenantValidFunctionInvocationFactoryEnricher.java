@@ -1,33 +1,77 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.CreateTenantValuesBlacklistTableStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.CreateTenantValuesBlacklistTableStatementProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer;
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException;
+import com.github.starnowski.posmulten.postgresql.core.rls.InlinedIsTenantValidInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnBlacklistTableFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnBlacklistTableFunctionProducer;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnBlacklistTableFunctionProducerParameters;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionDefinition;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducer;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducerParameters;
 
 import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
 
 public class IsTenantValidFunctionInvocationFactoryEnricher implements ISharedSchemaContextEnricher {
 
+    private static final String DEFAULT_BLACKLIST_TABLE_NAME = "tenant_identifiers_blacklist";
+    private static final String BLACKLIST_TABLE_COLUMN = "tenant_id";
+
     private final IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer;
+    private final IsTenantValidBasedOnBlacklistTableFunctionProducer isTenantValidBasedOnBlacklistTableFunctionProducer;
+    private final CreateTenantValuesBlacklistTableStatementProducer createTenantValuesBlacklistTableStatementProducer;
+    private final GrantTablePrivilegesProducer grantTablePrivilegesProducer;
 
     public IsTenantValidFunctionInvocationFactoryEnricher() {
         this(new IsTenantValidBasedOnConstantValuesFunctionProducer());
     }
 
     public IsTenantValidFunctionInvocationFactoryEnricher(IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer) {
+        this(isTenantIdentifierValidConstraintProducer, new IsTenantValidBasedOnBlacklistTableFunctionProducer(), new CreateTenantValuesBlacklistTableStatementProducer(), new GrantTablePrivilegesProducer());
+    }
+
+    public IsTenantValidFunctionInvocationFactoryEnricher(IsTenantValidBasedOnConstantValuesFunctionProducer isTenantIdentifierValidConstraintProducer, IsTenantValidBasedOnBlacklistTableFunctionProducer isTenantValidBasedOnBlacklistTableFunctionProducer, CreateTenantValuesBlacklistTableStatementProducer createTenantValuesBlacklistTableStatementProducer, GrantTablePrivilegesProducer grantTablePrivilegesProducer) {
         this.isTenantIdentifierValidConstraintProducer = isTenantIdentifierValidConstraintProducer;
+        this.isTenantValidBasedOnBlacklistTableFunctionProducer = isTenantValidBasedOnBlacklistTableFunctionProducer;
+        this.createTenantValuesBlacklistTableStatementProducer = createTenantValuesBlacklistTableStatementProducer;
+        this.grantTablePrivilegesProducer = grantTablePrivilegesProducer;
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws SharedSchemaContextBuilderException {
         if (request.getTenantValuesBlacklist() != null && !request.getTenantValuesBlacklist().isEmpty())
         {
+            Set<String> blacklist = new HashSet<String>(request.getTenantValuesBlacklist());
+            TenantValuesBlacklistStrategyEnum strategy = request.getTenantValuesBlacklistStrategy() == null ? TenantValuesBlacklistStrategyEnum.CONSTANT_COMPARISONS : request.getTenantValuesBlacklistStrategy();
+            if (TenantValuesBlacklistStrategyEnum.INLINED_CONSTRAINT.equals(strategy))
+            {
+                context.setIIsTenantValidFunctionInvocationFactory(new InlinedIsTenantValidInvocationFactory(blacklist, request.getCurrentTenantIdPropertyType()));
+                return context;
+            }
             String requestFunctionName = request.getIsTenantValidFunctionName();
             String testFunctionName = requestFunctionName == null || requestFunctionName.trim().isEmpty() ? "is_tenant_identifier_valid" : requestFunctionName;
-            IsTenantValidBasedOnConstantValuesFunctionDefinition sqlFunctionDefinition = isTenantIdentifierValidConstraintProducer.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), new HashSet<String>(request.getTenantValuesBlacklist()), request.getCurrentTenantIdPropertyType()));
+            if (TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE.equals(strategy))
+            {
+                String tableName = request.getTenantValuesBlacklistTableName() == null ? DEFAULT_BLACKLIST_TABLE_NAME : request.getTenantValuesBlacklistTableName();
+                context.addSQLDefinition(createTenantValuesBlacklistTableStatementProducer.produce(new CreateTenantValuesBlacklistTableStatementProducerParameters(tableName, request.getDefaultSchema(), BLACKLIST_TABLE_COLUMN, request.getCurrentTenantIdPropertyType(), blacklist)));
+                if (request.getGrantee() != null)
+                {
+                    context.addSQLDefinition(grantTablePrivilegesProducer.produce(request.getDefaultSchema(), tableName, request.getGrantee(), singletonList("SELECT")));
+                }
+                IsTenantValidBasedOnBlacklistTableFunctionDefinition sqlFunctionDefinition = isTenantValidBasedOnBlacklistTableFunctionProducer.produce(new IsTenantValidBasedOnBlacklistTableFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), tableName, BLACKLIST_TABLE_COLUMN, request.getCurrentTenantIdPropertyType()));
+                context.addSQLDefinition(sqlFunctionDefinition);
+                context.setIIsTenantValidFunctionInvocationFactory(sqlFunctionDefinition);
+                return context;
+            }
+            IsTenantValidBasedOnConstantValuesFunctionDefinition sqlFunctionDefinition = isTenantIdentifierValidConstraintProducer.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, request.getDefaultSchema(), blacklist, request.getCurrentTenantIdPropertyType(), TenantValuesBlacklistStrategyEnum.CONSTANT_ARRAY.equals(strategy)));
             context.addSQLDefinition(sqlFunctionDefinition);
             context.setIIsTenantValidFunctionInvocationFactory(sqlFunctionDefinition);
         }
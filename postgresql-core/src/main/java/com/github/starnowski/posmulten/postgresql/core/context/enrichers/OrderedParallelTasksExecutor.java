@@ -0,0 +1,46 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Executes the task for each item of the list and returns results in the same order as the items.
+ */
+class OrderedParallelTasksExecutor {
+
+    private OrderedParallelTasksExecutor() {
+    }
+
+    /**
+     * Maps each item of the list with the passed task.
+     * @param pool pool in which tasks are executed, if it is null then tasks are executed sequentially in the current thread
+     * @param items list of items
+     * @param task task executed for each item
+     * @param <T> type of item
+     * @param <R> type of result
+     * @return results of tasks in the same order as the items
+     */
+    static <T, R> List<R> map(ForkJoinPool pool, List<T> items, Function<T, R> task)
+    {
+        if (pool == null || items.size() < 2)
+        {
+            return items.stream().map(task).collect(toList());
+        }
+        try {
+            return pool.submit(() -> items.parallelStream().map(task).collect(toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The execution of tasks was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("The execution of tasks failed", e.getCause());
+        }
+    }
+}
@@ -24,7 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
 public class SetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSchemaContextEnricher {
@@ -40,12 +40,14 @@ public class SetCurrentTenantIdFunctionDefinitionEnricher implements ISharedSche
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) {
         String functionName = request.getSetCurrentTenantIdFunctionName() == null ? "set_current_tenant_id" : request.getSetCurrentTenantIdFunctionName();
-        SetCurrentTenantIdFunctionDefinition sqlDefinition = setCurrentTenantIdFunctionProducer.produce(new SetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType()));
+        SetCurrentTenantIdFunctionDefinition sqlDefinition = setCurrentTenantIdFunctionProducer.produce(new SetCurrentTenantIdFunctionProducerParameters(functionName, request.getCurrentTenantIdProperty(), request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), request.isCurrentTenantIdTransactionScoped()));
         context.addSQLDefinition(sqlDefinition);
         context.setISetCurrentTenantIdFunctionInvocationFactory(sqlDefinition);
         context.setISetCurrentTenantIdFunctionPreparedStatementInvocationFactory(sqlDefinition);
+        context.setISetCurrentTenantIdFunctionIndexedParameterInvocationFactory(sqlDefinition);
+        context.setISetCurrentTenantIdTransactionInvocationFactory(new SetLocalCurrentTenantIdInvocationFactory(request.getCurrentTenantIdProperty()));
         return context;
     }
 }
@@ -23,10 +23,21 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSGranteeDeclarationException;
+import com.github.starnowski.posmulten.postgresql.core.rls.InlinedTenantColumnComparisonInvocationFactory;
+import com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
 
-public class TableRLSPolicyEnricher implements ISharedSchemaContextEnricher {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON;
+
+public class TableRLSPolicyEnricher implements IParallelSharedSchemaContextEnricher {
 
     private final TableRLSPolicySQLDefinitionsProducer tableRLSPolicySQLDefinitionsProducer;
 
@@ -39,24 +50,89 @@ public class TableRLSPolicyEnricher implements ISharedSchemaContextEnricher {
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingRLSGranteeDeclarationException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request, ForkJoinPool pool) throws MissingRLSGranteeDeclarationException {
         if (request.getGrantee() == null)
         {
             throw new MissingRLSGranteeDeclarationException("No grantee was defined for row level security policy");
         }
-        request.getTableColumnsList().entrySet().forEach(entry ->
+        TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory = resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request);
+        OrderedParallelTasksExecutor.map(pool, new ArrayList<Map.Entry<TableKey, ITableColumns>>(request.getTableColumnsList().entrySet()), entry ->
         {
-            TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder builder = new TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder();
-            TableRLSPolicySQLDefinitionsProducerParameters parameters = builder
-                    .withDefaultTenantIdColumn(request.getDefaultTenantIdColumn())
-                    .withGrantee(request.getGrantee())
-                    .withPolicyName(request.getTableRLSPolicies().get(entry.getKey()).getPolicyName())
-                    .withTableKey(entry.getKey())
-                    .withTenantHasAuthoritiesFunctionInvocationFactory(context.getTenantHasAuthoritiesFunctionInvocationFactory())
-                    .withTenantIdColumn(entry.getValue().getTenantColumnName())
-                    .build();
-            tableRLSPolicySQLDefinitionsProducer.produce(parameters).forEach(context::addSQLDefinition);
-        });
+            List<SQLDefinition> results = new ArrayList<>();
+            for (TableRLSPolicySQLDefinitionsProducerParameters parameters : prepareTableRLSPolicySQLDefinitionsProducerParameters(context, request, entry.getKey(), entry.getKey(), entry.getValue().getTenantColumnName(), tenantHasAuthoritiesFunctionInvocationFactory))
+            {
+                results.addAll(tableRLSPolicySQLDefinitionsProducer.produce(parameters));
+            }
+            return results;
+        }).forEach(sqlDefinitions -> sqlDefinitions.forEach(context::addSQLDefinition));
         return context;
     }
+
+    /**
+     * Prepares parameters of the policies for the table.
+     * If the policies for specific commands were requested for the table ({@link SharedSchemaContextRequest#getTableCommandRLSPolicies()})
+     * then the parameters are prepared for each of them, in other case the single policy for all commands is prepared.
+     * @param context shared schema context
+     * @param request shared schema context request
+     * @param policyTableKey key of the table for which the policies were requested
+     * @param tableKey key of the table for which the policies are created (table or its partition)
+     * @param tenantIdColumn name of the tenant column
+     * @param tenantHasAuthoritiesFunctionInvocationFactory component used when specific command policy does not define its expression strategy
+     * @return list of parameters
+     */
+    static List<TableRLSPolicySQLDefinitionsProducerParameters> prepareTableRLSPolicySQLDefinitionsProducerParameters(ISharedSchemaContext context, ISharedSchemaContextRequest request, TableKey policyTableKey, TableKey tableKey, String tenantIdColumn, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory)
+    {
+        List<TableRLSPolicySQLDefinitionsProducerParameters> results = new ArrayList<>();
+        List<ITableCommandRLSPolicyProperties> commandPolicies = request.getTableCommandRLSPolicies().get(policyTableKey);
+        if (commandPolicies == null || commandPolicies.isEmpty())
+        {
+            results.add(prepareBuilder(request, tableKey, tenantIdColumn, tenantHasAuthoritiesFunctionInvocationFactory)
+                    .withPolicyName(request.getTableRLSPolicies().get(policyTableKey).getPolicyName())
+                    .build());
+            return results;
+        }
+        for (ITableCommandRLSPolicyProperties commandPolicy : commandPolicies)
+        {
+            results.add(prepareBuilder(request, tableKey, tenantIdColumn, tenantHasAuthoritiesFunctionInvocationFactory)
+                    .withPolicyName(commandPolicy.getPolicyName())
+                    .withPermissionCommandPolicy(commandPolicy.getPermissionCommandPolicy())
+                    .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request, commandPolicy.getUsingExpressionStrategy(), tenantHasAuthoritiesFunctionInvocationFactory))
+                    .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request, commandPolicy.getWithCheckExpressionStrategy(), tenantHasAuthoritiesFunctionInvocationFactory))
+                    .build());
+        }
+        return results;
+    }
+
+    private static TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder prepareBuilder(ISharedSchemaContextRequest request, TableKey tableKey, String tenantIdColumn, TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory)
+    {
+        return new TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder()
+                .withDefaultTenantIdColumn(request.getDefaultTenantIdColumn())
+                .withGrantee(request.getGrantee())
+                .withTableKey(tableKey)
+                .withTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+                .withTenantIdColumn(tenantIdColumn);
+    }
+
+    private static TenantHasAuthoritiesFunctionInvocationFactory resolveTenantHasAuthoritiesFunctionInvocationFactory(ISharedSchemaContext context, ISharedSchemaContextRequest request, RLSPolicyExpressionStrategyEnum strategy, TenantHasAuthoritiesFunctionInvocationFactory defaultFactory)
+    {
+        if (strategy == null)
+        {
+            return defaultFactory;
+        }
+        return resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request, strategy);
+    }
+
+    static TenantHasAuthoritiesFunctionInvocationFactory resolveTenantHasAuthoritiesFunctionInvocationFactory(ISharedSchemaContext context, ISharedSchemaContextRequest request)
+    {
+        return resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request, request.getRlsPolicyExpressionStrategy());
+    }
+
+    static TenantHasAuthoritiesFunctionInvocationFactory resolveTenantHasAuthoritiesFunctionInvocationFactory(ISharedSchemaContext context, ISharedSchemaContextRequest request, RLSPolicyExpressionStrategyEnum strategy)
+    {
+        if (INLINED_TENANT_COLUMN_COMPARISON.equals(strategy))
+        {
+            return new InlinedTenantColumnComparisonInvocationFactory(request.getCurrentTenantIdProperty(), request.getCurrentTenantIdPropertyType(), request.isCurrentTenantIdAsSubquery());
+        }
+        return context.getTenantHasAuthoritiesFunctionInvocationFactory();
+    }
 }
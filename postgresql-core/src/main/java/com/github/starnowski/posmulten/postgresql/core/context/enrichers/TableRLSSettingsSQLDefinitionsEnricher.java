@@ -24,10 +24,14 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.context.TableRLSSettingsSQLDefinitionsProducer;
 
-public class TableRLSSettingsSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+public class TableRLSSettingsSQLDefinitionsEnricher implements IParallelSharedSchemaContextEnricher {
 
     private final TableRLSSettingsSQLDefinitionsProducer tableRLSSettingsSQLDefinitionsProducer;
 
@@ -40,11 +44,9 @@ public class TableRLSSettingsSQLDefinitionsEnricher implements ISharedSchemaCont
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
-        request.getTableColumnsList().keySet().forEach(tableKey ->
-        {
-            tableRLSSettingsSQLDefinitionsProducer.produce(tableKey, request.isForceRowLevelSecurityForTableOwner()).forEach(context::addSQLDefinition);
-        });
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request, ForkJoinPool pool) {
+        OrderedParallelTasksExecutor.map(pool, new ArrayList<TableKey>(request.getTableColumnsList().keySet()), tableKey -> tableRLSSettingsSQLDefinitionsProducer.produce(tableKey, request.isForceRowLevelSecurityForTableOwner()))
+                .forEach(sqlDefinitions -> sqlDefinitions.forEach(context::addSQLDefinition));
         return context;
     }
 }
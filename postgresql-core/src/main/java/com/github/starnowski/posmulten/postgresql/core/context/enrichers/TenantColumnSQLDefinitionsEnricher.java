@@ -26,11 +26,15 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 import com.github.starnowski.posmulten.postgresql.core.context.*;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.String.format;
 
-public class TenantColumnSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+public class TenantColumnSQLDefinitionsEnricher implements IParallelSharedSchemaContextEnricher {
 
     private final SingleTenantColumnSQLDefinitionsProducer singleTenantColumnSQLDefinitionsProducer;
 
@@ -43,7 +47,7 @@ public class TenantColumnSQLDefinitionsEnricher implements ISharedSchemaContextE
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableException {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request, ForkJoinPool pool) throws MissingRLSPolicyDeclarationForTableException {
         Set<TableKey> tableThatRequireCreationOfTheTenantColumn = request.getCreateTenantColumnTableLists();
         if (tableThatRequireCreationOfTheTenantColumn.isEmpty())
         {
@@ -56,8 +60,20 @@ public class TenantColumnSQLDefinitionsEnricher implements ISharedSchemaContextE
             {
                 throw new MissingRLSPolicyDeclarationForTableException(tableKey, format("Missing RLS policy declaration for table %1$s in schema %2$s", tableKey.getTable(), tableKey.getSchema()));
             }
-            singleTenantColumnSQLDefinitionsProducer.produce(tableKey, tableColumns, request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType())
-                .forEach(context::addSQLDefinition);
+        }
+        List<TableKey> tables = new ArrayList<TableKey>(tableThatRequireCreationOfTheTenantColumn);
+        TenantColumnRolloutStrategyEnum strategy = request.getTenantColumnRolloutStrategy() == null ? TenantColumnRolloutStrategyEnum.DEFAULT : request.getTenantColumnRolloutStrategy();
+        Map<TableKey, String> notNullConstraintNames = request.getTenantColumnNotNullConstraintCustomNamePerTables();
+        OrderedParallelTasksExecutor.map(pool, tables, tableKey -> singleTenantColumnSQLDefinitionsProducer.produce(tableKey, request.getTableColumnsList().get(tableKey), request.getDefaultTenantIdColumn(), request.getCurrentTenantIdPropertyType(), strategy, request.getTenantColumnValueForExistingRows(), notNullConstraintNames.get(tableKey)))
+                .forEach(sqlDefinitions -> sqlDefinitions.forEach(context::addSQLDefinition));
+        if (TenantColumnRolloutStrategyEnum.ONLINE.equals(strategy))
+        {
+            for (TableKey tableKey : tables)
+            {
+                ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+                singleTenantColumnSQLDefinitionsProducer.produceValidateStatements(tableKey, tableColumns, request.getDefaultTenantIdColumn(), notNullConstraintNames.get(tableKey)).forEach(context::addValidateConstraintStatement);
+                singleTenantColumnSQLDefinitionsProducer.producePostValidateStatements(tableKey, tableColumns, request.getDefaultTenantIdColumn(), notNullConstraintNames.get(tableKey)).forEach(context::addPostValidateConstraintStatement);
+            }
         }
         return context;
     }
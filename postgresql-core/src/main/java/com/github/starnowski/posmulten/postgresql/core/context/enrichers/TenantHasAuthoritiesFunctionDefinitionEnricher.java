@@ -24,7 +24,7 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
 
 import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.rls.function.*;
 
 public class TenantHasAuthoritiesFunctionDefinitionEnricher implements ISharedSchemaContextEnricher {
@@ -42,11 +42,11 @@ public class TenantHasAuthoritiesFunctionDefinitionEnricher implements ISharedSc
     }
 
     @Override
-    public ISharedSchemaContext enrich(ISharedSchemaContext context, SharedSchemaContextRequest request) {
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) {
         String equalsCurrentTenantIdentifierFunctionName = request.getEqualsCurrentTenantIdentifierFunctionName() == null ? "is_id_equals_current_tenant_id" : request.getEqualsCurrentTenantIdentifierFunctionName();
         String tenantHasAuthoritiesFunctionName = request.getTenantHasAuthoritiesFunctionName() == null ? "tenant_has_authorities" : request.getTenantHasAuthoritiesFunctionName();
-        EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunctionDefinition = equalsCurrentTenantIdentifierFunctionProducer.produce(new EqualsCurrentTenantIdentifierFunctionProducerParameters(equalsCurrentTenantIdentifierFunctionName, request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), context.getIGetCurrentTenantIdFunctionInvocationFactory()));
-        TenantHasAuthoritiesFunctionDefinition tenantHasAuthoritiesFunctionDefinition = tenantHasAuthoritiesFunctionProducer.produce(new TenantHasAuthoritiesFunctionProducerParameters(tenantHasAuthoritiesFunctionName, request.getDefaultSchema(), equalsCurrentTenantIdentifierFunctionDefinition, request.getCurrentTenantIdPropertyType(), null, null, null, null));
+        EqualsCurrentTenantIdentifierFunctionDefinition equalsCurrentTenantIdentifierFunctionDefinition = equalsCurrentTenantIdentifierFunctionProducer.produce(new EqualsCurrentTenantIdentifierFunctionProducerParameters(equalsCurrentTenantIdentifierFunctionName, request.getDefaultSchema(), request.getCurrentTenantIdPropertyType(), context.getIGetCurrentTenantIdFunctionInvocationFactory(), request.getTenantFunctionsMetadataProperties()));
+        TenantHasAuthoritiesFunctionDefinition tenantHasAuthoritiesFunctionDefinition = tenantHasAuthoritiesFunctionProducer.produce(new TenantHasAuthoritiesFunctionProducerParameters(tenantHasAuthoritiesFunctionName, request.getDefaultSchema(), equalsCurrentTenantIdentifierFunctionDefinition, request.getCurrentTenantIdPropertyType(), null, null, null, null, request.getTenantFunctionsMetadataProperties()));
         context.addSQLDefinition(equalsCurrentTenantIdentifierFunctionDefinition);
         context.addSQLDefinition(tenantHasAuthoritiesFunctionDefinition);
         context.setTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionDefinition);
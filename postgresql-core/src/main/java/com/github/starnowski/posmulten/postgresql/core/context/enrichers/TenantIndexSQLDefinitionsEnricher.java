@@ -0,0 +1,92 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.CreateIndexStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.CreateIndexStatementProducerParameters;
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * The enricher creates the index for the tenant column in tables for which such index was requested.
+ * When the name for the composite index was specified, and the table has declared primary key columns, then the enricher
+ * also creates the index for the tenant column and primary key columns. Such index is used by the function that checks
+ * if the record with the specified primary key belongs to the current tenant.
+ * For tables referenced by the same tenant constraints for foreign keys the enricher creates the unique index for
+ * the tenant column and primary key columns, if such index was requested. In that case, the non-unique composite index
+ * for the same table is skipped because it would be redundant.
+ * @see SharedSchemaContextRequest#tenantIndexProperties
+ * @see SharedSchemaContextRequest#referencedTablesTenantUniqueIndexNames
+ * @see com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantProducer
+ */
+public class TenantIndexSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final CreateIndexStatementProducer createIndexStatementProducer;
+
+    public TenantIndexSQLDefinitionsEnricher() {
+        this(new CreateIndexStatementProducer());
+    }
+
+    public TenantIndexSQLDefinitionsEnricher(CreateIndexStatementProducer createIndexStatementProducer) {
+        this.createIndexStatementProducer = createIndexStatementProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) {
+        for (Map.Entry<TableKey, ITenantIndexProperties> entry : request.getTenantIndexProperties().entrySet())
+        {
+            TableKey tableKey = entry.getKey();
+            ITenantIndexProperties indexProperties = entry.getValue();
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            String tenantColumn = tableColumns == null || tableColumns.getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : tableColumns.getTenantColumnName();
+            context.addSQLDefinition(createIndexStatementProducer.produce(CreateIndexStatementProducerParameters.builder()
+                    .withIndexName(indexProperties.getIndexName())
+                    .withTable(tableKey.getTable())
+                    .withSchema(tableKey.getSchema())
+                    .withColumns(singletonList(tenantColumn))
+                    .withConcurrently(request.isCreateTenantIndexesConcurrently())
+                    .build()));
+            if (indexProperties.getPrimaryKeyCompositeIndexName() != null && !request.getReferencedTablesTenantUniqueIndexNames().containsKey(tableKey) && tableColumns != null && tableColumns.getIdentityColumnNameAndTypeMap() != null && !tableColumns.getIdentityColumnNameAndTypeMap().isEmpty())
+            {
+                context.addSQLDefinition(createIndexStatementProducer.produce(CreateIndexStatementProducerParameters.builder()
+                        .withIndexName(indexProperties.getPrimaryKeyCompositeIndexName())
+                        .withTable(tableKey.getTable())
+                        .withSchema(tableKey.getSchema())
+                        .withColumns(prepareTenantAndPrimaryKeyColumns(tenantColumn, tableColumns))
+                        .withConcurrently(request.isCreateTenantIndexesConcurrently())
+                        .build()));
+            }
+        }
+        for (Map.Entry<TableKey, String> entry : request.getReferencedTablesTenantUniqueIndexNames().entrySet())
+        {
+            TableKey tableKey = entry.getKey();
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            if (tableColumns == null || tableColumns.getIdentityColumnNameAndTypeMap() == null || tableColumns.getIdentityColumnNameAndTypeMap().isEmpty())
+            {
+                // The unique index only for the tenant column would allow a single row for each tenant
+                continue;
+            }
+            String tenantColumn = tableColumns.getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : tableColumns.getTenantColumnName();
+            context.addSQLDefinition(createIndexStatementProducer.produce(CreateIndexStatementProducerParameters.builder()
+                    .withIndexName(entry.getValue())
+                    .withTable(tableKey.getTable())
+                    .withSchema(tableKey.getSchema())
+                    .withColumns(prepareTenantAndPrimaryKeyColumns(tenantColumn, tableColumns))
+                    .withUnique(true)
+                    .withConcurrently(request.isCreateTenantIndexesConcurrently())
+                    .build()));
+        }
+        return context;
+    }
+
+    private List<String> prepareTenantAndPrimaryKeyColumns(String tenantColumn, ITableColumns tableColumns)
+    {
+        List<String> columns = new ArrayList<>();
+        columns.add(tenantColumn);
+        columns.addAll(tableColumns.getIdentityColumnNameAndTypeMap().keySet());
+        return columns;
+    }
+}
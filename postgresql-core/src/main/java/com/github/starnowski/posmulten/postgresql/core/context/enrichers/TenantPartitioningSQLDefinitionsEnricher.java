@@ -0,0 +1,123 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers;
+
+import com.github.starnowski.posmulten.postgresql.core.*;
+import com.github.starnowski.posmulten.postgresql.core.context.*;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSGranteeDeclarationException;
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher.prepareTableRLSPolicySQLDefinitionsProducerParameters;
+import static com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher.resolveTenantHasAuthoritiesFunctionInvocationFactory;
+import static java.util.Collections.singletonList;
+
+/**
+ * The enricher creates partitions for tables that should be partitioned by the tenant column.
+ * When the template table was specified, the enricher also creates the partitioned table with "PARTITION BY LIST" or
+ * "PARTITION BY HASH" clause.
+ * For the "LIST" method, each specified tenant has its own partition, and optionally the default partition is created for
+ * other tenants. For the "HASH" method, the specified number of partitions is created.
+ * Row level security policies of the partitioned table are not applied when the partition is accessed directly, that is
+ * why the enricher enables row level security and creates the same policy for each partition.
+ * Policy expressions that compare the tenant column with the current tenant identifier without function invocation
+ * ({@link com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON})
+ * allow the planner to prune partitions.
+ * @see SharedSchemaContextRequest#tenantPartitioningProperties
+ */
+public class TenantPartitioningSQLDefinitionsEnricher implements ISharedSchemaContextEnricher {
+
+    private final CreatePartitionedTableStatementProducer createPartitionedTableStatementProducer;
+    private final CreatePartitionStatementProducer createPartitionStatementProducer;
+    private final TableRLSSettingsSQLDefinitionsProducer tableRLSSettingsSQLDefinitionsProducer;
+    private final TableRLSPolicySQLDefinitionsProducer tableRLSPolicySQLDefinitionsProducer;
+
+    public TenantPartitioningSQLDefinitionsEnricher() {
+        this(new CreatePartitionedTableStatementProducer(), new CreatePartitionStatementProducer(), new TableRLSSettingsSQLDefinitionsProducer(), new TableRLSPolicySQLDefinitionsProducer());
+    }
+
+    public TenantPartitioningSQLDefinitionsEnricher(CreatePartitionedTableStatementProducer createPartitionedTableStatementProducer, CreatePartitionStatementProducer createPartitionStatementProducer, TableRLSSettingsSQLDefinitionsProducer tableRLSSettingsSQLDefinitionsProducer, TableRLSPolicySQLDefinitionsProducer tableRLSPolicySQLDefinitionsProducer) {
+        this.createPartitionedTableStatementProducer = createPartitionedTableStatementProducer;
+        this.createPartitionStatementProducer = createPartitionStatementProducer;
+        this.tableRLSSettingsSQLDefinitionsProducer = tableRLSSettingsSQLDefinitionsProducer;
+        this.tableRLSPolicySQLDefinitionsProducer = tableRLSPolicySQLDefinitionsProducer;
+    }
+
+    @Override
+    public ISharedSchemaContext enrich(ISharedSchemaContext context, ISharedSchemaContextRequest request) throws MissingRLSGranteeDeclarationException {
+        if (request.getTenantPartitioningProperties().isEmpty())
+        {
+            return context;
+        }
+        if (request.getGrantee() == null)
+        {
+            throw new MissingRLSGranteeDeclarationException("No grantee was defined for row level security policy");
+        }
+        TenantHasAuthoritiesFunctionInvocationFactory tenantHasAuthoritiesFunctionInvocationFactory = resolveTenantHasAuthoritiesFunctionInvocationFactory(context, request);
+        for (Map.Entry<TableKey, ITenantPartitioningProperties> entry : request.getTenantPartitioningProperties().entrySet())
+        {
+            TableKey tableKey = entry.getKey();
+            ITenantPartitioningProperties properties = entry.getValue();
+            ITableColumns tableColumns = request.getTableColumnsList().get(tableKey);
+            String tenantColumn = tableColumns == null || tableColumns.getTenantColumnName() == null ? request.getDefaultTenantIdColumn() : tableColumns.getTenantColumnName();
+            if (properties.getTemplateTable() != null)
+            {
+                context.addSQLDefinition(createPartitionedTableStatementProducer.produce(new CreatePartitionedTableStatementProducerParameters(tableKey.getTable(), tableKey.getSchema(), properties.getTemplateTable(), properties.getPartitionStrategy(), tenantColumn)));
+            }
+            for (CreatePartitionStatementProducerParameters partitionParameters : preparePartitionsParameters(tableKey, properties))
+            {
+                context.addSQLDefinition(createPartitionStatementProducer.produce(partitionParameters));
+                TableKey partitionKey = new TableKey(partitionParameters.getPartitionName(), tableKey.getSchema());
+                tableRLSSettingsSQLDefinitionsProducer.produce(partitionKey, request.isForceRowLevelSecurityForTableOwner()).forEach(context::addSQLDefinition);
+                for (TableRLSPolicySQLDefinitionsProducerParameters policyParameters : prepareTableRLSPolicySQLDefinitionsProducerParameters(context, request, tableKey, partitionKey, tenantColumn, tenantHasAuthoritiesFunctionInvocationFactory))
+                {
+                    tableRLSPolicySQLDefinitionsProducer.produce(policyParameters).forEach(context::addSQLDefinition);
+                }
+            }
+        }
+        return context;
+    }
+
+    private List<CreatePartitionStatementProducerParameters> preparePartitionsParameters(TableKey tableKey, ITenantPartitioningProperties properties)
+    {
+        List<CreatePartitionStatementProducerParameters> results = new ArrayList<>();
+        if (PartitionStrategyEnum.HASH.equals(properties.getPartitionStrategy()))
+        {
+            for (int remainder = 0; remainder < properties.getHashPartitionsCount(); remainder++)
+            {
+                results.add(CreatePartitionStatementProducerParameters.builder()
+                        .withPartitionName(properties.getHashPartitionNamePrefix() + remainder)
+                        .withTable(tableKey.getTable())
+                        .withSchema(tableKey.getSchema())
+                        .withPartitionStrategy(PartitionStrategyEnum.HASH)
+                        .withModulus(properties.getHashPartitionsCount())
+                        .withRemainder(remainder)
+                        .build());
+            }
+            return results;
+        }
+        if (properties.getTenantPartitionNames() != null)
+        {
+            properties.getTenantPartitionNames().forEach((tenant, partitionName) ->
+                    results.add(CreatePartitionStatementProducerParameters.builder()
+                            .withPartitionName(partitionName)
+                            .withTable(tableKey.getTable())
+                            .withSchema(tableKey.getSchema())
+                            .withPartitionStrategy(PartitionStrategyEnum.LIST)
+                            .withValues(singletonList(tenant))
+                            .build()));
+        }
+        if (properties.getDefaultPartitionName() != null)
+        {
+            results.add(CreatePartitionStatementProducerParameters.builder()
+                    .withPartitionName(properties.getDefaultPartitionName())
+                    .withTable(tableKey.getTable())
+                    .withSchema(tableKey.getSchema())
+                    .withPartitionStrategy(PartitionStrategyEnum.LIST)
+                    .withDefaultPartition(true)
+                    .build());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.starnowski.posmulten.postgresql.core.context.exceptions;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+
+public class MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException extends MissingRLSPolicyDeclarationForTableException{
+
+    public MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException(TableKey tableKey, String message) {
+        super(tableKey, message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.starnowski.posmulten.postgresql.core.context.exceptions;
+
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+
+public class MissingTenantUniqueConstraintNameDeclarationForTableException extends SharedSchemaContextBuilderException{
+
+    private final TableKey tableKey;
+
+    public MissingTenantUniqueConstraintNameDeclarationForTableException(TableKey tableKey, String message) {
+        super(message);
+        this.tableKey = tableKey;
+    }
+
+    public TableKey getTableKey() {
+        return tableKey;
+    }
+}
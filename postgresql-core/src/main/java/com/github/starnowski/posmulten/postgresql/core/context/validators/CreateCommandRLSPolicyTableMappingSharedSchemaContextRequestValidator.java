@@ -0,0 +1,26 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators;
+
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredCommandRLSPolicyException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+public class CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
+    @Override
+    public void validate(ISharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableThatRequiredCommandRLSPolicyException {
+        if (!request.getTableCommandRLSPolicies().isEmpty())
+        {
+            Set<TableKey> rlsTables = request.getTableColumnsList().keySet();
+            Optional<TableKey> tableWithoutRLSPolicyDeclaration = request.getTableCommandRLSPolicies().keySet().stream().filter(tableKey -> !rlsTables.contains(tableKey)).findFirst();
+            if (tableWithoutRLSPolicyDeclaration.isPresent())
+            {
+                TableKey table = tableWithoutRLSPolicyDeclaration.get();
+                throw new MissingRLSPolicyDeclarationForTableThatRequiredCommandRLSPolicyException(table, format("Missing RLS policy declaration for table %1$s in schema %2$s for which RLS policy for specific command was requested", table.getTable(), table.getSchema()));
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.validators;
 
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredTenantColumnCreationException;
 
@@ -11,7 +11,7 @@ import static java.lang.String.format;
 
 public class CreateTenantColumnTableMappingSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
     @Override
-    public void validate(SharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableThatRequiredTenantColumnCreationException {
+    public void validate(ISharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableThatRequiredTenantColumnCreationException {
         if (!request.getCreateTenantColumnTableLists().isEmpty())
         {
             Set<TableKey> rlsTables = request.getTableColumnsList().keySet();
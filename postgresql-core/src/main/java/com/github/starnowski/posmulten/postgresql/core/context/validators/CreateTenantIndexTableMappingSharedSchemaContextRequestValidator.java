@@ -0,0 +1,35 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators;
+
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+public class CreateTenantIndexTableMappingSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
+    @Override
+    public void validate(ISharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException {
+        Set<TableKey> rlsTables = request.getTableColumnsList().keySet();
+        if (!request.getTenantIndexProperties().isEmpty())
+        {
+            Optional<TableKey> tableWithoutRLSPolicyDeclaration = request.getTenantIndexProperties().keySet().stream().filter(tableKey -> !rlsTables.contains(tableKey)).findFirst();
+            if (tableWithoutRLSPolicyDeclaration.isPresent())
+            {
+                TableKey table = tableWithoutRLSPolicyDeclaration.get();
+                throw new MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException(table, format("Missing RLS policy declaration for table %1$s in schema %2$s for which creation of tenant index was requested", table.getTable(), table.getSchema()));
+            }
+        }
+        if (!request.getReferencedTablesTenantUniqueIndexNames().isEmpty())
+        {
+            Optional<TableKey> tableWithoutRLSPolicyDeclaration = request.getReferencedTablesTenantUniqueIndexNames().keySet().stream().filter(tableKey -> !rlsTables.contains(tableKey)).findFirst();
+            if (tableWithoutRLSPolicyDeclaration.isPresent())
+            {
+                TableKey table = tableWithoutRLSPolicyDeclaration.get();
+                throw new MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException(table, format("Missing RLS policy declaration for table %1$s in schema %2$s for which creation of tenant unique index was requested", table.getTable(), table.getSchema()));
+            }
+        }
+    }
+}
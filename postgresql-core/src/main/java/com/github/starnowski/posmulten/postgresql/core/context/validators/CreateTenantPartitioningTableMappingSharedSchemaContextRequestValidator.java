@@ -0,0 +1,26 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators;
+
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+public class CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
+    @Override
+    public void validate(ISharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException {
+        if (!request.getTenantPartitioningProperties().isEmpty())
+        {
+            Set<TableKey> rlsTables = request.getTableColumnsList().keySet();
+            Optional<TableKey> tableWithoutRLSPolicyDeclaration = request.getTenantPartitioningProperties().keySet().stream().filter(tableKey -> !rlsTables.contains(tableKey)).findFirst();
+            if (tableWithoutRLSPolicyDeclaration.isPresent())
+            {
+                TableKey table = tableWithoutRLSPolicyDeclaration.get();
+                throw new MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException(table, format("Missing RLS policy declaration for table %1$s in schema %2$s for which tenant partitioning was requested", table.getTable(), table.getSchema()));
+            }
+        }
+    }
+}
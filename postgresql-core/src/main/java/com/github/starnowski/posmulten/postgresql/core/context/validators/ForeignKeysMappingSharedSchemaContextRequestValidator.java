@@ -16,7 +16,7 @@ import static java.util.stream.Collectors.toList;
 
 public class ForeignKeysMappingSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
     @Override
-    public void validate(SharedSchemaContextRequest request) throws IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
+    public void validate(ISharedSchemaContextRequest request) throws IncorrectForeignKeysMappingException, MissingRLSPolicyDeclarationForTableException {
         List<Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>> constraintsRequests = request.getSameTenantConstraintForForeignKeyProperties().entrySet().stream().map(entry -> new Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties>(entry.getKey(), entry.getValue())).collect(toList());
         Map<TableKey, ITableColumns> primaryKeyDefinitions = request.getTableColumnsList();
         for (Pair<SameTenantConstraintForForeignKey, ISameTenantConstraintForForeignKeyProperties> constrainRequest : constraintsRequests)
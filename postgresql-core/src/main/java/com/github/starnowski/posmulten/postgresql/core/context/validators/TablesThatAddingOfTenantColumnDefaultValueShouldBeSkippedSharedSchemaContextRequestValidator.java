@@ -1,6 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.validators;
 
-import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContextRequest;
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey;
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedException;
 
@@ -11,7 +11,7 @@ import static java.lang.String.format;
 
 public class TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator implements ISharedSchemaContextRequestValidator{
     @Override
-    public void validate(SharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedException {
+    public void validate(ISharedSchemaContextRequest request) throws MissingRLSPolicyDeclarationForTablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedException {
         if (!request.getTablesThatAddingOfTenantColumnDefaultValueShouldBeSkipped().isEmpty())
         {
             Set<TableKey> rlsTables = request.getTableColumnsList().keySet();
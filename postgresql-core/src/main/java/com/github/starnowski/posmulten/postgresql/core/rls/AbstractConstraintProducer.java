@@ -11,6 +11,26 @@ public abstract class AbstractConstraintProducer<P extends IConstraintProducerPa
         return new DefaultSQLDefinition(prepareCreateScript(parameters), prepareDropScript(parameters));
     }
 
+    /**
+     * Produces the statement that checks if the existing rows satisfy the constraint that was added with the "NOT VALID" option
+     * (see {@link IConstraintProducerParameters#isNotValid()}).
+     * The statement takes only the "SHARE UPDATE EXCLUSIVE" lock on the table, so it does not block reads and writes
+     * and statements for different tables can be executed in parallel.
+     * @param parameters constraint parameters
+     * @return statement that validates the constraint
+     */
+    public String produceValidateConstraintStatement(P parameters)
+    {
+        validate(parameters);
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("ALTER TABLE ");
+        stringBuilder.append(prepareTableReference(parameters));
+        stringBuilder.append(" VALIDATE CONSTRAINT ");
+        stringBuilder.append(parameters.getConstraintName());
+        stringBuilder.append(";");
+        return stringBuilder.toString();
+    }
+
     protected String prepareCreateScript(P parameters)
     {
         StringBuilder stringBuilder = new StringBuilder();
@@ -18,10 +38,23 @@ public abstract class AbstractConstraintProducer<P extends IConstraintProducerPa
         stringBuilder.append(prepareTableReference(parameters));
         stringBuilder.append(" ADD CONSTRAINT ");
         stringBuilder.append(parameters.getConstraintName());
-        stringBuilder.append(" CHECK ");
+        stringBuilder.append(" ");
+        stringBuilder.append(prepareConstraintDefinition(parameters));
+        if (parameters.isNotValid())
+        {
+            stringBuilder.append(" NOT VALID");
+        }
+        stringBuilder.append(";");
+        return stringBuilder.toString();
+    }
+
+    protected String prepareConstraintDefinition(P parameters)
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("CHECK ");
         stringBuilder.append("(");
         stringBuilder.append(prepareConstraintBody(parameters));
-        stringBuilder.append(");");
+        stringBuilder.append(")");
         return stringBuilder.toString();
     }
 
@@ -56,17 +89,22 @@ public abstract class AbstractConstraintProducer<P extends IConstraintProducerPa
     }
 
     private String prepareTableReference(P parameters)
+    {
+        return prepareTableReference(parameters.getTableName(), parameters.getTableSchema());
+    }
+
+    protected String prepareTableReference(String tableName, String tableSchema)
     {
         StringBuilder stringBuilder = new StringBuilder();
-        if (parameters.getTableSchema() != null)
+        if (tableSchema != null)
         {
             stringBuilder.append("\"");
-            stringBuilder.append(parameters.getTableSchema());
+            stringBuilder.append(tableSchema);
             stringBuilder.append("\"");
             stringBuilder.append(".");
         }
         stringBuilder.append("\"");
-        stringBuilder.append(parameters.getTableName());
+        stringBuilder.append(tableName);
         stringBuilder.append("\"");
         return stringBuilder.toString();
     }
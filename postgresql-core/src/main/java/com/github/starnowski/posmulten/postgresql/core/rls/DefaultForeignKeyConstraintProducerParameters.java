@@ -0,0 +1,132 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+public class DefaultForeignKeyConstraintProducerParameters implements IForeignKeyConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final List<String> columns;
+    private final String referencedTableName;
+    private final String referencedTableSchema;
+    private final List<String> referencedColumns;
+    private final boolean notValid;
+
+    public DefaultForeignKeyConstraintProducerParameters(String constraintName, String tableName, String tableSchema, List<String> columns, String referencedTableName, String referencedTableSchema, List<String> referencedColumns) {
+        this(constraintName, tableName, tableSchema, columns, referencedTableName, referencedTableSchema, referencedColumns, false);
+    }
+
+    public DefaultForeignKeyConstraintProducerParameters(String constraintName, String tableName, String tableSchema, List<String> columns, String referencedTableName, String referencedTableSchema, List<String> referencedColumns, boolean notValid) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.columns = columns;
+        this.referencedTableName = referencedTableName;
+        this.referencedTableSchema = referencedTableSchema;
+        this.referencedColumns = referencedColumns;
+        this.notValid = notValid;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String getReferencedTableName() {
+        return referencedTableName;
+    }
+
+    @Override
+    public String getReferencedTableSchema() {
+        return referencedTableSchema;
+    }
+
+    @Override
+    public List<String> getReferencedColumns() {
+        return referencedColumns;
+    }
+
+    @Override
+    public boolean isNotValid() {
+        return notValid;
+    }
+
+    public static DefaultForeignKeyConstraintProducerParametersBuilder builder()
+    {
+        return new DefaultForeignKeyConstraintProducerParametersBuilder();
+    }
+
+    public static class DefaultForeignKeyConstraintProducerParametersBuilder
+    {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private List<String> columns;
+        private String referencedTableName;
+        private String referencedTableSchema;
+        private List<String> referencedColumns;
+        private boolean notValid;
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withReferencedTableName(String referencedTableName) {
+            this.referencedTableName = referencedTableName;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withReferencedTableSchema(String referencedTableSchema) {
+            this.referencedTableSchema = referencedTableSchema;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withReferencedColumns(List<String> referencedColumns) {
+            this.referencedColumns = referencedColumns;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParametersBuilder withNotValid(boolean notValid) {
+            this.notValid = notValid;
+            return this;
+        }
+
+        public DefaultForeignKeyConstraintProducerParameters build()
+        {
+            return new DefaultForeignKeyConstraintProducerParameters(constraintName, tableName, tableSchema, columns, referencedTableName, referencedTableSchema, referencedColumns, notValid);
+        }
+    }
+}
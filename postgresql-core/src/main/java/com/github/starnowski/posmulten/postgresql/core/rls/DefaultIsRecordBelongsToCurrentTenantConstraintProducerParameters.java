@@ -37,13 +37,19 @@ public final class DefaultIsRecordBelongsToCurrentTenantConstraintProducerParame
     private final String tableSchema;
     private final Map<String, FunctionArgumentValue> primaryColumnsValuesMap;
     private final IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory;
+    private final boolean notValid;
 
     public DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters(String constraintName, String tableName, String tableSchema, Map<String, FunctionArgumentValue> primaryColumnsValuesMap, IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory) {
+        this(constraintName, tableName, tableSchema, primaryColumnsValuesMap, isRecordBelongsToCurrentTenantFunctionInvocationFactory, false);
+    }
+
+    public DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters(String constraintName, String tableName, String tableSchema, Map<String, FunctionArgumentValue> primaryColumnsValuesMap, IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory, boolean notValid) {
         this.constraintName = constraintName;
         this.tableName = tableName;
         this.tableSchema = tableSchema;
         this.primaryColumnsValuesMap = unmodifiableMap(primaryColumnsValuesMap);
         this.isRecordBelongsToCurrentTenantFunctionInvocationFactory = isRecordBelongsToCurrentTenantFunctionInvocationFactory;
+        this.notValid = notValid;
     }
 
     public String getConstraintName() {
@@ -66,6 +72,11 @@ public final class DefaultIsRecordBelongsToCurrentTenantConstraintProducerParame
         return isRecordBelongsToCurrentTenantFunctionInvocationFactory;
     }
 
+    @Override
+    public boolean isNotValid() {
+        return notValid;
+    }
+
     public static DefaultIsRecordBelongsToCurrentTenantConstraintProducerParametersBuilder builder()
     {
         return new DefaultIsRecordBelongsToCurrentTenantConstraintProducerParametersBuilder();
@@ -78,6 +89,7 @@ public final class DefaultIsRecordBelongsToCurrentTenantConstraintProducerParame
         private String tableSchema;
         private Map<String, FunctionArgumentValue> primaryColumnsValuesMap;
         private IsRecordBelongsToCurrentTenantFunctionInvocationFactory isRecordBelongsToCurrentTenantFunctionInvocationFactory;
+        private boolean notValid;
 
         public DefaultIsRecordBelongsToCurrentTenantConstraintProducerParametersBuilder withConstraintName(String constraintName) {
             this.constraintName = constraintName;
@@ -104,9 +116,14 @@ public final class DefaultIsRecordBelongsToCurrentTenantConstraintProducerParame
             return this;
         }
 
+        public DefaultIsRecordBelongsToCurrentTenantConstraintProducerParametersBuilder withNotValid(boolean notValid) {
+            this.notValid = notValid;
+            return this;
+        }
+
         public DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters build()
         {
-            return new DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters(constraintName, tableName, tableSchema, primaryColumnsValuesMap, isRecordBelongsToCurrentTenantFunctionInvocationFactory);
+            return new DefaultIsRecordBelongsToCurrentTenantConstraintProducerParameters(constraintName, tableName, tableSchema, primaryColumnsValuesMap, isRecordBelongsToCurrentTenantFunctionInvocationFactory, notValid);
         }
     }
 }
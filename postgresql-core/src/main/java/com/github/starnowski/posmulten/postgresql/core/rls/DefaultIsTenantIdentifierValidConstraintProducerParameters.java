@@ -9,13 +9,19 @@ public class DefaultIsTenantIdentifierValidConstraintProducerParameters implemen
     private final String tableSchema;
     private final String tenantColumnName;
     private final IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory;
+    private final boolean notValid;
 
     public DefaultIsTenantIdentifierValidConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String tenantColumnName, IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory) {
+        this(constraintName, tableName, tableSchema, tenantColumnName, iIsTenantValidFunctionInvocationFactory, false);
+    }
+
+    public DefaultIsTenantIdentifierValidConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String tenantColumnName, IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory, boolean notValid) {
         this.constraintName = constraintName;
         this.tableName = tableName;
         this.tableSchema = tableSchema;
         this.tenantColumnName = tenantColumnName;
         this.iIsTenantValidFunctionInvocationFactory = iIsTenantValidFunctionInvocationFactory;
+        this.notValid = notValid;
     }
 
     @Override
@@ -43,6 +49,11 @@ public class DefaultIsTenantIdentifierValidConstraintProducerParameters implemen
         return iIsTenantValidFunctionInvocationFactory;
     }
 
+    @Override
+    public boolean isNotValid() {
+        return notValid;
+    }
+
     public static DefaultIsTenantIdentifierValidConstraintProducerParametersBuilder builder()
     {
         return new DefaultIsTenantIdentifierValidConstraintProducerParametersBuilder();
@@ -55,6 +66,7 @@ public class DefaultIsTenantIdentifierValidConstraintProducerParameters implemen
         private String tableSchema;
         private String tenantColumnName;
         private IIsTenantValidFunctionInvocationFactory iIsTenantValidFunctionInvocationFactory;
+        private boolean notValid;
 
         public DefaultIsTenantIdentifierValidConstraintProducerParametersBuilder withConstraintName(String constraintName) {
             this.constraintName = constraintName;
@@ -81,9 +93,14 @@ public class DefaultIsTenantIdentifierValidConstraintProducerParameters implemen
             return this;
         }
 
+        public DefaultIsTenantIdentifierValidConstraintProducerParametersBuilder withNotValid(boolean notValid) {
+            this.notValid = notValid;
+            return this;
+        }
+
         public DefaultIsTenantIdentifierValidConstraintProducerParameters build()
         {
-            return new DefaultIsTenantIdentifierValidConstraintProducerParameters(constraintName, tableName, tableSchema, tenantColumnName, iIsTenantValidFunctionInvocationFactory);
+            return new DefaultIsTenantIdentifierValidConstraintProducerParameters(constraintName, tableName, tableSchema, tenantColumnName, iIsTenantValidFunctionInvocationFactory, notValid);
         }
     }
 }
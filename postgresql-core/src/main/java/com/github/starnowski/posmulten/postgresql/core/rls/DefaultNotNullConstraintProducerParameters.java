@@ -0,0 +1,87 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+public class DefaultNotNullConstraintProducerParameters implements INotNullConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final String columnName;
+    private final boolean notValid;
+
+    public DefaultNotNullConstraintProducerParameters(String constraintName, String tableName, String tableSchema, String columnName, boolean notValid) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.columnName = columnName;
+        this.notValid = notValid;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    @Override
+    public String getColumnName() {
+        return columnName;
+    }
+
+    @Override
+    public boolean isNotValid() {
+        return notValid;
+    }
+
+    public static DefaultNotNullConstraintProducerParametersBuilder builder()
+    {
+        return new DefaultNotNullConstraintProducerParametersBuilder();
+    }
+
+    public static class DefaultNotNullConstraintProducerParametersBuilder
+    {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private String columnName;
+        private boolean notValid;
+
+        public DefaultNotNullConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultNotNullConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultNotNullConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultNotNullConstraintProducerParametersBuilder withColumnName(String columnName) {
+            this.columnName = columnName;
+            return this;
+        }
+
+        public DefaultNotNullConstraintProducerParametersBuilder withNotValid(boolean notValid) {
+            this.notValid = notValid;
+            return this;
+        }
+
+        public DefaultNotNullConstraintProducerParameters build()
+        {
+            return new DefaultNotNullConstraintProducerParameters(constraintName, tableName, tableSchema, columnName, notValid);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+public class DefaultUniqueConstraintProducerParameters implements IUniqueConstraintProducerParameters {
+
+    private final String constraintName;
+    private final String tableName;
+    private final String tableSchema;
+    private final List<String> columns;
+
+    public DefaultUniqueConstraintProducerParameters(String constraintName, String tableName, String tableSchema, List<String> columns) {
+        this.constraintName = constraintName;
+        this.tableName = tableName;
+        this.tableSchema = tableSchema;
+        this.columns = columns;
+    }
+
+    @Override
+    public String getConstraintName() {
+        return constraintName;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public String getTableSchema() {
+        return tableSchema;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public static DefaultUniqueConstraintProducerParametersBuilder builder()
+    {
+        return new DefaultUniqueConstraintProducerParametersBuilder();
+    }
+
+    public static class DefaultUniqueConstraintProducerParametersBuilder
+    {
+        private String constraintName;
+        private String tableName;
+        private String tableSchema;
+        private List<String> columns;
+
+        public DefaultUniqueConstraintProducerParametersBuilder withConstraintName(String constraintName) {
+            this.constraintName = constraintName;
+            return this;
+        }
+
+        public DefaultUniqueConstraintProducerParametersBuilder withTableName(String tableName) {
+            this.tableName = tableName;
+            return this;
+        }
+
+        public DefaultUniqueConstraintProducerParametersBuilder withTableSchema(String tableSchema) {
+            this.tableSchema = tableSchema;
+            return this;
+        }
+
+        public DefaultUniqueConstraintProducerParametersBuilder withColumns(List<String> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public DefaultUniqueConstraintProducerParameters build()
+        {
+            return new DefaultUniqueConstraintProducerParameters(constraintName, tableName, tableSchema, columns);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The producer generates statement that adds the foreign key constraint to the table, for example:
+ * "ALTER TABLE "public"."posts" ADD CONSTRAINT posts_users_fk FOREIGN KEY (tenant_id, user_id) REFERENCES "public"."users" (tenant_id, id);".
+ */
+public class ForeignKeyConstraintProducer extends AbstractConstraintProducer<IForeignKeyConstraintProducerParameters> {
+
+    @Override
+    protected String prepareConstraintDefinition(IForeignKeyConstraintProducerParameters parameters) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("FOREIGN KEY ");
+        stringBuilder.append("(");
+        stringBuilder.append(prepareConstraintBody(parameters));
+        stringBuilder.append(")");
+        stringBuilder.append(" REFERENCES ");
+        stringBuilder.append(prepareTableReference(parameters.getReferencedTableName(), parameters.getReferencedTableSchema()));
+        stringBuilder.append(" (");
+        stringBuilder.append(parameters.getReferencedColumns().stream().collect(joining(", ")));
+        stringBuilder.append(")");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    protected String prepareConstraintBody(IForeignKeyConstraintProducerParameters parameters) {
+        return parameters.getColumns().stream().collect(joining(", "));
+    }
+
+    @Override
+    protected void validate(IForeignKeyConstraintProducerParameters parameters)
+    {
+        super.validate(parameters);
+        validateColumns(parameters.getColumns(), "Columns list");
+        if (parameters.getReferencedTableName() == null)
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be null");
+        }
+        if (parameters.getReferencedTableName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be empty");
+        }
+        if (parameters.getReferencedTableSchema() != null && parameters.getReferencedTableSchema().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table schema cannot be empty");
+        }
+        validateColumns(parameters.getReferencedColumns(), "Referenced columns list");
+        if (parameters.getColumns().size() != parameters.getReferencedColumns().size())
+        {
+            throw new IllegalArgumentException("Columns list and referenced columns list have to have the same size");
+        }
+    }
+
+    private void validateColumns(List<String> columns, String name)
+    {
+        if (columns == null || columns.isEmpty())
+        {
+            throw new IllegalArgumentException(name + " cannot be null or empty");
+        }
+        if (columns.stream().anyMatch(column -> column == null || column.trim().isEmpty()))
+        {
+            throw new IllegalArgumentException(name + " cannot contain null or blank elements");
+        }
+    }
+}
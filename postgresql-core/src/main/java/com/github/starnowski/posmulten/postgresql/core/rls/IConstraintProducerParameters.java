@@ -7,4 +7,16 @@ public interface IConstraintProducerParameters {
     String getTableName();
 
     String getTableSchema();
+
+    /**
+     * The toggle, based on which the constraint is added with the "NOT VALID" option (true) or not (false).
+     * The constraint added with the "NOT VALID" option is checked only for new and updated rows, so the statement that adds it
+     * does not scan the table. Existing rows have to be checked later by the statement returned by the
+     * {@link AbstractConstraintProducer#produceValidateConstraintStatement(IConstraintProducerParameters)} method.
+     * The default value is false.
+     * @return true if the constraint should be added with the "NOT VALID" option
+     */
+    default boolean isNotValid() {
+        return false;
+    }
 }
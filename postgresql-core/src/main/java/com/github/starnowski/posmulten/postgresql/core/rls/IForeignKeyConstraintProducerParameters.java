@@ -0,0 +1,20 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+public interface IForeignKeyConstraintProducerParameters extends IConstraintProducerParameters {
+
+    /**
+     * @return list of columns in the table that contains the foreign key, the order of columns has to match the order of {@link #getReferencedColumns()}
+     */
+    List<String> getColumns();
+
+    String getReferencedTableName();
+
+    String getReferencedTableSchema();
+
+    /**
+     * @return list of columns in the referenced table
+     */
+    List<String> getReferencedColumns();
+}
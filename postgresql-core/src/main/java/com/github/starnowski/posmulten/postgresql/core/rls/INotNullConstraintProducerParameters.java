@@ -0,0 +1,6 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+public interface INotNullConstraintProducerParameters extends IConstraintProducerParameters {
+
+    String getColumnName();
+}
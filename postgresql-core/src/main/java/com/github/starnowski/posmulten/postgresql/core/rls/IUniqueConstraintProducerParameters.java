@@ -0,0 +1,8 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import java.util.List;
+
+public interface IUniqueConstraintProducerParameters extends IConstraintProducerParameters {
+
+    List<String> getColumns();
+}
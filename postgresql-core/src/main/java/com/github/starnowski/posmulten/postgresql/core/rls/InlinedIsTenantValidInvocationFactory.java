@@ -0,0 +1,60 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue;
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IIsTenantValidFunctionInvocationFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValueToStringMapper.mapToString;
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.TenantIdentifierArrays.returnNotEqualToAllExpression;
+
+/**
+ * Component produces the expression that checks if the passed value is not one of the invalid tenant identifiers
+ * without invoking any function, for example:
+ * <pre>
+ * tenant_id &lt;&gt; ALL (CAST ('{"invalid1","invalid2"}' AS text[]))
+ * </pre>
+ * Used in the check constraint, the expression is evaluated directly by the executor, without the function call overhead.
+ * @see com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum#INLINED_CONSTRAINT
+ */
+public class InlinedIsTenantValidInvocationFactory implements IIsTenantValidFunctionInvocationFactory {
+
+    private final Set<String> blacklistTenantIds;
+    private final String tenantIdType;
+
+    /**
+     * @param blacklistTenantIds invalid tenant identifiers
+     * @param tenantIdType type of the tenant identifier, for null value the "text" type is used
+     */
+    public InlinedIsTenantValidInvocationFactory(Set<String> blacklistTenantIds, String tenantIdType) {
+        if (blacklistTenantIds == null)
+        {
+            throw new IllegalArgumentException("The list of invalid value cannot be null");
+        }
+        if (blacklistTenantIds.isEmpty())
+        {
+            throw new IllegalArgumentException("The list of invalid value cannot be empty");
+        }
+        if (tenantIdType != null && tenantIdType.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Tenant identifier type cannot be blank");
+        }
+        this.blacklistTenantIds = Collections.unmodifiableSet(new HashSet<>(blacklistTenantIds));
+        this.tenantIdType = tenantIdType;
+    }
+
+    @Override
+    public String returnIsTenantValidFunctionInvocation(FunctionArgumentValue argumentValue) {
+        return returnNotEqualToAllExpression(mapToString(argumentValue), blacklistTenantIds, tenantIdType);
+    }
+
+    public Set<String> getBlacklistTenantIds() {
+        return blacklistTenantIds;
+    }
+
+    public String getTenantIdType() {
+        return tenantIdType;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValueToStringMapper.mapToString;
+
+/**
+ * Component produces the expression that compares the tenant column value with the value of the property that stores
+ * the current tenant identifier, for example:
+ * <pre>
+ * tenant_id = CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255))
+ * </pre>
+ * Comparing to the {@link com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHasAuthoritiesFunctionDefinition}
+ * the expression is flat, so it can be used by the planner for index scans and partition pruning.
+ * The current tenant identifier can be wrapped in the scalar subquery, for example:
+ * <pre>
+ * tenant_id = (SELECT CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255)))
+ * </pre>
+ * so that the planner computes it once for the whole query (as the "InitPlan") instead of computing it for each row.
+ * <p>
+ * The expression only checks if the row belongs to the current tenant.
+ * The permission command policy, the RLS expression type, the table and the schema passed to the
+ * {@link #returnTenantHasAuthoritiesFunctionInvocation(FunctionArgumentValue, PermissionCommandPolicyEnum, RLSExpressionTypeEnum, FunctionArgumentValue, FunctionArgumentValue)}
+ * method are ignored, so the same expression is returned for each command.
+ * That is the same behaviour as of the function created by the {@link com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHasAuthoritiesFunctionProducer},
+ * which receives those arguments but does not use them in its body.
+ * @see RLSPolicyExpressionStrategyEnum#INLINED_TENANT_COLUMN_COMPARISON
+ */
+public class InlinedTenantColumnComparisonInvocationFactory implements TenantHasAuthoritiesFunctionInvocationFactory {
+
+    private final String currentTenantIdProperty;
+    private final String currentTenantIdPropertyType;
+    private final boolean subquery;
+
+    public InlinedTenantColumnComparisonInvocationFactory(String currentTenantIdProperty, String currentTenantIdPropertyType) {
+        this(currentTenantIdProperty, currentTenantIdPropertyType, false);
+    }
+
+    /**
+     * @param currentTenantIdProperty name of the property that stores the current tenant identifier
+     * @param currentTenantIdPropertyType type of the tenant identifier
+     * @param subquery if true then the current tenant identifier is wrapped in the scalar subquery
+     */
+    public InlinedTenantColumnComparisonInvocationFactory(String currentTenantIdProperty, String currentTenantIdPropertyType, boolean subquery) {
+        if (currentTenantIdProperty == null)
+        {
+            throw new IllegalArgumentException("Current tenant identifier property cannot be null");
+        }
+        if (currentTenantIdProperty.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Current tenant identifier property cannot be blank");
+        }
+        if (currentTenantIdPropertyType == null)
+        {
+            throw new IllegalArgumentException("Current tenant identifier property type cannot be null");
+        }
+        if (currentTenantIdPropertyType.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Current tenant identifier property type cannot be blank");
+        }
+        this.currentTenantIdProperty = currentTenantIdProperty;
+        this.currentTenantIdPropertyType = currentTenantIdPropertyType;
+        this.subquery = subquery;
+    }
+
+    /**
+     * Returns the expression that compares the tenant column value with the current tenant identifier.
+     * @param tenantIdValue tenant column reference
+     * @param permissionCommandPolicy ignored, the expression is the same for each command
+     * @param rlsExpressionType ignored, the expression is the same for the USING and WITH CHECK expressions
+     * @param table ignored
+     * @param schema ignored
+     * @return expression that compares the tenant column value with the current tenant identifier
+     */
+    @Override
+    public String returnTenantHasAuthoritiesFunctionInvocation(FunctionArgumentValue tenantIdValue, PermissionCommandPolicyEnum permissionCommandPolicy, RLSExpressionTypeEnum rlsExpressionType, FunctionArgumentValue table, FunctionArgumentValue schema) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mapToString(tenantIdValue));
+        sb.append(" = ");
+        if (subquery)
+        {
+            sb.append("(SELECT ");
+        }
+        sb.append("CAST(current_setting('");
+        sb.append(currentTenantIdProperty);
+        sb.append("') AS ");
+        sb.append(currentTenantIdPropertyType);
+        sb.append(")");
+        if (subquery)
+        {
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+
+    public String getCurrentTenantIdProperty() {
+        return currentTenantIdProperty;
+    }
+
+    public String getCurrentTenantIdPropertyType() {
+        return currentTenantIdPropertyType;
+    }
+
+    public boolean isSubquery() {
+        return subquery;
+    }
+}
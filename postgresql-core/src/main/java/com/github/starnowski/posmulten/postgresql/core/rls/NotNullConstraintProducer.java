@@ -0,0 +1,28 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+/**
+ * Producer of the check constraint that requires the column to have value, for example "CHECK (tenant_id IS NOT NULL)".
+ * The constraint added with the "NOT VALID" option and validated later allows the Postgres 12 and newer
+ * to set the "NOT NULL" option for the column without scanning the table.
+ */
+public class NotNullConstraintProducer extends AbstractConstraintProducer<INotNullConstraintProducerParameters> {
+
+    @Override
+    protected String prepareConstraintBody(INotNullConstraintProducerParameters parameters) {
+        return parameters.getColumnName() + " IS NOT NULL";
+    }
+
+    @Override
+    protected void validate(INotNullConstraintProducerParameters parameters)
+    {
+        super.validate(parameters);
+        if (parameters.getColumnName() == null)
+        {
+            throw new IllegalArgumentException("Column name cannot be null");
+        }
+        if (parameters.getColumnName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Column name cannot be empty");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+/**
+ * Strategy that describes how the expressions of the row level security policy check if the current tenant is allowed
+ * to process database table row.
+ */
+public enum RLSPolicyExpressionStrategyEnum {
+    /**
+     * Expression invokes the function that checks if the current tenant has authorities
+     * ({@link com.github.starnowski.posmulten.postgresql.core.rls.function.TenantHasAuthoritiesFunctionDefinition}).
+     */
+    TENANT_HAS_AUTHORITIES_FUNCTION,
+    /**
+     * Expression compares the tenant column directly with the value of the property that stores the current tenant identifier,
+     * for example "tenant_id = CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255))".
+     * The expression does not contain any function invocation that has to be inlined by the planner, so the index
+     * for tenant column can be used and partition pruning can be applied.
+     * @see InlinedTenantColumnComparisonInvocationFactory
+     */
+    INLINED_TENANT_COLUMN_COMPARISON
+}
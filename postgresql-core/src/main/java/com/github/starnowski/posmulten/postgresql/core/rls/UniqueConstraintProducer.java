@@ -0,0 +1,43 @@
+package com.github.starnowski.posmulten.postgresql.core.rls;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The producer generates statement that adds the unique constraint to the table, for example:
+ * "ALTER TABLE "public"."users" ADD CONSTRAINT users_tenant_uk UNIQUE (tenant_id, id);".
+ */
+public class UniqueConstraintProducer extends AbstractConstraintProducer<IUniqueConstraintProducerParameters> {
+
+    @Override
+    protected String prepareConstraintDefinition(IUniqueConstraintProducerParameters parameters) {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("UNIQUE ");
+        stringBuilder.append("(");
+        stringBuilder.append(prepareConstraintBody(parameters));
+        stringBuilder.append(")");
+        return stringBuilder.toString();
+    }
+
+    @Override
+    protected String prepareConstraintBody(IUniqueConstraintProducerParameters parameters) {
+        return parameters.getColumns().stream().collect(joining(", "));
+    }
+
+    @Override
+    protected void validate(IUniqueConstraintProducerParameters parameters)
+    {
+        super.validate(parameters);
+        if (parameters.getColumns() == null || parameters.getColumns().isEmpty())
+        {
+            throw new IllegalArgumentException("Columns list cannot be null or empty");
+        }
+        if (parameters.getColumns().stream().anyMatch(column -> column == null || column.trim().isEmpty()))
+        {
+            throw new IllegalArgumentException("Columns list cannot contain null or blank elements");
+        }
+        if (parameters.isNotValid())
+        {
+            throw new IllegalArgumentException("The unique constraint cannot be added with the NOT VALID option");
+        }
+    }
+}
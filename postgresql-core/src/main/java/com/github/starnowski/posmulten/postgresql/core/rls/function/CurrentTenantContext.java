@@ -0,0 +1,127 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * The tenant context bound to the current thread only for the duration of the passed task.
+ * The previous tenant is always restored after the task execution, so the tenant does not leak to the next task executed by the same
+ * (pooled or virtual) thread.
+ * The tenant is not inherited by the child threads. To pass the tenant to the task executed by another thread, the task or executor has to be wrapped
+ * by one of the "wrap" methods, which captures the tenant at the moment of wrapping, for example:
+ * <pre>
+ * CompletableFuture.supplyAsync(CurrentTenantContext.wrapSupplier(() -&gt; repository.findAll()), executor);
+ * CompletableFuture.supplyAsync(() -&gt; repository.findAll(), CurrentTenantContext.wrapExecutor(executor));
+ * </pre>
+ * The component only stores the tenant identifier, it does not use any lock or database connection, so it is cheap on virtual threads.
+ * The tenant is applied to the database connection when the connection is used (see {@link CurrentTenantContextInvocationFactory}).
+ */
+public final class CurrentTenantContext {
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private CurrentTenantContext() {
+    }
+
+    /**
+     * @return the tenant bound to the current thread or null if there is no tenant
+     */
+    public static String getCurrentTenant() {
+        return CURRENT_TENANT.get();
+    }
+
+    /**
+     * Executes the task with the passed tenant bound to the current thread.
+     * @param tenant tenant identifier, null means that the task is executed without tenant
+     * @param task task
+     */
+    public static void runWithTenant(String tenant, Runnable task) {
+        String previous = bind(tenant);
+        try {
+            task.run();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * Executes the task with the passed tenant bound to the current thread.
+     * @param tenant tenant identifier, null means that the task is executed without tenant
+     * @param task task
+     * @param <T> result type
+     * @return result of the task
+     * @throws Exception if the task throws an exception
+     */
+    public static <T> T callWithTenant(String tenant, Callable<T> task) throws Exception {
+        String previous = bind(tenant);
+        try {
+            return task.call();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * Executes the task with the passed tenant bound to the current thread.
+     * @param tenant tenant identifier, null means that the task is executed without tenant
+     * @param task task
+     * @param <T> result type
+     * @return result of the task
+     */
+    public static <T> T supplyWithTenant(String tenant, Supplier<T> task) {
+        String previous = bind(tenant);
+        try {
+            return task.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * @param task task
+     * @return task that is executed with the tenant bound to the current thread at the moment of this method invocation
+     */
+    public static Runnable wrapRunnable(Runnable task) {
+        String tenant = getCurrentTenant();
+        return () -> runWithTenant(tenant, task);
+    }
+
+    /**
+     * @param task task
+     * @param <T> result type
+     * @return task that is executed with the tenant bound to the current thread at the moment of this method invocation
+     */
+    public static <T> Callable<T> wrapCallable(Callable<T> task) {
+        String tenant = getCurrentTenant();
+        return () -> callWithTenant(tenant, task);
+    }
+
+    /**
+     * @param task task
+     * @param <T> result type
+     * @return task that is executed with the tenant bound to the current thread at the moment of this method invocation
+     */
+    public static <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+        String tenant = getCurrentTenant();
+        return () -> supplyWithTenant(tenant, task);
+    }
+
+    /**
+     * @param executor executor
+     * @return executor that executes each task with the tenant bound to the thread that submitted the task
+     */
+    public static Executor wrapExecutor(Executor executor) {
+        return task -> executor.execute(wrapRunnable(task));
+    }
+
+    private static String bind(String tenant) {
+        String previous = CURRENT_TENANT.get();
+        if (tenant == null) {
+            CURRENT_TENANT.remove();
+        } else {
+            CURRENT_TENANT.set(tenant);
+        }
+        return previous;
+    }
+}
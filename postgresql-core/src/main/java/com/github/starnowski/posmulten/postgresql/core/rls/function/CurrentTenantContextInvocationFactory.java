@@ -0,0 +1,79 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The component sets the tenant bound to the current thread (see {@link CurrentTenantContext}) for the database connection,
+ * by executing the statement returned by the {@link ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory}
+ * with the tenant passed as the bound parameter.
+ * The tenant is resolved at the moment of the connection usage, not at the moment of the task creation.
+ */
+public class CurrentTenantContextInvocationFactory {
+
+    private static final Set<String> STATEMENT_CREATING_METHODS = new HashSet<>(Arrays.asList("createStatement", "prepareStatement", "prepareCall"));
+
+    private final ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+
+    public CurrentTenantContextInvocationFactory(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+        if (setCurrentTenantIdFunctionPreparedStatementInvocationFactory == null) {
+            throw new IllegalArgumentException("The factory of statement that sets the current tenant cannot be null");
+        }
+        this.setCurrentTenantIdFunctionPreparedStatementInvocationFactory = setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    }
+
+    /**
+     * Sets the tenant bound to the current thread for the passed connection.
+     * @param connection database connection
+     * @return true if the tenant was set, false if there is no tenant bound to the current thread
+     * @throws SQLException if the statement could not be executed
+     */
+    public boolean applyCurrentContextTenant(Connection connection) throws SQLException {
+        String tenant = CurrentTenantContext.getCurrentTenant();
+        if (tenant == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(setCurrentTenantIdFunctionPreparedStatementInvocationFactory.returnPreparedStatementThatSetCurrentTenant())) {
+            statement.setString(1, tenant);
+            statement.execute();
+        }
+        return true;
+    }
+
+    /**
+     * Wraps the connection so that the tenant bound to the current thread is set each time a statement is created
+     * ({@link Connection#createStatement()}, {@link Connection#prepareStatement(String)} or {@link Connection#prepareCall(String)} methods and their overloads).
+     * That is why the tenant is applied only when the connection is actually used, by the thread that uses it,
+     * even if the connection was obtained by a different thread or the tenant was changed in the meantime.
+     * The creation of a statement fails when there is no tenant bound to the current thread,
+     * so the connection is never used with the tenant set earlier for another task.
+     * @param connection database connection
+     * @return connection that sets the tenant bound to the current thread before creation of each statement
+     */
+    public Connection wrapConnection(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (STATEMENT_CREATING_METHODS.contains(method.getName()) && !applyCurrentContextTenant(connection)) {
+                throw new SQLException("There is no tenant bound to the current thread");
+            }
+            return invoke(connection, method, args);
+        });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
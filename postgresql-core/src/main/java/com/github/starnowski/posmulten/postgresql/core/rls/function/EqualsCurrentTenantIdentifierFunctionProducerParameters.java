@@ -23,18 +23,26 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+
 public class EqualsCurrentTenantIdentifierFunctionProducerParameters implements IEqualsCurrentTenantIdentifierFunctionProducerParameters {
 
     private final String functionName;
     private final String schema;
     private final String argumentType;
     private final IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory;
+    private final IFunctionMetadataProperties functionMetadataProperties;
 
     public EqualsCurrentTenantIdentifierFunctionProducerParameters(String functionName, String schema, String argumentType, IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory) {
+        this(functionName, schema, argumentType, getCurrentTenantIdFunctionInvocationFactory, null);
+    }
+
+    public EqualsCurrentTenantIdentifierFunctionProducerParameters(String functionName, String schema, String argumentType, IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory, IFunctionMetadataProperties functionMetadataProperties) {
         this.functionName = functionName;
         this.schema = schema;
         this.argumentType = argumentType;
         this.getCurrentTenantIdFunctionInvocationFactory = getCurrentTenantIdFunctionInvocationFactory;
+        this.functionMetadataProperties = functionMetadataProperties;
     }
 
     @Override
@@ -57,4 +65,8 @@ public class EqualsCurrentTenantIdentifierFunctionProducerParameters implements
         return getCurrentTenantIdFunctionInvocationFactory;
     }
 
+    @Override
+    public IFunctionMetadataProperties getFunctionMetadataProperties() {
+        return functionMetadataProperties;
+    }
 }
@@ -29,6 +29,7 @@ import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.
 
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.STABLE;
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.TenantIdentifierTypes.castIfNotTextType;
 
 /**
  * The component produces a statement that creates a function that returns the current tenant identifier.
@@ -72,9 +73,8 @@ public class GetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
     @Override
     protected String buildBody(IGetCurrentTenantIdFunctionProducerParameters parameters) {
         StringBuilder sb = new StringBuilder();
-        sb.append("SELECT current_setting('");
-        sb.append(parameters.getCurrentTenantIdProperty());
-        sb.append("')");
+        sb.append("SELECT ");
+        sb.append(castIfNotTextType("current_setting('" + parameters.getCurrentTenantIdProperty() + "')", prepareReturnType(parameters)));
         return sb.toString();
     }
 }
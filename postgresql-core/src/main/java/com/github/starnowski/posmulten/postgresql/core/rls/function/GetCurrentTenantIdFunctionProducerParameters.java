@@ -23,18 +23,26 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+
 public class GetCurrentTenantIdFunctionProducerParameters implements IGetCurrentTenantIdFunctionProducerParameters {
 
     private final String functionName;
     private final String currentTenantIdProperty;
     private final String schema;
     private final String functionReturnType;
+    private final IFunctionMetadataProperties functionMetadataProperties;
 
     public GetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String functionReturnType) {
+        this(functionName, currentTenantIdProperty, schema, functionReturnType, null);
+    }
+
+    public GetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String functionReturnType, IFunctionMetadataProperties functionMetadataProperties) {
         this.functionName = functionName;
         this.currentTenantIdProperty = currentTenantIdProperty;
         this.schema = schema;
         this.functionReturnType = functionReturnType;
+        this.functionMetadataProperties = functionMetadataProperties;
     }
 
     public String getFunctionName() {
@@ -52,4 +60,9 @@ public class GetCurrentTenantIdFunctionProducerParameters implements IGetCurrent
     public String getFunctionReturnType() {
         return functionReturnType;
     }
+
+    @Override
+    public IFunctionMetadataProperties getFunctionMetadataProperties() {
+        return functionMetadataProperties;
+    }
 }
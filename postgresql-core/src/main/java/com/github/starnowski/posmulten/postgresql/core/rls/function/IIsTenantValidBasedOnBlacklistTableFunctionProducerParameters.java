@@ -0,0 +1,18 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+
+public interface IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters extends IFunctionFactoryParameters {
+
+    String getArgumentType();
+
+    /**
+     * @return name of the table that stores invalid tenant identifiers, the table is expected in the same schema as the function
+     */
+    String getBlacklistTable();
+
+    /**
+     * @return name of the primary key column of the table that stores invalid tenant identifiers
+     */
+    String getBlacklistTableColumn();
+}
@@ -12,4 +12,10 @@ public interface IIsTenantValidBasedOnConstantValuesFunctionProducerParameters e
     String getArgumentType();
 
     Set<String> getBlacklistTenantIds();
+
+    /**
+     * @return true if the passed value should be compared with the array constant that contains all invalid tenant identifiers,
+     * false if the passed value should be compared with each invalid tenant identifier separately
+     */
+    boolean isArrayComparison();
 }
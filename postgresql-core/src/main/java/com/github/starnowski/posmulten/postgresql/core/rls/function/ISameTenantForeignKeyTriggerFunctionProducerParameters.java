@@ -0,0 +1,31 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionFactoryParameters;
+import com.github.starnowski.posmulten.postgresql.core.util.Pair;
+
+import java.util.List;
+
+public interface ISameTenantForeignKeyTriggerFunctionProducerParameters extends IFunctionFactoryParameters {
+
+    String getReferencedTableName();
+
+    String getReferencedTableSchema();
+
+    /**
+     * @return name of the tenant column in the referenced table
+     */
+    String getReferencedTableTenantColumn();
+
+    /**
+     * @return list of pairs where the key is the foreign key column in the main table and the value is the primary key
+     * column in the referenced table
+     */
+    List<Pair<String, String>> getForeignKeyPrimaryKeyColumnsPairs();
+
+    /**
+     * @return name of the transition table that contains the rows inserted or updated by the statement
+     */
+    String getTransitionTableName();
+
+    IGetCurrentTenantIdFunctionInvocationFactory getIGetCurrentTenantIdFunctionInvocationFactory();
+}
@@ -0,0 +1,19 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+/**
+ * Factory of statements that invoke the function that sets the current tenant with the indexed parameter ("$1"),
+ * used by the Postgres drivers that do not support the JDBC style parameter ("?"), for example the R2DBC driver.
+ */
+public interface ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory {
+
+    String returnStatementWithIndexedParameterThatSetCurrentTenant();
+
+    /**
+     * The components that remember the tenant set for the connection should not use the transaction scoped function,
+     * because the value is reset at the end of the transaction.
+     * @return true if the function sets the current tenant only for the current transaction, by default false
+     */
+    default boolean isTransactionScoped() {
+        return false;
+    }
+}
@@ -3,4 +3,13 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 public interface ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory {
 
     String returnPreparedStatementThatSetCurrentTenant();
+
+    /**
+     * The components that remember the tenant set for the connection should not use the transaction scoped function,
+     * because the value is reset at the end of the transaction.
+     * @return true if the function sets the current tenant only for the current transaction, by default false
+     */
+    default boolean isTransactionScoped() {
+        return false;
+    }
 }
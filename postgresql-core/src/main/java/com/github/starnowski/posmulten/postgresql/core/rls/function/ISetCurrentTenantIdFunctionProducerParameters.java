@@ -30,4 +30,9 @@ public interface ISetCurrentTenantIdFunctionProducerParameters extends IFunction
     String getArgumentType();
 
     String getCurrentTenantIdProperty();
+
+    /**
+     * @return true if the function should set the current tenant identifier only for the current transaction
+     */
+    boolean isTransactionScoped();
 }
@@ -0,0 +1,26 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+/**
+ * Factory of statements that set the current tenant only for the current transaction.
+ * The value set by the statement is reverted at the end of the transaction (commit or rollback),
+ * so the connection returned to the connection pool does not keep the tenant of the previous user.
+ */
+public interface ISetCurrentTenantIdTransactionInvocationFactory {
+
+    /**
+     * @param tenantId tenant identifier
+     * @return statement that sets the current tenant for the current transaction
+     */
+    String generateStatementThatSetTenantForTransaction(String tenantId);
+
+    /**
+     * Generates the statement that sets the current tenant for the current transaction and the passed statement,
+     * so both can be sent to the database in a single round trip.
+     * @param tenantId tenant identifier
+     * @param statement statement that should be executed after setting the current tenant
+     * @return statement that sets the current tenant for the current transaction followed by the passed statement
+     */
+    default String prependStatementThatSetTenantForTransaction(String tenantId, String statement) {
+        return generateStatementThatSetTenantForTransaction(tenantId) + "\n" + statement;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionArgument;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+
+import java.util.List;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder.forType;
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.STABLE;
+import static java.util.Collections.singletonList;
+
+/**
+ * The component produces a statement that creates a function that checks if the passed value is the correct tenant identifier
+ * by checking that the value does not exist in the table that stores invalid tenant identifiers, for example:
+ * <pre>
+ * SELECT NOT EXISTS (SELECT 1 FROM tenant_identifiers_blacklist WHERE tenant_id = $1)
+ * </pre>
+ * The function reads the table, so it is declared as STABLE.
+ * For more details about function creation please check postgres documentation
+ * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
+ * @see com.github.starnowski.posmulten.postgresql.core.CreateTenantValuesBlacklistTableStatementProducer
+ */
+public class IsTenantValidBasedOnBlacklistTableFunctionProducer extends ExtendedAbstractFunctionFactory<IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters, IsTenantValidBasedOnBlacklistTableFunctionDefinition> {
+    @Override
+    protected String prepareReturnType(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters) {
+        return "BOOLEAN";
+    }
+
+    @Override
+    protected void enrichMetadataPhraseBuilder(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters, MetadataPhraseBuilder metadataPhraseBuilder) {
+        metadataPhraseBuilder.withParallelModeSupplier(SAFE).withVolatilityCategorySupplier(STABLE);
+    }
+
+    @Override
+    protected String buildBody(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT NOT EXISTS (SELECT 1 FROM ");
+        if (parameters.getSchema() != null)
+        {
+            sb.append(parameters.getSchema());
+            sb.append(".");
+        }
+        sb.append(parameters.getBlacklistTable());
+        sb.append(" WHERE ");
+        sb.append(parameters.getBlacklistTableColumn());
+        sb.append(" = $1)");
+        return sb.toString();
+    }
+
+    @Override
+    protected IsTenantValidBasedOnBlacklistTableFunctionDefinition returnFunctionDefinition(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
+        return new IsTenantValidBasedOnBlacklistTableFunctionDefinition(functionDefinition);
+    }
+
+    @Override
+    protected List<IFunctionArgument> prepareFunctionArguments(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters) {
+        return singletonList(forType(returnFunctionArgumentType(parameters)));
+    }
+
+    @Override
+    protected void validate(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getBlacklistTable() == null)
+        {
+            throw new IllegalArgumentException("The table name cannot be null");
+        }
+        if (parameters.getBlacklistTable().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The table name cannot be blank");
+        }
+        if (parameters.getBlacklistTableColumn() == null)
+        {
+            throw new IllegalArgumentException("The column name cannot be null");
+        }
+        if (parameters.getBlacklistTableColumn().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The column name cannot be blank");
+        }
+        if (parameters.getArgumentType() != null && parameters.getArgumentType().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The argument type cannot be empty");
+        }
+    }
+
+    private String returnFunctionArgumentType(IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters parameters)
+    {
+        return parameters.getArgumentType() == null ? "text" : parameters.getArgumentType();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+public class IsTenantValidBasedOnBlacklistTableFunctionProducerParameters implements IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters {
+
+    private final String functionName;
+    private final String schema;
+    private final String blacklistTable;
+    private final String blacklistTableColumn;
+    private final String argumentType;
+
+    public IsTenantValidBasedOnBlacklistTableFunctionProducerParameters(String functionName, String schema, String blacklistTable, String blacklistTableColumn, String argumentType) {
+        this.functionName = functionName;
+        this.schema = schema;
+        this.blacklistTable = blacklistTable;
+        this.blacklistTableColumn = blacklistTableColumn;
+        this.argumentType = argumentType;
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getBlacklistTable() {
+        return blacklistTable;
+    }
+
+    @Override
+    public String getBlacklistTableColumn() {
+        return blacklistTableColumn;
+    }
+
+    @Override
+    public String getArgumentType() {
+        return argumentType;
+    }
+}
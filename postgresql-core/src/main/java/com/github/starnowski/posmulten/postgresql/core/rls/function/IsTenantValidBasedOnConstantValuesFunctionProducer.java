@@ -11,11 +11,15 @@ import java.util.stream.Collectors;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder.forType;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.ParallelModeEnum.SAFE;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.IMMUTABLE;
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.TenantIdentifierArrays.returnNotEqualToAllExpression;
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 
 /**
  * The component produces a statement that creates a function that checks if the passed value is the correct tenant identifier.
+ * By default, the function compares the passed value with each invalid tenant identifier.
+ * When the {@link IIsTenantValidBasedOnConstantValuesFunctionProducerParameters#isArrayComparison()} method returns true,
+ * the function compares the passed value with the sorted array constant, for example "SELECT $1 &lt;&gt; ALL (CAST ('{"invalid1","invalid2"}' AS text[]))".
  * For more details about function creation please check postgres documentation
  * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
  * @since 0.2
@@ -36,6 +40,11 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducer extends Extended
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT ");
         final String argumentType = returnFunctionArgumentType(parameters);
+        if (parameters.isArrayComparison())
+        {
+            sb.append(returnNotEqualToAllExpression("$1", parameters.getBlacklistTenantIds(), argumentType));
+            return sb.toString();
+        }
         sb.append(parameters.getBlacklistTenantIds().stream().sorted().map(invalidTenant ->
                 format("$1 <> CAST ('%1$s' AS %2$s)", invalidTenant, argumentType)).collect(Collectors.joining(" AND ")));
         return sb.toString();
@@ -11,12 +11,18 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducerParameters implem
     private final String schema;
     private final Set<String> blacklistTenantIds;
     private final String argumentType;
+    private final boolean arrayComparison;
 
     public IsTenantValidBasedOnConstantValuesFunctionProducerParameters(String functionName, String schema, Set<String> blacklistTenantIds, String argumentType) {
+        this(functionName, schema, blacklistTenantIds, argumentType, false);
+    }
+
+    public IsTenantValidBasedOnConstantValuesFunctionProducerParameters(String functionName, String schema, Set<String> blacklistTenantIds, String argumentType, boolean arrayComparison) {
         this.functionName = functionName;
         this.schema = schema;
         this.blacklistTenantIds = blacklistTenantIds;
         this.argumentType = argumentType;
+        this.arrayComparison = arrayComparison;
     }
 
     @Override
@@ -38,4 +44,9 @@ public class IsTenantValidBasedOnConstantValuesFunctionProducerParameters implem
     public String getArgumentType() {
         return argumentType;
     }
+
+    @Override
+    public boolean isArrayComparison() {
+        return arrayComparison;
+    }
 }
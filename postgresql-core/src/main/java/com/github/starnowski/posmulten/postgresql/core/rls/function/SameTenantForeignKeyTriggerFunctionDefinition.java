@@ -0,0 +1,11 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+
+public class SameTenantForeignKeyTriggerFunctionDefinition extends DefaultFunctionDefinition {
+
+    public SameTenantForeignKeyTriggerFunctionDefinition(IFunctionDefinition functionDefinition) {
+        super(functionDefinition);
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.ExtendedAbstractFunctionFactory;
+import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.MetadataPhraseBuilder;
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.VOLATILE;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * The component produces a statement that creates the trigger function which checks if all rows inserted or updated by
+ * the statement refer to records that belong to the current tenant, for example:
+ * <pre>
+ * BEGIN
+ * 	IF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.user_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM public.users rt WHERE rt.id = nr.user_id AND rt.tenant_id = get_current_tenant_id())) THEN
+ * 		RAISE EXCEPTION ...
+ * 	END IF;
+ * 	RETURN NULL;
+ * END
+ * </pre>
+ * The function is executed by the statement-level trigger, so all rows from the transition table are checked by a single
+ * anti-join instead of invoking the function for each row.
+ * Just like for the check constraint, rows for which any foreign key column is null are not checked.
+ * @see com.github.starnowski.posmulten.postgresql.core.CreateTransitionTableTriggerStatementProducer
+ * @see <a href="https://www.postgresql.org/docs/10/plpgsql-trigger.html">Postgres, trigger procedures</a>
+ */
+public class SameTenantForeignKeyTriggerFunctionProducer extends ExtendedAbstractFunctionFactory<ISameTenantForeignKeyTriggerFunctionProducerParameters, SameTenantForeignKeyTriggerFunctionDefinition> {
+
+    public static final String NEW_ROWS_TABLE_ALIAS = "nr";
+    public static final String RECORD_TABLE_ALIAS = "rt";
+
+    @Override
+    protected String prepareReturnType(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters) {
+        return "TRIGGER";
+    }
+
+    @Override
+    protected void enrichMetadataPhraseBuilder(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters, MetadataPhraseBuilder metadataPhraseBuilder) {
+        metadataPhraseBuilder.withVolatilityCategorySupplier(VOLATILE);
+    }
+
+    @Override
+    protected String buildBody(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("BEGIN");
+        sb.append("\n");
+        sb.append("\t");
+        sb.append("IF EXISTS (SELECT 1 FROM ");
+        sb.append(parameters.getTransitionTableName());
+        sb.append(" ");
+        sb.append(NEW_ROWS_TABLE_ALIAS);
+        sb.append(" WHERE ");
+        sb.append(parameters.getForeignKeyPrimaryKeyColumnsPairs().stream().map(pair -> format("%1$s.%2$s IS NOT NULL", NEW_ROWS_TABLE_ALIAS, pair.getKey())).collect(joining(" AND ")));
+        sb.append(" AND NOT EXISTS (SELECT 1 FROM ");
+        if (parameters.getReferencedTableSchema() != null)
+        {
+            sb.append(parameters.getReferencedTableSchema());
+            sb.append(".");
+        }
+        sb.append(parameters.getReferencedTableName());
+        sb.append(" ");
+        sb.append(RECORD_TABLE_ALIAS);
+        sb.append(" WHERE ");
+        sb.append(parameters.getForeignKeyPrimaryKeyColumnsPairs().stream().map(pair -> format("%1$s.%2$s = %3$s.%4$s", RECORD_TABLE_ALIAS, pair.getValue(), NEW_ROWS_TABLE_ALIAS, pair.getKey())).collect(joining(" AND ")));
+        sb.append(" AND ");
+        sb.append(format("%1$s.%2$s = %3$s", RECORD_TABLE_ALIAS, parameters.getReferencedTableTenantColumn(), parameters.getIGetCurrentTenantIdFunctionInvocationFactory().returnGetCurrentTenantIdFunctionInvocation()));
+        sb.append(")) THEN");
+        sb.append("\n");
+        sb.append("\t\t");
+        sb.append("RAISE EXCEPTION 'Rows of table % refer to records that do not belong to the current tenant (%)', TG_TABLE_NAME, TG_NAME USING ERRCODE = 'foreign_key_violation';");
+        sb.append("\n");
+        sb.append("\t");
+        sb.append("END IF;");
+        sb.append("\n");
+        sb.append("\t");
+        sb.append("RETURN NULL;");
+        sb.append("\n");
+        sb.append("END");
+        return sb.toString();
+    }
+
+    @Override
+    protected String returnFunctionLanguage(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters) {
+        return "plpgsql";
+    }
+
+    @Override
+    protected SameTenantForeignKeyTriggerFunctionDefinition returnFunctionDefinition(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
+        return new SameTenantForeignKeyTriggerFunctionDefinition(functionDefinition);
+    }
+
+    @Override
+    protected void validate(ISameTenantForeignKeyTriggerFunctionProducerParameters parameters) {
+        super.validate(parameters);
+        if (parameters.getReferencedTableName() == null)
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be null");
+        }
+        if (parameters.getReferencedTableName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table name cannot be blank");
+        }
+        if (parameters.getReferencedTableSchema() != null && parameters.getReferencedTableSchema().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Referenced table schema cannot be blank");
+        }
+        if (parameters.getReferencedTableTenantColumn() == null)
+        {
+            throw new IllegalArgumentException("Tenant column cannot be null");
+        }
+        if (parameters.getReferencedTableTenantColumn().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Tenant column cannot be blank");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsPairs() == null)
+        {
+            throw new IllegalArgumentException("The list of foreign key and primary key column pairs cannot be null");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsPairs().isEmpty())
+        {
+            throw new IllegalArgumentException("The list of foreign key and primary key column pairs cannot be empty");
+        }
+        if (parameters.getForeignKeyPrimaryKeyColumnsPairs().stream().anyMatch(pair -> pair == null || pair.getKey() == null || pair.getKey().trim().isEmpty() || pair.getValue() == null || pair.getValue().trim().isEmpty()))
+        {
+            throw new IllegalArgumentException("The list of foreign key and primary key column pairs cannot contain null or blank elements");
+        }
+        if (parameters.getTransitionTableName() == null)
+        {
+            throw new IllegalArgumentException("Transition table name cannot be null");
+        }
+        if (parameters.getTransitionTableName().trim().isEmpty())
+        {
+            throw new IllegalArgumentException("Transition table name cannot be blank");
+        }
+        if (parameters.getIGetCurrentTenantIdFunctionInvocationFactory() == null)
+        {
+            throw new IllegalArgumentException("The GetCurrentTenantId function invocation factory cannot be null");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import com.github.starnowski.posmulten.postgresql.core.util.Pair;
+
+import java.util.List;
+
+public class SameTenantForeignKeyTriggerFunctionProducerParameters implements ISameTenantForeignKeyTriggerFunctionProducerParameters {
+
+    private final String functionName;
+    private final String schema;
+    private final String referencedTableName;
+    private final String referencedTableSchema;
+    private final String referencedTableTenantColumn;
+    private final List<Pair<String, String>> foreignKeyPrimaryKeyColumnsPairs;
+    private final String transitionTableName;
+    private final IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory;
+
+    public SameTenantForeignKeyTriggerFunctionProducerParameters(String functionName, String schema, String referencedTableName, String referencedTableSchema, String referencedTableTenantColumn, List<Pair<String, String>> foreignKeyPrimaryKeyColumnsPairs, String transitionTableName, IGetCurrentTenantIdFunctionInvocationFactory iGetCurrentTenantIdFunctionInvocationFactory) {
+        this.functionName = functionName;
+        this.schema = schema;
+        this.referencedTableName = referencedTableName;
+        this.referencedTableSchema = referencedTableSchema;
+        this.referencedTableTenantColumn = referencedTableTenantColumn;
+        this.foreignKeyPrimaryKeyColumnsPairs = foreignKeyPrimaryKeyColumnsPairs;
+        this.transitionTableName = transitionTableName;
+        this.iGetCurrentTenantIdFunctionInvocationFactory = iGetCurrentTenantIdFunctionInvocationFactory;
+    }
+
+    @Override
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    @Override
+    public String getSchema() {
+        return schema;
+    }
+
+    @Override
+    public String getReferencedTableName() {
+        return referencedTableName;
+    }
+
+    @Override
+    public String getReferencedTableSchema() {
+        return referencedTableSchema;
+    }
+
+    @Override
+    public String getReferencedTableTenantColumn() {
+        return referencedTableTenantColumn;
+    }
+
+    @Override
+    public List<Pair<String, String>> getForeignKeyPrimaryKeyColumnsPairs() {
+        return foreignKeyPrimaryKeyColumnsPairs;
+    }
+
+    @Override
+    public String getTransitionTableName() {
+        return transitionTableName;
+    }
+
+    @Override
+    public IGetCurrentTenantIdFunctionInvocationFactory getIGetCurrentTenantIdFunctionInvocationFactory() {
+        return iGetCurrentTenantIdFunctionInvocationFactory;
+    }
+}
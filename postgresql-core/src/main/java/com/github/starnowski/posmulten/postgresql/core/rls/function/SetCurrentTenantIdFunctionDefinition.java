@@ -26,10 +26,24 @@ package com.github.starnowski.posmulten.postgresql.core.rls.function;
 import com.github.starnowski.posmulten.postgresql.core.common.function.DefaultFunctionDefinition;
 import com.github.starnowski.posmulten.postgresql.core.common.function.IFunctionDefinition;
 
-public class SetCurrentTenantIdFunctionDefinition extends DefaultFunctionDefinition implements ISetCurrentTenantIdFunctionInvocationFactory, ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory {
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.TenantIdentifierTypes.castIfNotTextType;
+
+public class SetCurrentTenantIdFunctionDefinition extends DefaultFunctionDefinition implements ISetCurrentTenantIdFunctionInvocationFactory, ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory, ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory {
+
+    private final boolean transactionScoped;
 
     public SetCurrentTenantIdFunctionDefinition(IFunctionDefinition functionDefinition) {
+        this(functionDefinition, false);
+    }
+
+    public SetCurrentTenantIdFunctionDefinition(IFunctionDefinition functionDefinition, boolean transactionScoped) {
         super(functionDefinition);
+        this.transactionScoped = transactionScoped;
+    }
+
+    @Override
+    public boolean isTransactionScoped() {
+        return transactionScoped;
     }
 
     @Override
@@ -39,7 +53,25 @@ public class SetCurrentTenantIdFunctionDefinition extends DefaultFunctionDefinit
 
     @Override
     public String returnPreparedStatementThatSetCurrentTenant() {
-        return prepareStatement("?");
+        return prepareStatement(castToArgumentType("?"));
+    }
+
+    @Override
+    public String returnStatementWithIndexedParameterThatSetCurrentTenant() {
+        return prepareStatement(castToArgumentType("$1"));
+    }
+
+    /**
+     * Casts the parameter explicitly when the function argument is not the character type (for example "uuid" or "bigint"),
+     * because the drivers bind the string values as the character types.
+     */
+    private String castToArgumentType(String parameter)
+    {
+        if (getFunctionArguments() == null || getFunctionArguments().isEmpty())
+        {
+            return parameter;
+        }
+        return castIfNotTextType(parameter, getFunctionArguments().get(0).getType());
     }
 
     private String prepareStatement(String argument)
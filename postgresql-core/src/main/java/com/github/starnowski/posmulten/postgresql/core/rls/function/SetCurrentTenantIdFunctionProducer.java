@@ -32,10 +32,13 @@ import java.util.List;
 
 import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentBuilder.forType;
 import static com.github.starnowski.posmulten.postgresql.core.common.function.metadata.VolatilityCategoryEnum.VOLATILE;
+import static com.github.starnowski.posmulten.postgresql.core.rls.function.TenantIdentifierTypes.isTextType;
 import static java.util.Collections.singletonList;
 
 /**
  * The component produces a statement that creates a function that sets the current tenant identifier.
+ * Depending on the {@link ISetCurrentTenantIdFunctionProducerParameters#isTransactionScoped()} property, the function sets the value
+ * for the whole session or only for the current transaction (the "is_local" argument of the set_config function).
  * For more details about function creation please check postgres documentation
  * @see <a href="https://www.postgresql.org/docs/9.6/sql-createfunction.html">Postgres, create function</a>
  *
@@ -61,7 +64,7 @@ public class SetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
 
     @Override
     protected SetCurrentTenantIdFunctionDefinition returnFunctionDefinition(ISetCurrentTenantIdFunctionProducerParameters parameters, IFunctionDefinition functionDefinition) {
-        return new SetCurrentTenantIdFunctionDefinition(functionDefinition);
+        return new SetCurrentTenantIdFunctionDefinition(functionDefinition, parameters.isTransactionScoped());
     }
 
     @Override
@@ -81,7 +84,11 @@ public class SetCurrentTenantIdFunctionProducer extends ExtendedAbstractFunction
         sb.append("\n");
         sb.append("PERFORM set_config('");
         sb.append(parameters.getCurrentTenantIdProperty());
-        sb.append("', $1, false);");
+        sb.append("', ");
+        sb.append(isTextType(parameters.getArgumentType()) ? "$1" : "CAST($1 AS text)");
+        sb.append(", ");
+        sb.append(parameters.isTransactionScoped() ? "true" : "false");
+        sb.append(");");
         sb.append("\n");
         sb.append("END");
         return sb.toString();
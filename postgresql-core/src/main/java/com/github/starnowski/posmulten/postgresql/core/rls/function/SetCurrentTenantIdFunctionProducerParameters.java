@@ -29,12 +29,18 @@ public class SetCurrentTenantIdFunctionProducerParameters implements ISetCurrent
     private final String currentTenantIdProperty;
     private final String schema;
     private final String argumentType;
+    private final boolean transactionScoped;
 
     public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType) {
+        this(functionName, currentTenantIdProperty, schema, argumentType, false);
+    }
+
+    public SetCurrentTenantIdFunctionProducerParameters(String functionName, String currentTenantIdProperty, String schema, String argumentType, boolean transactionScoped) {
         this.functionName = functionName;
         this.currentTenantIdProperty = currentTenantIdProperty;
         this.schema = schema;
         this.argumentType = argumentType;
+        this.transactionScoped = transactionScoped;
     }
 
     @Override
@@ -47,6 +53,11 @@ public class SetCurrentTenantIdFunctionProducerParameters implements ISetCurrent
         return currentTenantIdProperty;
     }
 
+    @Override
+    public boolean isTransactionScoped() {
+        return transactionScoped;
+    }
+
     @Override
     public String getFunctionName() {
         return functionName;
@@ -0,0 +1,35 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import static java.lang.String.format;
+
+/**
+ * Generates the "SET LOCAL" statement that sets the property that stores the current tenant identifier.
+ * The statement does not invoke the function that sets the current tenant, which means that there is no additional
+ * function call on the database side, and it can be sent together with the first statement of the transaction.
+ */
+public class SetLocalCurrentTenantIdInvocationFactory implements ISetCurrentTenantIdTransactionInvocationFactory {
+
+    private final String currentTenantIdProperty;
+
+    public SetLocalCurrentTenantIdInvocationFactory(String currentTenantIdProperty) {
+        if (currentTenantIdProperty == null) {
+            throw new IllegalArgumentException("Tenant id property name cannot be null");
+        }
+        if (currentTenantIdProperty.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tenant id property name cannot be blank");
+        }
+        this.currentTenantIdProperty = currentTenantIdProperty;
+    }
+
+    @Override
+    public String generateStatementThatSetTenantForTransaction(String tenantId) {
+        if (tenantId == null) {
+            throw new IllegalArgumentException("Tenant identifier cannot be null");
+        }
+        return format("SET LOCAL %1$s = '%2$s';", currentTenantIdProperty, tenantId.replace("'", "''"));
+    }
+
+    public String getCurrentTenantIdProperty() {
+        return currentTenantIdProperty;
+    }
+}
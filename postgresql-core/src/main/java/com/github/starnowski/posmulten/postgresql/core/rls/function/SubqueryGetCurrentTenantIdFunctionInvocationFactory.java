@@ -0,0 +1,32 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+/**
+ * Component wraps the invocation of the function that returns the current tenant identifier in the scalar subquery, for example:
+ * <pre>
+ * (SELECT get_current_tenant_id())
+ * </pre>
+ * The subquery does not reference any column, so the planner computes it once for the whole query (as the "InitPlan")
+ * instead of invoking the function for each row.
+ * The expression can not be used as the column default value, because Postgres does not allow subqueries in such expressions.
+ */
+public class SubqueryGetCurrentTenantIdFunctionInvocationFactory implements IGetCurrentTenantIdFunctionInvocationFactory {
+
+    private final IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory;
+
+    public SubqueryGetCurrentTenantIdFunctionInvocationFactory(IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory) {
+        if (getCurrentTenantIdFunctionInvocationFactory == null)
+        {
+            throw new IllegalArgumentException("Factory for function that returns the current tenant identifier cannot be null");
+        }
+        this.getCurrentTenantIdFunctionInvocationFactory = getCurrentTenantIdFunctionInvocationFactory;
+    }
+
+    @Override
+    public String returnGetCurrentTenantIdFunctionInvocation() {
+        return "(SELECT " + getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() + ")";
+    }
+
+    public IGetCurrentTenantIdFunctionInvocationFactory getGetCurrentTenantIdFunctionInvocationFactory() {
+        return getCurrentTenantIdFunctionInvocationFactory;
+    }
+}
@@ -23,6 +23,8 @@
  */
 package com.github.starnowski.posmulten.postgresql.core.rls.function;
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.IFunctionMetadataProperties;
+
 public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHasAuthoritiesFunctionProducerParameters{
 
     private final String functionName;
@@ -33,12 +35,17 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
     private final String rlsExpressionArgumentType;
     private final String tableArgumentType;
     private final String schemaArgumentType;
+    private final IFunctionMetadataProperties functionMetadataProperties;
 
     public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory) {
         this(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, null, null, null, null, null);
     }
 
     public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory, String tenantIdArgumentType, String permissionCommandPolicyArgumentType, String rlsExpressionArgumentType, String tableArgumentType, String schemaArgumentType) {
+        this(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType, null);
+    }
+
+    public TenantHasAuthoritiesFunctionProducerParameters(String functionName, String schema, EqualsCurrentTenantIdentifierFunctionInvocationFactory equalsCurrentTenantIdentifierFunctionInvocationFactory, String tenantIdArgumentType, String permissionCommandPolicyArgumentType, String rlsExpressionArgumentType, String tableArgumentType, String schemaArgumentType, IFunctionMetadataProperties functionMetadataProperties) {
         this.functionName = functionName;
         this.schema = schema;
         this.equalsCurrentTenantIdentifierFunctionInvocationFactory = equalsCurrentTenantIdentifierFunctionInvocationFactory;
@@ -47,6 +54,7 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         this.rlsExpressionArgumentType = rlsExpressionArgumentType;
         this.tableArgumentType = tableArgumentType;
         this.schemaArgumentType = schemaArgumentType;
+        this.functionMetadataProperties = functionMetadataProperties;
     }
 
     public String getFunctionName() {
@@ -81,6 +89,11 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         return equalsCurrentTenantIdentifierFunctionInvocationFactory;
     }
 
+    @Override
+    public IFunctionMetadataProperties getFunctionMetadataProperties() {
+        return functionMetadataProperties;
+    }
+
     @Override
     public String toString() {
         return "TenantHasAuthoritiesFunctionProducerParameters{" +
@@ -91,6 +104,7 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
                 ", rlsExpressionArgumentType='" + rlsExpressionArgumentType + '\'' +
                 ", tableArgumentType='" + tableArgumentType + '\'' +
                 ", schemaArgumentType='" + schemaArgumentType + '\'' +
+                ", functionMetadataProperties=" + functionMetadataProperties +
                 '}';
     }
 
@@ -104,6 +118,7 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
         private String rlsExpressionArgumentType;
         private String tableArgumentType;
         private String schemaArgumentType;
+        private IFunctionMetadataProperties functionMetadataProperties;
 
         public TenantHasAuthoritiesFunctionProducerParametersBuilder withFunctionName(String functionName) {
             this.functionName = functionName;
@@ -145,9 +160,14 @@ public class TenantHasAuthoritiesFunctionProducerParameters implements ITenantHa
             return this;
         }
 
+        public TenantHasAuthoritiesFunctionProducerParametersBuilder withFunctionMetadataProperties(IFunctionMetadataProperties functionMetadataProperties) {
+            this.functionMetadataProperties = functionMetadataProperties;
+            return this;
+        }
+
         public TenantHasAuthoritiesFunctionProducerParameters build()
         {
-            return new TenantHasAuthoritiesFunctionProducerParameters(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType);
+            return new TenantHasAuthoritiesFunctionProducerParameters(functionName, schema, equalsCurrentTenantIdentifierFunctionInvocationFactory, tenantIdArgumentType, permissionCommandPolicyArgumentType, rlsExpressionArgumentType, tableArgumentType, schemaArgumentType, functionMetadataProperties);
         }
     }
 }
@@ -0,0 +1,46 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * The component produces the array constant that contains tenant identifiers, for example:
+ * <pre>
+ * CAST ('{"invalid1","invalid2"}' AS text[])
+ * </pre>
+ * The identifiers are sorted, so the same set of values always produces the same constant.
+ */
+public final class TenantIdentifierArrays {
+
+    private TenantIdentifierArrays() {
+    }
+
+    /**
+     * @param tenantIds tenant identifiers
+     * @param type type of the tenant identifier, for null value the "text" type is used
+     * @return array constant with sorted tenant identifiers
+     */
+    public static String returnArrayConstant(Collection<String> tenantIds, String type) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CAST ('{");
+        sb.append(tenantIds.stream().sorted().map(TenantIdentifierArrays::quoteArrayElement).collect(Collectors.joining(",")));
+        sb.append("}' AS ");
+        sb.append(type == null ? "text" : type);
+        sb.append("[])");
+        return sb.toString();
+    }
+
+    /**
+     * @param expression sql expression
+     * @param tenantIds tenant identifiers
+     * @param type type of the tenant identifier, for null value the "text" type is used
+     * @return expression that checks if the value of passed expression is different from all tenant identifiers
+     */
+    public static String returnNotEqualToAllExpression(String expression, Collection<String> tenantIds, String type) {
+        return expression + " <> ALL (" + returnArrayConstant(tenantIds, type) + ")";
+    }
+
+    private static String quoteArrayElement(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("'", "''") + "\"";
+    }
+}
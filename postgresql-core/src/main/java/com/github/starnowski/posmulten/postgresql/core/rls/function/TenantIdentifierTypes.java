@@ -0,0 +1,46 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The component resolves if the type of the tenant identifier is one of the character types.
+ * The value of the property that stores the current tenant identifier is always a text,
+ * so for other types (for example "uuid", "bigint" or "integer") the generated functions cast the value explicitly,
+ * which makes the comparison with the tenant column use the native type of the column (and its index).
+ */
+public final class TenantIdentifierTypes {
+
+    private static final Set<String> TEXT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("text", "varchar", "character varying", "char", "character", "bpchar")));
+
+    private TenantIdentifierTypes() {
+    }
+
+    /**
+     * @param type type of the tenant identifier, for example "VARCHAR(255)", "uuid" or "bigint"
+     * @return true if the type is null (default type) or one of the character types
+     */
+    public static boolean isTextType(String type) {
+        if (type == null) {
+            return true;
+        }
+        String normalizedType = type.trim().toLowerCase(Locale.ENGLISH);
+        int precisionIndex = normalizedType.indexOf('(');
+        if (precisionIndex >= 0) {
+            normalizedType = normalizedType.substring(0, precisionIndex).trim();
+        }
+        return TEXT_TYPES.contains(normalizedType);
+    }
+
+    /**
+     * @param expression sql expression
+     * @param type type of the tenant identifier
+     * @return passed expression if the type is the character type, in other case the expression casted to the type
+     */
+    public static String castIfNotTextType(String expression, String type) {
+        return isTextType(type) ? expression : "CAST(" + expression + " AS " + type + ")";
+    }
+}
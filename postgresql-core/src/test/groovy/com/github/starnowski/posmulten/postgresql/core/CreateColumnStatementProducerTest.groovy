@@ -49,6 +49,34 @@ class CreateColumnStatementProducerTest extends Specification {
             "groups"    |   "col1"      |   "text"                      | "secondary"       ||  "ALTER TABLE secondary.groups DROP COLUMN col1;"
     }
 
+    @Unroll
+    def "should return statement '#expectedStatement' that adds column with value '#valueForExistingRows' for existing rows for table '#table' and column '#column'" () {
+        expect:
+            tested.produce(new CreateColumnStatementProducerParameters(table, column, columnType, schema, valueForExistingRows)).getCreateScript() == expectedStatement
+
+        where:
+            table       |   column      |   columnType      | schema        |   valueForExistingRows    ||  expectedStatement
+            "users"     |   "tenant_id" |   "VARCHAR(255)"  | null          |   "'legacy'"              ||  "ALTER TABLE users ADD COLUMN tenant_id VARCHAR(255) DEFAULT 'legacy';"
+            "groups"    |   "col1"      |   "text"          | "public"      |   "'t1'"                  ||  "ALTER TABLE public.groups ADD COLUMN col1 text DEFAULT 't1';"
+            "users"     |   "tenant"    |   "bigint"        | "secondary"   |   "1"                     ||  "ALTER TABLE secondary.users ADD COLUMN tenant bigint DEFAULT 1;"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when value for existing rows is blank '#valueForExistingRows'" ()
+    {
+        when:
+            tested.produce(new CreateColumnStatementProducerParameters("users", "tenant_id", "text", null, valueForExistingRows))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Value for existing rows cannot be blank"
+
+        where:
+            valueForExistingRows << ["", " ", "     "]
+    }
+
     def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
     {
         when:
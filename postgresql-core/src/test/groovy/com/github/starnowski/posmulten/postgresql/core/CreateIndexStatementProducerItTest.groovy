@@ -0,0 +1,56 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.test.utils.TestUtils.isAnyRecordExists
+
+@SpringBootTest(classes = [TestApplication.class])
+class CreateIndexStatementProducerItTest extends Specification {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    def tested = new CreateIndexStatementProducer()
+
+    String indexName
+    String schema
+    SQLDefinition sqlDefinition
+
+    @Unroll
+    def "should create index #testIndexName for columns #columns in table #table and schema '#testSchema' (unique #unique, concurrently #concurrently)" () {
+        given:
+            indexName = testIndexName
+            schema = testSchema
+            assert !isAnyRecordExists(jdbcTemplate, selectStatement(indexName, schema))
+
+        when:
+            sqlDefinition = tested.produce(new CreateIndexStatementProducerParameters(testIndexName, table, testSchema, columns, unique, concurrently))
+            jdbcTemplate.execute(sqlDefinition.getCreateScript())
+
+        then:
+            isAnyRecordExists(jdbcTemplate, selectStatement(indexName, schema))
+
+        where:
+            testIndexName           |   table           |   testSchema              |   columns             |   unique  |   concurrently
+            "users_tenant_idx"      |   "users"         |   null                    |   ["tenant_id"]       |   false   |   false
+            "users_tenant_idx"      |   "users"         |   "public"                |   ["tenant_id"]       |   false   |   true
+            "users_tenant_idx"      |   "users"         |   "non_public_schema"     |   ["tenant_id"]       |   false   |   false
+            "users_tenant_pk_idx"   |   "users"         |   null                    |   ["tenant_id", "id"] |   true    |   false
+            "posts_tenant_pk_idx"   |   "posts"         |   "non_public_schema"     |   ["tenant_id", "id"] |   true    |   true
+    }
+
+    def cleanup() {
+        jdbcTemplate.execute(sqlDefinition.getDropScript())
+        assert !isAnyRecordExists(jdbcTemplate, selectStatement(indexName, schema))
+    }
+
+    def selectStatement(String indexName, String schema)
+    {
+        "SELECT 1 FROM pg_indexes WHERE schemaname = '" + (schema == null ? "public" : schema) + "' AND indexname = '" + indexName + "'"
+    }
+}
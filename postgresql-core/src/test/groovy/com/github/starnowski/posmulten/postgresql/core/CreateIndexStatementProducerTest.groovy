@@ -0,0 +1,83 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CreateIndexStatementProducerTest extends Specification {
+
+    def tested = new CreateIndexStatementProducer()
+
+    @Unroll
+    def "should return statement '#expectedStatement' for index '#indexName', table '#table', schema '#schema', columns #columns, unique #unique and concurrently #concurrently" () {
+        expect:
+            tested.produce(new CreateIndexStatementProducerParameters(indexName, table, schema, columns, unique, concurrently)).getCreateScript() == expectedStatement
+
+        where:
+            indexName           |   table       |   schema          |   columns                 |   unique  |   concurrently    ||  expectedStatement
+            "users_tenant_idx"  |   "users"     |   null            |   ["tenant_id"]           |   false   |   false           ||  "CREATE INDEX users_tenant_idx ON users (tenant_id);"
+            "users_tenant_idx"  |   "users"     |   "public"        |   ["tenant_id"]           |   false   |   false           ||  "CREATE INDEX users_tenant_idx ON public.users (tenant_id);"
+            "users_tenant_idx"  |   "users"     |   "secondary"     |   ["tenant_id"]           |   false   |   true            ||  "CREATE INDEX CONCURRENTLY users_tenant_idx ON secondary.users (tenant_id);"
+            "posts_t_pk_idx"    |   "posts"     |   null            |   ["tenant", "id"]        |   true    |   false           ||  "CREATE UNIQUE INDEX posts_t_pk_idx ON posts (tenant, id);"
+            "posts_t_pk_idx"    |   "posts"     |   "secondary"     |   ["tenant", "id", "uid"] |   true    |   true            ||  "CREATE UNIQUE INDEX CONCURRENTLY posts_t_pk_idx ON secondary.posts (tenant, id, uid);"
+    }
+
+    @Unroll
+    def "should return drop statement '#expectedStatement' for index '#indexName', schema '#schema' and concurrently #concurrently" () {
+        expect:
+            tested.produce(new CreateIndexStatementProducerParameters(indexName, "users", schema, ["tenant_id"], false, concurrently)).getDropScript() == expectedStatement
+
+        where:
+            indexName           |   schema          |   concurrently    ||  expectedStatement
+            "users_tenant_idx"  |   null            |   false           ||  "DROP INDEX IF EXISTS users_tenant_idx;"
+            "users_tenant_idx"  |   "public"        |   false           ||  "DROP INDEX IF EXISTS public.users_tenant_idx;"
+            "posts_t_pk_idx"    |   "secondary"     |   true            ||  "DROP INDEX CONCURRENTLY IF EXISTS secondary.posts_t_pk_idx;"
+    }
+
+    @Unroll
+    def "should return definition that is transactional #expectedTransactional for concurrently #concurrently" () {
+        expect:
+            tested.produce(new CreateIndexStatementProducerParameters("users_idx", "users", null, ["tenant_id"], false, concurrently)).isTransactional() == expectedTransactional
+
+        where:
+            concurrently    ||  expectedTransactional
+            false           ||  true
+            true            ||  false
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for index '#indexName', table '#table' and columns #columns"()
+    {
+        when:
+            tested.produce(new CreateIndexStatementProducerParameters(indexName, table, null, columns, false, false))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            indexName           |   table       |   columns             ||  expectedMessage
+            null                |   "users"     |   ["tenant_id"]       ||  "Index name cannot be null"
+            ""                  |   "users"     |   ["tenant_id"]       ||  "Index name cannot be blank"
+            "   "               |   "users"     |   ["tenant_id"]       ||  "Index name cannot be blank"
+            "users_tenant_idx"  |   null        |   ["tenant_id"]       ||  "Table name cannot be null"
+            "users_tenant_idx"  |   ""          |   ["tenant_id"]       ||  "Table name cannot be blank"
+            "users_tenant_idx"  |   "users"     |   null                ||  "Columns list cannot be null"
+            "users_tenant_idx"  |   "users"     |   []                  ||  "Columns list cannot be empty"
+            "users_tenant_idx"  |   "users"     |   ["tenant_id", null] ||  "Columns list cannot contain null or blank elements"
+            "users_tenant_idx"  |   "users"     |   [" "]               ||  "Columns list cannot contain null or blank elements"
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.LIST
+
+class CreatePartitionStatementProducerTest extends Specification {
+
+    def tested = new CreatePartitionStatementProducer()
+
+    @Unroll
+    def "should return statement '#expectedStatement' for list partition '#partition' of table '#table' in schema '#schema' with values #values and default partition flag #defaultPartition" () {
+        given:
+            def parameters = CreatePartitionStatementProducerParameters.builder()
+                    .withPartitionName(partition)
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withPartitionStrategy(LIST)
+                    .withValues(values)
+                    .withDefaultPartition(defaultPartition)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            partition           |   table       |   schema          |   values                  |   defaultPartition    ||  expectedStatement
+            "users_tenant_a"    |   "users"     |   null            |   ["tenant_a"]            |   false               ||  "CREATE TABLE users_tenant_a PARTITION OF users FOR VALUES IN ('tenant_a');"
+            "users_tenant_a"    |   "users"     |   "public"        |   ["tenant_a", "ten_b"]   |   false               ||  "CREATE TABLE public.users_tenant_a PARTITION OF public.users FOR VALUES IN ('tenant_a', 'ten_b');"
+            "users_xxx"         |   "users"     |   "secondary"     |   ["x'; DROP TABLE t"]    |   false               ||  "CREATE TABLE secondary.users_xxx PARTITION OF secondary.users FOR VALUES IN ('x''; DROP TABLE t');"
+            "users_other"       |   "users"     |   "public"        |   null                    |   true                ||  "CREATE TABLE public.users_other PARTITION OF public.users DEFAULT;"
+    }
+
+    @Unroll
+    def "should return statement '#expectedStatement' for hash partition '#partition' of table '#table' in schema '#schema' with modulus #modulus and remainder #remainder" () {
+        given:
+            def parameters = CreatePartitionStatementProducerParameters.builder()
+                    .withPartitionName(partition)
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withPartitionStrategy(HASH)
+                    .withModulus(modulus)
+                    .withRemainder(remainder)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getCreateScript() == expectedStatement
+
+        where:
+            partition       |   table       |   schema          |   modulus |   remainder   ||  expectedStatement
+            "users_p0"      |   "users"     |   null            |   4       |   0           ||  "CREATE TABLE users_p0 PARTITION OF users FOR VALUES WITH (MODULUS 4, REMAINDER 0);"
+            "users_p3"      |   "users"     |   "public"        |   4       |   3           ||  "CREATE TABLE public.users_p3 PARTITION OF public.users FOR VALUES WITH (MODULUS 4, REMAINDER 3);"
+            "posts_h1"      |   "posts"     |   "secondary"     |   16      |   1           ||  "CREATE TABLE secondary.posts_h1 PARTITION OF secondary.posts FOR VALUES WITH (MODULUS 16, REMAINDER 1);"
+    }
+
+    @Unroll
+    def "should return drop statement '#expectedStatement' for partition '#partition' and schema '#schema'" () {
+        given:
+            def parameters = CreatePartitionStatementProducerParameters.builder()
+                    .withPartitionName(partition)
+                    .withTable("users")
+                    .withSchema(schema)
+                    .withPartitionStrategy(HASH)
+                    .withModulus(2)
+                    .withRemainder(1)
+                    .build()
+
+        expect:
+            tested.produce(parameters).getDropScript() == expectedStatement
+
+        where:
+            partition       |   schema          ||  expectedStatement
+            "users_p0"      |   null            ||  "DROP TABLE IF EXISTS users_p0;"
+            "users_p1"      |   "public"        ||  "DROP TABLE IF EXISTS public.users_p1;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for partition '#partition', table '#table', strategy #strategy, values #values, modulus #modulus and remainder #remainder"()
+    {
+        given:
+            def parameters = CreatePartitionStatementProducerParameters.builder()
+                    .withPartitionName(partition)
+                    .withTable(table)
+                    .withPartitionStrategy(strategy)
+                    .withValues(values)
+                    .withModulus(modulus)
+                    .withRemainder(remainder)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            partition   |   table       |   strategy    |   values          |   modulus |   remainder   ||  expectedMessage
+            null        |   "users"     |   LIST        |   ["t1"]          |   0       |   0           ||  "Partition name cannot be null"
+            "  "        |   "users"     |   LIST        |   ["t1"]          |   0       |   0           ||  "Partition name cannot be blank"
+            "p1"        |   null        |   LIST        |   ["t1"]          |   0       |   0           ||  "Table name cannot be null"
+            "p1"        |   ""          |   LIST        |   ["t1"]          |   0       |   0           ||  "Table name cannot be blank"
+            "p1"        |   "users"     |   null        |   ["t1"]          |   0       |   0           ||  "Partition strategy cannot be null"
+            "p1"        |   "users"     |   LIST        |   null            |   0       |   0           ||  "Values list cannot be null or empty"
+            "p1"        |   "users"     |   LIST        |   []              |   0       |   0           ||  "Values list cannot be null or empty"
+            "p1"        |   "users"     |   LIST        |   ["t1", null]    |   0       |   0           ||  "Values list cannot contain null elements"
+            "p1"        |   "users"     |   HASH        |   null            |   0       |   0           ||  "Modulus has to be greater than zero"
+            "p1"        |   "users"     |   HASH        |   null            |   4       |   4           ||  "Remainder has to be greater or equal to zero and less than modulus"
+            "p1"        |   "users"     |   HASH        |   null            |   4       |   -1          ||  "Remainder has to be greater or equal to zero and less than modulus"
+    }
+}
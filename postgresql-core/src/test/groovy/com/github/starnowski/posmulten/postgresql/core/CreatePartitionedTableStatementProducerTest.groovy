@@ -0,0 +1,71 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.LIST
+
+class CreatePartitionedTableStatementProducerTest extends Specification {
+
+    def tested = new CreatePartitionedTableStatementProducer()
+
+    @Unroll
+    def "should return statement '#expectedStatement' for table '#table', schema '#schema', template table '#templateTable', strategy #strategy and partition column '#column'" () {
+        expect:
+            tested.produce(new CreatePartitionedTableStatementProducerParameters(table, schema, templateTable, strategy, column)).getCreateScript() == expectedStatement
+
+        where:
+            table       |   schema          |   templateTable       |   strategy    |   column          ||  expectedStatement
+            "users"     |   null            |   "users_template"    |   LIST        |   "tenant_id"     ||  "CREATE TABLE users (LIKE users_template INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY LIST (tenant_id);"
+            "users"     |   "public"        |   "users_template"    |   HASH        |   "tenant_id"     ||  "CREATE TABLE public.users (LIKE public.users_template INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY HASH (tenant_id);"
+            "posts"     |   "secondary"     |   "posts_tmp"         |   LIST        |   "tenant"        ||  "CREATE TABLE secondary.posts (LIKE secondary.posts_tmp INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY LIST (tenant);"
+    }
+
+    @Unroll
+    def "should return drop statement '#expectedStatement' for table '#table' and schema '#schema'" () {
+        expect:
+            tested.produce(new CreatePartitionedTableStatementProducerParameters(table, schema, "template", LIST, "tenant_id")).getDropScript() == expectedStatement
+
+        where:
+            table       |   schema          ||  expectedStatement
+            "users"     |   null            ||  "DROP TABLE IF EXISTS users;"
+            "users"     |   "public"        ||  "DROP TABLE IF EXISTS public.users;"
+            "posts"     |   "secondary"     ||  "DROP TABLE IF EXISTS secondary.posts;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for table '#table', template table '#templateTable', strategy #strategy and partition column '#column'"()
+    {
+        when:
+            tested.produce(new CreatePartitionedTableStatementProducerParameters(table, null, templateTable, strategy, column))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   templateTable   |   strategy    |   column      ||  expectedMessage
+            null        |   "tmp"           |   LIST        |   "tenant"    ||  "Table name cannot be null"
+            " "         |   "tmp"           |   LIST        |   "tenant"    ||  "Table name cannot be blank"
+            "users"     |   null            |   LIST        |   "tenant"    ||  "Template table name cannot be null"
+            "users"     |   ""              |   LIST        |   "tenant"    ||  "Template table name cannot be blank"
+            "users"     |   "tmp"           |   LIST        |   null        ||  "Partition column cannot be null"
+            "users"     |   "tmp"           |   HASH        |   "  "        ||  "Partition column cannot be blank"
+            "users"     |   "tmp"           |   null        |   "tenant"    ||  "Partition strategy cannot be null"
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CreateTenantValuesBlacklistTableStatementProducerTest extends Specification {
+
+    def tested = new CreateTenantValuesBlacklistTableStatementProducer()
+
+    @Unroll
+    def "should return statement '#expectedStatement' for table '#table', schema '#schema', column '#column', type '#type' and invalid values #blacklist" () {
+        expect:
+            tested.produce(new CreateTenantValuesBlacklistTableStatementProducerParameters(table, schema, column, type, new HashSet<String>(blacklist))).getCreateScript() == expectedStatement
+
+        where:
+            table               |   schema          |   column          |   type            |   blacklist           ||  expectedStatement
+            "invalid_tenants"   |   null            |   "tenant_id"     |   null            |   ["invalid"]         ||  "CREATE TABLE invalid_tenants (tenant_id text PRIMARY KEY);\nINSERT INTO invalid_tenants (tenant_id) VALUES ('invalid');"
+            "invalid_tenants"   |   "public"        |   "tenant_id"     |   "VARCHAR(255)"  |   ["xx", "aa"]        ||  "CREATE TABLE public.invalid_tenants (tenant_id VARCHAR(255) PRIMARY KEY);\nINSERT INTO public.invalid_tenants (tenant_id) VALUES ('aa'), ('xx');"
+            "blacklist"         |   "secondary"     |   "id"            |   "bigint"        |   ["0", "-1"]         ||  "CREATE TABLE secondary.blacklist (id bigint PRIMARY KEY);\nINSERT INTO secondary.blacklist (id) VALUES ('-1'), ('0');"
+            "blacklist"         |   null            |   "id"            |   "text"          |   ["it's"]            ||  "CREATE TABLE blacklist (id text PRIMARY KEY);\nINSERT INTO blacklist (id) VALUES ('it''s');"
+    }
+
+    @Unroll
+    def "should return drop statement '#expectedStatement' for table '#table' and schema '#schema'" () {
+        expect:
+            tested.produce(new CreateTenantValuesBlacklistTableStatementProducerParameters(table, schema, "tenant_id", null, new HashSet<String>(["invalid"]))).getDropScript() == expectedStatement
+
+        where:
+            table               |   schema          ||  expectedStatement
+            "invalid_tenants"   |   null            ||  "DROP TABLE IF EXISTS invalid_tenants;"
+            "invalid_tenants"   |   "public"        ||  "DROP TABLE IF EXISTS public.invalid_tenants;"
+            "blacklist"         |   "secondary"     ||  "DROP TABLE IF EXISTS secondary.blacklist;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for table '#table', column '#column', type '#type' and invalid values #blacklist"()
+    {
+        when:
+            tested.produce(new CreateTenantValuesBlacklistTableStatementProducerParameters(table, null, column, type, blacklist == null ? null : new HashSet<String>(blacklist)))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table           |   column          |   type    |   blacklist       ||  expectedMessage
+            null            |   "tenant_id"     |   null    |   ["invalid"]     ||  "Table name cannot be null"
+            " "             |   "tenant_id"     |   null    |   ["invalid"]     ||  "Table name cannot be blank"
+            "blacklist"     |   null            |   null    |   ["invalid"]     ||  "Column name cannot be null"
+            "blacklist"     |   ""              |   null    |   ["invalid"]     ||  "Column name cannot be blank"
+            "blacklist"     |   "tenant_id"     |   "  "    |   ["invalid"]     ||  "Column type cannot be blank"
+            "blacklist"     |   "tenant_id"     |   null    |   null            ||  "The list of invalid value cannot be null"
+            "blacklist"     |   "tenant_id"     |   null    |   []              ||  "The list of invalid value cannot be empty"
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CreateTransitionTableTriggerStatementProducerTest extends Specification {
+
+    def tested = new CreateTransitionTableTriggerStatementProducer()
+
+    @Unroll
+    def "should return statement '#expectedStatement' for trigger '#triggerName', table '#table', schema '#schema' and event '#event'" () {
+        when:
+            def definition = tested.produce(new CreateTransitionTableTriggerStatementProducerParameters(triggerName, table, schema, event, transitionTable, function))
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            triggerName             |   table       |   schema      |   event       |   transitionTable |   function                ||  expectedStatement   |   expectedDropStatement
+            "posts_fk_insert"       |   "posts"     |   null        |   "INSERT"    |   "new_rows"      |   "posts_fk"              ||  "CREATE TRIGGER posts_fk_insert AFTER INSERT ON posts REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE posts_fk();"                      |   "DROP TRIGGER IF EXISTS posts_fk_insert ON posts;"
+            "posts_fk_update"       |   "posts"     |   "public"    |   "UPDATE"    |   "new_rows"      |   "public.posts_fk"       ||  "CREATE TRIGGER posts_fk_update AFTER UPDATE ON public.posts REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE public.posts_fk();"        |   "DROP TRIGGER IF EXISTS posts_fk_update ON public.posts;"
+            "comments_trg"          |   "comments"  |   "secondary" |   "INSERT"    |   "inserted"      |   "secondary.check_fk"    ||  "CREATE TRIGGER comments_trg AFTER INSERT ON secondary.comments REFERENCING NEW TABLE AS inserted FOR EACH STATEMENT EXECUTE PROCEDURE secondary.check_fk();" |   "DROP TRIGGER IF EXISTS comments_trg ON secondary.comments;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" ()
+    {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for trigger '#triggerName', table '#table', schema '#schema', event '#event', transition table '#transitionTable' and function '#function'"()
+    {
+        when:
+            tested.produce(new CreateTransitionTableTriggerStatementProducerParameters(triggerName, table, schema, event, transitionTable, function))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            triggerName     |   table       |   schema  |   event       |   transitionTable |   function    ||  expectedMessage
+            null            |   "posts"     |   null    |   "INSERT"    |   "new_rows"      |   "fk"        ||  "Trigger name cannot be null"
+            " "             |   "posts"     |   null    |   "INSERT"    |   "new_rows"      |   "fk"        ||  "Trigger name cannot be blank"
+            "trg"           |   null        |   null    |   "INSERT"    |   "new_rows"      |   "fk"        ||  "Table name cannot be null"
+            "trg"           |   ""          |   null    |   "INSERT"    |   "new_rows"      |   "fk"        ||  "Table name cannot be blank"
+            "trg"           |   "posts"     |   "  "    |   "INSERT"    |   "new_rows"      |   "fk"        ||  "Schema name cannot be blank"
+            "trg"           |   "posts"     |   null    |   null        |   "new_rows"      |   "fk"        ||  "Event has to be INSERT or UPDATE"
+            "trg"           |   "posts"     |   null    |   "DELETE"    |   "new_rows"      |   "fk"        ||  "Event has to be INSERT or UPDATE"
+            "trg"           |   "posts"     |   null    |   "INSERT"    |   null            |   "fk"        ||  "Transition table name cannot be null"
+            "trg"           |   "posts"     |   null    |   "INSERT"    |   " "             |   "fk"        ||  "Transition table name cannot be blank"
+            "trg"           |   "posts"     |   null    |   "INSERT"    |   "new_rows"      |   null        ||  "Function reference cannot be null"
+            "trg"           |   "posts"     |   null    |   "INSERT"    |   "new_rows"      |   ""          ||  "Function reference cannot be blank"
+    }
+}
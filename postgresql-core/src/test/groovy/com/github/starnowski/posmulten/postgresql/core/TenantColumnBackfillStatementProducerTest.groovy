@@ -0,0 +1,77 @@
+package com.github.starnowski.posmulten.postgresql.core
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantColumnBackfillStatementProducerTest extends Specification {
+
+    def tested = new TenantColumnBackfillStatementProducer()
+
+    @Unroll
+    def "should return statements for table '#table' in schema '#schema' with key columns #keyColumns and batch size #batchSize"() {
+        given:
+            def parameters = TenantColumnBackfillStatementProducerParameters.builder()
+                    .withTable(table)
+                    .withSchema(schema)
+                    .withTenantColumn(tenantColumn)
+                    .withKeyColumns(keyColumns)
+                    .withValueExpression(valueExpression)
+                    .withBatchSize(batchSize)
+                    .build()
+
+        when:
+            def result = tested.produce(parameters)
+
+        then:
+            result.getFirstBatchStatement() == expectedFirstBatchStatement
+            result.getNextBatchStatement() == expectedNextBatchStatement
+            result.getKeyColumns() == keyColumns
+
+        where:
+            table       |   schema      |   tenantColumn    |   keyColumns          |   valueExpression                                                     |   batchSize   ||  expectedFirstBatchStatement |   expectedNextBatchStatement
+            "posts"     |   null        |   "tenant_id"     |   ["id"]              |   "'legacy'"                                                          |   1000        ||  "WITH backfill_batch AS (SELECT id FROM posts ORDER BY id LIMIT 1000), backfill_update AS (UPDATE posts SET tenant_id = 'legacy' WHERE (id) IN (SELECT id FROM backfill_batch) AND tenant_id IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), id FROM backfill_batch ORDER BY id DESC LIMIT 1;" |   "WITH backfill_batch AS (SELECT id FROM posts WHERE (id) > (?) ORDER BY id LIMIT 1000), backfill_update AS (UPDATE posts SET tenant_id = 'legacy' WHERE (id) IN (SELECT id FROM backfill_batch) AND tenant_id IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), id FROM backfill_batch ORDER BY id DESC LIMIT 1;"
+            "posts"     |   "public"    |   "tenant"        |   ["id"]              |   "(SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id)"      |   50          ||  "WITH backfill_batch AS (SELECT id FROM public.posts ORDER BY id LIMIT 50), backfill_update AS (UPDATE public.posts SET tenant = (SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id) WHERE (id) IN (SELECT id FROM backfill_batch) AND tenant IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), id FROM backfill_batch ORDER BY id DESC LIMIT 1;" |   "WITH backfill_batch AS (SELECT id FROM public.posts WHERE (id) > (?) ORDER BY id LIMIT 50), backfill_update AS (UPDATE public.posts SET tenant = (SELECT u.tenant_id FROM users u WHERE u.id = posts.user_id) WHERE (id) IN (SELECT id FROM backfill_batch) AND tenant IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), id FROM backfill_batch ORDER BY id DESC LIMIT 1;"
+            "comments"  |   "secondary" |   "tenant_id"     |   ["post_id", "no"]   |   "'t1'"                                                              |   10          ||  "WITH backfill_batch AS (SELECT post_id, no FROM secondary.comments ORDER BY post_id, no LIMIT 10), backfill_update AS (UPDATE secondary.comments SET tenant_id = 't1' WHERE (post_id, no) IN (SELECT post_id, no FROM backfill_batch) AND tenant_id IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), post_id, no FROM backfill_batch ORDER BY post_id DESC, no DESC LIMIT 1;" |   "WITH backfill_batch AS (SELECT post_id, no FROM secondary.comments WHERE (post_id, no) > (?, ?) ORDER BY post_id, no LIMIT 10), backfill_update AS (UPDATE secondary.comments SET tenant_id = 't1' WHERE (post_id, no) IN (SELECT post_id, no FROM backfill_batch) AND tenant_id IS NULL RETURNING 1) SELECT (SELECT count(*) FROM backfill_update), post_id, no FROM backfill_batch ORDER BY post_id DESC, no DESC LIMIT 1;"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when parameters object is null" () {
+        when:
+            tested.produce(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The parameters object cannot be null"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' when parameters are incorrect" () {
+        given:
+            def parameters = new TenantColumnBackfillStatementProducerParameters(table, schema, tenantColumn, keyColumns, valueExpression, batchSize)
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   schema  |   tenantColumn    |   keyColumns  |   valueExpression |   batchSize   ||  expectedMessage
+            null        |   null    |   "tenant_id"     |   ["id"]      |   "'t'"           |   10          ||  "Table name cannot be null"
+            " "         |   null    |   "tenant_id"     |   ["id"]      |   "'t'"           |   10          ||  "Table name cannot be blank"
+            "posts"     |   " "     |   "tenant_id"     |   ["id"]      |   "'t'"           |   10          ||  "Schema name cannot be blank"
+            "posts"     |   null    |   null            |   ["id"]      |   "'t'"           |   10          ||  "Tenant column name cannot be null"
+            "posts"     |   null    |   ""              |   ["id"]      |   "'t'"           |   10          ||  "Tenant column name cannot be blank"
+            "posts"     |   null    |   "tenant_id"     |   null        |   "'t'"           |   10          ||  "The list of key columns cannot be null"
+            "posts"     |   null    |   "tenant_id"     |   []          |   "'t'"           |   10          ||  "The list of key columns cannot be empty"
+            "posts"     |   null    |   "tenant_id"     |   ["id", " "] |   "'t'"           |   10          ||  "Key column name cannot be blank"
+            "posts"     |   null    |   "tenant_id"     |   ["id"]      |   null            |   10          ||  "Value expression cannot be null"
+            "posts"     |   null    |   "tenant_id"     |   ["id"]      |   "  "            |   10          ||  "Value expression cannot be blank"
+            "posts"     |   null    |   "tenant_id"     |   ["id"]      |   "'t'"           |   0           ||  "Batch size has to be greater than zero"
+            "posts"     |   null    |   "tenant_id"     |   ["id"]      |   "'t'"           |   -1          ||  "Batch size has to be greater than zero"
+    }
+}
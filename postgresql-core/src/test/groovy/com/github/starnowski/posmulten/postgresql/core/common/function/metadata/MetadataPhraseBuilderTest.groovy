@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.postgresql.core.common.function.metadata
 
 import spock.lang.Specification
+import spock.lang.Unroll
 
 class MetadataPhraseBuilderTest extends Specification {
 
@@ -19,4 +20,67 @@ class MetadataPhraseBuilderTest extends Specification {
             tested.getParallelModeSupplier() == parallelModeSupplier
             tested.getVolatilityCategorySupplier() == volatilityCategorySupplier
     }
+
+    @Unroll
+    def "should build phrase '#expectedPhrase' for leakproof #leakproof, cost #cost, rows #rows and support function #supportFunction" ()
+    {
+        given:
+            tested.withVolatilityCategorySupplier({ "STABLE" } as VolatilityCategorySupplier)
+                    .withParallelModeSupplier({ "PARALLEL SAFE" } as ParallelModeSupplier)
+                    .withLeakproof(leakproof)
+                    .withCost(cost)
+                    .withRows(rows)
+                    .withSupportFunction(supportFunction)
+
+        expect:
+            tested.build() == expectedPhrase
+
+        where:
+            leakproof   |   cost    |   rows    |   supportFunction             ||  expectedPhrase
+            null        |   null    |   null    |   null                        ||  "STABLE\nPARALLEL SAFE"
+            true        |   null    |   null    |   null                        ||  "STABLE\nPARALLEL SAFE\nLEAKPROOF"
+            false       |   null    |   null    |   null                        ||  "STABLE\nPARALLEL SAFE\nNOT LEAKPROOF"
+            null        |   1d      |   null    |   null                        ||  "STABLE\nPARALLEL SAFE\nCOST 1"
+            null        |   0.25d   |   null    |   null                        ||  "STABLE\nPARALLEL SAFE\nCOST 0.25"
+            null        |   null    |   100d    |   null                        ||  "STABLE\nPARALLEL SAFE\nROWS 100"
+            null        |   null    |   null    |   "public.tenant_support"     ||  "STABLE\nPARALLEL SAFE\nSUPPORT public.tenant_support"
+            true        |   10d     |   5d      |   "tenant_support"            ||  "STABLE\nPARALLEL SAFE\nLEAKPROOF\nCOST 10\nROWS 5\nSUPPORT tenant_support"
+    }
+
+    @Unroll
+    def "should set only not null attributes from function metadata properties, leakproof #leakproof, cost #cost, support function #supportFunction" ()
+    {
+        given:
+            tested.withLeakproof(false).withCost(100d).withSupportFunction("default_support")
+
+        when:
+            tested.withFunctionMetadataProperties(new DefaultFunctionMetadataProperties(leakproof, cost, supportFunction))
+
+        then:
+            tested.getLeakproof() == expectedLeakproof
+            tested.getCost() == expectedCost
+            tested.getSupportFunction() == expectedSupportFunction
+
+        where:
+            leakproof   |   cost    |   supportFunction     ||  expectedLeakproof   |   expectedCost    |   expectedSupportFunction
+            null        |   null    |   null                ||  false               |   100d            |   "default_support"
+            true        |   null    |   null                ||  true                |   100d            |   "default_support"
+            null        |   1d      |   null                ||  false               |   1d              |   "default_support"
+            null        |   null    |   "support_fun"       ||  false               |   100d            |   "support_fun"
+            true        |   2d      |   "support_fun"       ||  true                |   2d              |   "support_fun"
+    }
+
+    def "should not change attributes when function metadata properties are null" ()
+    {
+        given:
+            tested.withLeakproof(true).withCost(3d).withSupportFunction("support_fun")
+
+        when:
+            tested.withFunctionMetadataProperties(null)
+
+        then:
+            tested.getLeakproof()
+            tested.getCost() == 3d
+            tested.getSupportFunction() == "support_fun"
+    }
 }
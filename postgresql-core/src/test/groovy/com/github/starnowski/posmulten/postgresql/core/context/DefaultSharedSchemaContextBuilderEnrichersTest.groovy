@@ -4,6 +4,7 @@ import com.github.starnowski.posmulten.postgresql.core.context.enrichers.Default
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.GetCurrentTenantIdFunctionDefinitionEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantValidFunctionInvocationFactoryEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.ISharedSchemaContextEnricher
+import com.github.starnowski.posmulten.postgresql.core.context.enrichers.IParallelSharedSchemaContextEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.IsTenantIdentifierValidConstraintEnricher
@@ -11,9 +12,14 @@ import com.github.starnowski.posmulten.postgresql.core.context.enrichers.SetCurr
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSPolicyEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TableRLSSettingsSQLDefinitionsEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantColumnSQLDefinitionsEnricher
+import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantPartitioningSQLDefinitionsEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantHasAuthoritiesFunctionDefinitionEnricher
+import com.github.starnowski.posmulten.postgresql.core.context.enrichers.TenantIndexSQLDefinitionsEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException
 import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ForkJoinPool
 
 import static java.util.stream.Collectors.toList
 
@@ -52,7 +58,8 @@ class DefaultSharedSchemaContextBuilderEnrichersTest extends Specification {
         given:
             def expectedEnrichersTypeInOrder = [GetCurrentTenantIdFunctionDefinitionEnricher.class,
                                                 SetCurrentTenantIdFunctionDefinitionEnricher.class, TenantHasAuthoritiesFunctionDefinitionEnricher.class,
-                                                IsTenantValidFunctionInvocationFactoryEnricher.class, TenantColumnSQLDefinitionsEnricher.class,
+                                                IsTenantValidFunctionInvocationFactoryEnricher.class, TenantPartitioningSQLDefinitionsEnricher.class, TenantColumnSQLDefinitionsEnricher.class,
+                                                TenantIndexSQLDefinitionsEnricher.class,
                                                 TableRLSSettingsSQLDefinitionsEnricher.class, TableRLSPolicyEnricher.class,
                                                 IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher.class, IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher.class,
                                                 IsTenantIdentifierValidConstraintEnricher.class, DefaultValueForTenantColumnEnricher.class]
@@ -65,7 +72,7 @@ class DefaultSharedSchemaContextBuilderEnrichersTest extends Specification {
             enrichers.stream().map({enricher -> enricher.getClass()}).collect(toList()) == expectedEnrichersTypeInOrder
     }
 
-    def "should pass the copy or request object to each enricher"()
+    def "should pass the same read-only request object to each enricher"()
     {
         given:
             ISharedSchemaContext firstSharedSchemaContext = Mock(ISharedSchemaContext)
@@ -97,7 +104,8 @@ class DefaultSharedSchemaContextBuilderEnrichersTest extends Specification {
                         secondEnricherCapturedRequest = parameters[1]
                         secondSharedSchemaContext
                     }
-            !firstEnricherCapturedRequest.is(secondEnricherCapturedRequest)
+            firstEnricherCapturedRequest.is(secondEnricherCapturedRequest)
+            firstEnricherCapturedRequest instanceof ImmutableSharedSchemaContextRequest
 
         and: "the context passed to second enricher should the same returned by first enricher"
             secondEnricherCapturedContext.is(firstSharedSchemaContext)
@@ -132,6 +140,61 @@ class DefaultSharedSchemaContextBuilderEnrichersTest extends Specification {
             0 * thirdSharedSchemaContextEnricher.enrich(_, _)
     }
 
+    def "should pass the pool to the parallel enricher when parallelism is greater than one"()
+    {
+        given:
+            ISharedSchemaContext firstSharedSchemaContext = Mock(ISharedSchemaContext)
+            ISharedSchemaContext secondSharedSchemaContext = Mock(ISharedSchemaContext)
+            IParallelSharedSchemaContextEnricher firstSharedSchemaContextEnricher = Mock(IParallelSharedSchemaContextEnricher)
+            ISharedSchemaContextEnricher secondSharedSchemaContextEnricher = Mock(ISharedSchemaContextEnricher)
+            DefaultSharedSchemaContextBuilder builder = builderWithoutValidators()
+            builder.setEnrichers([firstSharedSchemaContextEnricher, secondSharedSchemaContextEnricher])
+            builder.setEnrichersParallelism(4)
+            ForkJoinPool capturedPool
+
+        when:
+            def result = builder.build()
+
+        then:
+            1 * firstSharedSchemaContextEnricher.enrich(_, _, _) >> { parameters ->
+                capturedPool = parameters[2]
+                firstSharedSchemaContext
+            }
+
+        then:
+            1 * secondSharedSchemaContextEnricher.enrich(firstSharedSchemaContext, _) >> secondSharedSchemaContext
+
+        and: "pool should have the specified parallelism and should be shut down after the build"
+            capturedPool.getParallelism() == 4
+            capturedPool.isShutdown()
+            result.is(secondSharedSchemaContext)
+    }
+
+    @Unroll
+    def "should not pass the pool to the parallel enricher when parallelism is #parallelism"()
+    {
+        given:
+            IParallelSharedSchemaContextEnricher sharedSchemaContextEnricher = Mock(IParallelSharedSchemaContextEnricher)
+            DefaultSharedSchemaContextBuilder builder = builderWithoutValidators()
+            builder.setEnrichers([sharedSchemaContextEnricher])
+            builder.setEnrichersParallelism(parallelism)
+
+        when:
+            builder.build()
+
+        then:
+            1 * sharedSchemaContextEnricher.enrich(_, _, null) >> Mock(ISharedSchemaContext)
+
+        where:
+            parallelism << [-1, 0, 1]
+    }
+
+    def "should run enrichers sequentially by default"()
+    {
+        expect:
+            new DefaultSharedSchemaContextBuilder().getEnrichersParallelism() == 1
+    }
+
     def builderWithoutValidators()
     {
         def builder = new DefaultSharedSchemaContextBuilder()
@@ -149,4 +149,40 @@ class DefaultSharedSchemaContextBuilderSmokeTest extends Specification {
     {
         mapBuilder().put(columnName, columnType).build();
     }
+
+    @Unroll
+    def "should produce the same SQL definitions in the same order when enrichers parallelism is #parallelism" ()
+    {
+        given:
+            def sequentialBuilder = prepareBuilderWithTables(300).setEnrichersParallelism(1)
+            def parallelBuilder = prepareBuilderWithTables(300).setEnrichersParallelism(parallelism)
+
+        when:
+            def sequentialScripts = sequentialBuilder.build().getSqlDefinitions().collect { it.getCreateScript() }
+            def parallelScripts = parallelBuilder.build().getSqlDefinitions().collect { it.getCreateScript() }
+
+        then:
+            !sequentialScripts.isEmpty()
+            parallelScripts == sequentialScripts
+
+        where:
+            parallelism << [2, 4, 8]
+    }
+
+    private static DefaultSharedSchemaContextBuilder prepareBuilderWithTables(int tablesCount)
+    {
+        def builder = new DefaultSharedSchemaContextBuilder("public").setCurrentTenantIdProperty(VALID_CURRENT_TENANT_ID_PROPERTY_NAME)
+                .setGrantee("postgresql-core-owner")
+        for (int i = 0; i < tablesCount; i++)
+        {
+            builder.createRLSPolicyForTable("tab_" + i, [id: "bigint"], null, "tab_" + i + "_policy")
+                    .createTenantColumnForTable("tab_" + i)
+                    .setNameForFunctionThatChecksIfRecordExistsInTable("tab_" + i, "is_tab_" + i + "_exists")
+            if (i > 0)
+            {
+                builder.createSameTenantConstraintForForeignKey("tab_" + i, "tab_" + (i - 1), [parent_id: "id"], "tab_" + i + "_parent_fk_cu")
+            }
+        }
+        builder
+    }
 }
@@ -3,7 +3,10 @@ package com.github.starnowski.posmulten.postgresql.core.context
 
 import com.github.starnowski.posmulten.postgresql.core.context.enrichers.ISharedSchemaContextEnricher
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.SharedSchemaContextBuilderException
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator
 import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantColumnTableMappingSharedSchemaContextRequestValidator
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantIndexTableMappingSharedSchemaContextRequestValidator
+import com.github.starnowski.posmulten.postgresql.core.context.validators.CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator
 import com.github.starnowski.posmulten.postgresql.core.context.validators.ForeignKeysMappingSharedSchemaContextRequestValidator
 import com.github.starnowski.posmulten.postgresql.core.context.validators.ISharedSchemaContextRequestValidator
 import com.github.starnowski.posmulten.postgresql.core.context.validators.TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator
@@ -40,7 +43,7 @@ class DefaultSharedSchemaContextBuilderValidatorsTest extends Specification {
             result.is(firstSharedSchemaContext)
     }
 
-    def "should pass the copy or request object to each validator"()
+    def "should pass the same read-only request object to each validator"()
     {
         given:
             ISharedSchemaContextRequestValidator firstValidator = Mock(ISharedSchemaContextRequestValidator)
@@ -66,7 +69,8 @@ class DefaultSharedSchemaContextBuilderValidatorsTest extends Specification {
                     {parameters ->
                         secondEnricherCapturedRequest = parameters[0]
                     }
-            !firstEnricherCapturedRequest.is(secondEnricherCapturedRequest)
+            firstEnricherCapturedRequest.is(secondEnricherCapturedRequest)
+            firstEnricherCapturedRequest instanceof ImmutableSharedSchemaContextRequest
     }
 
     def "should rethrow exception thrown by validator in middle"()
@@ -99,7 +103,7 @@ class DefaultSharedSchemaContextBuilderValidatorsTest extends Specification {
     def "should have configured the list of validators with correct order"()
     {
         given:
-            def expectedValidatorsTypeInOrder = [ForeignKeysMappingSharedSchemaContextRequestValidator.class, CreateTenantColumnTableMappingSharedSchemaContextRequestValidator.class, TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator.class]
+            def expectedValidatorsTypeInOrder = [ForeignKeysMappingSharedSchemaContextRequestValidator.class, CreateTenantColumnTableMappingSharedSchemaContextRequestValidator.class, CreateTenantIndexTableMappingSharedSchemaContextRequestValidator.class, CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator.class, CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator.class, TablesThatAddingOfTenantColumnDefaultValueShouldBeSkippedSharedSchemaContextRequestValidator.class]
             DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder()
 
         when:
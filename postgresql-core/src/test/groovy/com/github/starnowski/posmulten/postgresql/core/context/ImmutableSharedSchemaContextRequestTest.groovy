@@ -0,0 +1,93 @@
+package com.github.starnowski.posmulten.postgresql.core.context
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
+
+class ImmutableSharedSchemaContextRequestTest extends Specification {
+
+    def "should return the same values as wrapped request"()
+    {
+        given:
+            def request = new DefaultSharedSchemaContextBuilder("some_schema")
+                    .setGrantee("db_user")
+                    .setDefaultTenantIdColumn("ten_col")
+                    .setRLSPolicyExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON)
+                    .createRLSPolicyForTable("users", [id: "bigint"], null, "users_policy")
+                    .createRLSPolicyForTable("posts", [id: "bigint"], null, "posts_policy")
+                    .createTenantColumnForTable("posts")
+                    .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk")
+                    .setNameForFunctionThatChecksIfRecordExistsInTable("users", "is_user_exists")
+                    .createValidTenantValueConstraint(["invalid"], "is_tenant_valid", "tenant_valid_con")
+                    .getSharedSchemaContextRequestCopy()
+
+        when:
+            def tested = new ImmutableSharedSchemaContextRequest(request)
+
+        then:
+            publicGetters().each { Method getter ->
+                assert getter.invoke(tested) == getter.invoke(request) : "Method ${getter.name} returned a different value"
+            }
+    }
+
+    def "should reflect changes of the wrapped request without copying collections"()
+    {
+        given:
+            def request = new SharedSchemaContextRequest()
+            def tested = new ImmutableSharedSchemaContextRequest(request)
+
+        when:
+            request.getTableRLSPolicies().put(new TableKey("users", null), Mock(ITableRLSPolicyProperties))
+            request.setGrantee("some_user")
+
+        then:
+            tested.getTableRLSPolicies().containsKey(new TableKey("users", null))
+            tested.getGrantee() == "some_user"
+    }
+
+    @Unroll
+    def "should throw exception when trying to modify collection returned by method #getter"()
+    {
+        given:
+            def request = new SharedSchemaContextRequest()
+            request.setTenantValuesBlacklist(["x"])
+            def tested = new ImmutableSharedSchemaContextRequest(request)
+            def collection = tested."${getter}"()
+
+        when:
+            collection instanceof Map ? collection.put(null, null) : collection.add(null)
+
+        then:
+            thrown(UnsupportedOperationException)
+
+        where:
+            getter << publicGetters().findAll { Collection.isAssignableFrom(it.returnType) || Map.isAssignableFrom(it.returnType) }.collect { it.name }
+    }
+
+    def "should not be modifiable through the request type or any setter"()
+    {
+        expect:
+            !SharedSchemaContextRequest.isAssignableFrom(ImmutableSharedSchemaContextRequest)
+            ImmutableSharedSchemaContextRequest.getMethods().findAll { it.name.startsWith("set") }.isEmpty()
+    }
+
+    def "should declare all public getters of the request type in the read-only interface"()
+    {
+        given:
+            def interfaceMethods = ISharedSchemaContextRequest.getMethods().collect { it.name }
+
+        expect:
+            SharedSchemaContextRequest.getDeclaredMethods().findAll { Modifier.isPublic(it.modifiers) && !Modifier.isStatic(it.modifiers) && it.parameterCount == 0 && (it.name.startsWith("get") || it.name.startsWith("is")) }.each { Method method ->
+                assert interfaceMethods.contains(method.name) : "Method ${method.name} is not declared in the ISharedSchemaContextRequest interface"
+            }
+    }
+
+    private static List<Method> publicGetters()
+    {
+        ISharedSchemaContextRequest.getMethods().toList()
+    }
+}
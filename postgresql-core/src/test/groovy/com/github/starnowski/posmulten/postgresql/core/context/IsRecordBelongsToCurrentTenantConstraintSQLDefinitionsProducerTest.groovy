@@ -57,6 +57,43 @@ class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerTest extends
             tk("posts", "some_schema")      |   mapBuilder().put("uuid", "bigint").build()                          |   "posts_fk_"         ||  [bigint:forReference("uuid")]
     }
 
+    def "should pass NOT VALID option to inner component and return statement that validates constraint"()
+    {
+        given:
+            def isRecordBelongsToCurrentTenantConstraintProducer = Mock(IsRecordBelongsToCurrentTenantConstraintProducer)
+            tested.setIsRecordBelongsToCurrentTenantConstraintProducer(isRecordBelongsToCurrentTenantConstraintProducer)
+            List<IsRecordBelongsToCurrentTenantConstraintProducerParameters> capturedParameters = new ArrayList<>()
+            def sqlDefinition = Mock(SQLDefinition)
+            IIsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters parameters =
+                    builder()
+                            .withTableKey(tk("posts", "public"))
+                            .withConstraintName("posts_fk")
+                            .withForeignKeyPrimaryKeyMappings(mapBuilder().put("user_id", "id").build())
+                            .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(Mock(IsRecordBelongsToCurrentTenantFunctionInvocationFactory))
+                            .withNotValid(true)
+                            .build()
+
+        when:
+            def results = tested.produce(parameters)
+            def validateStatements = tested.produceValidateConstraintStatements(parameters)
+
+        then:
+            1 * isRecordBelongsToCurrentTenantConstraintProducer.produce(_) >> { par ->
+                capturedParameters.add(par[0])
+                sqlDefinition
+            }
+            1 * isRecordBelongsToCurrentTenantConstraintProducer.produceValidateConstraintStatement(_) >> { par ->
+                capturedParameters.add(par[0])
+                "ALTER TABLE \"public\".\"posts\" VALIDATE CONSTRAINT posts_fk;"
+            }
+            results == [sqlDefinition]
+            validateStatements == ["ALTER TABLE \"public\".\"posts\" VALIDATE CONSTRAINT posts_fk;"]
+
+        and: "pass NOT VALID option to inner component"
+            capturedParameters.size() == 2
+            capturedParameters.every { it.isNotValid() && it.getConstraintName() == "posts_fk" && it.getTableName() == "posts" }
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
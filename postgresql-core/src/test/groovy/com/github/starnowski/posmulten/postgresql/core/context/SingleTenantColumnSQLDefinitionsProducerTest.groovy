@@ -63,6 +63,85 @@ class SingleTenantColumnSQLDefinitionsProducerTest extends Specification {
             tk("some_tab", "other_schema")  |   null            |   "tenant_col"        |   "VARCHAR(255)"          |  "tenant_col"            |   "VARCHAR(255)"
     }
 
+    @Unroll
+    def "should create SQL definitions for the online rollout of the tenant column in table #tenantTable, tenant column: #tenantColumn, value for existing rows: #valueForExistingRows"()
+    {
+        given:
+            def tableColumns = dtc(tenantColumn)
+
+        when:
+            def results = tested.produce(tenantTable, tableColumns, "tenant", "VARCHAR(255)", TenantColumnRolloutStrategyEnum.ONLINE, valueForExistingRows, null)
+
+        then:
+            results.collect { it.getCreateScript() } == expectedCreateScripts
+            results.collect { it.getDropScript() } == expectedDropScripts
+
+        where:
+            tenantTable                     |   tenantColumn    |   valueForExistingRows    ||  expectedCreateScripts   |   expectedDropScripts
+            tk("users", null)               |   "tenant_id"     |   null                    ||  ["ALTER TABLE users ADD COLUMN tenant_id VARCHAR(255);", "ALTER TABLE \"users\" ADD CONSTRAINT users_tenant_id_not_null CHECK (tenant_id IS NOT NULL) NOT VALID;"]   |   ["ALTER TABLE users DROP COLUMN tenant_id;", "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS users_tenant_id_not_null;"]
+            tk("users", "public")           |   null            |   "legacy"                ||  ["ALTER TABLE public.users ADD COLUMN tenant VARCHAR(255) DEFAULT 'legacy';", "ALTER TABLE public.users ALTER COLUMN tenant DROP DEFAULT;", "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT users_tenant_not_null CHECK (tenant IS NOT NULL) NOT VALID;"]   |   ["ALTER TABLE public.users DROP COLUMN tenant;", "ALTER TABLE public.users ALTER COLUMN tenant SET DEFAULT 'legacy';", "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS users_tenant_not_null;"]
+            tk("posts", "other_schema")     |   "ten"           |   "o'reilly"              ||  ["ALTER TABLE other_schema.posts ADD COLUMN ten VARCHAR(255) DEFAULT 'o''reilly';", "ALTER TABLE other_schema.posts ALTER COLUMN ten DROP DEFAULT;", "ALTER TABLE \"other_schema\".\"posts\" ADD CONSTRAINT posts_ten_not_null CHECK (ten IS NOT NULL) NOT VALID;"]   |   ["ALTER TABLE other_schema.posts DROP COLUMN ten;", "ALTER TABLE other_schema.posts ALTER COLUMN ten SET DEFAULT 'o''reilly';", "ALTER TABLE \"other_schema\".\"posts\" DROP CONSTRAINT IF EXISTS posts_ten_not_null;"]
+    }
+
+    def "should drop default value for existing rows in separate SQL definition for the default rollout"()
+    {
+        when:
+            def results = tested.produce(tk("users", "public"), dtc("tenant_id"), "tenant", "VARCHAR(255)", TenantColumnRolloutStrategyEnum.DEFAULT, "legacy", null)
+
+        then:
+            results.collect { it.getCreateScript() } == ["ALTER TABLE public.users ADD COLUMN tenant_id VARCHAR(255) DEFAULT 'legacy';", "ALTER TABLE public.users ALTER COLUMN tenant_id DROP DEFAULT;", "ALTER TABLE public.users ALTER COLUMN tenant_id SET NOT NULL;"]
+    }
+
+    @Unroll
+    def "should use custom name #notNullConstraintName for check constraint in table #tenantTable"()
+    {
+        when:
+            def definitions = tested.produce(tenantTable, dtc("tenant_id"), "tenant", "VARCHAR(255)", TenantColumnRolloutStrategyEnum.ONLINE, null, notNullConstraintName)
+            def validateStatements = tested.produceValidateStatements(tenantTable, dtc("tenant_id"), "tenant", notNullConstraintName)
+            def postValidateStatements = tested.producePostValidateStatements(tenantTable, dtc("tenant_id"), "tenant", notNullConstraintName)
+
+        then:
+            definitions[1].getCreateScript() == expectedCreateScript
+            validateStatements == [expectedValidateStatement]
+            postValidateStatements[1] == expectedDropStatement
+
+        where:
+            tenantTable             |   notNullConstraintName   ||  expectedCreateScript    |   expectedValidateStatement   |   expectedDropStatement
+            tk("users", null)       |   "usr_ten_nn"            ||  "ALTER TABLE \"users\" ADD CONSTRAINT usr_ten_nn CHECK (tenant_id IS NOT NULL) NOT VALID;"               |   "ALTER TABLE \"users\" VALIDATE CONSTRAINT usr_ten_nn;"               |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS usr_ten_nn;"
+            tk("users", "public")   |   "tenant_nn_check"       ||  "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT tenant_nn_check CHECK (tenant_id IS NOT NULL) NOT VALID;"  |   "ALTER TABLE \"public\".\"users\" VALIDATE CONSTRAINT tenant_nn_check;"  |   "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS tenant_nn_check;"
+    }
+
+    @Unroll
+    def "should create statement that only validates check constraint for table #tenantTable and tenant column: #tenantColumn"()
+    {
+        expect:
+            tested.produceValidateStatements(tenantTable, dtc(tenantColumn), "tenant", null) == [expectedStatement]
+
+        where:
+            tenantTable                     |   tenantColumn    ||  expectedStatement
+            tk("users", null)               |   "tenant_id"     ||  "ALTER TABLE \"users\" VALIDATE CONSTRAINT users_tenant_id_not_null;"
+            tk("users", "public")           |   null            ||  "ALTER TABLE \"public\".\"users\" VALIDATE CONSTRAINT users_tenant_not_null;"
+    }
+
+    @Unroll
+    def "should create separate statements that set not null option and drop check constraint for table #tenantTable and tenant column: #tenantColumn"()
+    {
+        when:
+            def results = tested.producePostValidateStatements(tenantTable, dtc(tenantColumn), "tenant", null)
+
+        then:
+            results == expectedStatements
+
+        and: "each statement is executed separately, so none of them contains more than one SQL command"
+            results.every { it.count(";") == 1 && it.endsWith(";") }
+            results.every { !it.contains("VALIDATE") }
+
+        where:
+            tenantTable                     |   tenantColumn    ||  expectedStatements
+            tk("users", null)               |   "tenant_id"     ||  ["ALTER TABLE users ALTER COLUMN tenant_id SET NOT NULL;", "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS users_tenant_id_not_null;"]
+            tk("users", "public")           |   null            ||  ["ALTER TABLE public.users ALTER COLUMN tenant SET NOT NULL;", "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS users_tenant_not_null;"]
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
@@ -59,6 +59,51 @@ class TableRLSPolicySQLDefinitionsProducerTest extends Specification {
             tk("posts", "some_sh")  |   "owner"     |   "posts_policy"      |   "col_ten_"      |   "tenant"                ||  "col_ten_"
     }
 
+    @Unroll
+    def "should pass the command #command and components for expressions specified for the command policy"()
+    {
+        given:
+            RLSPolicyProducerParameters capturedParameters = null
+            def rlsPolicyProducer = Mock(RLSPolicyProducer)
+            def rlsPolicyProducerSQLDefinition = Mock(SQLDefinition)
+            def defaultFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def usingFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def withCheckFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            tested.setRlsPolicyProducer(rlsPolicyProducer)
+            def parameters = new TableRLSPolicySQLDefinitionsProducerParameters.TableRLSPolicySQLDefinitionsProducerParametersBuilder()
+                    .withGrantee("owner")
+                    .withTableKey(tk("posts", "public"))
+                    .withPolicyName("posts_command_policy")
+                    .withTenantHasAuthoritiesFunctionInvocationFactory(defaultFactory)
+                    .withPermissionCommandPolicy(command)
+                    .withUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory(useUsingFactory ? usingFactory : null)
+                    .withWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory(useWithCheckFactory ? withCheckFactory : null)
+                    .build()
+
+        when:
+            def results = tested.produce(parameters)
+
+        then:
+            1 * rlsPolicyProducer.produce(_) >>  {
+                    passedParameters ->
+                    capturedParameters = passedParameters[0]
+                    rlsPolicyProducerSQLDefinition
+            }
+            results == [rlsPolicyProducerSQLDefinition]
+
+        and: "pass correct parameters"
+            capturedParameters.getPermissionCommandPolicy() == command
+            capturedParameters.getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(useUsingFactory ? usingFactory : defaultFactory)
+            capturedParameters.getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(useWithCheckFactory ? withCheckFactory : defaultFactory)
+
+        where:
+            command                                 |   useUsingFactory |   useWithCheckFactory
+            PermissionCommandPolicyEnum.SELECT      |   true            |   false
+            PermissionCommandPolicyEnum.INSERT      |   false           |   true
+            PermissionCommandPolicyEnum.UPDATE      |   true            |   true
+            PermissionCommandPolicyEnum.DELETE      |   false           |   false
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
 import com.github.starnowski.posmulten.postgresql.core.rls.function.GetCurrentTenantIdFunctionDefinition
@@ -36,6 +37,7 @@ class GetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             capturedParameters.getCurrentTenantIdProperty() == sharedSchemaContextRequest.getCurrentTenantIdProperty()
             capturedParameters.getFunctionReturnType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
             capturedParameters.getFunctionName() == "get_current_tenant_id"
+            capturedParameters.getFunctionMetadataProperties() == null
     }
 
     @Unroll
@@ -77,4 +79,28 @@ class GetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             "public"        |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"
             "some_sche1"    |   "posmulte.prop.tenant"  |   "Some_SQL_TYPE"             |   "get_tenant_id"
     }
+
+    def "should pass function metadata properties defined for builder"()
+    {
+        given:
+            def functionMetadataProperties = new DefaultFunctionMetadataProperties(true, 1d, null)
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setTenantFunctionsMetadataProperties(functionMetadataProperties)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedParameters = null
+            def producer = Mock(GetCurrentTenantIdFunctionProducer)
+            def tested = new GetCurrentTenantIdFunctionDefinitionEnricher(producer)
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    Mock(GetCurrentTenantIdFunctionDefinition)
+            }
+            capturedParameters.getFunctionMetadataProperties() == functionMetadataProperties
+    }
 }
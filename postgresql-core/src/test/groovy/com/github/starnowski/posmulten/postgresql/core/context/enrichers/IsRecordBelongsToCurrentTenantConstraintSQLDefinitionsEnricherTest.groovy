@@ -2,8 +2,12 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.*
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.IncorrectForeignKeysMappingException
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingConstraintNameDeclarationForTableException
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingIsRecordBelongsToCurrentTenantFunctionInvocationFactoryException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingTenantUniqueConstraintNameDeclarationForTableException
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -230,6 +234,306 @@ class IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricherTest extends
             "comments"  |   null                ||  "Missing object of type IsRecordBelongsToCurrentTenantFunctionInvocationFactory for table comments and schema null"
     }
 
+    @Unroll
+    def "should create unique constraints for referenced tables and composite foreign keys when composite foreign key strategy is used in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [uuid: "uuid"], null, "N/A")
+            builder.createRLSPolicyForTable("some_table", [:], "tenant_xxx_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", [user_id: "id"], "comments_users_fk_con")
+            builder.createSameTenantConstraintForForeignKey("some_table", "users", [owner_id: "id"], "some_table_users_fk_con")
+            builder.createSameTenantConstraintForForeignKey("some_table", "comments", [comment_id: "uuid"], "some_table_comments_fk_con")
+            builder.createTenantUniqueConstraintForReferencedTable("users", "users_tenant_id_uk")
+            builder.createTenantUniqueConstraintForReferencedTable("comments", "comments_tenant_uuid_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer = Mock(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def tableReferencePrefix = schema == null ? "" : "\"" + schema + "\"."
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(_)
+            def createScripts = result.getSqlDefinitions().collect { it.getCreateScript() }
+            createScripts.size() == 5
+            createScripts.contains("ALTER TABLE ${tableReferencePrefix}\"users\" ADD CONSTRAINT users_tenant_id_uk UNIQUE (tenant, id);".toString())
+            createScripts.contains("ALTER TABLE ${tableReferencePrefix}\"comments\" ADD CONSTRAINT comments_tenant_uuid_uk UNIQUE (tenant_id, uuid);".toString())
+            createScripts.contains("ALTER TABLE ${tableReferencePrefix}\"comments\" ADD CONSTRAINT comments_users_fk_con FOREIGN KEY (tenant_id, user_id) REFERENCES ${tableReferencePrefix}\"users\" (tenant, id);".toString())
+            createScripts.contains("ALTER TABLE ${tableReferencePrefix}\"some_table\" ADD CONSTRAINT some_table_users_fk_con FOREIGN KEY (tenant_xxx_id, owner_id) REFERENCES ${tableReferencePrefix}\"users\" (tenant, id);".toString())
+            createScripts.contains("ALTER TABLE ${tableReferencePrefix}\"some_table\" ADD CONSTRAINT some_table_comments_fk_con FOREIGN KEY (tenant_xxx_id, comment_id) REFERENCES ${tableReferencePrefix}\"comments\" (tenant_id, uuid);".toString())
+
+        and: "unique constraints should be added before foreign keys"
+            createScripts.findLastIndexOf { it.contains(" UNIQUE ") } < createScripts.findIndexOf { it.contains(" FOREIGN KEY ") }
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should create composite foreign keys with NOT VALID option and statements that validate them, and valid unique constraints, in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.setAddConstraintsAsNotValid(true)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "N/A")
+            builder.createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk_con")
+            builder.createTenantUniqueConstraintForReferencedTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+            def tableReferencePrefix = schema == null ? "" : "\"" + schema + "\"."
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            result.getSqlDefinitions().collect { it.getCreateScript() } == [
+                    "ALTER TABLE ${tableReferencePrefix}\"users\" ADD CONSTRAINT users_tenant_uk UNIQUE (tenant, id);".toString(),
+                    "ALTER TABLE ${tableReferencePrefix}\"posts\" ADD CONSTRAINT posts_users_fk_con FOREIGN KEY (tenant, user_id) REFERENCES ${tableReferencePrefix}\"users\" (tenant, id) NOT VALID;".toString()
+            ]
+            result.getValidateConstraintStatements() == [
+                    "ALTER TABLE ${tableReferencePrefix}\"posts\" VALIDATE CONSTRAINT posts_users_fk_con;".toString()
+            ]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should pass NOT VALID option to the producer and add statements that validate constraints in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setAddConstraintsAsNotValid(true)
+            builder.createRLSPolicyForTable("users", [:], "tenant", "N/A")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("comments", "users", mapBuilder().put("user_id", "id").build(), "comments_users_fk_con")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def isUserBelongsToCurrentTenantFunctionInvocationFactory = Mock(IsRecordBelongsToCurrentTenantFunctionInvocationFactory)
+            context.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().put(tk("users", schema), isUserBelongsToCurrentTenantFunctionInvocationFactory)
+            def isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer = Mock(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def expectedParameters = IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducerParameters.builder()
+                    .withConstraintName("comments_users_fk_con")
+                    .withTableKey(tk("comments", schema))
+                    .withIsRecordBelongsToCurrentTenantFunctionInvocationFactory(isUserBelongsToCurrentTenantFunctionInvocationFactory)
+                    .withForeignKeyPrimaryKeyMappings(mapBuilder().put("user_id", "id").build())
+                    .withNotValid(true)
+                    .build()
+            def constraintDefinition = Mock(SQLDefinition)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(expectedParameters) >> [constraintDefinition]
+            1 * isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produceValidateConstraintStatements(expectedParameters) >> ["VALIDATE comments_users_fk_con"]
+            result.getSqlDefinitions() == [constraintDefinition]
+            result.getValidateConstraintStatements() == ["VALIDATE comments_users_fk_con"]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should map foreign key columns to the order of primary key columns for composite foreign key in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("users", [id: "bigint", region: "text"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "N/A")
+            builder.createSameTenantConstraintForForeignKey("posts", "users", [user_region: "region", user_id: "id"], "posts_users_fk_con")
+            builder.createTenantUniqueConstraintForReferencedTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+            def tableReferencePrefix = schema == null ? "" : "\"" + schema + "\"."
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            result.getSqlDefinitions().collect { it.getCreateScript() } == [
+                    "ALTER TABLE ${tableReferencePrefix}\"users\" ADD CONSTRAINT users_tenant_uk UNIQUE (tenant, id, region);".toString(),
+                    "ALTER TABLE ${tableReferencePrefix}\"posts\" ADD CONSTRAINT posts_users_fk_con FOREIGN KEY (tenant, user_id, user_region) REFERENCES ${tableReferencePrefix}\"users\" (tenant, id, region);".toString()
+            ]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should not create unique constraint for referenced table when the unique index for tenant and primary key columns was requested in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("users", [id: "bigint"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "N/A")
+            builder.createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk_con", "users_tenant_id_idx")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+            def tableReferencePrefix = schema == null ? "" : "\"" + schema + "\"."
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            result.getSqlDefinitions().collect { it.getCreateScript() } == [
+                    "ALTER TABLE ${tableReferencePrefix}\"posts\" ADD CONSTRAINT posts_users_fk_con FOREIGN KEY (tenant, user_id) REFERENCES ${tableReferencePrefix}\"users\" (tenant, id);".toString()
+            ]
+            result.getSqlDefinitions().collect { it.getDropScript() } == [
+                    "ALTER TABLE ${tableReferencePrefix}\"posts\" DROP CONSTRAINT IF EXISTS posts_users_fk_con;".toString()
+            ]
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
+    @Unroll
+    def "should throw an exception when there is missing the unique constraint name for table #table referenced by composite foreign key in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("tab1", [:], "tenant", "N/A")
+            builder.createRLSPolicyForTable(table, [uuid: "uuid"], "tenant_xxx_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("tab1", table, [tab_id: "uuid"] , "fk_1")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingTenantUniqueConstraintNameDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == "Missing name of the unique constraint for the tenant column and primary key columns in table ${table} and schema ${schema} that is referenced by the composite foreign key".toString()
+
+        and: "exception object should have correct table key"
+            ex.tableKey == tk(table, schema)
+
+        where:
+            table       |   schema
+            "users"     |   null
+            "users"     |   "public"
+            "comments"  |   "some_other_schema"
+    }
+
+    @Unroll
+    def "should throw an exception when the foreign key columns mapping #foreignKeyPrimaryKeyColumnsMappings does not cover primary key columns of table referenced by composite foreign key in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("users", [id: "bigint", region: "text"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "N/A")
+            builder.createSameTenantConstraintForForeignKey("posts", "users", foreignKeyPrimaryKeyColumnsMappings, "posts_users_fk_con")
+            builder.createTenantUniqueConstraintForReferencedTable("users", "users_tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+            def tableReferencePrefix = schema == null ? "" : schema + "."
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(IncorrectForeignKeysMappingException)
+
+        and: "message should match"
+            ex.message == "There is mismatch between foreign keys column mapping (${expectedMappedPrimaryKeys}) in ${tableReferencePrefix}posts table and primary keys column declaration (id, region) for ${tableReferencePrefix}users table".toString()
+
+        and: "exception object should have correct table keys and columns"
+            ex.foreignTableKey == tk("posts", schema)
+            ex.primaryTableKey == tk("users", schema)
+            ex.primaryKeys == ["id", "region"] as Set
+
+        where:
+            schema          |   foreignKeyPrimaryKeyColumnsMappings         ||  expectedMappedPrimaryKeys
+            null            |   [user_id: "id"]                             ||  "id"
+            "public"        |   [user_region: "region"]                     ||  "region"
+            "some_schema"   |   [user_id: "id", user_name: "name"]          ||  "id, name"
+    }
+
+    @Unroll
+    def "should throw an exception when there is missing RLS policy declaration for table #table referenced by composite foreign key in schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY)
+            builder.createRLSPolicyForTable("tab1", [:], "tenant", "N/A")
+            builder.createSameTenantConstraintForForeignKey("tab1", table, [tab_id: "uuid"] , "fk_1")
+            builder.createTenantUniqueConstraintForReferencedTable(table, "tenant_uk")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher()
+
+        when:
+            tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableException)
+
+        and: "message should match"
+            ex.message == "Missing RLS policy declaration for table ${table} in schema ${schema}".toString()
+
+        and: "exception object should have correct table key"
+            ex.tableKey == tk(table, schema)
+
+        where:
+            table       |   schema
+            "users"     |   null
+            "users"     |   "public"
+            "comments"  |   "some_other_schema"
+    }
+
+    @Unroll
+    def "should create trigger functions and statement-level triggers when statement level trigger strategy is used in schema #schema with current tenant as subquery #subquery"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(SameTenantConstraintForForeignKeyStrategyEnum.STATEMENT_LEVEL_TRIGGER)
+            builder.setCurrentTenantIdAsSubquery(subquery)
+            builder.createRLSPolicyForTable("users", [id: "bigint", region: "text"], "tenant", "N/A")
+            builder.createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "N/A")
+            builder.createSameTenantConstraintForForeignKey("posts", "users", [user_region: "region", user_id: "id"], "posts_users_fk_con")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            context.setIGetCurrentTenantIdFunctionInvocationFactory({ "get_current_tenant_id()" } as IGetCurrentTenantIdFunctionInvocationFactory)
+            def isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer = Mock(IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def tested = new IsRecordBelongsToCurrentTenantConstraintSQLDefinitionsEnricher(isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer)
+            def prefix = schema == null ? "" : schema + "."
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * isRecordBelongsToCurrentTenantConstraintSQLDefinitionsProducer.produce(_)
+            result.getSqlDefinitions().collect { it.getCreateScript() } == [
+                    "CREATE OR REPLACE FUNCTION ${prefix}posts_users_fk_con() RETURNS TRIGGER AS \$\$\nBEGIN\n\tIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.user_id IS NOT NULL AND nr.user_region IS NOT NULL AND NOT EXISTS (SELECT 1 FROM ${prefix}users rt WHERE rt.id = nr.user_id AND rt.region = nr.user_region AND rt.tenant = ${expectedCurrentTenant})) THEN\n\t\tRAISE EXCEPTION 'Rows of table % refer to records that do not belong to the current tenant (%)', TG_TABLE_NAME, TG_NAME USING ERRCODE = 'foreign_key_violation';\n\tEND IF;\n\tRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;".toString(),
+                    "CREATE TRIGGER posts_users_fk_con_insert AFTER INSERT ON ${prefix}posts REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE ${prefix}posts_users_fk_con();".toString(),
+                    "CREATE TRIGGER posts_users_fk_con_update AFTER UPDATE ON ${prefix}posts REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE PROCEDURE ${prefix}posts_users_fk_con();".toString()
+            ]
+            result.getSqlDefinitions().collect { it.getDropScript() } == [
+                    "DROP FUNCTION IF EXISTS ${prefix}posts_users_fk_con();".toString(),
+                    "DROP TRIGGER IF EXISTS posts_users_fk_con_insert ON ${prefix}posts;".toString(),
+                    "DROP TRIGGER IF EXISTS posts_users_fk_con_update ON ${prefix}posts;".toString()
+            ]
+
+        where:
+            schema          |   subquery    ||  expectedCurrentTenant
+            null            |   false       ||  "get_current_tenant_id()"
+            "public"        |   false       ||  "get_current_tenant_id()"
+            "some_schema"   |   true        ||  "(SELECT get_current_tenant_id())"
+    }
+
     TableKey tk(String table, String schema)
     {
         new TableKey(table, schema)
@@ -2,11 +2,13 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.IsRecordBelongsToCurrentTenantFunctionDefinitionProducer
+import com.github.starnowski.posmulten.postgresql.core.context.SameTenantConstraintForForeignKeyStrategyEnum
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
 import com.github.starnowski.posmulten.postgresql.core.context.TableKey
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingFunctionNameDeclarationForTableException
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IGetCurrentTenantIdFunctionInvocationFactory
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsRecordBelongsToCurrentTenantFunctionDefinition
+import com.github.starnowski.posmulten.postgresql.core.rls.function.SubqueryGetCurrentTenantIdFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -93,6 +95,36 @@ class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricherTest extends Spec
             schema << [null, "public", "some_schema"]
     }
 
+    @Unroll
+    def "should pass factory that wraps current tenant identifier in subquery when such option was requested for schema #schema"()
+    {
+        given:
+            def builder = prepareBuilder(schema)
+            builder.setCurrentTenantIdAsSubquery(true)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def iGetCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            iGetCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> "get_current_tenant_id()"
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(iGetCurrentTenantIdFunctionInvocationFactory)
+            def isRecordBelongsToCurrentTenantFunctionDefinitionProducer = Mock(IsRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+            def tested = new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(isRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+            def capturedFactories = []
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(_, _, _, _, _, schema) >> { arguments ->
+                capturedFactories.add(arguments[3])
+                Mock(IsRecordBelongsToCurrentTenantFunctionDefinition)
+            }
+            capturedFactories.every { it instanceof SubqueryGetCurrentTenantIdFunctionInvocationFactory }
+            capturedFactories.every { it.returnGetCurrentTenantIdFunctionInvocation() == "(SELECT get_current_tenant_id())" }
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
     @Unroll
     def "should not create any sql definitions when there is no request for constraint creation in #schema"()
     {
@@ -121,6 +153,29 @@ class IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricherTest extends Spec
             schema << [null, "public", "some_schema"]
     }
 
+    @Unroll
+    def "should not create any sql definitions when #strategy strategy is used in #schema"()
+    {
+        given:
+            def builder = prepareBuilder(schema)
+            builder.setSameTenantConstraintForForeignKeyStrategy(strategy)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def isRecordBelongsToCurrentTenantFunctionDefinitionProducer = Mock(IsRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+            def tested = new IsRecordBelongsToCurrentTenantFunctionDefinitionsEnricher(isRecordBelongsToCurrentTenantFunctionDefinitionProducer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            0 * isRecordBelongsToCurrentTenantFunctionDefinitionProducer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+            result.getTableKeysIsRecordBelongsToCurrentTenantFunctionInvocationFactoryMap().isEmpty()
+
+        where:
+            [schema, strategy] << [[null, "public", "some_schema"], [SameTenantConstraintForForeignKeyStrategyEnum.COMPOSITE_FOREIGN_KEY, SameTenantConstraintForForeignKeyStrategyEnum.STATEMENT_LEVEL_TRIGGER]].combinations()
+    }
+
     @Unroll
     def "should throw an exception when there missing the function name declaration for table #table and schema #schema"()
     {
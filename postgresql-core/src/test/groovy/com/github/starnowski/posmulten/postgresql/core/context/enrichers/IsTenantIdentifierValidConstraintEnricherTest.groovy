@@ -233,6 +233,43 @@ class IsTenantIdentifierValidConstraintEnricherTest extends Specification {
             "some_schema"   |   [new Pair("users", null), new Pair("leads", null)]          ||  [tp("tenant_identifier_valid", "leads", "some_schema", DEFAULT_TENANT_ID_COLUMN), tp("tenant_identifier_valid", "users", "some_schema", DEFAULT_TENANT_ID_COLUMN)]
     }
 
+    @Unroll
+    def "should pass NOT VALID option to the producer and add statements that validate constraints (#addConstraintsAsNotValid) for schema #schema"()
+    {
+        given:
+            def builder = (new DefaultSharedSchemaContextBuilder(schema))
+                    .createValidTenantValueConstraint(["ADFZ", "DFZCXVZ"], null, null)
+                    .setAddConstraintsAsNotValid(addConstraintsAsNotValid)
+            builder.createRLSPolicyForTable("users", [:], "tenant_id", null)
+            builder.createRLSPolicyForTable("leads", [:], "t_xxx", null)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            context.setIIsTenantValidFunctionInvocationFactory(Mock(IIsTenantValidFunctionInvocationFactory))
+            List<IIsTenantIdentifierValidConstraintProducerParameters> capturedParameters = new ArrayList<>()
+            def producer = Mock(IsTenantIdentifierValidConstraintProducer)
+            IsTenantIdentifierValidConstraintEnricher tested = new IsTenantIdentifierValidConstraintEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            2 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters.add(parameters[0])
+                    Mock(SQLDefinition)
+            }
+            expectedValidateStatements.size() * producer.produceValidateConstraintStatement(_) >> { parameters -> "VALIDATE " + parameters[0].getTableName() }
+            capturedParameters.stream().allMatch({ parameters -> parameters.isNotValid() == addConstraintsAsNotValid })
+            result.getSqlDefinitions().size() == 2
+            new HashSet<String>(result.getValidateConstraintStatements()) == new HashSet<String>(expectedValidateStatements)
+
+        where:
+            schema          |   addConstraintsAsNotValid    ||  expectedValidateStatements
+            null            |   false                       ||  []
+            "public"        |   true                        ||  ["VALIDATE users", "VALIDATE leads"]
+            "some_schema"   |   true                        ||  ["VALIDATE users", "VALIDATE leads"]
+    }
+
     static IsTenantIdentifierValidConstraintProducerKey tp(String constraintName, String tableName, String tableSchema, String tenantColumnName)
     {
         new IsTenantIdentifierValidConstraintProducerKey(constraintName, tableName, tableSchema, tenantColumnName)
@@ -1,13 +1,26 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.CreateTenantValuesBlacklistTableStatementProducer
+import com.github.starnowski.posmulten.postgresql.core.GrantTablePrivilegesProducer
+import com.github.starnowski.posmulten.postgresql.core.ICreateTenantValuesBlacklistTableStatementProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.rls.InlinedIsTenantValidInvocationFactory
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IIsTenantValidBasedOnConstantValuesFunctionProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnBlacklistTableFunctionDefinition
+import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnBlacklistTableFunctionProducer
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionDefinition
 import com.github.starnowski.posmulten.postgresql.core.rls.function.IsTenantValidBasedOnConstantValuesFunctionProducer
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.CONSTANT_ARRAY
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.CONSTANT_COMPARISONS
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.INLINED_CONSTRAINT
+import static com.github.starnowski.posmulten.postgresql.core.context.TenantValuesBlacklistStrategyEnum.LOOKUP_TABLE
+
 class IsTenantValidFunctionInvocationFactoryEnricherTest extends Specification {
 
     @Unroll
@@ -40,6 +53,7 @@ class IsTenantValidFunctionInvocationFactoryEnricherTest extends Specification {
             capturedParameters.getBlacklistTenantIds() == new HashSet<String>(blacklist)
             capturedParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
             capturedParameters.getFunctionName() == "is_tenant_identifier_valid"
+            !capturedParameters.isArrayComparison()
 
         where:
             schema          |   blacklist
@@ -91,4 +105,122 @@ class IsTenantValidFunctionInvocationFactoryEnricherTest extends Specification {
             "some_schema"   |   ["BADSF", "DSFZCV"]     |   "tenant_valid"              |   null
             "some_schema"   |   ["10.22", "9990"]       |   "is_t_valid"                |   "ten_const_va"
     }
+
+    @Unroll
+    def "should pass the array comparison flag (#expectedArrayComparison) to the function producer for strategy #strategy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(null)
+            builder.createValidTenantValueConstraint(["ADFZ", "DFZCXVZ"], null, null)
+            builder.setTenantValuesBlacklistStrategy(strategy)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            IIsTenantValidBasedOnConstantValuesFunctionProducerParameters capturedParameters = null
+            def mockedSQLDefinition = Mock(IsTenantValidBasedOnConstantValuesFunctionDefinition)
+            def producer = Mock(IsTenantValidBasedOnConstantValuesFunctionProducer)
+            IsTenantValidFunctionInvocationFactoryEnricher tested = new IsTenantValidFunctionInvocationFactoryEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            1 * producer.produce(_) >>  {
+                parameters ->
+                    capturedParameters = parameters[0]
+                    mockedSQLDefinition
+            }
+            result.getSqlDefinitions() == [mockedSQLDefinition]
+            result.getIIsTenantValidFunctionInvocationFactory().is(mockedSQLDefinition)
+            capturedParameters.isArrayComparison() == expectedArrayComparison
+
+        where:
+            strategy                |   expectedArrayComparison
+            null                    |   false
+            CONSTANT_COMPARISONS    |   false
+            CONSTANT_ARRAY          |   true
+    }
+
+    @Unroll
+    def "should enrich shared schema context with SQL definitions for the table with invalid tenant values and the function that checks the table for schema #schema, table name #tableName and grantee #grantee"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createValidTenantValueConstraint(["ADFZ", "DFZCXVZ"], "is_t_val", null)
+            builder.setTenantValuesBlacklistStrategy(LOOKUP_TABLE)
+            builder.setTenantValuesBlacklistTableName(tableName)
+            builder.setGrantee(grantee)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            ICreateTenantValuesBlacklistTableStatementProducerParameters capturedTableParameters = null
+            IIsTenantValidBasedOnBlacklistTableFunctionProducerParameters capturedFunctionParameters = null
+            def tableSQLDefinition = Mock(SQLDefinition)
+            def grantSQLDefinition = Mock(SQLDefinition)
+            def functionSQLDefinition = Mock(IsTenantValidBasedOnBlacklistTableFunctionDefinition)
+            def constantValuesFunctionProducer = Mock(IsTenantValidBasedOnConstantValuesFunctionProducer)
+            def blacklistTableFunctionProducer = Mock(IsTenantValidBasedOnBlacklistTableFunctionProducer)
+            def tableProducer = Mock(CreateTenantValuesBlacklistTableStatementProducer)
+            def grantProducer = Mock(GrantTablePrivilegesProducer)
+            IsTenantValidFunctionInvocationFactoryEnricher tested = new IsTenantValidFunctionInvocationFactoryEnricher(constantValuesFunctionProducer, blacklistTableFunctionProducer, tableProducer, grantProducer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            0 * constantValuesFunctionProducer.produce(_)
+            1 * tableProducer.produce(_) >> {
+                parameters ->
+                    capturedTableParameters = parameters[0]
+                    tableSQLDefinition
+            }
+            (grantee == null ? 0 : 1) * grantProducer.produce(schema, expectedTableName, grantee, ["SELECT"]) >> grantSQLDefinition
+            1 * blacklistTableFunctionProducer.produce(_) >> {
+                parameters ->
+                    capturedFunctionParameters = parameters[0]
+                    functionSQLDefinition
+            }
+            result.getSqlDefinitions() == (grantee == null ? [tableSQLDefinition, functionSQLDefinition] : [tableSQLDefinition, grantSQLDefinition, functionSQLDefinition])
+            result.getIIsTenantValidFunctionInvocationFactory().is(functionSQLDefinition)
+
+        and: "passed parameters should match request values"
+            capturedTableParameters.getTable() == expectedTableName
+            capturedTableParameters.getSchema() == schema
+            capturedTableParameters.getColumn() == "tenant_id"
+            capturedTableParameters.getColumnType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
+            capturedTableParameters.getBlacklistTenantIds() == new HashSet<String>(["ADFZ", "DFZCXVZ"])
+            capturedFunctionParameters.getFunctionName() == "is_t_val"
+            capturedFunctionParameters.getSchema() == schema
+            capturedFunctionParameters.getBlacklistTable() == expectedTableName
+            capturedFunctionParameters.getBlacklistTableColumn() == "tenant_id"
+            capturedFunctionParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
+
+        where:
+            schema          |   tableName           |   grantee     ||  expectedTableName
+            null            |   null                |   null        ||  "tenant_identifiers_blacklist"
+            "public"        |   "invalid_tenants"   |   "db_user"   ||  "invalid_tenants"
+            "some_schema"   |   null                |   "db_user"   ||  "tenant_identifiers_blacklist"
+    }
+
+    def "should set the inlined expression factory without adding any SQL definition for the inlined constraint strategy"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(null)
+            builder.createValidTenantValueConstraint(["ADFZ", "DFZCXVZ"], null, null)
+            builder.setTenantValuesBlacklistStrategy(INLINED_CONSTRAINT)
+            builder.setCurrentTenantIdPropertyType("VARCHAR(128)")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def constantValuesFunctionProducer = Mock(IsTenantValidBasedOnConstantValuesFunctionProducer)
+            def blacklistTableFunctionProducer = Mock(IsTenantValidBasedOnBlacklistTableFunctionProducer)
+            def tableProducer = Mock(CreateTenantValuesBlacklistTableStatementProducer)
+            IsTenantValidFunctionInvocationFactoryEnricher tested = new IsTenantValidFunctionInvocationFactoryEnricher(constantValuesFunctionProducer, blacklistTableFunctionProducer, tableProducer, Mock(GrantTablePrivilegesProducer))
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), sharedSchemaContextRequest)
+
+        then:
+            0 * constantValuesFunctionProducer.produce(_)
+            0 * blacklistTableFunctionProducer.produce(_)
+            0 * tableProducer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+            result.getIIsTenantValidFunctionInvocationFactory() instanceof InlinedIsTenantValidInvocationFactory
+            ((InlinedIsTenantValidInvocationFactory) result.getIIsTenantValidFunctionInvocationFactory()).getBlacklistTenantIds() == new HashSet<String>(["ADFZ", "DFZCXVZ"])
+            ((InlinedIsTenantValidInvocationFactory) result.getIIsTenantValidFunctionInvocationFactory()).getTenantIdType() == "VARCHAR(128)"
+    }
 }
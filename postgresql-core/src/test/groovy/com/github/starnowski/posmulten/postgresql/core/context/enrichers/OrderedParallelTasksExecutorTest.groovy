@@ -0,0 +1,68 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.ForkJoinPool
+
+class OrderedParallelTasksExecutorTest extends Specification {
+
+    @Unroll
+    def "should return results in the same order as items for pool with parallelism #parallelism"()
+    {
+        given:
+            def pool = parallelism == null ? null : new ForkJoinPool(parallelism)
+            def items = (0..999).collect()
+
+        when:
+            def results = OrderedParallelTasksExecutor.map(pool, items, { item -> "result_" + item })
+
+        then:
+            results == items.collect { "result_" + it }
+
+        cleanup:
+            pool?.shutdown()
+
+        where:
+            parallelism << [null, 1, 2, 8]
+    }
+
+    def "should execute tasks in the threads of the pool"()
+    {
+        given:
+            def pool = new ForkJoinPool(4)
+            def items = (0..99).collect()
+
+        when:
+            def results = OrderedParallelTasksExecutor.map(pool, items, { item -> Thread.currentThread() })
+
+        then:
+            results.every { pool.is(it.getPool()) }
+
+        cleanup:
+            pool.shutdown()
+    }
+
+    def "should rethrow runtime exception thrown by task"()
+    {
+        given:
+            def pool = new ForkJoinPool(4)
+            def items = (0..99).collect()
+
+        when:
+            OrderedParallelTasksExecutor.map(pool, items, { item ->
+                if (item == 50)
+                {
+                    throw new IllegalArgumentException("Invalid item")
+                }
+                item
+            })
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message.contains("Invalid item")
+
+        cleanup:
+            pool.shutdown()
+    }
+}
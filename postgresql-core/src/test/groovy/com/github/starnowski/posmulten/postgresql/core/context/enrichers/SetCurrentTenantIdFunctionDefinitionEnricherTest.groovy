@@ -31,22 +31,28 @@ class SetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             result.getSqlDefinitions().contains(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(mockedSQLDefinition)
+            result.getISetCurrentTenantIdFunctionIndexedParameterInvocationFactory().is(mockedSQLDefinition)
 
         and: "passed parameters should match default values"
                 capturedParameters.getSchema() == sharedSchemaContextRequest.getDefaultSchema()
                 capturedParameters.getCurrentTenantIdProperty() == sharedSchemaContextRequest.getCurrentTenantIdProperty()
                 capturedParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
                 capturedParameters.getFunctionName() == "set_current_tenant_id"
+                !capturedParameters.isTransactionScoped()
+
+        and: "factory of statement that sets the current tenant for the transaction should be set"
+            result.getISetCurrentTenantIdTransactionInvocationFactory().generateStatementThatSetTenantForTransaction("t1") == "SET LOCAL " + sharedSchemaContextRequest.getCurrentTenantIdProperty() + " = 't1';"
     }
 
     @Unroll
-    def "should enrich shared schema context with sql definition for function that sets current tenant id based on defined values for builder, defaultSchema: #defaultSchema, currentTenantIdProperty #urrentTenantIdProperty, currentTenantIdPropertyType #currentTenantIdPropertyType, function name: #functionName"()
+    def "should enrich shared schema context with sql definition for function that sets current tenant id based on defined values for builder, defaultSchema: #defaultSchema, currentTenantIdProperty #urrentTenantIdProperty, currentTenantIdPropertyType #currentTenantIdPropertyType, function name: #functionName, transaction scoped: #transactionScoped"()
     {
         given:
             def builder = new DefaultSharedSchemaContextBuilder(defaultSchema)
             builder.setCurrentTenantIdProperty(currentTenantIdProperty)
             builder.setCurrentTenantIdPropertyType(currentTenantIdPropertyType)
             builder.setSetCurrentTenantIdFunctionName(functionName)
+            builder.setCurrentTenantIdTransactionScoped(transactionScoped)
             def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
             def context = new SharedSchemaContext()
             def capturedParameters = null
@@ -66,17 +72,20 @@ class SetCurrentTenantIdFunctionDefinitionEnricherTest extends Specification {
             result.getSqlDefinitions().contains(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionInvocationFactory().is(mockedSQLDefinition)
             result.getISetCurrentTenantIdFunctionPreparedStatementInvocationFactory().is(mockedSQLDefinition)
+            result.getISetCurrentTenantIdFunctionIndexedParameterInvocationFactory().is(mockedSQLDefinition)
 
         and: "passed parameters should match default values"
             capturedParameters.getSchema() == defaultSchema
             capturedParameters.getCurrentTenantIdProperty() == sharedSchemaContextRequest.getCurrentTenantIdProperty()
             capturedParameters.getArgumentType() == sharedSchemaContextRequest.getCurrentTenantIdPropertyType()
             capturedParameters.getFunctionName() == functionName
+            capturedParameters.isTransactionScoped() == transactionScoped
+            result.getISetCurrentTenantIdTransactionInvocationFactory().generateStatementThatSetTenantForTransaction("t1") == "SET LOCAL " + currentTenantIdProperty + " = 't1';"
 
         where:
-            defaultSchema   |   currentTenantIdProperty |   currentTenantIdPropertyType |   functionName
-            null            |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"
-            "public"        |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"
-            "some_sche1"    |   "posmulte.prop.tenant"  |   "Some_SQL_TYPE"             |   "get_tenant_id"
+            defaultSchema   |   currentTenantIdProperty |   currentTenantIdPropertyType |   functionName            |   transactionScoped
+            null            |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"     |   false
+            "public"        |   "c.tenant_id"           |   "text"                      |   "what_is_tenant_id"     |   true
+            "some_sche1"    |   "posmulte.prop.tenant"  |   "Some_SQL_TYPE"             |   "get_tenant_id"         |   true
     }
 }
@@ -3,10 +3,15 @@ package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
 import com.github.starnowski.posmulten.postgresql.core.context.*
 import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSGranteeDeclarationException
+import com.github.starnowski.posmulten.postgresql.core.rls.InlinedTenantColumnComparisonInvocationFactory
 import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.*
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.TENANT_HAS_AUTHORITIES_FUNCTION
+
 class TableRLSPolicyEnricherTest extends Specification {
 
     @Unroll
@@ -65,6 +70,92 @@ class TableRLSPolicyEnricherTest extends Specification {
             "some_schema"   | "t_column"                |   "admin"
     }
 
+    @Unroll
+    def "should pass the factory that produces inlined tenant column comparison when such strategy was requested, schema #schema, property #property, type #propertyType and subquery #subquery"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setGrantee("core-user")
+            builder.setCurrentTenantIdProperty(property)
+            builder.setCurrentTenantIdPropertyType(propertyType)
+            builder.setRLSPolicyExpressionStrategy(INLINED_TENANT_COLUMN_COMPARISON)
+            builder.setCurrentTenantIdAsSubquery(subquery)
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "posts_policy")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tableRLSPolicySQLDefinitionsProducer = Mock(TableRLSPolicySQLDefinitionsProducer)
+            def tenantHasAuthoritiesFunctionInvocationFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def tested = new TableRLSPolicyEnricher(tableRLSPolicySQLDefinitionsProducer)
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+            ITableRLSPolicySQLDefinitionsProducerParameters capturedParameters = null
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * tableRLSPolicySQLDefinitionsProducer.produce(_) >> { parameters ->
+                capturedParameters = parameters[0]
+                []
+            }
+            capturedParameters.getTableKey() == tk("posts", schema)
+            capturedParameters.getTenantHasAuthoritiesFunctionInvocationFactory() instanceof InlinedTenantColumnComparisonInvocationFactory
+            ((InlinedTenantColumnComparisonInvocationFactory) capturedParameters.getTenantHasAuthoritiesFunctionInvocationFactory()).getCurrentTenantIdProperty() == property
+            ((InlinedTenantColumnComparisonInvocationFactory) capturedParameters.getTenantHasAuthoritiesFunctionInvocationFactory()).getCurrentTenantIdPropertyType() == propertyType
+            ((InlinedTenantColumnComparisonInvocationFactory) capturedParameters.getTenantHasAuthoritiesFunctionInvocationFactory()).isSubquery() == subquery
+
+        where:
+            schema          |   property                |   propertyType    |   subquery
+            null            |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   false
+            "public"        |   "c.c_ten"               |   "text"          |   false
+            "some_schema"   |   "pos.tenant"            |   "uuid"          |   false
+            null            |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   true
+            "some_schema"   |   "pos.tenant"            |   "uuid"          |   true
+    }
+
+    @Unroll
+    def "should create separate policies for specific commands instead of the policy for all commands, schema #schema"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.setGrantee("core-user")
+            builder.createRLSPolicyForTable("posts", [:], "tenant", "posts_policy")
+            builder.createRLSPolicyForTableCommand("posts", SELECT, "posts_select_policy", INLINED_TENANT_COLUMN_COMPARISON, null)
+            builder.createRLSPolicyForTableCommand("posts", INSERT, "posts_insert_policy", null, TENANT_HAS_AUTHORITIES_FUNCTION)
+            builder.createRLSPolicyForTableCommand("posts", UPDATE, "posts_update_policy", null, null)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def tableRLSPolicySQLDefinitionsProducer = Mock(TableRLSPolicySQLDefinitionsProducer)
+            def tenantHasAuthoritiesFunctionInvocationFactory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def tested = new TableRLSPolicyEnricher(tableRLSPolicySQLDefinitionsProducer)
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(tenantHasAuthoritiesFunctionInvocationFactory)
+            List<ITableRLSPolicySQLDefinitionsProducerParameters> capturedParameters = []
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            3 * tableRLSPolicySQLDefinitionsProducer.produce(_) >> { parameters ->
+                capturedParameters.add(parameters[0])
+                []
+            }
+            capturedParameters.collect { it.getPolicyName() } == ["posts_select_policy", "posts_insert_policy", "posts_update_policy"]
+            capturedParameters.collect { it.getPermissionCommandPolicy() } == [SELECT, INSERT, UPDATE]
+            capturedParameters.every { it.getTableKey() == tk("posts", schema) && it.getTenantIdColumn() == "tenant" && it.getGrantee() == "core-user" && it.getTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory) }
+
+        and: "select policy should use the inlined tenant column comparison for the USING expression"
+            capturedParameters[0].getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory() instanceof InlinedTenantColumnComparisonInvocationFactory
+            capturedParameters[0].getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory)
+
+        and: "policies without specified strategy should use the default component"
+            capturedParameters[1].getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory)
+            capturedParameters[1].getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory)
+            capturedParameters[2].getUsingExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory)
+            capturedParameters[2].getWithCheckExpressionTenantHasAuthoritiesFunctionInvocationFactory().is(tenantHasAuthoritiesFunctionInvocationFactory)
+
+        where:
+            schema << [null, "public", "some_schema"]
+    }
+
     @Unroll
     def "should not create any sql definitions when there is no request for rls policy in #schema"()
     {
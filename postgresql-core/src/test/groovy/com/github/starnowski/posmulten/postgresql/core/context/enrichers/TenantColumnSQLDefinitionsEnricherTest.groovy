@@ -41,9 +41,13 @@ class TenantColumnSQLDefinitionsEnricherTest extends Specification {
             def result = tested.enrich(context, sharedSchemaContextRequest)
 
         then:
-            1 * singleTenantColumnSQLDefinitionsProducer.produce(usersTableKey, usersTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType()) >> [usersTableSQLDefinition1, usersTableSQLDefinition2]
-            1 * singleTenantColumnSQLDefinitionsProducer.produce(commentsTableKey, commentsTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType()) >> [commentsTableSQLDefinition1]
-            0 * singleTenantColumnSQLDefinitionsProducer.produce(someTableKey, someTableColumns, _, _)
+            1 * singleTenantColumnSQLDefinitionsProducer.produce(usersTableKey, usersTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType(), TenantColumnRolloutStrategyEnum.DEFAULT, null, null) >> [usersTableSQLDefinition1, usersTableSQLDefinition2]
+            1 * singleTenantColumnSQLDefinitionsProducer.produce(commentsTableKey, commentsTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType(), TenantColumnRolloutStrategyEnum.DEFAULT, null, null) >> [commentsTableSQLDefinition1]
+            0 * singleTenantColumnSQLDefinitionsProducer.produce(someTableKey, someTableColumns, _, _, _, _, _)
+            0 * singleTenantColumnSQLDefinitionsProducer.produceValidateStatements(_, _, _, _)
+            0 * singleTenantColumnSQLDefinitionsProducer.producePostValidateStatements(_, _, _, _)
+            result.getValidateConstraintStatements().isEmpty()
+            result.getPostValidateConstraintStatements().isEmpty()
 
             result.getSqlDefinitions().contains(usersTableSQLDefinition1)
             result.getSqlDefinitions().contains(usersTableSQLDefinition2)
@@ -56,6 +60,55 @@ class TenantColumnSQLDefinitionsEnricherTest extends Specification {
             schema << [null, "public", "some_schema"]
     }
 
+    @Unroll
+    def "should enrich shared schema context with sql definitions and validate statements for online rollout of the tenant column with schema #schema and value for existing rows #valueForExistingRows"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("users", [:], "tenant", "user_policy")
+            builder.createTenantColumnForTable("users")
+            builder.createRLSPolicyForTable("comments", [:], "tenant_id", "comments_policy")
+            builder.createTenantColumnForTable("comments")
+            builder.setTenantColumnRolloutStrategy(TenantColumnRolloutStrategyEnum.ONLINE)
+            builder.setTenantColumnValueForExistingRows(valueForExistingRows)
+            builder.registerCustomTenantColumnNotNullConstraintNameForTable("comments", "comments_tenant_nn")
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def usersTableSQLDefinition = Mock(SQLDefinition)
+            def commentsTableSQLDefinition = Mock(SQLDefinition)
+            def singleTenantColumnSQLDefinitionsProducer = Mock(SingleTenantColumnSQLDefinitionsProducer)
+            def tested = new TenantColumnSQLDefinitionsEnricher(singleTenantColumnSQLDefinitionsProducer)
+            def usersTableKey = tk("users", schema)
+            def commentsTableKey = tk("comments", schema)
+            ITableColumns usersTableColumns = sharedSchemaContextRequest.getTableColumnsList().get(usersTableKey)
+            ITableColumns commentsTableColumns = sharedSchemaContextRequest.getTableColumnsList().get(commentsTableKey)
+
+        when:
+            def result = tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * singleTenantColumnSQLDefinitionsProducer.produce(usersTableKey, usersTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType(), TenantColumnRolloutStrategyEnum.ONLINE, valueForExistingRows, null) >> [usersTableSQLDefinition]
+            1 * singleTenantColumnSQLDefinitionsProducer.produce(commentsTableKey, commentsTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), sharedSchemaContextRequest.getCurrentTenantIdPropertyType(), TenantColumnRolloutStrategyEnum.ONLINE, valueForExistingRows, "comments_tenant_nn") >> [commentsTableSQLDefinition]
+            1 * singleTenantColumnSQLDefinitionsProducer.produceValidateStatements(usersTableKey, usersTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), null) >> ["VALIDATE USERS;"]
+            1 * singleTenantColumnSQLDefinitionsProducer.produceValidateStatements(commentsTableKey, commentsTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), "comments_tenant_nn") >> ["VALIDATE COMMENTS;"]
+            1 * singleTenantColumnSQLDefinitionsProducer.producePostValidateStatements(usersTableKey, usersTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), null) >> ["SET NOT NULL USERS;", "DROP CHECK USERS;"]
+            1 * singleTenantColumnSQLDefinitionsProducer.producePostValidateStatements(commentsTableKey, commentsTableColumns, sharedSchemaContextRequest.getDefaultTenantIdColumn(), "comments_tenant_nn") >> ["SET NOT NULL COMMENTS;", "DROP CHECK COMMENTS;"]
+            result.getSqlDefinitions().contains(usersTableSQLDefinition)
+            result.getSqlDefinitions().contains(commentsTableSQLDefinition)
+            new HashSet<>(result.getValidateConstraintStatements()) == new HashSet<>(["VALIDATE USERS;", "VALIDATE COMMENTS;"])
+            new HashSet<>(result.getPostValidateConstraintStatements()) == new HashSet<>(["SET NOT NULL USERS;", "DROP CHECK USERS;", "SET NOT NULL COMMENTS;", "DROP CHECK COMMENTS;"])
+
+        and: "the check constraint is dropped after setting of the not null option"
+            result.getPostValidateConstraintStatements().indexOf("SET NOT NULL USERS;") < result.getPostValidateConstraintStatements().indexOf("DROP CHECK USERS;")
+            result.getPostValidateConstraintStatements().indexOf("SET NOT NULL COMMENTS;") < result.getPostValidateConstraintStatements().indexOf("DROP CHECK COMMENTS;")
+
+        where:
+            schema          |   valueForExistingRows
+            null            |   null
+            "public"        |   "legacy_tenant"
+            "some_schema"   |   "xxx"
+    }
+
     @Unroll
     def "should not create any sql definitions when there is no request for creation of the tenant column in #schema"()
     {
@@ -73,7 +126,7 @@ class TenantColumnSQLDefinitionsEnricherTest extends Specification {
             def result = tested.enrich(context, sharedSchemaContextRequest)
 
         then:
-            0 * singleTenantColumnSQLDefinitionsProducer.produce(_, _, _, _)
+            0 * singleTenantColumnSQLDefinitionsProducer.produce(_, _, _, _, _, _, _)
             result.getSqlDefinitions().isEmpty()
 
         where:
@@ -1,5 +1,6 @@
 package com.github.starnowski.posmulten.postgresql.core.context.enrichers
 
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties
 import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
 import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
 import com.github.starnowski.posmulten.postgresql.core.rls.function.EqualsCurrentTenantIdentifierFunctionDefinition
@@ -64,6 +65,8 @@ class TenantHasAuthoritiesFunctionDefinitionEnricherTest extends Specification {
             capturedTenantHasAuthoritiesFunctionProducerParameters.getRLSExpressionArgumentType() == null
             capturedTenantHasAuthoritiesFunctionProducerParameters.getTableArgumentType() == null
             capturedTenantHasAuthoritiesFunctionProducerParameters.getSchemaArgumentType() == null
+            capturedEqualsCurrentTenantIdentifierFunctionProducerParameters.getFunctionMetadataProperties() == null
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getFunctionMetadataProperties() == null
     }
 
     @Unroll
@@ -131,4 +134,36 @@ class TenantHasAuthoritiesFunctionDefinitionEnricherTest extends Specification {
             "some_sche1"    |   "Some_SQL_TYPE"             |   "is_tenant_equal"                           |   null                                ||  "is_tenant_equal"                                   |   "tenant_has_authorities"
     }
 
+    def "should pass function metadata properties defined for builder to both functions"()
+    {
+        given:
+            def functionMetadataProperties = new DefaultFunctionMetadataProperties(true, 2d, "tenant_support")
+            def builder = new DefaultSharedSchemaContextBuilder()
+            builder.setTenantFunctionsMetadataProperties(functionMetadataProperties)
+            def sharedSchemaContextRequest = builder.getSharedSchemaContextRequestCopy()
+            def context = new SharedSchemaContext()
+            def capturedEqualsCurrentTenantIdentifierFunctionProducerParameters = null
+            def capturedTenantHasAuthoritiesFunctionProducerParameters = null
+            def equalsCurrentTenantIdentifierFunctionProducer = Mock(EqualsCurrentTenantIdentifierFunctionProducer)
+            def tenantHasAuthoritiesFunctionProducer = Mock(TenantHasAuthoritiesFunctionProducer)
+            def tested = new TenantHasAuthoritiesFunctionDefinitionEnricher(equalsCurrentTenantIdentifierFunctionProducer, tenantHasAuthoritiesFunctionProducer)
+            context.setIGetCurrentTenantIdFunctionInvocationFactory(Mock(IGetCurrentTenantIdFunctionInvocationFactory))
+
+        when:
+            tested.enrich(context, sharedSchemaContextRequest)
+
+        then:
+            1 * equalsCurrentTenantIdentifierFunctionProducer.produce(_) >>  {
+                parameters ->
+                    capturedEqualsCurrentTenantIdentifierFunctionProducerParameters = parameters[0]
+                    Mock(EqualsCurrentTenantIdentifierFunctionDefinition)
+            }
+            1 * tenantHasAuthoritiesFunctionProducer.produce(_) >>  {
+                parameters ->
+                    capturedTenantHasAuthoritiesFunctionProducerParameters = parameters[0]
+                    Mock(TenantHasAuthoritiesFunctionDefinition)
+            }
+            capturedEqualsCurrentTenantIdentifierFunctionProducerParameters.getFunctionMetadataProperties() == functionMetadataProperties
+            capturedTenantHasAuthoritiesFunctionProducerParameters.getFunctionMetadataProperties() == functionMetadataProperties
+    }
 }
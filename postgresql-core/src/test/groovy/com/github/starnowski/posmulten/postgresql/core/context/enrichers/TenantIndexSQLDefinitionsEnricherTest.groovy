@@ -0,0 +1,185 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.CreateIndexStatementProducer
+import com.github.starnowski.posmulten.postgresql.core.CreateIndexStatementProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantIndexSQLDefinitionsEnricherTest extends Specification {
+
+    @Unroll
+    def "should create sql definitions that create index for tenant column for schema '#schema', default tenant column '#defaultTenantColumn' and concurrently option #concurrently"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+                    .setDefaultTenantIdColumn(defaultTenantColumn)
+                    .setCreateTenantIndexesConcurrently(concurrently)
+                    .createRLSPolicyForTable("users", [id: "bigint"], "ten_col", "users_policy")
+                    .createRLSPolicyForTable("posts", [id: "bigint"], null, "posts_policy")
+                    .createRLSPolicyForTable("groups", [uuid: "uuid"], null, "groups_policy")
+                    .createTenantIndexForTable("users", "users_tenant_idx")
+                    .createTenantIndexForTable("posts", "posts_tenant_idx")
+            def producer = Mock(CreateIndexStatementProducer)
+            def usersSQLDefinition = Mock(SQLDefinition)
+            def postsSQLDefinition = Mock(SQLDefinition)
+            def context = new SharedSchemaContext()
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(new CreateIndexStatementProducerParameters("users_tenant_idx", "users", schema, ["ten_col"], false, concurrently)) >> usersSQLDefinition
+            1 * producer.produce(new CreateIndexStatementProducerParameters("posts_tenant_idx", "posts", schema, [defaultTenantColumn], false, concurrently)) >> postsSQLDefinition
+            0 * producer.produce(_)
+            result.getSqlDefinitions().size() == 2
+            result.getSqlDefinitions().contains(usersSQLDefinition)
+            result.getSqlDefinitions().contains(postsSQLDefinition)
+
+        where:
+            schema          |   defaultTenantColumn |   concurrently
+            null            |   "tenant_id"         |   false
+            "public"        |   "tenant"            |   true
+            "some_schema"   |   "t_column"          |   false
+    }
+
+    @Unroll
+    def "should create sql definitions that create composite index for tenant column and primary key columns #primaryKeys for schema '#schema'"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+                    .createRLSPolicyForTable("comments", primaryKeys, "tenant", "comments_policy")
+                    .createTenantIndexForTable("comments", "comments_tenant_idx", "comments_tenant_pk_idx")
+            def producer = Mock(CreateIndexStatementProducer)
+            def tenantIndexSQLDefinition = Mock(SQLDefinition)
+            def compositeIndexSQLDefinition = Mock(SQLDefinition)
+            def context = new SharedSchemaContext()
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(new CreateIndexStatementProducerParameters("comments_tenant_idx", "comments", schema, ["tenant"], false, false)) >> tenantIndexSQLDefinition
+            1 * producer.produce(new CreateIndexStatementProducerParameters("comments_tenant_pk_idx", "comments", schema, expectedColumns, false, false)) >> compositeIndexSQLDefinition
+            result.getSqlDefinitions() == [tenantIndexSQLDefinition, compositeIndexSQLDefinition]
+
+        where:
+            schema          |   primaryKeys                                                 ||  expectedColumns
+            null            |   [id: "int"]                 ||  ["tenant", "id"]
+            "public"        |   [id: "int", user_id: "bigint"]  ||  ["tenant", "id", "user_id"]
+    }
+
+    def "should not create composite index when table does not have primary key columns"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("users_groups", [:], "tenant_id", "users_groups_policy")
+                    .createTenantIndexForTable("users_groups", "users_groups_tenant_idx", "users_groups_tenant_pk_idx")
+            def producer = Mock(CreateIndexStatementProducer)
+            def tenantIndexSQLDefinition = Mock(SQLDefinition)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(new CreateIndexStatementProducerParameters("users_groups_tenant_idx", "users_groups", null, ["tenant_id"], false, false)) >> tenantIndexSQLDefinition
+            0 * producer.produce(_)
+            result.getSqlDefinitions() == [tenantIndexSQLDefinition]
+    }
+
+    @Unroll
+    def "should create unique index for tenant column and primary key columns in table referenced by foreign key for schema '#schema' and concurrently option #concurrently"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+                    .setCreateTenantIndexesConcurrently(concurrently)
+                    .createRLSPolicyForTable("users", [id: "bigint"], "ten_col", "users_policy")
+                    .createRLSPolicyForTable("comments", [id: "int", user_id: "bigint"], null, "comments_policy")
+                    .createRLSPolicyForTable("posts", [id: "bigint"], null, "posts_policy")
+                    .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk_cu", "users_tenant_pk_uidx")
+                    .createSameTenantConstraintForForeignKey("comments", "comments", [parent_id: "id", parent_user_id: "user_id"], "comments_parent_fk_cu", "comments_tenant_pk_uidx")
+                    .createSameTenantConstraintForForeignKey("comments", "posts", [post_id: "id"], "comments_posts_fk_cu")
+            def producer = Mock(CreateIndexStatementProducer)
+            def usersSQLDefinition = Mock(SQLDefinition)
+            def commentsSQLDefinition = Mock(SQLDefinition)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(new CreateIndexStatementProducerParameters("users_tenant_pk_uidx", "users", schema, ["ten_col", "id"], true, concurrently)) >> usersSQLDefinition
+            1 * producer.produce(new CreateIndexStatementProducerParameters("comments_tenant_pk_uidx", "comments", schema, ["tenant_id", "id", "user_id"], true, concurrently)) >> commentsSQLDefinition
+            0 * producer.produce(_)
+            result.getSqlDefinitions().size() == 2
+            result.getSqlDefinitions().contains(usersSQLDefinition)
+            result.getSqlDefinitions().contains(commentsSQLDefinition)
+
+        where:
+            schema          |   concurrently
+            null            |   false
+            "public"        |   true
+            "some_schema"   |   false
+    }
+
+    def "should skip non-unique composite index when unique index for tenant column and primary key columns was requested for the same table"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_policy")
+                    .createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "posts_policy")
+                    .createTenantIndexForTable("users", "users_tenant_idx", "users_tenant_pk_idx")
+                    .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk_cu", "users_tenant_pk_uidx")
+            def producer = Mock(CreateIndexStatementProducer)
+            def tenantIndexSQLDefinition = Mock(SQLDefinition)
+            def uniqueIndexSQLDefinition = Mock(SQLDefinition)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * producer.produce(new CreateIndexStatementProducerParameters("users_tenant_idx", "users", null, ["tenant_id"], false, false)) >> tenantIndexSQLDefinition
+            1 * producer.produce(new CreateIndexStatementProducerParameters("users_tenant_pk_uidx", "users", null, ["tenant_id", "id"], true, false)) >> uniqueIndexSQLDefinition
+            0 * producer.produce(_)
+            result.getSqlDefinitions() == [tenantIndexSQLDefinition, uniqueIndexSQLDefinition]
+    }
+
+    def "should not create unique index for referenced table without RLS policy declaration"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("posts", [id: "bigint"], "tenant_id", "posts_policy")
+                    .createSameTenantConstraintForForeignKey("posts", "users", [user_id: "id"], "posts_users_fk_cu", "users_tenant_pk_uidx")
+            def producer = Mock(CreateIndexStatementProducer)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should not create any sql definitions when there is no request for tenant index"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("users", [id: "bigint"], "tenant_id", "users_policy")
+            def producer = Mock(CreateIndexStatementProducer)
+            def tested = new TenantIndexSQLDefinitionsEnricher(producer)
+
+        when:
+            def result = tested.enrich(new SharedSchemaContext(), builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * producer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.starnowski.posmulten.postgresql.core.context.enrichers
+
+import com.github.starnowski.posmulten.postgresql.core.CreatePartitionStatementProducer
+import com.github.starnowski.posmulten.postgresql.core.CreatePartitionStatementProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.CreatePartitionedTableStatementProducer
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContext
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.TableRLSPolicySQLDefinitionsProducer
+import com.github.starnowski.posmulten.postgresql.core.context.TableRLSPolicySQLDefinitionsProducerParameters
+import com.github.starnowski.posmulten.postgresql.core.context.TableRLSSettingsSQLDefinitionsProducer
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSGranteeDeclarationException
+import com.github.starnowski.posmulten.postgresql.core.rls.TenantHasAuthoritiesFunctionInvocationFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.HASH
+import static com.github.starnowski.posmulten.postgresql.core.PartitionStrategyEnum.LIST
+
+class TenantPartitioningSQLDefinitionsEnricherTest extends Specification {
+
+    def createPartitionedTableStatementProducer = Mock(CreatePartitionedTableStatementProducer)
+    def createPartitionStatementProducer = Mock(CreatePartitionStatementProducer)
+    def tableRLSSettingsSQLDefinitionsProducer = Mock(TableRLSSettingsSQLDefinitionsProducer)
+    def tableRLSPolicySQLDefinitionsProducer = Mock(TableRLSPolicySQLDefinitionsProducer)
+    def tested = new TenantPartitioningSQLDefinitionsEnricher(createPartitionedTableStatementProducer, createPartitionStatementProducer, tableRLSSettingsSQLDefinitionsProducer, tableRLSPolicySQLDefinitionsProducer)
+
+    @Unroll
+    def "should create partitioned table and list partitions with row level security policies for schema '#schema' and force row level security option #forceRLS"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+                    .setGrantee("db_user")
+                    .setForceRowLevelSecurityForTableOwner(forceRLS)
+                    .createRLSPolicyForTable("users", [id: "bigint"], "ten_col", "users_policy")
+                    .createTenantListPartitioningForTable("users", "users_template", [tenant_a: "users_tenant_a", tenant_b: "users_tenant_b"], "users_other")
+            def factory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def context = new SharedSchemaContext()
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(factory)
+            def partitionedTableDefinition = Mock(SQLDefinition)
+            def partitionDefinitions = ["users_tenant_a", "users_tenant_b", "users_other"].collectEntries { [(it): Mock(SQLDefinition)] }
+            def rlsSettingsDefinitions = ["users_tenant_a", "users_tenant_b", "users_other"].collectEntries { [(it): Mock(SQLDefinition)] }
+            def policyDefinitions = ["users_tenant_a", "users_tenant_b", "users_other"].collectEntries { [(it): Mock(SQLDefinition)] }
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            1 * createPartitionedTableStatementProducer.produce({ it.getTable() == "users" && it.getSchema() == schema && it.getTemplateTable() == "users_template" && it.getPartitionStrategy() == LIST && it.getPartitionColumn() == "ten_col" }) >> partitionedTableDefinition
+            1 * createPartitionStatementProducer.produce(new CreatePartitionStatementProducerParameters("users_tenant_a", "users", schema, LIST, ["tenant_a"], 0, 0, false)) >> partitionDefinitions["users_tenant_a"]
+            1 * createPartitionStatementProducer.produce(new CreatePartitionStatementProducerParameters("users_tenant_b", "users", schema, LIST, ["tenant_b"], 0, 0, false)) >> partitionDefinitions["users_tenant_b"]
+            1 * createPartitionStatementProducer.produce(new CreatePartitionStatementProducerParameters("users_other", "users", schema, LIST, null, 0, 0, true)) >> partitionDefinitions["users_other"]
+            1 * tableRLSSettingsSQLDefinitionsProducer.produce(new TableKey("users_tenant_a", schema), forceRLS) >> [rlsSettingsDefinitions["users_tenant_a"]]
+            1 * tableRLSPolicySQLDefinitionsProducer.produce(new TableRLSPolicySQLDefinitionsProducerParameters("db_user", new TableKey("users_tenant_a", schema), "users_policy", factory, "ten_col", "tenant_id")) >> [policyDefinitions["users_tenant_a"]]
+            1 * tableRLSSettingsSQLDefinitionsProducer.produce(new TableKey("users_tenant_b", schema), forceRLS) >> [rlsSettingsDefinitions["users_tenant_b"]]
+            1 * tableRLSPolicySQLDefinitionsProducer.produce(new TableRLSPolicySQLDefinitionsProducerParameters("db_user", new TableKey("users_tenant_b", schema), "users_policy", factory, "ten_col", "tenant_id")) >> [policyDefinitions["users_tenant_b"]]
+            1 * tableRLSSettingsSQLDefinitionsProducer.produce(new TableKey("users_other", schema), forceRLS) >> [rlsSettingsDefinitions["users_other"]]
+            1 * tableRLSPolicySQLDefinitionsProducer.produce(new TableRLSPolicySQLDefinitionsProducerParameters("db_user", new TableKey("users_other", schema), "users_policy", factory, "ten_col", "tenant_id")) >> [policyDefinitions["users_other"]]
+            result.getSqlDefinitions() == [partitionedTableDefinition,
+                                           partitionDefinitions["users_tenant_a"], rlsSettingsDefinitions["users_tenant_a"], policyDefinitions["users_tenant_a"],
+                                           partitionDefinitions["users_tenant_b"], rlsSettingsDefinitions["users_tenant_b"], policyDefinitions["users_tenant_b"],
+                                           partitionDefinitions["users_other"], rlsSettingsDefinitions["users_other"], policyDefinitions["users_other"]]
+
+        where:
+            schema          |   forceRLS
+            null            |   false
+            "public"        |   true
+            "some_schema"   |   false
+    }
+
+    @Unroll
+    def "should create #partitionsCount hash partitions for already partitioned table in schema '#schema' when template table was not specified"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder(schema)
+                    .setGrantee("db_user")
+                    .setDefaultTenantIdColumn("tenant")
+                    .createRLSPolicyForTable("posts", [id: "bigint"], null, "posts_policy")
+                    .createTenantHashPartitioningForTable("posts", null, partitionsCount, "posts_p")
+            def factory = Mock(TenantHasAuthoritiesFunctionInvocationFactory)
+            def context = new SharedSchemaContext()
+            context.setTenantHasAuthoritiesFunctionInvocationFactory(factory)
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * createPartitionedTableStatementProducer.produce(_)
+            partitionsCount * createPartitionStatementProducer.produce({ it.getTable() == "posts" && it.getSchema() == schema && it.getPartitionStrategy() == HASH && it.getModulus() == partitionsCount && it.getPartitionName() == "posts_p" + it.getRemainder() }) >> Mock(SQLDefinition)
+            partitionsCount * tableRLSSettingsSQLDefinitionsProducer.produce({ it.getSchema() == schema && it.getTable().startsWith("posts_p") }, false) >> [Mock(SQLDefinition)]
+            partitionsCount * tableRLSPolicySQLDefinitionsProducer.produce({ it.getGrantee() == "db_user" && it.getPolicyName() == "posts_policy" && it.getTenantHasAuthoritiesFunctionInvocationFactory() == factory && it.getTenantIdColumn() == "tenant" && it.getTableKey().getTable().startsWith("posts_p") }) >> [Mock(SQLDefinition)]
+            result.getSqlDefinitions().size() == partitionsCount * 3
+
+        where:
+            schema          |   partitionsCount
+            null            |   1
+            "public"        |   4
+            "some_schema"   |   8
+    }
+
+    def "should not create any sql definitions when there are no tables that require tenant partitioning"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("users", [id: "bigint"], null, "users_policy")
+            def context = new SharedSchemaContext()
+
+        when:
+            def result = tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            0 * createPartitionedTableStatementProducer.produce(_)
+            0 * createPartitionStatementProducer.produce(_)
+            0 * tableRLSSettingsSQLDefinitionsProducer.produce(_, _)
+            0 * tableRLSPolicySQLDefinitionsProducer.produce(_)
+            result.getSqlDefinitions().isEmpty()
+    }
+
+    def "should throw exception when grantee was not defined"()
+    {
+        given:
+            def builder = new DefaultSharedSchemaContextBuilder()
+                    .createRLSPolicyForTable("users", [id: "bigint"], null, "users_policy")
+                    .createTenantHashPartitioningForTable("users", null, 2, "users_p")
+            def context = new SharedSchemaContext()
+
+        when:
+            tested.enrich(context, builder.getSharedSchemaContextRequestCopy())
+
+        then:
+            def ex = thrown(MissingRLSGranteeDeclarationException)
+
+        and: "exception should have correct message"
+            ex.message == "No grantee was defined for row level security policy"
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredCommandRLSPolicyException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.INSERT
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.SELECT
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSPolicyExpressionStrategyEnum.INLINED_TENANT_COLUMN_COMPARISON
+
+class CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidatorTest extends Specification {
+
+    def tested = new CreateCommandRLSPolicyTableMappingSharedSchemaContextRequestValidator()
+
+    @Unroll
+    def "should not throw any exception when all tables that required command rls policies has reference in map for tables that required rls policy creation, schema #schema and tables #tables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : tables)
+            {
+                builder.createRLSPolicyForTable(table, [id: "bigint"], null, null)
+                builder.createRLSPolicyForTableCommand(table, SELECT, table + "_select_policy", null, null)
+            }
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            noExceptionThrown()
+
+        where:
+            schema          |   tables
+            null            |   ["users"]
+            null            |   ["users", "posts"]
+            "some_schema"   |   ["users", "comments"]
+            "some_schema"   |   []
+    }
+
+    @Unroll
+    def "should throw exception when there is missing rls policy declaration for table #tableRequiredCommandPolicy in schema #schema for which RLS policy for specific command was requested when there are only rls policy declaration for tables #rlsTables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : rlsTables)
+            {
+                builder.createRLSPolicyForTable(table, [id: null], null, null)
+            }
+            builder.createRLSPolicyForTableCommand(tableRequiredCommandPolicy, INSERT, "insert_policy", INLINED_TENANT_COLUMN_COMPARISON, null)
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableThatRequiredCommandRLSPolicyException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        and: "exception should have correctly set table key"
+            ex.tableKey == new TableKey(tableRequiredCommandPolicy, schema)
+
+        where:
+            schema          |   tableRequiredCommandPolicy    |   rlsTables                   ||   expectedMessage
+            null            |   "comments"                          |   ["users", "company"]        ||  "Missing RLS policy declaration for table comments in schema null for which RLS policy for specific command was requested"
+            "some_schema"   |   "users"                             |   ["posts", "company"]        ||  "Missing RLS policy declaration for table users in schema some_schema for which RLS policy for specific command was requested"
+    }
+}
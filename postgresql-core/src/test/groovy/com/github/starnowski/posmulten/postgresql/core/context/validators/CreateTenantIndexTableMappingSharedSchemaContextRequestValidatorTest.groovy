@@ -0,0 +1,96 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CreateTenantIndexTableMappingSharedSchemaContextRequestValidatorTest extends Specification {
+
+    def tested = new CreateTenantIndexTableMappingSharedSchemaContextRequestValidator()
+
+    @Unroll
+    def "should not throw any exception when all tables that required tenant index creation has reference in map for tables that required rls policy creation, schema #schema and tables #tables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : tables)
+            {
+                builder.createRLSPolicyForTable(table, [id: "bigint"], null, null)
+                builder.createTenantIndexForTable(table, table + "_tenant_idx")
+            }
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            noExceptionThrown()
+
+        where:
+            schema          |   tables
+            null            |   ["users"]
+            null            |   ["users", "posts"]
+            "some_schema"   |   ["users", "comments"]
+            "some_schema"   |   []
+    }
+
+    @Unroll
+    def "should throw exception when there is missing rls policy declaration for table #tableRequiredTenantIndexCreation in schema #schema for which creation of tenant index was requested when there are only rls policy declaration for tables #rlsTables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : rlsTables)
+            {
+                builder.createRLSPolicyForTable(table, [id: null], null, null)
+            }
+            builder.createTenantIndexForTable(tableRequiredTenantIndexCreation, "some_idx")
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        and: "exception should have correctly set table key"
+            ex.tableKey == new TableKey(tableRequiredTenantIndexCreation, schema)
+
+        where:
+            schema          |   tableRequiredTenantIndexCreation    |   rlsTables                   ||   expectedMessage
+            null            |   "comments"                          |   ["users", "company"]        ||  "Missing RLS policy declaration for table comments in schema null for which creation of tenant index was requested"
+            "some_schema"   |   "users"                             |   ["posts", "company"]        ||  "Missing RLS policy declaration for table users in schema some_schema for which creation of tenant index was requested"
+    }
+
+    @Unroll
+    def "should throw exception when there is missing rls policy declaration for table #referencedTable in schema #schema for which creation of tenant unique index was requested"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            builder.createRLSPolicyForTable("posts", [id: "bigint"], null, null)
+            builder.createSameTenantConstraintForForeignKey("posts", referencedTable, [user_id: "id"], "posts_fk_cu", "some_uidx")
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableThatRequiredTenantIndexCreationException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        and: "exception should have correctly set table key"
+            ex.tableKey == new TableKey(referencedTable, schema)
+
+        where:
+            schema          |   referencedTable     ||   expectedMessage
+            null            |   "users"             ||  "Missing RLS policy declaration for table users in schema null for which creation of tenant unique index was requested"
+            "some_schema"   |   "company"           ||  "Missing RLS policy declaration for table company in schema some_schema for which creation of tenant unique index was requested"
+    }
+}
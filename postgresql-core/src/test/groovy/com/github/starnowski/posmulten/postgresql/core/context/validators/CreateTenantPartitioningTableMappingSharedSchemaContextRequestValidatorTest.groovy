@@ -0,0 +1,69 @@
+package com.github.starnowski.posmulten.postgresql.core.context.validators
+
+import com.github.starnowski.posmulten.postgresql.core.context.DefaultSharedSchemaContextBuilder
+import com.github.starnowski.posmulten.postgresql.core.context.SharedSchemaContextRequest
+import com.github.starnowski.posmulten.postgresql.core.context.TableKey
+import com.github.starnowski.posmulten.postgresql.core.context.exceptions.MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidatorTest extends Specification {
+
+    def tested = new CreateTenantPartitioningTableMappingSharedSchemaContextRequestValidator()
+
+    @Unroll
+    def "should not throw any exception when all tables that required tenant partitioning has reference in map for tables that required rls policy creation, schema #schema and tables #tables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : tables)
+            {
+                builder.createRLSPolicyForTable(table, [id: "bigint"], null, null)
+                builder.createTenantHashPartitioningForTable(table, null, 4, table + "_p")
+            }
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            noExceptionThrown()
+
+        where:
+            schema          |   tables
+            null            |   ["users"]
+            null            |   ["users", "posts"]
+            "some_schema"   |   ["users", "comments"]
+            "some_schema"   |   []
+    }
+
+    @Unroll
+    def "should throw exception when there is missing rls policy declaration for table #tableRequiredTenantPartitioning in schema #schema for which tenant partitioning was requested when there are only rls policy declaration for tables #rlsTables"()
+    {
+        given:
+            DefaultSharedSchemaContextBuilder builder = new DefaultSharedSchemaContextBuilder(schema)
+            for (String table : rlsTables)
+            {
+                builder.createRLSPolicyForTable(table, [id: null], null, null)
+            }
+            builder.createTenantListPartitioningForTable(tableRequiredTenantPartitioning, null, [tenant_a: "tenant_a_partition"], null)
+            SharedSchemaContextRequest request = builder.getSharedSchemaContextRequestCopy()
+
+        when:
+            tested.validate(request)
+
+        then:
+            def ex = thrown(MissingRLSPolicyDeclarationForTableThatRequiredTenantPartitioningException)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        and: "exception should have correctly set table key"
+            ex.tableKey == new TableKey(tableRequiredTenantPartitioning, schema)
+
+        where:
+            schema          |   tableRequiredTenantPartitioning    |   rlsTables                   ||   expectedMessage
+            null            |   "comments"                          |   ["users", "company"]        ||  "Missing RLS policy declaration for table comments in schema null for which tenant partitioning was requested"
+            "some_schema"   |   "users"                             |   ["posts", "company"]        ||  "Missing RLS policy declaration for table users in schema some_schema for which tenant partitioning was requested"
+    }
+}
@@ -31,6 +31,32 @@ abstract class AbstractConstraintProducerTest<X extends IConstraintProducerParam
             "notifications" |   "other_schema"  |    "fk_constraint"        ||  "ALTER TABLE \"other_schema\".\"notifications\" DROP CONSTRAINT IF EXISTS fk_constraint;"   |   /ALTER TABLE "other_schema"\."notifications" ADD CONSTRAINT fk_constraint CHECK .*;/
     }
 
+    @Unroll
+    def "should return definition with NOT VALID option and statement that validates constraint for table #table and schema #schema with constraint name #constraintName"()
+    {
+        given:
+            def parameters = returnCorrectParametersMockObject()
+            def tested = returnTestedObject()
+
+        when:
+            def definition = tested.produce(parameters)
+            def validateStatement = tested.produceValidateConstraintStatement(parameters)
+
+        then:
+            _ * parameters.getConstraintName() >> constraintName
+            _ * parameters.getTableName() >> table
+            _ * parameters.getTableSchema() >> schema
+            _ * parameters.isNotValid() >> true
+            definition.getCreateScript() ==~ expectedCreateStatementPattern
+            validateStatement == expectedValidateStatement
+
+        where:
+            table           |   schema          |   constraintName          ||  expectedValidateStatement                                                               |   expectedCreateStatementPattern
+            "users"         |   "public"        |    "const_1"              ||  "ALTER TABLE \"public\".\"users\" VALIDATE CONSTRAINT const_1;"                       |   /ALTER TABLE "public"\."users" ADD CONSTRAINT const_1 CHECK .* NOT VALID;/
+            "users"         |   null            |    "constraint_222"       ||  "ALTER TABLE \"users\" VALIDATE CONSTRAINT constraint_222;"                           |   /ALTER TABLE "users" ADD CONSTRAINT constraint_222 CHECK .* NOT VALID;/
+            "notifications" |   "other_schema"  |    "fk_constraint"        ||  "ALTER TABLE \"other_schema\".\"notifications\" VALIDATE CONSTRAINT fk_constraint;"   |   /ALTER TABLE "other_schema"\."notifications" ADD CONSTRAINT fk_constraint CHECK .* NOT VALID;/
+    }
+
     def "should throw an exception of type 'IllegalArgumentException' when the parameters object is null" () {
         when:
             returnTestedObject().produce(null)
@@ -0,0 +1,96 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ForeignKeyConstraintProducerTest extends Specification {
+
+    def tested = new ForeignKeyConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' foreign key constraint to table (#table) and schema (#schema) that references table #referencedTable in schema #referencedSchema"()
+    {
+        given:
+            def parameters = DefaultForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withColumns(columns)
+                    .withReferencedTableName(referencedTable)
+                    .withReferencedTableSchema(referencedSchema)
+                    .withReferencedColumns(referencedColumns)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            constraintName  |   schema      | table     |   columns                         |   referencedSchema    |   referencedTable |   referencedColumns           ||	expectedStatement                                                                                                                                           |   expectedDropStatement
+            "posts_fk"      |   null        | "posts"   |   ["tenant_id", "user_id"]        |   null                |   "users"         |   ["tenant_id", "id"]         ||  "ALTER TABLE \"posts\" ADD CONSTRAINT posts_fk FOREIGN KEY (tenant_id, user_id) REFERENCES \"users\" (tenant_id, id);"                                       |   "ALTER TABLE \"posts\" DROP CONSTRAINT IF EXISTS posts_fk;"
+            "posts_fk"      |   "public"    | "posts"   |   ["tenant", "user_id"]           |   "public"            |   "users"         |   ["tenant_id", "id"]         ||  "ALTER TABLE \"public\".\"posts\" ADD CONSTRAINT posts_fk FOREIGN KEY (tenant, user_id) REFERENCES \"public\".\"users\" (tenant_id, id);"                    |   "ALTER TABLE \"public\".\"posts\" DROP CONSTRAINT IF EXISTS posts_fk;"
+            "comments_fk"   |   "secondary" | "comments"|   ["t", "post_id", "post_region"] |   "other"             |   "posts"         |   ["t", "id", "region"]       ||  "ALTER TABLE \"secondary\".\"comments\" ADD CONSTRAINT comments_fk FOREIGN KEY (t, post_id, post_region) REFERENCES \"other\".\"posts\" (t, id, region);"    |   "ALTER TABLE \"secondary\".\"comments\" DROP CONSTRAINT IF EXISTS comments_fk;"
+    }
+
+    def "should return statement that adds foreign key constraint with NOT VALID option and statement that validates it"()
+    {
+        given:
+            def parameters = DefaultForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName("posts_fk")
+                    .withTableName("posts")
+                    .withTableSchema("public")
+                    .withColumns(["tenant_id", "user_id"])
+                    .withReferencedTableName("users")
+                    .withReferencedTableSchema("public")
+                    .withReferencedColumns(["tenant_id", "id"])
+                    .withNotValid(true)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+            def validateStatement = tested.produceValidateConstraintStatement(parameters)
+
+        then:
+            definition.getCreateScript() == "ALTER TABLE \"public\".\"posts\" ADD CONSTRAINT posts_fk FOREIGN KEY (tenant_id, user_id) REFERENCES \"public\".\"users\" (tenant_id, id) NOT VALID;"
+            definition.getDropScript() == "ALTER TABLE \"public\".\"posts\" DROP CONSTRAINT IF EXISTS posts_fk;"
+            validateStatement == "ALTER TABLE \"public\".\"posts\" VALIDATE CONSTRAINT posts_fk;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' with message '#expectedMessage' when columns are #columns, referenced table is #referencedTable, referenced schema is #referencedSchema and referenced columns are #referencedColumns"()
+    {
+        given:
+            def parameters = DefaultForeignKeyConstraintProducerParameters.builder()
+                    .withConstraintName("posts_fk")
+                    .withTableName("posts")
+                    .withColumns(columns)
+                    .withReferencedTableName(referencedTable)
+                    .withReferencedTableSchema(referencedSchema)
+                    .withReferencedColumns(referencedColumns)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            columns                 |   referencedTable |   referencedSchema    |   referencedColumns       ||  expectedMessage
+            null                    |   "users"         |   null                |   ["tenant", "id"]        ||  "Columns list cannot be null or empty"
+            []                      |   "users"         |   null                |   ["tenant", "id"]        ||  "Columns list cannot be null or empty"
+            ["tenant", " "]         |   "users"         |   null                |   ["tenant", "id"]        ||  "Columns list cannot contain null or blank elements"
+            ["tenant", "user_id"]   |   null            |   null                |   ["tenant", "id"]        ||  "Referenced table name cannot be null"
+            ["tenant", "user_id"]   |   "  "            |   null                |   ["tenant", "id"]        ||  "Referenced table name cannot be empty"
+            ["tenant", "user_id"]   |   "users"         |   " "                 |   ["tenant", "id"]        ||  "Referenced table schema cannot be empty"
+            ["tenant", "user_id"]   |   "users"         |   null                |   null                    ||  "Referenced columns list cannot be null or empty"
+            ["tenant", "user_id"]   |   "users"         |   null                |   ["tenant", null]        ||  "Referenced columns list cannot contain null or blank elements"
+            ["tenant", "user_id"]   |   "users"         |   null                |   ["tenant"]              ||  "Columns list and referenced columns list have to have the same size"
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+
+class InlinedIsTenantValidInvocationFactoryTest extends Specification {
+
+    @Unroll
+    def "should return expression '#expectedExpression' for invalid tenant values #blacklist, type '#type' and argument #argument"()
+    {
+        given:
+            def tested = new InlinedIsTenantValidInvocationFactory(new HashSet<String>(blacklist), type)
+
+        expect:
+            tested.returnIsTenantValidFunctionInvocation(argument) == expectedExpression
+
+        where:
+            blacklist               |   type            |   argument                    ||  expectedExpression
+            ["invalid"]             |   null            |   forReference("tenant_id")   ||  "tenant_id <> ALL (CAST ('{\"invalid\"}' AS text[]))"
+            ["xx", "aa"]            |   "VARCHAR(255)"  |   forReference("tenant")      ||  "tenant <> ALL (CAST ('{\"aa\",\"xx\"}' AS VARCHAR(255)[]))"
+            ["0", "-1"]             |   "bigint"        |   forReference("t_id")        ||  "t_id <> ALL (CAST ('{\"-1\",\"0\"}' AS bigint[]))"
+            ["invalid"]             |   "text"          |   forString("tenant1")        ||  "'tenant1' <> ALL (CAST ('{\"invalid\"}' AS text[]))"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' with message '#expectedMessage' for invalid tenant values #blacklist and type '#type'"()
+    {
+        when:
+            new InlinedIsTenantValidInvocationFactory(blacklist == null ? null : new HashSet<String>(blacklist), type)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == expectedMessage
+
+        where:
+            blacklist       |   type    ||  expectedMessage
+            null            |   null    ||  "The list of invalid value cannot be null"
+            []              |   null    ||  "The list of invalid value cannot be empty"
+            ["invalid"]     |   " "     ||  "Tenant identifier type cannot be blank"
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+import static com.github.starnowski.posmulten.postgresql.core.rls.PermissionCommandPolicyEnum.*
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSExpressionTypeEnum.USING
+import static com.github.starnowski.posmulten.postgresql.core.rls.RLSExpressionTypeEnum.WITH_CHECK
+
+class InlinedTenantColumnComparisonInvocationFactoryTest extends Specification {
+
+    @Unroll
+    def "should generate flat expression '#expectedExpression' for tenant column #tenantColumn, property #property and type #propertyType"()
+    {
+        given:
+            def tested = new InlinedTenantColumnComparisonInvocationFactory(property, propertyType)
+
+        expect:
+            tested.returnTenantHasAuthoritiesFunctionInvocation(forReference(tenantColumn), permissionCommand, expressionType, forString("posts"), forString("public")) == expectedExpression
+
+        where:
+            tenantColumn    |   property                |   propertyType    |   permissionCommand   |   expressionType  ||  expectedExpression
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   ALL                 |   USING           ||  "tenant_id = CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255))"
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  |   ALL                 |   WITH_CHECK      ||  "tenant_id = CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255))"
+            "tenant"        |   "c.c_ten"               |   "text"          |   SELECT              |   USING           ||  "tenant = CAST(current_setting('c.c_ten') AS text)"
+            "ten_col"       |   "pos.tenant"            |   "uuid"          |   INSERT              |   WITH_CHECK      ||  "ten_col = CAST(current_setting('pos.tenant') AS uuid)"
+    }
+
+    @Unroll
+    def "should generate expression '#expectedExpression' with current tenant identifier wrapped in subquery for tenant column #tenantColumn, property #property and type #propertyType"()
+    {
+        given:
+            def tested = new InlinedTenantColumnComparisonInvocationFactory(property, propertyType, true)
+
+        expect:
+            tested.returnTenantHasAuthoritiesFunctionInvocation(forReference(tenantColumn), ALL, USING, forString("posts"), forString("public")) == expectedExpression
+
+        where:
+            tenantColumn    |   property                |   propertyType    ||  expectedExpression
+            "tenant_id"     |   "posmulten.tenant_id"   |   "VARCHAR(255)"  ||  "tenant_id = (SELECT CAST(current_setting('posmulten.tenant_id') AS VARCHAR(255)))"
+            "ten_col"       |   "pos.tenant"            |   "uuid"          ||  "ten_col = (SELECT CAST(current_setting('pos.tenant') AS uuid))"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the property is '#property' and type is '#propertyType'"()
+    {
+        when:
+            new InlinedTenantColumnComparisonInvocationFactory(property, propertyType)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            property                |   propertyType    ||  expectedMessage
+            null                    |   "VARCHAR(255)"  ||  "Current tenant identifier property cannot be null"
+            ""                      |   "VARCHAR(255)"  ||  "Current tenant identifier property cannot be blank"
+            "   "                   |   "VARCHAR(255)"  ||  "Current tenant identifier property cannot be blank"
+            "posmulten.tenant_id"   |   null            ||  "Current tenant identifier property type cannot be null"
+            "posmulten.tenant_id"   |   ""              ||  "Current tenant identifier property type cannot be blank"
+            "posmulten.tenant_id"   |   "  "            ||  "Current tenant identifier property type cannot be blank"
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Unroll
+
+class NotNullConstraintProducerTest extends AbstractConstraintProducerTest<INotNullConstraintProducerParameters, NotNullConstraintProducer> {
+
+    def tested = new NotNullConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' constraint to table (#table) and schema (#schema) for column #column and NOT VALID option #notValid"()
+    {
+        given:
+            def parameters = DefaultNotNullConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withColumnName(column)
+                    .withNotValid(notValid).build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            constraintName          |   schema      | table     |   column      |   notValid    ||	expectedStatement                                                                                               |   expectedDropStatement
+            "users_tenant_nn"       |   null        | "users"   |   "tenant"    |   false       ||  "ALTER TABLE \"users\" ADD CONSTRAINT users_tenant_nn CHECK (tenant IS NOT NULL);"                             |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS users_tenant_nn;"
+            "users_tenant_nn"       |   "public"    | "users"   |   "tenant"    |   true        ||  "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT users_tenant_nn CHECK (tenant IS NOT NULL) NOT VALID;"      |   "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS users_tenant_nn;"
+            "posts_tenant_id_nn"    |   "secondary" | "posts"   |   "tenant_id" |   true        ||  "ALTER TABLE \"secondary\".\"posts\" ADD CONSTRAINT posts_tenant_id_nn CHECK (tenant_id IS NOT NULL) NOT VALID;" |   "ALTER TABLE \"secondary\".\"posts\" DROP CONSTRAINT IF EXISTS posts_tenant_id_nn;"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the column name is null" () {
+        given:
+            def parameters = returnCorrectParametersMockObject()
+
+        when:
+            returnTestedObject().produce(parameters)
+
+        then:
+            _ * parameters.getColumnName() >> null
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Column name cannot be null"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the column name is empty (#column)" () {
+        given:
+            def parameters = returnCorrectParametersMockObject()
+
+        when:
+            returnTestedObject().produce(parameters)
+
+        then:
+            _ * parameters.getColumnName() >> column
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Column name cannot be empty"
+
+        where:
+            column << ["", " ", "          "]
+    }
+
+    @Override
+    protected NotNullConstraintProducer returnTestedObject() {
+        tested
+    }
+
+    @Override
+    protected INotNullConstraintProducerParameters returnCorrectParametersMockObject() {
+        INotNullConstraintProducerParameters mock = Mock(INotNullConstraintProducerParameters)
+        mock.getConstraintName() >> "const_1"
+        mock.getTableName() >> "users"
+        mock.getTableSchema() >> "public"
+        mock.getColumnName() >> "tenant"
+        mock
+    }
+}
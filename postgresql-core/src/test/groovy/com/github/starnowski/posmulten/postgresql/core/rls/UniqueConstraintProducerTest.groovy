@@ -0,0 +1,80 @@
+package com.github.starnowski.posmulten.postgresql.core.rls
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UniqueConstraintProducerTest extends Specification {
+
+    def tested = new UniqueConstraintProducer()
+
+    @Unroll
+    def "should return statement (#expectedStatement) that adds '#constraintName' unique constraint to table (#table) and schema (#schema) for columns #columns"()
+    {
+        given:
+            def parameters = DefaultUniqueConstraintProducerParameters.builder()
+                    .withConstraintName(constraintName)
+                    .withTableName(table)
+                    .withTableSchema(schema)
+                    .withColumns(columns)
+                    .build()
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            constraintName      |   schema      | table     |   columns                             ||	expectedStatement                                                                                       |   expectedDropStatement
+            "users_uk"          |   null        | "users"   |   ["tenant_id", "id"]                 ||  "ALTER TABLE \"users\" ADD CONSTRAINT users_uk UNIQUE (tenant_id, id);"                                 |   "ALTER TABLE \"users\" DROP CONSTRAINT IF EXISTS users_uk;"
+            "users_uk"          |   "public"    | "users"   |   ["tenant", "id"]                    ||  "ALTER TABLE \"public\".\"users\" ADD CONSTRAINT users_uk UNIQUE (tenant, id);"                         |   "ALTER TABLE \"public\".\"users\" DROP CONSTRAINT IF EXISTS users_uk;"
+            "posts_tenant_uk"   |   "secondary" | "posts"   |   ["tenant_id", "id", "region"]       ||  "ALTER TABLE \"secondary\".\"posts\" ADD CONSTRAINT posts_tenant_uk UNIQUE (tenant_id, id, region);"    |   "ALTER TABLE \"secondary\".\"posts\" DROP CONSTRAINT IF EXISTS posts_tenant_uk;"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' when the columns list is #columns"()
+    {
+        given:
+            def parameters = DefaultUniqueConstraintProducerParameters.builder()
+                    .withConstraintName("users_uk")
+                    .withTableName("users")
+                    .withColumns(columns)
+                    .build()
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            columns             ||  expectedMessage
+            null                ||  "Columns list cannot be null or empty"
+            []                  ||  "Columns list cannot be null or empty"
+            ["tenant", null]    ||  "Columns list cannot contain null or blank elements"
+            ["tenant", " "]     ||  "Columns list cannot contain null or blank elements"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the unique constraint should be added with NOT VALID option"()
+    {
+        given:
+            def parameters = Mock(IUniqueConstraintProducerParameters)
+            parameters.getConstraintName() >> "users_uk"
+            parameters.getTableName() >> "users"
+            parameters.getColumns() >> ["tenant_id", "id"]
+            parameters.isNotValid() >> true
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The unique constraint cannot be added with the NOT VALID option"
+    }
+}
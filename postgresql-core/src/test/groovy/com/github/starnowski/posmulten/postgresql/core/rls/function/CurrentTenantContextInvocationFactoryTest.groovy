@@ -0,0 +1,107 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.SQLException
+import java.sql.Statement
+
+class CurrentTenantContextInvocationFactoryTest extends Specification {
+
+    def "should set tenant bound to the current thread for connection as bound parameter"()
+    {
+        given:
+            def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            def connection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            def tested = new CurrentTenantContextInvocationFactory(factory)
+            def tenant = "x'); SELECT set_config('posmulten.tenant_id','victim',false); --"
+
+        when:
+            def result = CurrentTenantContext.callWithTenant(tenant, { tested.applyCurrentContextTenant(connection) })
+
+        then:
+            1 * factory.returnPreparedStatementThatSetCurrentTenant() >> "SELECT set_current_tenant_id(?);"
+            1 * connection.prepareStatement("SELECT set_current_tenant_id(?);") >> statement
+            1 * statement.setString(1, tenant)
+            1 * statement.execute()
+            1 * statement.close()
+            0 * connection.createStatement()
+            result
+    }
+
+    def "should not use connection when there is no tenant bound to the current thread"()
+    {
+        given:
+            def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            def connection = Mock(Connection)
+            def tested = new CurrentTenantContextInvocationFactory(factory)
+
+        when:
+            def result = tested.applyCurrentContextTenant(connection)
+
+        then:
+            0 * factory._
+            0 * connection._
+            !result
+    }
+
+    def "should set tenant bound to the thread that creates statement for wrapped connection"()
+    {
+        given:
+            def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            factory.returnPreparedStatementThatSetCurrentTenant() >> "SELECT set_current_tenant_id(?);"
+            def connection = Mock(Connection)
+            def setTenantStatement = Mock(PreparedStatement)
+            def statement = Mock(Statement)
+            def tested = new CurrentTenantContextInvocationFactory(factory)
+            def wrapped = tested.wrapConnection(connection)
+
+        when:
+            wrapped.getAutoCommit()
+
+        then: "tenant is not applied when connection is not used for statements"
+            1 * connection.getAutoCommit() >> true
+            0 * connection.prepareStatement(_)
+
+        when:
+            def result = CurrentTenantContext.callWithTenant("t2", { wrapped.createStatement() })
+
+        then:
+            1 * connection.prepareStatement("SELECT set_current_tenant_id(?);") >> setTenantStatement
+            1 * setTenantStatement.setString(1, "t2")
+            1 * setTenantStatement.execute()
+
+        then:
+            1 * connection.createStatement() >> statement
+            result == statement
+    }
+
+    def "should throw exception when statement is created for wrapped connection and there is no tenant bound to the current thread"()
+    {
+        given:
+            def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+            def connection = Mock(Connection)
+            def tested = new CurrentTenantContextInvocationFactory(factory)
+            def wrapped = tested.wrapConnection(connection)
+
+        when:
+            wrapped.prepareStatement("SELECT * FROM users")
+
+        then:
+            def ex = thrown(SQLException)
+            ex.message == "There is no tenant bound to the current thread"
+            0 * connection.prepareStatement(_)
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when factory is null"()
+    {
+        when:
+            new CurrentTenantContextInvocationFactory(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "The factory of statement that sets the current tenant cannot be null"
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class CurrentTenantContextTest extends Specification {
+
+    ExecutorService executor = Executors.newSingleThreadExecutor()
+
+    def cleanup()
+    {
+        executor.shutdownNow()
+    }
+
+    def "should bind tenant only for the duration of the task and restore previous tenant"()
+    {
+        given:
+            def tenants = []
+
+        when:
+            CurrentTenantContext.runWithTenant("t1", {
+                tenants << CurrentTenantContext.getCurrentTenant()
+                CurrentTenantContext.runWithTenant("t2", { tenants << CurrentTenantContext.getCurrentTenant() })
+                tenants << CurrentTenantContext.getCurrentTenant()
+                CurrentTenantContext.runWithTenant(null, { tenants << CurrentTenantContext.getCurrentTenant() })
+            })
+
+        then:
+            tenants == ["t1", "t2", "t1", null]
+            CurrentTenantContext.getCurrentTenant() == null
+    }
+
+    def "should restore previous tenant when task throws exception"()
+    {
+        when:
+            CurrentTenantContext.supplyWithTenant("t1", { throw new IllegalStateException("failure") })
+
+        then:
+            thrown(IllegalStateException)
+            CurrentTenantContext.getCurrentTenant() == null
+    }
+
+    def "should return result of task executed with tenant"()
+    {
+        expect:
+            CurrentTenantContext.callWithTenant("t3", { "tenant " + CurrentTenantContext.getCurrentTenant() }) == "tenant t3"
+            CurrentTenantContext.supplyWithTenant("t4", { "tenant " + CurrentTenantContext.getCurrentTenant() }) == "tenant t4"
+    }
+
+    def "should pass tenant captured at the moment of wrapping to the task executed by another thread"()
+    {
+        given:
+            def supplier = CurrentTenantContext.supplyWithTenant("t1", { CurrentTenantContext.wrapSupplier({ CurrentTenantContext.getCurrentTenant() }) })
+            def callable = CurrentTenantContext.supplyWithTenant("t2", { CurrentTenantContext.wrapCallable({ CurrentTenantContext.getCurrentTenant() }) })
+
+        expect:
+            CompletableFuture.supplyAsync(supplier, executor).get() == "t1"
+            executor.submit(callable).get() == "t2"
+
+        and: "tenant should not leak to the next task executed by the same thread"
+            CompletableFuture.supplyAsync({ CurrentTenantContext.getCurrentTenant() }, executor).get() == null
+    }
+
+    def "should pass tenant of the thread that submitted the task to the wrapped executor"()
+    {
+        given:
+            def wrappedExecutor = CurrentTenantContext.wrapExecutor(executor)
+
+        when:
+            def first = CurrentTenantContext.supplyWithTenant("t1", { CompletableFuture.supplyAsync({ CurrentTenantContext.getCurrentTenant() }, wrappedExecutor) })
+            def second = CurrentTenantContext.supplyWithTenant("t2", { CompletableFuture.supplyAsync({ CurrentTenantContext.getCurrentTenant() }, wrappedExecutor) })
+            def third = CompletableFuture.supplyAsync({ CurrentTenantContext.getCurrentTenant() }, wrappedExecutor)
+
+        then:
+            first.get() == "t1"
+            second.get() == "t2"
+            third.get() == null
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.starnowski.posmulten.postgresql.core.rls.function
 
 import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import com.github.starnowski.posmulten.postgresql.core.common.function.metadata.DefaultFunctionMetadataProperties
 import spock.lang.Unroll
 
 class GetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest {
@@ -25,6 +26,55 @@ class GetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             null                    |   "cur_tenant_val"            |   "con.tenant_id"                 |   "VARCHAR(128)"      ||  "CREATE OR REPLACE FUNCTION cur_tenant_val() RETURNS VARCHAR(128) AS \$\$\nSELECT current_setting('con.tenant_id')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
             "public"                |   "give_me_tenant"            |   "pos.tenant"                    |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.give_me_tenant() RETURNS VARCHAR(32) AS \$\$\nSELECT current_setting('pos.tenant')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
             "non_public_schema"     |   "return_current_tenant"     |   "t.id"                          |   "text"              ||  "CREATE OR REPLACE FUNCTION non_public_schema.return_current_tenant() RETURNS text AS \$\$\nSELECT current_setting('t.id')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            null                    |   "get_current_tenant"        |   "c.c_ten"                       |   "uuid"              ||  "CREATE OR REPLACE FUNCTION get_current_tenant() RETURNS uuid AS \$\$\nSELECT CAST(current_setting('c.c_ten') AS uuid)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"                |   "get_current_tenant"        |   "c.c_ten"                       |   "bigint"            ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS bigint AS \$\$\nSELECT CAST(current_setting('c.c_ten') AS bigint)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "non_public_schema"     |   "return_current_tenant"     |   "t.id"                          |   "integer"           ||  "CREATE OR REPLACE FUNCTION non_public_schema.return_current_tenant() RETURNS integer AS \$\$\nSELECT CAST(current_setting('t.id') AS integer)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function with metadata properties, leakproof #leakproof, cost #cost, support function #supportFunction" () {
+        expect:
+            tested.produce(new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant", "c.c_ten", "public", null, new DefaultFunctionMetadataProperties(leakproof, cost, supportFunction))).getCreateScript() == expectedStatement
+
+        where:
+            leakproof   |   cost    |   supportFunction     || expectedStatement
+            null        |   null    |   null                ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            true        |   null    |   null                ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE\nLEAKPROOF;"
+            false       |   null    |   null                ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE\nNOT LEAKPROOF;"
+            true        |   1d      |   null                ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE\nLEAKPROOF\nCOST 1;"
+            null        |   0.5d    |   "tenant_support"    ||  "CREATE OR REPLACE FUNCTION public.get_current_tenant() RETURNS VARCHAR(255) AS \$\$\nSELECT current_setting('c.c_ten')\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE\nCOST 0.5\nSUPPORT tenant_support;"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when function cost is not greater than zero (#cost)"()
+    {
+        when:
+            tested.produce(new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant", "c.c_ten", "public", null, new DefaultFunctionMetadataProperties(true, cost, null)))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Function cost has to be greater than zero"
+
+        where:
+            cost << [0d, -1d, -0.5d]
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when support function is blank ('#supportFunction')"()
+    {
+        when:
+            tested.produce(new GetCurrentTenantIdFunctionProducerParameters("get_current_tenant", "c.c_ten", "public", null, new DefaultFunctionMetadataProperties(null, null, supportFunction)))
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Support function cannot be blank"
+
+        where:
+            supportFunction << ["", " ", "    "]
     }
 
     @Unroll
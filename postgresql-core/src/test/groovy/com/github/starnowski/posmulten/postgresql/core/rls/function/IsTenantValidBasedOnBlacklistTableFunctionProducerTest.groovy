@@ -0,0 +1,75 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import spock.lang.Unroll
+
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forReference
+import static com.github.starnowski.posmulten.postgresql.core.common.function.FunctionArgumentValue.forString
+
+class IsTenantValidBasedOnBlacklistTableFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new IsTenantValidBasedOnBlacklistTableFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' with argument type '#argumentType' (null means 'text') which checks table '#table'" () {
+        expect:
+            tested.produce(new IsTenantValidBasedOnBlacklistTableFunctionProducerParameters(testFunctionName, testSchema, table, column, argumentType)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            |   table                   |   column          |   argumentType        ||  expectedStatement
+            null                    |   "is_tenant_valid"           |   "invalid_tenants"       |   "tenant_id"     |   null                ||  "CREATE OR REPLACE FUNCTION is_tenant_valid(text) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM invalid_tenants WHERE tenant_id = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "public"                |   "valid_tenant"              |   "invalid_tenants"       |   "tenant_id"     |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.valid_tenant(VARCHAR(32)) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM public.invalid_tenants WHERE tenant_id = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+            "schema2"               |   "tenant_is_correct"         |   "blacklist"             |   "id"            |   "INTEGER"           ||  "CREATE OR REPLACE FUNCTION schema2.tenant_is_correct(INTEGER) RETURNS BOOLEAN AS \$\$\nSELECT NOT EXISTS (SELECT 1 FROM schema2.blacklist WHERE id = \$1)\n\$\$ LANGUAGE sql\nSTABLE\nPARALLEL SAFE;"
+    }
+
+    @Unroll
+    def "should generate sql function with name '#testFunctionName' for schema '#testSchema' that returns correct function invocation #expectedInvocation for argument #argument" () {
+        expect:
+            tested.produce(new IsTenantValidBasedOnBlacklistTableFunctionProducerParameters(testFunctionName, testSchema, "invalid_tenants", "tenant_id", null)).returnIsTenantValidFunctionInvocation(argument) == expectedInvocation
+
+        where:
+            testSchema              |   testFunctionName            |   argument                    ||  expectedInvocation
+            null                    |   "is_tenant_valid"           |   forString("sfdadf")         ||  "is_tenant_valid('sfdadf')"
+            "public"                |   "correct_tenant"            |   forReference("col1")        ||  "public.correct_tenant(col1)"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' with message '#expectedMessage' for table '#table', column '#column' and argument type '#argumentType'" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getBlacklistTable() >> table
+            parameters.getBlacklistTableColumn() >> column
+            parameters.getArgumentType() >> argumentType
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table               |   column          |   argumentType    ||  expectedMessage
+            null                |   "tenant_id"     |   null            ||  "The table name cannot be null"
+            "  "                |   "tenant_id"     |   null            ||  "The table name cannot be blank"
+            "invalid_tenants"   |   null            |   null            ||  "The column name cannot be null"
+            "invalid_tenants"   |   ""              |   null            ||  "The column name cannot be blank"
+            "invalid_tenants"   |   "tenant_id"     |   " "             ||  "The argument type cannot be empty"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        new IsTenantValidBasedOnBlacklistTableFunctionProducer()
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(IsTenantValidBasedOnBlacklistTableFunctionProducerParameters, constructorArgs: ["is_tenant_valid",
+                                                                                "public",
+                                                                                "invalid_tenants",
+                                                                                "tenant_id",
+                                                                                "VARCHAR(255)"])
+    }
+}
@@ -26,6 +26,18 @@ class IsTenantValidBasedOnConstantValuesFunctionProducerTest extends AbstractFun
             "schema2"               |   "tenant_is_correct"         |   ["66", "12", "0"]       |   "INTEGER"           ||  "CREATE OR REPLACE FUNCTION schema2.tenant_is_correct(INTEGER) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> CAST ('0' AS INTEGER) AND \$1 <> CAST ('12' AS INTEGER) AND \$1 <> CAST ('66' AS INTEGER)\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
     }
 
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' with argument type '#argumentType' (null means 'text') which compares the value with the array of invalid tenant values'#invalidTenantValues'" () {
+        expect:
+            tested.produce(new IsTenantValidBasedOnConstantValuesFunctionProducerParameters(testFunctionName, testSchema, new HashSet<String>(invalidTenantValues), argumentType, true)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            |   invalidTenantValues     |   argumentType        ||  expectedStatement
+            null                    |   "is_tenant_valid"           |   ["XX-dadf-dsa"]         |   null                ||  "CREATE OR REPLACE FUNCTION is_tenant_valid(text) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"XX-dadf-dsa\"}' AS text[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "public"                |   "valid_tenant"              |   ["dgfsg", "433"]        |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.valid_tenant(VARCHAR(32)) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"433\",\"dgfsg\"}' AS VARCHAR(32)[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+            "schema2"               |   "tenant_is_correct"         |   ["66", "12", "0"]       |   "INTEGER"           ||  "CREATE OR REPLACE FUNCTION schema2.tenant_is_correct(INTEGER) RETURNS BOOLEAN AS \$\$\nSELECT \$1 <> ALL (CAST ('{\"0\",\"12\",\"66\"}' AS INTEGER[]))\n\$\$ LANGUAGE sql\nIMMUTABLE\nPARALLEL SAFE;"
+    }
+
     @Unroll
     def "should generate sql function with name '#testFunctionName' for schema '#testSchema' that returns correct function invocation #expectedInvocation for argument #argument" () {
         expect:
@@ -0,0 +1,97 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import com.github.starnowski.posmulten.postgresql.core.common.function.AbstractFunctionFactoryTest
+import com.github.starnowski.posmulten.postgresql.core.util.Pair
+import spock.lang.Unroll
+
+class SameTenantForeignKeyTriggerFunctionProducerTest extends AbstractFunctionFactoryTest {
+
+    def tested = new SameTenantForeignKeyTriggerFunctionProducer()
+
+    @Unroll
+    def "should generate statement that creates trigger function '#testFunctionName' for schema '#testSchema' which checks table '#table' in schema '#tableSchema'" () {
+        given:
+            IGetCurrentTenantIdFunctionInvocationFactory getCurrentTenantIdFunctionInvocationFactory =
+                    { return currentTenantInvocation } as IGetCurrentTenantIdFunctionInvocationFactory
+            def parameters = new SameTenantForeignKeyTriggerFunctionProducerParameters(testFunctionName, testSchema, table, tableSchema, tenantColumn, pairs, "new_rows", getCurrentTenantIdFunctionInvocationFactory)
+
+        when:
+            def definition = tested.produce(parameters)
+
+        then:
+            definition.getCreateScript() == expectedStatement
+            definition.getDropScript() == expectedDropStatement
+
+        where:
+            testSchema  |   testFunctionName    |   table       |   tableSchema |   tenantColumn    |   pairs                                                               |   currentTenantInvocation             ||  expectedStatement   |   expectedDropStatement
+            null        |   "posts_users_fk"    |   "users"     |   null        |   "tenant_id"     |   [new Pair("user_id", "id")]                                         |   "get_current_tenant_id()"           ||  "CREATE OR REPLACE FUNCTION posts_users_fk() RETURNS TRIGGER AS \$\$\nBEGIN\n\tIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.user_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM users rt WHERE rt.id = nr.user_id AND rt.tenant_id = get_current_tenant_id())) THEN\n\t\tRAISE EXCEPTION 'Rows of table % refer to records that do not belong to the current tenant (%)', TG_TABLE_NAME, TG_NAME USING ERRCODE = 'foreign_key_violation';\n\tEND IF;\n\tRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;" |   "DROP FUNCTION IF EXISTS posts_users_fk();"
+            "public"    |   "comments_fk"       |   "comments"  |   "public"    |   "tenant"        |   [new Pair("parent_user_id", "user_id"), new Pair("parent_id", "id")] |   "(SELECT current_tenant())"         ||  "CREATE OR REPLACE FUNCTION public.comments_fk() RETURNS TRIGGER AS \$\$\nBEGIN\n\tIF EXISTS (SELECT 1 FROM new_rows nr WHERE nr.parent_user_id IS NOT NULL AND nr.parent_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM public.comments rt WHERE rt.user_id = nr.parent_user_id AND rt.id = nr.parent_id AND rt.tenant = (SELECT current_tenant()))) THEN\n\t\tRAISE EXCEPTION 'Rows of table % refer to records that do not belong to the current tenant (%)', TG_TABLE_NAME, TG_NAME USING ERRCODE = 'foreign_key_violation';\n\tEND IF;\n\tRETURN NULL;\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;" |   "DROP FUNCTION IF EXISTS public.comments_fk();"
+    }
+
+    @Unroll
+    def "should throw an exception of type 'IllegalArgumentException' with message '#expectedMessage' for table '#table', schema '#tableSchema', tenant column '#tenantColumn', pairs #pairs and transition table '#transitionTable'" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getReferencedTableName() >> table
+            parameters.getReferencedTableSchema() >> tableSchema
+            parameters.getReferencedTableTenantColumn() >> tenantColumn
+            parameters.getForeignKeyPrimaryKeyColumnsPairs() >> pairs
+            parameters.getTransitionTableName() >> transitionTable
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == expectedMessage
+
+        where:
+            table       |   tableSchema |   tenantColumn    |   pairs                           |   transitionTable ||  expectedMessage
+            null        |   null        |   "tenant_id"     |   [new Pair("user_id", "id")]     |   "new_rows"      ||  "Referenced table name cannot be null"
+            " "         |   null        |   "tenant_id"     |   [new Pair("user_id", "id")]     |   "new_rows"      ||  "Referenced table name cannot be blank"
+            "users"     |   ""          |   "tenant_id"     |   [new Pair("user_id", "id")]     |   "new_rows"      ||  "Referenced table schema cannot be blank"
+            "users"     |   null        |   null            |   [new Pair("user_id", "id")]     |   "new_rows"      ||  "Tenant column cannot be null"
+            "users"     |   null        |   "  "            |   [new Pair("user_id", "id")]     |   "new_rows"      ||  "Tenant column cannot be blank"
+            "users"     |   null        |   "tenant_id"     |   null                            |   "new_rows"      ||  "The list of foreign key and primary key column pairs cannot be null"
+            "users"     |   null        |   "tenant_id"     |   []                              |   "new_rows"      ||  "The list of foreign key and primary key column pairs cannot be empty"
+            "users"     |   null        |   "tenant_id"     |   [null]                          |   "new_rows"      ||  "The list of foreign key and primary key column pairs cannot contain null or blank elements"
+            "users"     |   null        |   "tenant_id"     |   [new Pair(" ", "id")]           |   "new_rows"      ||  "The list of foreign key and primary key column pairs cannot contain null or blank elements"
+            "users"     |   null        |   "tenant_id"     |   [new Pair("user_id", null)]     |   "new_rows"      ||  "The list of foreign key and primary key column pairs cannot contain null or blank elements"
+            "users"     |   null        |   "tenant_id"     |   [new Pair("user_id", "id")]     |   null            ||  "Transition table name cannot be null"
+            "users"     |   null        |   "tenant_id"     |   [new Pair("user_id", "id")]     |   ""              ||  "Transition table name cannot be blank"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the GetCurrentTenantId function invocation factory is null" () {
+        given:
+            def parameters = returnCorrectParametersSpyObject()
+            parameters.getIGetCurrentTenantIdFunctionInvocationFactory() >> null
+
+        when:
+            tested.produce(parameters)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "The GetCurrentTenantId function invocation factory cannot be null"
+    }
+
+    @Override
+    protected returnTestedObject() {
+        new SameTenantForeignKeyTriggerFunctionProducer()
+    }
+
+    @Override
+    protected returnCorrectParametersSpyObject() {
+        Spy(SameTenantForeignKeyTriggerFunctionProducerParameters, constructorArgs: ["posts_users_fk",
+                                                                                  "public",
+                                                                                  "users",
+                                                                                  "public",
+                                                                                  "tenant_id",
+                                                                                  [new Pair("user_id", "id")],
+                                                                                  "new_rows",
+                                                                                  Mock(IGetCurrentTenantIdFunctionInvocationFactory)])
+    }
+}
@@ -25,6 +25,35 @@ class SetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             null                    |   "this_is_tenant"            |   "con.tenant_id"                         |   "VARCHAR(128)"      ||  "CREATE OR REPLACE FUNCTION this_is_tenant(VARCHAR(128)) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('con.tenant_id', \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
             "public"                |   "this_is_tenant"            |   "pos.tenant"                            |   "VARCHAR(32)"       ||  "CREATE OR REPLACE FUNCTION public.this_is_tenant(VARCHAR(32)) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('pos.tenant', \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
             "non_public_schema"     |   "this_is_tenant"            |   "t.id"                                  |   "text"              ||  "CREATE OR REPLACE FUNCTION non_public_schema.this_is_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('t.id', \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            null                    |   "set_current_tenant"        |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   |   "uuid"              ||  "CREATE OR REPLACE FUNCTION set_current_tenant(uuid) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', CAST(\$1 AS text), false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"                |   "set_current_tenant"        |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   |   "bigint"            ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(bigint) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', CAST(\$1 AS text), false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "non_public_schema"     |   "this_is_tenant"            |   "t.id"                                  |   "integer"           ||  "CREATE OR REPLACE FUNCTION non_public_schema.this_is_tenant(integer) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('t.id', CAST(\$1 AS text), false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should generate statement that creates function '#testFunctionName' for schema '#testSchema' which sets value for property '#testCurrentTenantIdProperty' only for the current transaction: #transactionScoped" () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, testCurrentTenantIdProperty, testSchema, null, transactionScoped)).getCreateScript() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            |   testCurrentTenantIdProperty             |   transactionScoped   || expectedStatement
+            null                    |   "set_current_tenant"        |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   |   true                ||  "CREATE OR REPLACE FUNCTION set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"                |   "set_current_tenant"        |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   |   true                ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "non_public_schema"     |   "this_is_tenant"            |   "pos.tenant"                            |   true                ||  "CREATE OR REPLACE FUNCTION non_public_schema.this_is_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('pos.tenant', \$1, true);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+            "public"                |   "set_current_tenant"        |   VALID_CURRENT_TENANT_ID_PROPERTY_NAME   |   false               ||  "CREATE OR REPLACE FUNCTION public.set_current_tenant(text) RETURNS VOID AS \$\$\nBEGIN\nPERFORM set_config('c.c_ten', \$1, false);\nEND\n\$\$ LANGUAGE plpgsql\nVOLATILE;"
+    }
+
+    @Unroll
+    def "should return function definition that reports if the function is transaction scoped: #transactionScoped" () {
+        when:
+            def definition = tested.produce(new SetCurrentTenantIdFunctionProducerParameters("set_current_tenant", VALID_CURRENT_TENANT_ID_PROPERTY_NAME, null, null, transactionScoped))
+
+        then:
+            ((ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory) definition).isTransactionScoped() == transactionScoped
+            ((ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory) definition).isTransactionScoped() == transactionScoped
+
+        where:
+            transactionScoped << [true, false]
     }
 
     @Unroll
@@ -45,6 +74,18 @@ class SetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             "non_public_schema"     |   "this_is_tenant"            |   "1234433"               ||  "SELECT non_public_schema.this_is_tenant('1234433');"
     }
 
+    @Unroll
+    def "should generate statement that invokes function '#testFunctionName' with indexed parameter for schema '#testSchema' " () {
+        expect:
+            tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, testSchema, null)).returnStatementWithIndexedParameterThatSetCurrentTenant() == expectedStatement
+
+        where:
+            testSchema              |   testFunctionName            || expectedStatement
+            null                    |   "set_current_tenant"        ||  "SELECT set_current_tenant(\$1);"
+            "public"                |   "set_current_tenant"        ||  "SELECT public.set_current_tenant(\$1);"
+            "non_public_schema"     |   "this_is_tenant"            ||  "SELECT non_public_schema.this_is_tenant(\$1);"
+    }
+
     @Unroll
     def "should generate statement that invokes function '#testFunctionName' and could be used by prepared statement ('#currentTenantValue') for schema '#testSchema' " () {
         expect:
@@ -60,6 +101,24 @@ class SetCurrentTenantIdFunctionProducerTest extends AbstractFunctionFactoryTest
             "non_public_schema"     |   "this_is_tenant"            ||  "SELECT non_public_schema.this_is_tenant(?);"
     }
 
+    @Unroll
+    def "should generate statements with parameter casted to the argument type '#testArgumentType' that invoke function '#testFunctionName'" () {
+        when:
+            def definition = tested.produce(new SetCurrentTenantIdFunctionProducerParameters(testFunctionName, VALID_CURRENT_TENANT_ID_PROPERTY_NAME, null, testArgumentType))
+
+        then:
+            definition.returnPreparedStatementThatSetCurrentTenant() == expectedPreparedStatement
+            definition.returnStatementWithIndexedParameterThatSetCurrentTenant() == expectedIndexedParameterStatement
+            definition.generateStatementThatSetTenant("5") == "SELECT " + testFunctionName + "('5');"
+
+        where:
+            testFunctionName            |   testArgumentType    || expectedPreparedStatement                               |   expectedIndexedParameterStatement
+            "set_current_tenant"        |   "uuid"              ||  "SELECT set_current_tenant(CAST(? AS uuid));"         |   "SELECT set_current_tenant(CAST(\$1 AS uuid));"
+            "set_current_tenant"        |   "bigint"            ||  "SELECT set_current_tenant(CAST(? AS bigint));"       |   "SELECT set_current_tenant(CAST(\$1 AS bigint));"
+            "this_is_tenant"            |   "integer"           ||  "SELECT this_is_tenant(CAST(? AS integer));"          |   "SELECT this_is_tenant(CAST(\$1 AS integer));"
+            "this_is_tenant"            |   "VARCHAR(128)"      ||  "SELECT this_is_tenant(?);"                           |   "SELECT this_is_tenant(\$1);"
+    }
+
     @Unroll
     def "should throw exception of type 'IllegalArgumentException' when tenant id property name is null, even if the rest of parameters are correct, function name #functionName, schema #testSchema, argument type #testArgumentType"()
     {
@@ -0,0 +1,63 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SetLocalCurrentTenantIdInvocationFactoryTest extends Specification {
+
+    @Unroll
+    def "should generate statement that sets value '#tenantId' for property '#currentTenantIdProperty' only for the current transaction"()
+    {
+        given:
+            def tested = new SetLocalCurrentTenantIdInvocationFactory(currentTenantIdProperty)
+
+        expect:
+            tested.generateStatementThatSetTenantForTransaction(tenantId) == expectedStatement
+
+        where:
+            currentTenantIdProperty |   tenantId        ||  expectedStatement
+            "c.c_ten"               |   "DFSDGFSG"      ||  "SET LOCAL c.c_ten = 'DFSDGFSG';"
+            "pos.tenant"            |   "xxxsdfadf"     ||  "SET LOCAL pos.tenant = 'xxxsdfadf';"
+            "pos.tenant"            |   "ten'ant"       ||  "SET LOCAL pos.tenant = 'ten''ant';"
+            "pos.tenant"            |   "'; DROP x; '"  ||  "SET LOCAL pos.tenant = '''; DROP x; ''';"
+    }
+
+    def "should prepend statement that sets current tenant for transaction to passed statement"()
+    {
+        given:
+            def tested = new SetLocalCurrentTenantIdInvocationFactory("pos.tenant")
+
+        expect:
+            tested.prependStatementThatSetTenantForTransaction("t1", "SELECT * FROM users;") == "SET LOCAL pos.tenant = 't1';\nSELECT * FROM users;"
+    }
+
+    @Unroll
+    def "should throw exception of type 'IllegalArgumentException' when tenant id property name is '#currentTenantIdProperty'"()
+    {
+        when:
+            new SetLocalCurrentTenantIdInvocationFactory(currentTenantIdProperty)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == expectedMessage
+
+        where:
+            currentTenantIdProperty ||  expectedMessage
+            null                    ||  "Tenant id property name cannot be null"
+            ""                      ||  "Tenant id property name cannot be blank"
+            "  "                    ||  "Tenant id property name cannot be blank"
+    }
+
+    def "should throw exception of type 'IllegalArgumentException' when tenant identifier is null"()
+    {
+        given:
+            def tested = new SetLocalCurrentTenantIdInvocationFactory("pos.tenant")
+
+        when:
+            tested.generateStatementThatSetTenantForTransaction(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Tenant identifier cannot be null"
+    }
+}
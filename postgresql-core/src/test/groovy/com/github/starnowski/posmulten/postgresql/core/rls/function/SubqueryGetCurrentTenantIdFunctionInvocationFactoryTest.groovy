@@ -0,0 +1,37 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SubqueryGetCurrentTenantIdFunctionInvocationFactoryTest extends Specification {
+
+    @Unroll
+    def "should wrap function invocation '#functionInvocation' in subquery '#expectedInvocation'"()
+    {
+        given:
+            def getCurrentTenantIdFunctionInvocationFactory = Mock(IGetCurrentTenantIdFunctionInvocationFactory)
+            getCurrentTenantIdFunctionInvocationFactory.returnGetCurrentTenantIdFunctionInvocation() >> functionInvocation
+            def tested = new SubqueryGetCurrentTenantIdFunctionInvocationFactory(getCurrentTenantIdFunctionInvocationFactory)
+
+        expect:
+            tested.returnGetCurrentTenantIdFunctionInvocation() == expectedInvocation
+
+        where:
+            functionInvocation                      ||  expectedInvocation
+            "get_current_tenant_id()"               ||  "(SELECT get_current_tenant_id())"
+            "public.get_current_tenant_id()"        ||  "(SELECT public.get_current_tenant_id())"
+            "some_schema.cur_tenant()"              ||  "(SELECT some_schema.cur_tenant())"
+    }
+
+    def "should throw an exception of type 'IllegalArgumentException' when the factory is null"()
+    {
+        when:
+            new SubqueryGetCurrentTenantIdFunctionInvocationFactory(null)
+
+        then:
+            def ex = thrown(IllegalArgumentException.class)
+
+        and: "exception should have correct message"
+            ex.message == "Factory for function that returns the current tenant identifier cannot be null"
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantIdentifierArraysTest extends Specification {
+
+    @Unroll
+    def "should return array constant '#expectedConstant' for tenant identifiers #tenantIds and type '#type'"()
+    {
+        expect:
+            TenantIdentifierArrays.returnArrayConstant(tenantIds, type) == expectedConstant
+
+        where:
+            tenantIds                       |   type            ||  expectedConstant
+            ["invalid"]                     |   null            ||  "CAST ('{\"invalid\"}' AS text[])"
+            ["zz", "aa", "mm"]              |   "VARCHAR(255)"  ||  "CAST ('{\"aa\",\"mm\",\"zz\"}' AS VARCHAR(255)[])"
+            ["10", "2"]                     |   "bigint"        ||  "CAST ('{\"10\",\"2\"}' AS bigint[])"
+            ["it's"]                        |   "text"          ||  "CAST ('{\"it''s\"}' AS text[])"
+            ["a\"b", "c\\d", "NULL", "x,y"] |   "text"          ||  "CAST ('{\"NULL\",\"a\\\"b\",\"c\\\\d\",\"x,y\"}' AS text[])"
+    }
+
+    @Unroll
+    def "should return expression '#expectedExpression' for expression '#expression', tenant identifiers #tenantIds and type '#type'"()
+    {
+        expect:
+            TenantIdentifierArrays.returnNotEqualToAllExpression(expression, tenantIds, type) == expectedExpression
+
+        where:
+            expression      |   tenantIds           |   type            ||  expectedExpression
+            "\$1"           |   ["b", "a"]          |   null            ||  "\$1 <> ALL (CAST ('{\"a\",\"b\"}' AS text[]))"
+            "tenant_id"     |   ["invalid"]         |   "VARCHAR(32)"   ||  "tenant_id <> ALL (CAST ('{\"invalid\"}' AS VARCHAR(32)[]))"
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.starnowski.posmulten.postgresql.core.rls.function
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TenantIdentifierTypesTest extends Specification {
+
+    @Unroll
+    def "should return #expectedResult when checking if type '#type' is the character type"()
+    {
+        expect:
+            TenantIdentifierTypes.isTextType(type) == expectedResult
+
+        where:
+            type                            ||  expectedResult
+            null                            ||  true
+            "text"                          ||  true
+            "VARCHAR(255)"                  ||  true
+            "varchar"                       ||  true
+            "character varying(32)"         ||  true
+            "CHAR(10)"                      ||  true
+            " bpchar "                      ||  true
+            "uuid"                          ||  false
+            "bigint"                        ||  false
+            "INTEGER"                       ||  false
+            "numeric(10, 0)"                ||  false
+    }
+
+    @Unroll
+    def "should return '#expectedExpression' for expression '#expression' and type '#type'"()
+    {
+        expect:
+            TenantIdentifierTypes.castIfNotTextType(expression, type) == expectedExpression
+
+        where:
+            expression                          |   type            ||  expectedExpression
+            "current_setting('c.c_ten')"        |   "VARCHAR(255)"  ||  "current_setting('c.c_ten')"
+            "current_setting('c.c_ten')"        |   "uuid"          ||  "CAST(current_setting('c.c_ten') AS uuid)"
+            "?"                                 |   "bigint"        ||  "CAST(? AS bigint)"
+            "\$1"                               |   "text"          ||  "\$1"
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The component sets the current tenant for the database connection by invoking the function that sets the current tenant
+ * (see {@link ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory}).
+ * It remembers the last tenant set for each physical connection.
+ * By default, the function is invoked for each tenant switch.
+ * Skipping of the invocation when the physical connection already has the same tenant has to be enabled explicitly
+ * (see {@link #CurrentTenantConnectionSwitcher(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory, boolean)}).
+ * The prepared statement is created by the connection passed to the {@link #switchTenant(Connection, String)} method
+ * and is reused as long as the same connection object is passed and the statement is not closed.
+ * The physical connection is resolved by the {@link Connection#unwrap(Class)} method, so the connection returned by the connection pool
+ * is mapped to the same state for each checkout.
+ * The state of closed connections is removed periodically (see {@link #evictClosedConnections()}).
+ */
+public class CurrentTenantConnectionSwitcher {
+
+    static final int EVICTION_INTERVAL = 1000;
+
+    private final ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    private final boolean skipRedundantSwitches;
+    private final Map<Connection, ConnectionTenantState> states = new ConcurrentHashMap<>();
+    private final AtomicLong tenantSwitchesCount = new AtomicLong();
+    private final AtomicLong skippedTenantSwitchesCount = new AtomicLong();
+
+    public CurrentTenantConnectionSwitcher(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+        this(setCurrentTenantIdFunctionPreparedStatementInvocationFactory, false);
+    }
+
+    /**
+     * Creates the component that can skip the invocation of the function that sets the current tenant when the last tenant
+     * set by this component for the physical connection is the same.
+     * <p>
+     * <b>Skipping is unsafe unless this component is the only writer of the current tenant property for the physical connections.</b>
+     * The remembered tenant becomes stale, and the connection keeps the tenant of the previous user (or no tenant at all)
+     * when the property is changed or reset without this component, for example:
+     * <ul>
+     *     <li>other component or connection wrapper that shares the same physical connection sets the tenant</li>
+     *     <li>the application invokes the function that sets the current tenant directly</li>
+     *     <li>the "DISCARD ALL" or "RESET" statement is executed, for example by the connection pool</li>
+     *     <li>the transaction that set the tenant is rolled back and the rollback is not reported by the {@link #invalidate(Connection)} method</li>
+     * </ul>
+     * Skipping can not be enabled for the function that sets the current tenant only for the current transaction
+     * (see {@link ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory#isTransactionScoped()}), because the tenant is reset at the end of each transaction.
+     * @param setCurrentTenantIdFunctionPreparedStatementInvocationFactory factory of the statement that sets the current tenant
+     * @param skipRedundantSwitches if true then the function is not invoked when the physical connection already has the same tenant
+     * @throws IllegalArgumentException if skipping is enabled for the transaction scoped function
+     */
+    public CurrentTenantConnectionSwitcher(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory, boolean skipRedundantSwitches) {
+        if (skipRedundantSwitches && setCurrentTenantIdFunctionPreparedStatementInvocationFactory.isTransactionScoped()) {
+            throw new IllegalArgumentException("Skipping of redundant tenant switches cannot be enabled for the function that sets the current tenant only for the current transaction");
+        }
+        this.setCurrentTenantIdFunctionPreparedStatementInvocationFactory = setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+        this.skipRedundantSwitches = skipRedundantSwitches;
+    }
+
+    /**
+     * Sets the current tenant for the connection.
+     * When skipping of redundant switches is enabled, the function is not invoked if the tenant is the same as the last tenant set for the physical connection.
+     * @param connection database connection
+     * @param tenant tenant identifier
+     * @throws SQLException if the function could not be invoked
+     */
+    public void switchTenant(Connection connection, String tenant) throws SQLException {
+        if ((tenantSwitchesCount.get() + skippedTenantSwitchesCount.get()) % EVICTION_INTERVAL == EVICTION_INTERVAL - 1) {
+            evictClosedConnections();
+        }
+        Connection physicalConnection = resolvePhysicalConnection(connection);
+        ConnectionTenantState state = states.computeIfAbsent(physicalConnection, key -> new ConnectionTenantState());
+        state.lock.lock();
+        try {
+            if (skipRedundantSwitches && tenant.equals(state.tenant)) {
+                skippedTenantSwitchesCount.incrementAndGet();
+                return;
+            }
+            state.tenant = null;
+            if (state.statement == null || state.statementConnection != connection || state.statement.isClosed()) {
+                closeQuietly(state.statement);
+                state.statement = null;
+                state.statement = connection.prepareStatement(setCurrentTenantIdFunctionPreparedStatementInvocationFactory.returnPreparedStatementThatSetCurrentTenant());
+                state.statementConnection = connection;
+            }
+            state.statement.setString(1, tenant);
+            state.statement.execute();
+            state.tenant = tenant;
+            tenantSwitchesCount.incrementAndGet();
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the information about the last tenant set for the physical connection.
+     * The method should be invoked when the tenant could be changed without this component, for example after the transaction rollback
+     * or after the "DISCARD ALL" statement.
+     * @param connection database connection
+     */
+    public void invalidate(Connection connection) {
+        ConnectionTenantState state = states.get(resolvePhysicalConnection(connection));
+        if (state != null) {
+            state.lock.lock();
+            try {
+                state.tenant = null;
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @param connection database connection
+     * @return the last tenant set for the physical connection or null if it is unknown
+     */
+    public String getLastTenant(Connection connection) {
+        ConnectionTenantState state = states.get(resolvePhysicalConnection(connection));
+        if (state == null) {
+            return null;
+        }
+        state.lock.lock();
+        try {
+            return state.tenant;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the state of the physical connections that were closed.
+     */
+    public void evictClosedConnections() {
+        Iterator<Map.Entry<Connection, ConnectionTenantState>> iterator = states.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Connection, ConnectionTenantState> entry = iterator.next();
+            try {
+                if (entry.getKey().isClosed()) {
+                    iterator.remove();
+                }
+            } catch (SQLException e) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return number of invocations of the function that sets the current tenant
+     */
+    public long getTenantSwitchesCount() {
+        return tenantSwitchesCount.get();
+    }
+
+    /**
+     * @return true if the function is not invoked when the physical connection already has the same tenant
+     */
+    public boolean isSkipRedundantSwitches() {
+        return skipRedundantSwitches;
+    }
+
+    /**
+     * @return number of skipped invocations of the function that sets the current tenant, because the connection had already the same tenant
+     */
+    public long getSkippedTenantSwitchesCount() {
+        return skippedTenantSwitchesCount.get();
+    }
+
+    int getTrackedConnectionsCount() {
+        return states.size();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The statement belongs to the connection that is no longer used
+        }
+    }
+
+    static Connection resolvePhysicalConnection(Connection connection) {
+        try {
+            if (connection.isWrapperFor(Connection.class)) {
+                Connection unwrapped = connection.unwrap(Connection.class);
+                if (unwrapped != null) {
+                    return unwrapped;
+                }
+            }
+        } catch (SQLException e) {
+            // Connection can not be unwrapped, the passed object is used
+        }
+        return connection;
+    }
+
+    private static class ConnectionTenantState {
+        /**
+         * The lock is used instead of the synchronized block, which pins the virtual thread to its carrier thread during the database call.
+         */
+        private final Lock lock = new ReentrantLock();
+        /**
+         * The last tenant set for the physical connection, guarded by the {@link #lock}.
+         */
+        private String tenant;
+        private PreparedStatement statement;
+        /**
+         * The connection that prepared the {@link #statement}.
+         */
+        private Connection statementConnection;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+/**
+ * Listener notified by the {@link SharedSchemaContextApplier} component about the progress of applying statements.
+ */
+public interface ISharedSchemaContextApplierListener {
+
+    /**
+     * Invoked after successful execution of the batch of statements.
+     * @param metrics metrics of the executed batch
+     */
+    default void onBatchExecuted(StatementsBatchMetrics metrics) {
+    }
+
+    /**
+     * Invoked after the commit of the transaction or after execution of the statement that can not be executed in the transaction block.
+     * @param appliedStatementsCount number of statements applied so far
+     * @param statementsCount number of all statements
+     */
+    default void onStatementsApplied(int appliedStatementsCount, int statementsCount) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+/**
+ * Listener notified by the {@link TenantColumnBackfillRunner} component about the backfill progress.
+ */
+public interface ITenantColumnBackfillListener {
+
+    /**
+     * Invoked after the commit of the batch, so the checkpoint from the metrics can be stored and used to resume the backfill.
+     * @param metrics metrics of the committed batch
+     */
+    void onBatchCommitted(TenantColumnBackfillBatchMetrics metrics);
+}
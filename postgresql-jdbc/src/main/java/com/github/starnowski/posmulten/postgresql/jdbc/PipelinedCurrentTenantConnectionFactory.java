@@ -0,0 +1,276 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The component wraps the database connection, so that the function that sets the current tenant
+ * (see {@link ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory}) is sent to the database together with
+ * the first statement executed by the application, without the separate round trip.
+ * The first execution of the prepared statement (methods {@link PreparedStatement#execute()}, {@link PreparedStatement#executeQuery()},
+ * {@link PreparedStatement#executeUpdate()} and {@link PreparedStatement#executeLargeUpdate()}) is done by the statement that contains both queries,
+ * for example "SELECT set_current_tenant_id(?);\nSELECT * FROM users WHERE id = ?".
+ * The Postgres JDBC driver sends such queries in a single round trip.
+ * The indexes of parameters set for the application statement are shifted by one and the result of the function invocation is skipped.
+ * Methods that return the results of the last execution (for example, {@link Statement#getResultSet()}, {@link Statement#getGeneratedKeys()}
+ * or {@link Statement#getWarnings()}) are invoked on the statement that was executed.
+ * The result sets returned by the wrapped statement return that wrapped statement from the {@link ResultSet#getStatement()} method.
+ * For other statements (statements created by the {@link Connection#createStatement()} method, callable statements,
+ * prepared statements created with additional options and batches) the function is invoked in the separate round trip before the statement execution.
+ * The tenant is set again with the next statement after the transaction rollback,
+ * because the rollback reverts changes applied by the function that sets the current tenant in the same transaction.
+ */
+public class PipelinedCurrentTenantConnectionFactory {
+
+    private static final Set<String> PIPELINED_EXECUTE_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("execute", "executeQuery", "executeUpdate", "executeLargeUpdate")));
+    /**
+     * Methods that return or clear results of the last execution, invoked on the statement that was executed.
+     */
+    private static final Set<String> EXECUTION_RESULT_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("getResultSet", "getUpdateCount", "getLargeUpdateCount", "getMoreResults",
+            "getGeneratedKeys", "getWarnings", "clearWarnings", "getResultSetType", "getResultSetConcurrency", "getResultSetHoldability")));
+
+    private final ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    private final AtomicLong pipelinedTenantSwitchesCount = new AtomicLong();
+    private final AtomicLong separateTenantSwitchesCount = new AtomicLong();
+
+    public PipelinedCurrentTenantConnectionFactory(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+        this.setCurrentTenantIdFunctionPreparedStatementInvocationFactory = setCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+    }
+
+    /**
+     * Returns the connection that sets the passed tenant together with the first executed statement.
+     * @param connection database connection
+     * @param tenant tenant identifier
+     * @return wrapped connection
+     */
+    public Connection wrap(Connection connection, String tenant) {
+        if (tenant == null) {
+            throw new IllegalArgumentException("Tenant identifier cannot be null");
+        }
+        return (Connection) Proxy.newProxyInstance(PipelinedCurrentTenantConnectionFactory.class.getClassLoader(), new Class[]{Connection.class}, new PipelinedConnectionInvocationHandler(connection, tenant));
+    }
+
+    /**
+     * @return number of invocations of the function that sets the current tenant, that were sent together with the application statement
+     */
+    public long getPipelinedTenantSwitchesCount() {
+        return pipelinedTenantSwitchesCount.get();
+    }
+
+    /**
+     * @return number of invocations of the function that sets the current tenant, that were sent in the separate round trip
+     */
+    public long getSeparateTenantSwitchesCount() {
+        return separateTenantSwitchesCount.get();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class PipelinedConnectionInvocationHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final String tenant;
+        private boolean tenantSwitchPending = true;
+
+        PipelinedConnectionInvocationHandler(Connection connection, String tenant) {
+            this.connection = connection;
+            this.tenant = tenant;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PipelinedCurrentTenantConnection{" + connection + "}";
+                case "rollback":
+                    tenantSwitchPending = true;
+                    return PipelinedCurrentTenantConnectionFactory.invoke(connection, method, args);
+                case "createStatement":
+                    return wrapStatement(proxy, (Statement) PipelinedCurrentTenantConnectionFactory.invoke(connection, method, args), Statement.class, null);
+                case "prepareCall":
+                    return wrapStatement(proxy, (Statement) PipelinedCurrentTenantConnectionFactory.invoke(connection, method, args), CallableStatement.class, null);
+                case "prepareStatement":
+                    return wrapStatement(proxy, (Statement) PipelinedCurrentTenantConnectionFactory.invoke(connection, method, args), PreparedStatement.class, args.length == 1 ? (String) args[0] : null);
+                default:
+                    return PipelinedCurrentTenantConnectionFactory.invoke(connection, method, args);
+            }
+        }
+
+        private Object wrapStatement(Object connectionProxy, Statement statement, Class<? extends Statement> statementType, String pipelinedSql) {
+            return Proxy.newProxyInstance(PipelinedCurrentTenantConnectionFactory.class.getClassLoader(), new Class[]{statementType}, new PipelinedStatementInvocationHandler(this, connectionProxy, statement, pipelinedSql));
+        }
+
+        void switchTenantIfPending() throws SQLException {
+            if (!tenantSwitchPending) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(setCurrentTenantIdFunctionPreparedStatementInvocationFactory.returnPreparedStatementThatSetCurrentTenant())) {
+                statement.setString(1, tenant);
+                statement.execute();
+            }
+            tenantSwitchPending = false;
+            separateTenantSwitchesCount.incrementAndGet();
+        }
+    }
+
+    private class PipelinedStatementInvocationHandler implements InvocationHandler {
+
+        private final PipelinedConnectionInvocationHandler connectionHandler;
+        private final Object connectionProxy;
+        private final Statement statement;
+        /**
+         * Statement sql, not null only if the statement execution can be sent together with the function that sets the current tenant.
+         */
+        private final String pipelinedSql;
+        private final Map<Integer, SetterInvocation> parameters = new LinkedHashMap<>();
+        private final Map<String, SetterInvocation> settings = new LinkedHashMap<>();
+        private PreparedStatement pipelinedStatement;
+        private Statement currentStatement;
+
+        PipelinedStatementInvocationHandler(PipelinedConnectionInvocationHandler connectionHandler, Object connectionProxy, Statement statement, String pipelinedSql) {
+            this.connectionHandler = connectionHandler;
+            this.connectionProxy = connectionProxy;
+            this.statement = statement;
+            this.pipelinedSql = pipelinedSql;
+            this.currentStatement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PipelinedCurrentTenantStatement{" + statement + "}";
+                case "getConnection":
+                    return connectionProxy;
+                case "clearParameters":
+                    parameters.clear();
+                    return PipelinedCurrentTenantConnectionFactory.invoke(statement, method, args);
+                case "close":
+                    if (pipelinedStatement != null) {
+                        pipelinedStatement.close();
+                    }
+                    return PipelinedCurrentTenantConnectionFactory.invoke(statement, method, args);
+                default:
+                    break;
+            }
+            if (EXECUTION_RESULT_METHODS.contains(name)) {
+                return wrapResultSet(proxy, PipelinedCurrentTenantConnectionFactory.invoke(currentStatement, method, args));
+            }
+            if (name.startsWith("execute")) {
+                if (pipelinedSql != null && (args == null || args.length == 0) && PIPELINED_EXECUTE_METHODS.contains(name) && connectionHandler.tenantSwitchPending) {
+                    return wrapResultSet(proxy, executePipelined(name));
+                }
+                connectionHandler.switchTenantIfPending();
+                currentStatement = statement;
+                return wrapResultSet(proxy, PipelinedCurrentTenantConnectionFactory.invoke(statement, method, args));
+            } else if (pipelinedSql != null && name.startsWith("set") && args != null && args.length > 0) {
+                if (method.getDeclaringClass() == PreparedStatement.class) {
+                    parameters.put((Integer) args[0], new SetterInvocation(method, args));
+                } else {
+                    settings.put(name, new SetterInvocation(method, args));
+                }
+            }
+            return PipelinedCurrentTenantConnectionFactory.invoke(statement, method, args);
+        }
+
+        private Object wrapResultSet(Object statementProxy, Object result) {
+            if (!(result instanceof ResultSet)) {
+                return result;
+            }
+            ResultSet resultSet = (ResultSet) result;
+            return Proxy.newProxyInstance(PipelinedCurrentTenantConnectionFactory.class.getClassLoader(), new Class[]{ResultSet.class}, (resultSetProxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return resultSetProxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(resultSetProxy);
+                    case "toString":
+                        return "PipelinedCurrentTenantResultSet{" + resultSet + "}";
+                    case "getStatement":
+                        return statementProxy;
+                    default:
+                        return PipelinedCurrentTenantConnectionFactory.invoke(resultSet, method, args);
+                }
+            });
+        }
+
+        private Object executePipelined(String executeMethodName) throws Throwable {
+            if (pipelinedStatement == null) {
+                pipelinedStatement = connectionHandler.connection.prepareStatement(setCurrentTenantIdFunctionPreparedStatementInvocationFactory.returnPreparedStatementThatSetCurrentTenant() + "\n" + pipelinedSql);
+            }
+            pipelinedStatement.clearParameters();
+            for (SetterInvocation setting : settings.values()) {
+                PipelinedCurrentTenantConnectionFactory.invoke(pipelinedStatement, setting.method, setting.args);
+            }
+            pipelinedStatement.setString(1, connectionHandler.tenant);
+            for (SetterInvocation parameter : parameters.values()) {
+                Object[] shiftedArgs = parameter.args.clone();
+                shiftedArgs[0] = (Integer) parameter.args[0] + 1;
+                PipelinedCurrentTenantConnectionFactory.invoke(pipelinedStatement, parameter.method, shiftedArgs);
+            }
+            currentStatement = pipelinedStatement;
+            pipelinedStatement.execute();
+            // Skipping the result of the function that sets the current tenant
+            boolean resultSet = pipelinedStatement.getMoreResults();
+            connectionHandler.tenantSwitchPending = false;
+            pipelinedTenantSwitchesCount.incrementAndGet();
+            switch (executeMethodName) {
+                case "executeQuery":
+                    if (!resultSet) {
+                        throw new SQLException("No results were returned by the query.", "02000");
+                    }
+                    return pipelinedStatement.getResultSet();
+                case "executeUpdate":
+                    if (resultSet) {
+                        throw new SQLException("A result was returned when none was expected.", "0100E");
+                    }
+                    return pipelinedStatement.getUpdateCount();
+                case "executeLargeUpdate":
+                    if (resultSet) {
+                        throw new SQLException("A result was returned when none was expected.", "0100E");
+                    }
+                    return pipelinedStatement.getLargeUpdateCount();
+                default:
+                    return resultSet;
+            }
+        }
+    }
+
+    private static class SetterInvocation {
+
+        private final Method method;
+        private final Object[] args;
+
+        SetterInvocation(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+}
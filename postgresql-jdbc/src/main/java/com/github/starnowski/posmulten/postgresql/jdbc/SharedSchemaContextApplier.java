@@ -0,0 +1,429 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition;
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * The component applies the DDL statements from the {@link ISharedSchemaContext} object via the JDBC connection.
+ * Statements are sent to the database in batches ({@link Statement#addBatch(String)}) and are committed in chunks
+ * with the size specified by the {@link SharedSchemaContextApplierOptions#getStatementsPerTransaction()} property.
+ * Before each batch the savepoint is created (only if retries are enabled), so the batch that failed because of
+ * the lock timeout, deadlock or serialization failure can be repeated without repeating the whole transaction.
+ * Statements of SQL definitions that can not be executed in the transaction block ({@link SQLDefinition#isTransactional()},
+ * for example "CREATE INDEX CONCURRENTLY") are executed separately in the auto-commit mode.
+ * For such statements the lock timeout ({@link SharedSchemaContextApplierOptions#getLockTimeoutMillis()}) is set at the session level
+ * and restored after the statement, but they are not retried, because the failed "CREATE INDEX CONCURRENTLY" statement
+ * can leave the invalid index that has to be dropped before the statement is executed again.
+ * The statements that validate constraints added with the "NOT VALID" option ({@link ISharedSchemaContext#getValidateConstraintStatements()})
+ * are applied by the separate methods, each statement in its own transaction, optionally in parallel.
+ * The statements that have to be applied after the validation ({@link ISharedSchemaContext#getPostValidateConstraintStatements()})
+ * are also applied by the separate method, each statement in its own transaction.
+ * The auto-commit mode of the connection is restored after applying statements.
+ */
+public class SharedSchemaContextApplier {
+
+    static final Set<String> RETRYABLE_SQL_STATES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "55P03", // lock_not_available
+            "40P01", // deadlock_detected
+            "40001"  // serialization_failure
+    )));
+
+    private final SharedSchemaContextApplierOptions options;
+
+    public SharedSchemaContextApplier() {
+        this(SharedSchemaContextApplierOptions.builder().build());
+    }
+
+    public SharedSchemaContextApplier(SharedSchemaContextApplierOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Applies statements returned by the {@link SQLDefinition#getCreateScript()} method, in order of the SQL definitions.
+     * @param connection database connection
+     * @param sharedSchemaContext context object
+     * @return result with metrics
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult applyCreateScripts(Connection connection, ISharedSchemaContext sharedSchemaContext) throws SQLException {
+        List<SQLDefinition> sqlDefinitions = sharedSchemaContext.getSqlDefinitionsView();
+        List<String> statements = new ArrayList<>(sqlDefinitions.size());
+        BitSet nonTransactionalStatements = new BitSet();
+        for (SQLDefinition sqlDefinition : sqlDefinitions) {
+            addStatement(statements, nonTransactionalStatements, sqlDefinition.getCreateScript(), sqlDefinition.isTransactional());
+        }
+        return apply(connection, statements, nonTransactionalStatements);
+    }
+
+    /**
+     * Applies statements returned by the {@link SQLDefinition#getDropScript()} method, in reverse order of the SQL definitions.
+     * @param connection database connection
+     * @param sharedSchemaContext context object
+     * @return result with metrics
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult applyDropScripts(Connection connection, ISharedSchemaContext sharedSchemaContext) throws SQLException {
+        List<SQLDefinition> sqlDefinitions = sharedSchemaContext.getSqlDefinitionsView();
+        List<String> statements = new ArrayList<>(sqlDefinitions.size());
+        BitSet nonTransactionalStatements = new BitSet();
+        ListIterator<SQLDefinition> iterator = sqlDefinitions.listIterator(sqlDefinitions.size());
+        while (iterator.hasPrevious()) {
+            SQLDefinition sqlDefinition = iterator.previous();
+            addStatement(statements, nonTransactionalStatements, sqlDefinition.getDropScript(), sqlDefinition.isTransactional());
+        }
+        return apply(connection, statements, nonTransactionalStatements);
+    }
+
+    /**
+     * Applies statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method.
+     * The method should be invoked after the {@link #applyCreateScripts(Connection, ISharedSchemaContext)} method.
+     * Each statement is executed in its own transaction, so the "SHARE UPDATE EXCLUSIVE" lock is held only for the table
+     * that is validated at the moment.
+     * @param connection database connection
+     * @param sharedSchemaContext context object
+     * @return result with metrics
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult applyValidateConstraintScripts(Connection connection, ISharedSchemaContext sharedSchemaContext) throws SQLException {
+        return applyInSeparateTransactions(connection, sharedSchemaContext.getValidateConstraintStatements());
+    }
+
+    /**
+     * Applies statements returned by the {@link ISharedSchemaContext#getPostValidateConstraintStatements()} method, in order of the list.
+     * The method should be invoked after the {@link #applyValidateConstraintScripts(Connection, ISharedSchemaContext)} method
+     * (or its parallel version) finished successfully.
+     * Each statement is executed in its own transaction, so the "ACCESS EXCLUSIVE" lock taken by the statement is released right after it.
+     * @param connection database connection
+     * @param sharedSchemaContext context object
+     * @return result with metrics
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult applyPostValidateConstraintScripts(Connection connection, ISharedSchemaContext sharedSchemaContext) throws SQLException {
+        return applyInSeparateTransactions(connection, sharedSchemaContext.getPostValidateConstraintStatements());
+    }
+
+    private SharedSchemaContextApplierResult applyInSeparateTransactions(Connection connection, List<String> allStatements) throws SQLException {
+        long start = System.nanoTime();
+        List<String> statements = filterStatements(allStatements);
+        List<StatementsBatchMetrics> batchesMetrics = new ArrayList<>();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            for (int index = 0; index < statements.size(); index++) {
+                executeTransaction(connection, statements, index, index + 1, batchesMetrics);
+                notifyStatementsApplied(index + 1, statements.size());
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return new SharedSchemaContextApplierResult(batchesMetrics, System.nanoTime() - start);
+    }
+
+    /**
+     * Applies statements returned by the {@link ISharedSchemaContext#getValidateConstraintStatements()} method in parallel.
+     * The method should be invoked after the {@link #applyCreateScripts(Connection, ISharedSchemaContext)} method.
+     * Each statement is executed in its own transaction, on one of the connections obtained from the data source
+     * (at most "parallelism" connections are used at the same time).
+     * Validation of the constraint scans the whole table, and the "SHARE UPDATE EXCLUSIVE" lock does not conflict
+     * with the same lock on other tables, so the statements for different tables do not wait for each other.
+     * The listener ({@link SharedSchemaContextApplierOptions#getListener()}) can be notified from different threads.
+     * When any statement could not be applied, statements that were not started yet are skipped.
+     * @param dataSource data source
+     * @param sharedSchemaContext context object
+     * @param parallelism maximum number of statements executed at the same time
+     * @return result with metrics, sorted by the statement index
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult applyValidateConstraintScripts(DataSource dataSource, ISharedSchemaContext sharedSchemaContext, int parallelism) throws SQLException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism has to be greater than zero");
+        }
+        long start = System.nanoTime();
+        List<String> statements = filterStatements(sharedSchemaContext.getValidateConstraintStatements());
+        List<StatementsBatchMetrics> batchesMetrics = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicInteger appliedStatements = new AtomicInteger();
+        int threads = Math.min(parallelism, statements.size());
+        if (threads > 0) {
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Void>> futures = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    futures.add(executorService.submit(() -> {
+                        try (Connection connection = dataSource.getConnection()) {
+                            boolean autoCommit = connection.getAutoCommit();
+                            try {
+                                int index;
+                                while ((index = nextIndex.getAndIncrement()) < statements.size()) {
+                                    executeTransaction(connection, statements, index, index + 1, batchesMetrics);
+                                    notifyStatementsApplied(appliedStatements.incrementAndGet(), statements.size());
+                                }
+                            } catch (SQLException | RuntimeException e) {
+                                // Skipping statements that were not started yet
+                                nextIndex.set(statements.size());
+                                throw e;
+                            } finally {
+                                connection.setAutoCommit(autoCommit);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                waitForAll(futures);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+        List<StatementsBatchMetrics> sortedMetrics = new ArrayList<>(batchesMetrics);
+        sortedMetrics.sort(Comparator.comparingInt(StatementsBatchMetrics::getFirstStatementIndex));
+        return new SharedSchemaContextApplierResult(sortedMetrics, System.nanoTime() - start);
+    }
+
+    /**
+     * Applies statements in the passed order. Null or blank statements are skipped.
+     * All statements are executed in transactions, so the statements that can not be executed in the transaction block
+     * should be applied as SQL definitions that are not transactional (see {@link SQLDefinition#isTransactional()})
+     * by the {@link #applyCreateScripts(Connection, ISharedSchemaContext)} or {@link #applyDropScripts(Connection, ISharedSchemaContext)} method.
+     * @param connection database connection
+     * @param statements list of statements
+     * @return result with metrics
+     * @throws SQLException if any statement could not be applied, the exception of type {@link SharedSchemaContextApplierException} is thrown
+     */
+    public SharedSchemaContextApplierResult apply(Connection connection, List<String> statements) throws SQLException {
+        return apply(connection, filterStatements(statements), new BitSet());
+    }
+
+    private SharedSchemaContextApplierResult apply(Connection connection, List<String> statements, BitSet nonTransactionalStatements) throws SQLException {
+        long start = System.nanoTime();
+        List<StatementsBatchMetrics> batchesMetrics = new ArrayList<>();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            int index = 0;
+            while (index < statements.size()) {
+                if (nonTransactionalStatements.get(index)) {
+                    executeNonTransactionalStatement(connection, statements, index, batchesMetrics);
+                    index++;
+                } else {
+                    int to = resolveTransactionEnd(statements, nonTransactionalStatements, index);
+                    executeTransaction(connection, statements, index, to, batchesMetrics);
+                    index = to;
+                }
+                notifyStatementsApplied(index, statements.size());
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return new SharedSchemaContextApplierResult(batchesMetrics, System.nanoTime() - start);
+    }
+
+    private void executeNonTransactionalStatement(Connection connection, List<String> statements, int index, List<StatementsBatchMetrics> batchesMetrics) throws SQLException {
+        connection.setAutoCommit(true);
+        if (options.getLockTimeoutMillis() == null) {
+            addMetrics(batchesMetrics, executeBatch(connection, statements, index, index + 1, false));
+            return;
+        }
+        String previousLockTimeout;
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("SHOW lock_timeout")) {
+            resultSet.next();
+            previousLockTimeout = resultSet.getString(1);
+        }
+        setLockTimeout(connection, options.getLockTimeoutMillis() + "ms");
+        StatementsBatchMetrics metrics;
+        try {
+            metrics = executeBatch(connection, statements, index, index + 1, false);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                setLockTimeout(connection, previousLockTimeout);
+            } catch (SQLException restoreException) {
+                e.addSuppressed(restoreException);
+            }
+            throw e;
+        }
+        setLockTimeout(connection, previousLockTimeout);
+        addMetrics(batchesMetrics, metrics);
+    }
+
+    private static void setLockTimeout(Connection connection, String lockTimeout) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(format("SET lock_timeout = '%1$s'", lockTimeout.replace("'", "''")));
+        }
+    }
+
+    private void executeTransaction(Connection connection, List<String> statements, int from, int to, List<StatementsBatchMetrics> batchesMetrics) throws SQLException {
+        int batchSize = Math.max(1, options.getBatchSize());
+        connection.setAutoCommit(false);
+        try {
+            if (options.getLockTimeoutMillis() != null) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(format("SET LOCAL lock_timeout = '%1$dms'", options.getLockTimeoutMillis()));
+                }
+            }
+            for (int batchStart = from; batchStart < to; batchStart += batchSize) {
+                addMetrics(batchesMetrics, executeBatch(connection, statements, batchStart, Math.min(batchStart + batchSize, to), true));
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            throw e;
+        }
+    }
+
+    private int resolveTransactionEnd(List<String> statements, BitSet nonTransactionalStatements, int from) {
+        int maxEnd = options.getStatementsPerTransaction() < 1 ? statements.size() : Math.min(statements.size(), from + options.getStatementsPerTransaction());
+        int end = from + 1;
+        while (end < maxEnd && !nonTransactionalStatements.get(end)) {
+            end++;
+        }
+        return end;
+    }
+
+    private StatementsBatchMetrics executeBatch(Connection connection, List<String> statements, int from, int to, boolean transactional) throws SQLException {
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            Savepoint savepoint = transactional && options.getMaxRetries() > 0 ? connection.setSavepoint() : null;
+            long start = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                if (to - from == 1) {
+                    statement.execute(statements.get(from));
+                } else {
+                    for (int i = from; i < to; i++) {
+                        statement.addBatch(statements.get(i));
+                    }
+                    statement.executeBatch();
+                }
+                long duration = System.nanoTime() - start;
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return new StatementsBatchMetrics(from, new ArrayList<>(statements.subList(from, to)), duration, attempt, transactional);
+            } catch (SQLException e) {
+                if (savepoint != null && attempt <= options.getMaxRetries() && isRetryable(e)) {
+                    connection.rollback(savepoint);
+                    sleep(options.getRetryBackoffMillis() * attempt);
+                    continue;
+                }
+                int failedStatementIndex = resolveFailedStatementIndex(e, from, to);
+                throw new SharedSchemaContextApplierException(format("Failed to apply statement with index %1$d (attempt %2$d): %3$s", failedStatementIndex, attempt, e.getMessage()), failedStatementIndex, statements.get(failedStatementIndex), e);
+            }
+        }
+    }
+
+    private static List<String> filterStatements(List<String> statements) {
+        List<String> filteredStatements = new ArrayList<>(statements.size());
+        for (String statement : statements) {
+            if (isNotBlank(statement)) {
+                filteredStatements.add(statement);
+            }
+        }
+        return filteredStatements;
+    }
+
+    private static void addStatement(List<String> statements, BitSet nonTransactionalStatements, String statement, boolean transactional) {
+        if (!isNotBlank(statement)) {
+            return;
+        }
+        if (!transactional) {
+            nonTransactionalStatements.set(statements.size());
+        }
+        statements.add(statement);
+    }
+
+    private static boolean isNotBlank(String statement) {
+        return statement != null && !statement.trim().isEmpty();
+    }
+
+    private static void waitForAll(List<Future<Void>> futures) throws SQLException {
+        SQLException exception = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for the statements", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                SQLException sqlException = cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+                if (exception == null) {
+                    exception = sqlException;
+                } else {
+                    exception.addSuppressed(sqlException);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private void addMetrics(List<StatementsBatchMetrics> batchesMetrics, StatementsBatchMetrics metrics) {
+        batchesMetrics.add(metrics);
+        if (options.getListener() != null) {
+            options.getListener().onBatchExecuted(metrics);
+        }
+    }
+
+    private void notifyStatementsApplied(int appliedStatementsCount, int statementsCount) {
+        if (options.getListener() != null) {
+            options.getListener().onStatementsApplied(appliedStatementsCount, statementsCount);
+        }
+    }
+
+    private static int resolveFailedStatementIndex(SQLException e, int from, int to) {
+        if (e instanceof BatchUpdateException && ((BatchUpdateException) e).getUpdateCounts() != null) {
+            int[] updateCounts = ((BatchUpdateException) e).getUpdateCounts();
+            // Drivers that stop on the first error return update counts only for the successful statements
+            int index = 0;
+            while (index < updateCounts.length && updateCounts[index] != Statement.EXECUTE_FAILED) {
+                index++;
+            }
+            return Math.min(from + index, to - 1);
+        }
+        return from;
+    }
+
+    static boolean isRetryable(SQLException e) {
+        for (Throwable throwable = e; throwable != null; throwable = throwable.getCause()) {
+            if (throwable instanceof SQLException) {
+                for (SQLException next = (SQLException) throwable; next != null; next = next.getNextException()) {
+                    if (RETRYABLE_SQL_STATES.contains(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+            if (throwable.getCause() == throwable) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) throws SQLException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the retry", e);
+        }
+    }
+}
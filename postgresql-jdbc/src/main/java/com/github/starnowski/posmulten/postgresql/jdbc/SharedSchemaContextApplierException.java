@@ -0,0 +1,30 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Exception thrown by the {@link SharedSchemaContextApplier} component when the statement could not be applied.
+ * All changes applied in the transaction of the failed statement were rolled back.
+ */
+public class SharedSchemaContextApplierException extends SQLException {
+
+    /**
+     * Index of the failed statement, in the list of all applied statements.
+     */
+    private final int statementIndex;
+    private final String statement;
+
+    public SharedSchemaContextApplierException(String message, int statementIndex, String statement, SQLException cause) {
+        super(message, cause.getSQLState(), cause.getErrorCode(), cause);
+        this.statementIndex = statementIndex;
+        this.statement = statement;
+    }
+
+    public int getStatementIndex() {
+        return statementIndex;
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+}
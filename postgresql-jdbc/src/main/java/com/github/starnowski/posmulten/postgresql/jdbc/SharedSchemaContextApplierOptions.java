@@ -0,0 +1,122 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+/**
+ * Options for the {@link SharedSchemaContextApplier} component.
+ */
+public class SharedSchemaContextApplierOptions {
+
+    public static final int DEFAULT_STATEMENTS_PER_TRANSACTION = 100;
+    public static final int DEFAULT_BATCH_SIZE = 20;
+
+    /**
+     * Maximum number of statements executed in a single transaction.
+     * The value lower than one means that all statements are executed in a single transaction.
+     */
+    private final int statementsPerTransaction;
+    /**
+     * Maximum number of statements sent to the database in a single batch ({@link java.sql.Statement#executeBatch()}).
+     * The value lower than two means that each statement is executed separately, in that case the duration of each statement is reported.
+     */
+    private final int batchSize;
+    /**
+     * Value for the "lock_timeout" parameter set for each transaction (SET LOCAL statement), in milliseconds.
+     * The null value means that the parameter is not set.
+     */
+    private final Integer lockTimeoutMillis;
+    /**
+     * Maximum number of retries for the batch that failed because of the lock timeout, deadlock or serialization failure.
+     * Before each batch the savepoint is created so only the failed batch is repeated, not the whole transaction.
+     */
+    private final int maxRetries;
+    /**
+     * Delay before the retry, in milliseconds. The delay is multiplied by the number of the attempt.
+     */
+    private final long retryBackoffMillis;
+    /**
+     * Listener notified about applying progress, can be null.
+     */
+    private final ISharedSchemaContextApplierListener listener;
+
+    public SharedSchemaContextApplierOptions(int statementsPerTransaction, int batchSize, Integer lockTimeoutMillis, int maxRetries, long retryBackoffMillis, ISharedSchemaContextApplierListener listener) {
+        this.statementsPerTransaction = statementsPerTransaction;
+        this.batchSize = batchSize;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.listener = listener;
+    }
+
+    public int getStatementsPerTransaction() {
+        return statementsPerTransaction;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Integer getLockTimeoutMillis() {
+        return lockTimeoutMillis;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public ISharedSchemaContextApplierListener getListener() {
+        return listener;
+    }
+
+    public static SharedSchemaContextApplierOptionsBuilder builder()
+    {
+        return new SharedSchemaContextApplierOptionsBuilder();
+    }
+
+    public static class SharedSchemaContextApplierOptionsBuilder
+    {
+        private int statementsPerTransaction = DEFAULT_STATEMENTS_PER_TRANSACTION;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Integer lockTimeoutMillis;
+        private int maxRetries;
+        private long retryBackoffMillis;
+        private ISharedSchemaContextApplierListener listener;
+
+        public SharedSchemaContextApplierOptionsBuilder withStatementsPerTransaction(int statementsPerTransaction) {
+            this.statementsPerTransaction = statementsPerTransaction;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptionsBuilder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptionsBuilder withLockTimeoutMillis(Integer lockTimeoutMillis) {
+            this.lockTimeoutMillis = lockTimeoutMillis;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptionsBuilder withMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptionsBuilder withRetryBackoffMillis(long retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptionsBuilder withListener(ISharedSchemaContextApplierListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public SharedSchemaContextApplierOptions build()
+        {
+            return new SharedSchemaContextApplierOptions(statementsPerTransaction, batchSize, lockTimeoutMillis, maxRetries, retryBackoffMillis, listener);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.util.List;
+
+/**
+ * Result of applying statements by the {@link SharedSchemaContextApplier} component.
+ */
+public class SharedSchemaContextApplierResult {
+
+    private final List<StatementsBatchMetrics> batchesMetrics;
+    private final long durationNanos;
+
+    public SharedSchemaContextApplierResult(List<StatementsBatchMetrics> batchesMetrics, long durationNanos) {
+        this.batchesMetrics = batchesMetrics;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return metrics for each executed batch, in order of execution
+     */
+    public List<StatementsBatchMetrics> getBatchesMetrics() {
+        return batchesMetrics;
+    }
+
+    /**
+     * @return duration of the whole applying process, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return number of applied statements
+     */
+    public int getStatementsCount() {
+        return batchesMetrics.stream().mapToInt(metrics -> metrics.getStatements().size()).sum();
+    }
+
+    /**
+     * @return number of retries for all batches
+     */
+    public int getRetriesCount() {
+        return batchesMetrics.stream().mapToInt(metrics -> metrics.getAttempts() - 1).sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.util.List;
+
+/**
+ * Metrics of the single batch of statements executed by the {@link SharedSchemaContextApplier} component.
+ * For batch with one statement, the duration is the duration of that statement.
+ */
+public class StatementsBatchMetrics {
+
+    /**
+     * Index of the first statement of the batch, in the list of all applied statements.
+     */
+    private final int firstStatementIndex;
+    private final List<String> statements;
+    /**
+     * Duration of the last (successful) attempt, in nanoseconds.
+     */
+    private final long durationNanos;
+    /**
+     * Number of attempts, value greater than one means that the batch was retried.
+     */
+    private final int attempts;
+    /**
+     * Flag that informs if batch was executed in the transaction block.
+     */
+    private final boolean transactional;
+
+    public StatementsBatchMetrics(int firstStatementIndex, List<String> statements, long durationNanos, int attempts, boolean transactional) {
+        this.firstStatementIndex = firstStatementIndex;
+        this.statements = statements;
+        this.durationNanos = durationNanos;
+        this.attempts = attempts;
+        this.transactional = transactional;
+    }
+
+    public int getFirstStatementIndex() {
+        return firstStatementIndex;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementsBatchMetrics{" +
+                "firstStatementIndex=" + firstStatementIndex +
+                ", statementsCount=" + statements.size() +
+                ", durationNanos=" + durationNanos +
+                ", attempts=" + attempts +
+                ", transactional=" + transactional +
+                '}';
+    }
+}
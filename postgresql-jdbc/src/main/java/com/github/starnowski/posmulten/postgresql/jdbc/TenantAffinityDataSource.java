@@ -0,0 +1,666 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * The connection pool that prefers the idle connection that was last used by the same tenant.
+ * If there is no such connection, the pool returns the idle connection that was released the earliest by any tenant,
+ * or creates a new connection if the pool size is less than the maximum pool size.
+ * Thanks to that, the connection does not have to hold query plans and catalog cache entries for many tenants,
+ * and the function that sets the current tenant is invoked less often, if the passed {@link CurrentTenantConnectionSwitcher} component skips redundant switches
+ * (see {@link CurrentTenantConnectionSwitcher#CurrentTenantConnectionSwitcher(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory, boolean)}).
+ * The component created by the constructor with the invocation factory invokes the function for each acquired connection.
+ * The current tenant is resolved by the supplier passed to the constructor. If the supplier returns null then the exception is thrown,
+ * because the idle connection could still have the tenant set by its previous user.
+ * The physical connections are created by the passed data source, which should not be a connection pool.
+ * The idle connection is validated ({@link Connection#isValid(int)}) before it is returned, if it was idle longer than the time specified by the options
+ * ({@link TenantAffinityDataSourceOptions#getValidateAfterIdleMillis()}), and the connection that is not valid is closed.
+ * Idle connections are closed after the idle timeout, and all connections are closed after the maximum lifetime, when they are returned to the pool
+ * ({@link TenantAffinityDataSourceOptions}). Expired idle connections are closed when the connection is acquired or when the {@link #evictExpiredIdleConnections()} method is invoked.
+ * The connection is also closed when it is returned to the pool after the connection error (SQL state of class "08") was reported by one of its methods.
+ * The connection that was not in the auto-commit mode is rolled back when it is returned to the pool.
+ * The pool also closes statements that were left open by the borrower and restores the connection properties recorded when the physical connection was created,
+ * if they were changed by the borrower (auto-commit mode, read-only mode, transaction isolation, catalog, schema and network timeout).
+ * Properties changed by SQL statements (for example "SET search_path") are not restored.
+ * The returned connection can not be unwrapped to the physical connection, so the borrower can not close it behind the pool's back.
+ * The {@link #getTenantAffinityHitsCount()} and {@link #getTenantAffinityMissesCount()} methods return the number of
+ * acquired connections that were and were not last used by the same tenant.
+ */
+public class TenantAffinityDataSource implements DataSource, AutoCloseable {
+
+    public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = TenantAffinityDataSourceOptions.DEFAULT_CONNECTION_TIMEOUT_MILLIS;
+
+    private final DataSource dataSource;
+    private final Supplier<String> currentTenantSupplier;
+    private final CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher;
+    private final TenantAffinityDataSourceOptions options;
+    private final LongSupplier nanoTimeSupplier;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReleased = lock.newCondition();
+    private final Map<String, Deque<IdleConnection>> idleConnectionsByTenant = new HashMap<>();
+    /**
+     * Idle connections in order of release.
+     */
+    private final LinkedHashSet<IdleConnection> idleConnections = new LinkedHashSet<>();
+    private final AtomicLong tenantAffinityHitsCount = new AtomicLong();
+    private final AtomicLong tenantAffinityMissesCount = new AtomicLong();
+    private int connectionsCount;
+    private boolean closed;
+
+    public TenantAffinityDataSource(DataSource dataSource, ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory, Supplier<String> currentTenantSupplier, int maximumPoolSize) {
+        this(dataSource, currentTenantSupplier, new CurrentTenantConnectionSwitcher(setCurrentTenantIdFunctionPreparedStatementInvocationFactory), TenantAffinityDataSourceOptions.builder().withMaximumPoolSize(maximumPoolSize).build());
+    }
+
+    public TenantAffinityDataSource(DataSource dataSource, Supplier<String> currentTenantSupplier, CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher, int maximumPoolSize, long connectionTimeoutMillis) {
+        this(dataSource, currentTenantSupplier, currentTenantConnectionSwitcher, TenantAffinityDataSourceOptions.builder().withMaximumPoolSize(maximumPoolSize).withConnectionTimeoutMillis(connectionTimeoutMillis).build());
+    }
+
+    public TenantAffinityDataSource(DataSource dataSource, Supplier<String> currentTenantSupplier, CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher, TenantAffinityDataSourceOptions options) {
+        this(dataSource, currentTenantSupplier, currentTenantConnectionSwitcher, options, System::nanoTime);
+    }
+
+    TenantAffinityDataSource(DataSource dataSource, Supplier<String> currentTenantSupplier, CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher, TenantAffinityDataSourceOptions options, LongSupplier nanoTimeSupplier) {
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+        this.dataSource = dataSource;
+        this.currentTenantSupplier = currentTenantSupplier;
+        this.currentTenantConnectionSwitcher = currentTenantConnectionSwitcher;
+        this.options = options;
+        this.nanoTimeSupplier = nanoTimeSupplier;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String tenant = currentTenantSupplier.get();
+        if (tenant == null) {
+            // The idle connection could still have the tenant set by its previous user
+            throw new SQLException("The current tenant was not resolved, the connection cannot be returned without setting the tenant");
+        }
+        PooledConnection pooledConnection = acquire(tenant);
+        try {
+            currentTenantConnectionSwitcher.switchTenant(pooledConnection.connection, tenant);
+        } catch (SQLException | RuntimeException e) {
+            discard(pooledConnection.connection, e);
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(TenantAffinityDataSource.class.getClassLoader(), new Class[]{Connection.class}, new PooledConnectionInvocationHandler(pooledConnection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool does not support connections for different users");
+    }
+
+    /**
+     * Closes all idle connections. Connections that are in use are closed when they are returned to the pool.
+     */
+    @Override
+    public void close() {
+        List<IdleConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+            idleConnectionsByTenant.clear();
+            connectionsCount -= toClose.size();
+            connectionReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (IdleConnection idleConnection : toClose) {
+            closeQuietly(idleConnection.pooledConnection.connection, null);
+        }
+    }
+
+    /**
+     * @return number of acquired connections that were last used by the same tenant
+     */
+    public long getTenantAffinityHitsCount() {
+        return tenantAffinityHitsCount.get();
+    }
+
+    /**
+     * @return number of acquired connections that were not last used by the same tenant (including new connections)
+     */
+    public long getTenantAffinityMissesCount() {
+        return tenantAffinityMissesCount.get();
+    }
+
+    public CurrentTenantConnectionSwitcher getCurrentTenantConnectionSwitcher() {
+        return currentTenantConnectionSwitcher;
+    }
+
+    /**
+     * @return number of physical connections, idle and in use
+     */
+    public int getConnectionsCount() {
+        lock.lock();
+        try {
+            return connectionsCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of idle connections
+     */
+    public int getIdleConnectionsCount() {
+        lock.lock();
+        try {
+            return idleConnections.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes idle connections that exceeded the idle timeout or the maximum lifetime.
+     * The method is also invoked when the connection is acquired, but it can be invoked periodically to close connections
+     * of the pool that is not used.
+     * @return number of closed connections
+     */
+    public int evictExpiredIdleConnections() {
+        List<IdleConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            removeExpiredIdleConnections(evicted);
+        } finally {
+            lock.unlock();
+        }
+        int evictedCount = evicted.size();
+        closeEvicted(evicted);
+        return evictedCount;
+    }
+
+    private PooledConnection acquire(String tenant) throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getConnectionTimeoutMillis());
+        while (true) {
+            IdleConnection idleConnection = null;
+            boolean createConnection = false;
+            List<IdleConnection> evicted = new ArrayList<>();
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("The pool is closed");
+                    }
+                    removeExpiredIdleConnections(evicted);
+                    idleConnection = pollIdleConnection(tenant);
+                    if (idleConnection != null) {
+                        break;
+                    }
+                    if (connectionsCount < options.getMaximumPoolSize()) {
+                        connectionsCount++;
+                        createConnection = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLException("Connection is not available, request timed out after " + options.getConnectionTimeoutMillis() + "ms");
+                    }
+                    try {
+                        connectionReleased.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for the connection", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+                closeEvicted(evicted);
+            }
+            if (createConnection) {
+                countAffinity(tenant, false);
+                Connection connection;
+                try {
+                    connection = dataSource.getConnection();
+                } catch (SQLException | RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+                try {
+                    return new PooledConnection(connection, nanoTimeSupplier.getAsLong());
+                } catch (SQLException | RuntimeException e) {
+                    discard(connection, e);
+                    throw e;
+                }
+            }
+            if (!isUsable(idleConnection)) {
+                discard(idleConnection.pooledConnection.connection, null);
+                continue;
+            }
+            countAffinity(tenant, tenant != null && tenant.equals(idleConnection.tenant));
+            return idleConnection.pooledConnection;
+        }
+    }
+
+    /**
+     * Checks if the idle connection can be returned to the borrower.
+     * The connection is validated only if it was idle longer than the time specified by the options,
+     * so the connections returned frequently do not need the additional round trip.
+     */
+    private boolean isUsable(IdleConnection idleConnection) {
+        long now = nanoTimeSupplier.getAsLong();
+        if (isLifetimeExceeded(idleConnection.pooledConnection, now)) {
+            return false;
+        }
+        Connection connection = idleConnection.pooledConnection.connection;
+        if (now - idleConnection.releasedAtNanos < TimeUnit.MILLISECONDS.toNanos(options.getValidateAfterIdleMillis())) {
+            return !isClosed(connection);
+        }
+        try {
+            return connection.isValid(options.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isLifetimeExceeded(PooledConnection pooledConnection, long now) {
+        return options.getMaxLifetimeMillis() > 0 && now - pooledConnection.createdAtNanos >= TimeUnit.MILLISECONDS.toNanos(options.getMaxLifetimeMillis());
+    }
+
+    /**
+     * Removes idle connections that exceeded the idle timeout or the maximum lifetime. The method has to be invoked with the lock held,
+     * the removed connections have to be closed by the {@link #closeEvicted(List)} method after the lock is released.
+     */
+    private void removeExpiredIdleConnections(List<IdleConnection> evicted) {
+        if (idleConnections.isEmpty() || (options.getIdleTimeoutMillis() == 0 && options.getMaxLifetimeMillis() == 0)) {
+            return;
+        }
+        long now = nanoTimeSupplier.getAsLong();
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(options.getIdleTimeoutMillis());
+        for (IdleConnection idleConnection : new ArrayList<>(idleConnections)) {
+            if ((idleTimeoutNanos > 0 && now - idleConnection.releasedAtNanos >= idleTimeoutNanos) || isLifetimeExceeded(idleConnection.pooledConnection, now)) {
+                removeIdleConnection(idleConnection);
+                connectionsCount--;
+                evicted.add(idleConnection);
+            }
+        }
+        if (!evicted.isEmpty()) {
+            connectionReleased.signalAll();
+        }
+    }
+
+    private void closeEvicted(List<IdleConnection> evicted) {
+        for (IdleConnection idleConnection : evicted) {
+            currentTenantConnectionSwitcher.invalidate(idleConnection.pooledConnection.connection);
+            closeQuietly(idleConnection.pooledConnection.connection, null);
+        }
+        evicted.clear();
+    }
+
+    private IdleConnection pollIdleConnection(String tenant) {
+        Deque<IdleConnection> tenantIdleConnections = tenant == null ? null : idleConnectionsByTenant.get(tenant);
+        IdleConnection idleConnection;
+        if (tenantIdleConnections != null && !tenantIdleConnections.isEmpty()) {
+            // The most recently released connection of the tenant
+            idleConnection = tenantIdleConnections.peekLast();
+        } else if (!idleConnections.isEmpty()) {
+            // The earliest released connection of any tenant
+            idleConnection = idleConnections.iterator().next();
+        } else {
+            return null;
+        }
+        removeIdleConnection(idleConnection);
+        return idleConnection;
+    }
+
+    private void removeIdleConnection(IdleConnection idleConnection) {
+        idleConnections.remove(idleConnection);
+        Deque<IdleConnection> tenantIdleConnections = idleConnectionsByTenant.get(idleConnection.tenant);
+        if (tenantIdleConnections != null) {
+            tenantIdleConnections.remove(idleConnection);
+            if (tenantIdleConnections.isEmpty()) {
+                idleConnectionsByTenant.remove(idleConnection.tenant);
+            }
+        }
+    }
+
+    private void release(PooledConnection pooledConnection, String tenant) {
+        boolean closeConnection;
+        lock.lock();
+        try {
+            closeConnection = closed;
+            if (closed) {
+                connectionsCount--;
+            } else {
+                IdleConnection idleConnection = new IdleConnection(pooledConnection, tenant, nanoTimeSupplier.getAsLong());
+                idleConnections.add(idleConnection);
+                idleConnectionsByTenant.computeIfAbsent(tenant, key -> new ArrayDeque<>()).addLast(idleConnection);
+                connectionReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closeConnection) {
+            closeQuietly(pooledConnection.connection, null);
+        }
+    }
+
+    private void discard(Connection connection, Throwable cause) {
+        currentTenantConnectionSwitcher.invalidate(connection);
+        closeQuietly(connection, cause);
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            connectionsCount--;
+            connectionReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countAffinity(String tenant, boolean hit) {
+        if (tenant == null) {
+            return;
+        }
+        if (hit) {
+            tenantAffinityHitsCount.incrementAndGet();
+        } else {
+            tenantAffinityMissesCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isConnectionError(Throwable throwable) {
+        String sqlState = throwable instanceof SQLException ? ((SQLException) throwable).getSQLState() : null;
+        return sqlState != null && sqlState.startsWith("08");
+    }
+
+    private static boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Connection connection, Throwable cause) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            if (cause != null) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    private static class IdleConnection {
+
+        private final PooledConnection pooledConnection;
+        private final String tenant;
+        private final long releasedAtNanos;
+
+        IdleConnection(PooledConnection pooledConnection, String tenant, long releasedAtNanos) {
+            this.pooledConnection = pooledConnection;
+            this.tenant = tenant;
+            this.releasedAtNanos = releasedAtNanos;
+        }
+    }
+
+    /**
+     * The physical connection and its properties recorded when the connection was created.
+     */
+    private static class PooledConnection {
+
+        private final Connection connection;
+        private final boolean autoCommit;
+        private final boolean readOnly;
+        private final int transactionIsolation;
+        private final String catalog;
+        private final String schema;
+        private final int networkTimeout;
+        private final long createdAtNanos;
+
+        PooledConnection(Connection connection, long createdAtNanos) throws SQLException {
+            this.connection = connection;
+            this.createdAtNanos = createdAtNanos;
+            this.autoCommit = connection.getAutoCommit();
+            this.readOnly = connection.isReadOnly();
+            this.transactionIsolation = connection.getTransactionIsolation();
+            this.catalog = connection.getCatalog();
+            this.schema = connection.getSchema();
+            this.networkTimeout = connection.getNetworkTimeout();
+        }
+    }
+
+    private class PooledConnectionInvocationHandler implements InvocationHandler {
+
+        private static final int DIRTY_AUTO_COMMIT = 1;
+        private static final int DIRTY_READ_ONLY = 1 << 1;
+        private static final int DIRTY_TRANSACTION_ISOLATION = 1 << 2;
+        private static final int DIRTY_CATALOG = 1 << 3;
+        private static final int DIRTY_SCHEMA = 1 << 4;
+        private static final int DIRTY_NETWORK_TIMEOUT = 1 << 5;
+        private static final int OPEN_STATEMENTS_PRUNE_THRESHOLD = 64;
+
+        private final PooledConnection pooledConnection;
+        private final Connection connection;
+        /**
+         * Statements created by the borrower, closed when the connection is returned to the pool.
+         */
+        private final List<Statement> openStatements = new ArrayList<>();
+        private int dirtyBits;
+        private boolean returned;
+        /**
+         * True when one of the connection methods reported the connection error, such connection is not returned to the pool.
+         */
+        private boolean broken;
+
+        PooledConnectionInvocationHandler(PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+            this.connection = pooledConnection.connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TenantAffinityConnection{" + connection + "}";
+                case "isClosed":
+                    return returned || connection.isClosed();
+                case "close":
+                    returnToPool();
+                    return null;
+                case "isWrapperFor":
+                    // The physical connection is not exposed, so the borrower can not close it behind the pool's back
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    throw new SQLException("The pooled connection cannot be unwrapped to the type " + ((Class<?>) args[0]).getName());
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("The connection is closed");
+            }
+            switch (method.getName()) {
+                case "rollback":
+                    currentTenantConnectionSwitcher.invalidate(connection);
+                    break;
+                case "setAutoCommit":
+                    dirtyBits |= DIRTY_AUTO_COMMIT;
+                    break;
+                case "setReadOnly":
+                    dirtyBits |= DIRTY_READ_ONLY;
+                    break;
+                case "setTransactionIsolation":
+                    dirtyBits |= DIRTY_TRANSACTION_ISOLATION;
+                    break;
+                case "setCatalog":
+                    dirtyBits |= DIRTY_CATALOG;
+                    break;
+                case "setSchema":
+                    dirtyBits |= DIRTY_SCHEMA;
+                    break;
+                case "setNetworkTimeout":
+                    dirtyBits |= DIRTY_NETWORK_TIMEOUT;
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                if (isConnectionError(e.getCause())) {
+                    broken = true;
+                }
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                trackStatement((Statement) result);
+            }
+            return result;
+        }
+
+        private void trackStatement(Statement statement) throws SQLException {
+            if (openStatements.size() >= OPEN_STATEMENTS_PRUNE_THRESHOLD) {
+                Iterator<Statement> iterator = openStatements.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().isClosed()) {
+                        iterator.remove();
+                    }
+                }
+            }
+            openStatements.add(statement);
+        }
+
+        private void closeOpenStatements() throws SQLException {
+            SQLException exception = null;
+            for (Statement statement : openStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    if (exception == null) {
+                        exception = e;
+                    } else {
+                        exception.addSuppressed(e);
+                    }
+                }
+            }
+            openStatements.clear();
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        /**
+         * Restores the connection properties changed by the borrower to the values recorded when the physical connection was created.
+         */
+        private void resetConnectionState() throws SQLException {
+            if ((dirtyBits & DIRTY_AUTO_COMMIT) != 0 && connection.getAutoCommit() != pooledConnection.autoCommit) {
+                connection.setAutoCommit(pooledConnection.autoCommit);
+            }
+            if ((dirtyBits & DIRTY_READ_ONLY) != 0) {
+                connection.setReadOnly(pooledConnection.readOnly);
+            }
+            if ((dirtyBits & DIRTY_TRANSACTION_ISOLATION) != 0) {
+                connection.setTransactionIsolation(pooledConnection.transactionIsolation);
+            }
+            if ((dirtyBits & DIRTY_CATALOG) != 0 && pooledConnection.catalog != null) {
+                connection.setCatalog(pooledConnection.catalog);
+            }
+            if ((dirtyBits & DIRTY_SCHEMA) != 0 && pooledConnection.schema != null) {
+                connection.setSchema(pooledConnection.schema);
+            }
+            if ((dirtyBits & DIRTY_NETWORK_TIMEOUT) != 0) {
+                connection.setNetworkTimeout(Runnable::run, pooledConnection.networkTimeout);
+            }
+            dirtyBits = 0;
+            connection.clearWarnings();
+        }
+
+        private void returnToPool() {
+            if (returned) {
+                return;
+            }
+            returned = true;
+            try {
+                if (broken || connection.isClosed() || isLifetimeExceeded(pooledConnection, nanoTimeSupplier.getAsLong())) {
+                    discard(connection, null);
+                    return;
+                }
+                closeOpenStatements();
+                if (!connection.getAutoCommit()) {
+                    currentTenantConnectionSwitcher.invalidate(connection);
+                    connection.rollback();
+                }
+                resetConnectionState();
+            } catch (SQLException | RuntimeException e) {
+                discard(connection, e);
+                return;
+            }
+            // The connection is registered for the last tenant known by the switcher, null means that the tenant is unknown
+            release(pooledConnection, currentTenantConnectionSwitcher.getLastTenant(connection));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+/**
+ * Options for the {@link TenantAffinityDataSource} component.
+ */
+public class TenantAffinityDataSourceOptions {
+
+    public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 30000;
+    public static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+    public static final long DEFAULT_VALIDATE_AFTER_IDLE_MILLIS = 500;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600000;
+    public static final long DEFAULT_MAX_LIFETIME_MILLIS = 1800000;
+
+    /**
+     * Maximum number of physical connections, idle and in use.
+     */
+    private final int maximumPoolSize;
+    /**
+     * Maximum time of waiting for the released connection, in milliseconds.
+     */
+    private final long connectionTimeoutMillis;
+    /**
+     * Timeout passed to the {@link java.sql.Connection#isValid(int)} method when the idle connection is validated before it is returned, in seconds.
+     */
+    private final int validationTimeoutSeconds;
+    /**
+     * The idle connection is validated before it is returned only if it was idle at least for this time, in milliseconds.
+     * Zero means that the idle connection is validated each time it is returned.
+     */
+    private final long validateAfterIdleMillis;
+    /**
+     * Maximum time that the connection can be idle, in milliseconds. Zero means that the idle connections are not closed.
+     */
+    private final long idleTimeoutMillis;
+    /**
+     * Maximum lifetime of the physical connection, in milliseconds. The connection in use is closed when it is returned to the pool.
+     * Zero means that the lifetime is not limited.
+     */
+    private final long maxLifetimeMillis;
+
+    public TenantAffinityDataSourceOptions(int maximumPoolSize, long connectionTimeoutMillis, int validationTimeoutSeconds, long validateAfterIdleMillis, long idleTimeoutMillis, long maxLifetimeMillis) {
+        if (maximumPoolSize < 1) {
+            throw new IllegalArgumentException("Maximum pool size has to be greater than zero");
+        }
+        if (validationTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("Validation timeout cannot be negative");
+        }
+        if (validateAfterIdleMillis < 0) {
+            throw new IllegalArgumentException("Time after which the idle connection is validated cannot be negative");
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout cannot be negative");
+        }
+        if (maxLifetimeMillis < 0) {
+            throw new IllegalArgumentException("Maximum lifetime cannot be negative");
+        }
+        this.maximumPoolSize = maximumPoolSize;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validateAfterIdleMillis = validateAfterIdleMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public long getValidateAfterIdleMillis() {
+        return validateAfterIdleMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    public static TenantAffinityDataSourceOptionsBuilder builder()
+    {
+        return new TenantAffinityDataSourceOptionsBuilder();
+    }
+
+    public static class TenantAffinityDataSourceOptionsBuilder
+    {
+        private int maximumPoolSize = 10;
+        private long connectionTimeoutMillis = DEFAULT_CONNECTION_TIMEOUT_MILLIS;
+        private int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+        private long validateAfterIdleMillis = DEFAULT_VALIDATE_AFTER_IDLE_MILLIS;
+        private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+        private long maxLifetimeMillis = DEFAULT_MAX_LIFETIME_MILLIS;
+
+        public TenantAffinityDataSourceOptionsBuilder withMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptionsBuilder withConnectionTimeoutMillis(long connectionTimeoutMillis) {
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptionsBuilder withValidationTimeoutSeconds(int validationTimeoutSeconds) {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptionsBuilder withValidateAfterIdleMillis(long validateAfterIdleMillis) {
+            this.validateAfterIdleMillis = validateAfterIdleMillis;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptionsBuilder withIdleTimeoutMillis(long idleTimeoutMillis) {
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptionsBuilder withMaxLifetimeMillis(long maxLifetimeMillis) {
+            this.maxLifetimeMillis = maxLifetimeMillis;
+            return this;
+        }
+
+        public TenantAffinityDataSourceOptions build()
+        {
+            return new TenantAffinityDataSourceOptions(maximumPoolSize, connectionTimeoutMillis, validationTimeoutSeconds, validateAfterIdleMillis, idleTimeoutMillis, maxLifetimeMillis);
+        }
+    }
+}
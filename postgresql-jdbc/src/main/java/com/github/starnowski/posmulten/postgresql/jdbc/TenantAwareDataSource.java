@@ -0,0 +1,156 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * The data source wrapper that sets the current tenant for each returned connection.
+ * The current tenant is resolved by the supplier passed to the constructor. If the supplier returns null then the connection is closed
+ * (returned to the pool) and the exception is thrown, because the pooled connection could still have the tenant set by its previous user.
+ * Connections without the tenant should be obtained from the wrapped data source.
+ * The tenant is set by the {@link CurrentTenantConnectionSwitcher} component.
+ * The component created by the constructor with the invocation factory invokes the function that sets the current tenant for each returned connection.
+ * The function is invoked only when the physical connection has a different tenant than the current one only if the passed component
+ * skips redundant switches (see {@link CurrentTenantConnectionSwitcher#CurrentTenantConnectionSwitcher(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory, boolean)}),
+ * which is safe only when no other component changes the current tenant property for the same physical connections.
+ * The returned connection invalidates the information about the last tenant after the transaction rollback,
+ * because the rollback reverts changes applied by the function that sets the current tenant in the same transaction.
+ */
+public class TenantAwareDataSource implements DataSource {
+
+    private final DataSource dataSource;
+    private final Supplier<String> currentTenantSupplier;
+    private final CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher;
+
+    public TenantAwareDataSource(DataSource dataSource, ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory setCurrentTenantIdFunctionPreparedStatementInvocationFactory, Supplier<String> currentTenantSupplier) {
+        this(dataSource, currentTenantSupplier, new CurrentTenantConnectionSwitcher(setCurrentTenantIdFunctionPreparedStatementInvocationFactory));
+    }
+
+    public TenantAwareDataSource(DataSource dataSource, Supplier<String> currentTenantSupplier, CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher) {
+        this.dataSource = dataSource;
+        this.currentTenantSupplier = currentTenantSupplier;
+        this.currentTenantConnectionSwitcher = currentTenantConnectionSwitcher;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return prepareConnection(dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return prepareConnection(dataSource.getConnection(username, password));
+    }
+
+    public CurrentTenantConnectionSwitcher getCurrentTenantConnectionSwitcher() {
+        return currentTenantConnectionSwitcher;
+    }
+
+    private Connection prepareConnection(Connection connection) throws SQLException {
+        String tenant = currentTenantSupplier.get();
+        if (tenant == null) {
+            // The pooled connection could still have the tenant set by its previous user
+            SQLException e = new SQLException("The current tenant was not resolved, the connection cannot be returned without setting the tenant");
+            closeAfterFailure(connection, e);
+            throw e;
+        }
+        try {
+            currentTenantConnectionSwitcher.switchTenant(connection, tenant);
+        } catch (SQLException | RuntimeException e) {
+            currentTenantConnectionSwitcher.invalidate(connection);
+            closeAfterFailure(connection, e);
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(TenantAwareDataSource.class.getClassLoader(), new Class[]{Connection.class}, new TenantAwareConnectionInvocationHandler(connection, currentTenantConnectionSwitcher));
+    }
+
+    private static void closeAfterFailure(Connection connection, Exception e) {
+        try {
+            connection.close();
+        } catch (SQLException closeException) {
+            e.addSuppressed(closeException);
+        }
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || dataSource.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return dataSource.getParentLogger();
+    }
+
+    private static class TenantAwareConnectionInvocationHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher;
+
+        TenantAwareConnectionInvocationHandler(Connection connection, CurrentTenantConnectionSwitcher currentTenantConnectionSwitcher) {
+            this.connection = connection;
+            this.currentTenantConnectionSwitcher = currentTenantConnectionSwitcher;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TenantAwareConnection{" + connection + "}";
+                case "rollback":
+                    currentTenantConnectionSwitcher.invalidate(connection);
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
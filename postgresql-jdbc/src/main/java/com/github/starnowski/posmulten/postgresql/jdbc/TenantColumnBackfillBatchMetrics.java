@@ -0,0 +1,86 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.util.List;
+
+/**
+ * Metrics of the single batch executed by the {@link TenantColumnBackfillRunner} component.
+ */
+public class TenantColumnBackfillBatchMetrics {
+
+    /**
+     * Index of the batch in the current run.
+     */
+    private final int batchIndex;
+    /**
+     * Number of rows updated by the batch.
+     */
+    private final long updatedRows;
+    /**
+     * Values of the last key processed by the batch, in order of the key columns.
+     */
+    private final List<Object> checkpoint;
+    /**
+     * Duration of the batch (including commit), in nanoseconds.
+     */
+    private final long durationNanos;
+    /**
+     * Number of rows updated by all batches of the current run.
+     */
+    private final long totalUpdatedRows;
+    /**
+     * Time elapsed since the start of the current run (including delays between batches), in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    public TenantColumnBackfillBatchMetrics(int batchIndex, long updatedRows, List<Object> checkpoint, long durationNanos, long totalUpdatedRows, long elapsedNanos) {
+        this.batchIndex = batchIndex;
+        this.updatedRows = updatedRows;
+        this.checkpoint = checkpoint;
+        this.durationNanos = durationNanos;
+        this.totalUpdatedRows = totalUpdatedRows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getBatchIndex() {
+        return batchIndex;
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows;
+    }
+
+    public List<Object> getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getTotalUpdatedRows() {
+        return totalUpdatedRows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return number of rows updated per second since the start of the current run
+     */
+    public double getRowsPerSecond() {
+        return TenantColumnBackfillResult.rowsPerSecond(totalUpdatedRows, elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "TenantColumnBackfillBatchMetrics{" +
+                "batchIndex=" + batchIndex +
+                ", updatedRows=" + updatedRows +
+                ", checkpoint=" + checkpoint +
+                ", durationNanos=" + durationNanos +
+                ", totalUpdatedRows=" + totalUpdatedRows +
+                ", rowsPerSecond=" + getRowsPerSecond() +
+                '}';
+    }
+}
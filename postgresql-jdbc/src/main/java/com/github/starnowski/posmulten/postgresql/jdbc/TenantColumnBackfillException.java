@@ -0,0 +1,25 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Exception thrown by the {@link TenantColumnBackfillRunner} component when the batch could not be executed.
+ * Changes of the failed batch were rolled back, and changes of all previous batches were committed.
+ */
+public class TenantColumnBackfillException extends SQLException {
+
+    /**
+     * Values of the last key processed by the committed batch, based on which the backfill can be resumed.
+     */
+    private final List<Object> checkpoint;
+
+    public TenantColumnBackfillException(String message, List<Object> checkpoint, SQLException cause) {
+        super(message, cause.getSQLState(), cause.getErrorCode(), cause);
+        this.checkpoint = checkpoint;
+    }
+
+    public List<Object> getCheckpoint() {
+        return checkpoint;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import java.util.List;
+
+/**
+ * Result of the backfill executed by the {@link TenantColumnBackfillRunner} component.
+ */
+public class TenantColumnBackfillResult {
+
+    private final List<TenantColumnBackfillBatchMetrics> batchesMetrics;
+    private final List<Object> checkpoint;
+    private final boolean completed;
+    private final long durationNanos;
+
+    public TenantColumnBackfillResult(List<TenantColumnBackfillBatchMetrics> batchesMetrics, List<Object> checkpoint, boolean completed, long durationNanos) {
+        this.batchesMetrics = batchesMetrics;
+        this.checkpoint = checkpoint;
+        this.completed = completed;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return metrics for each committed batch, in order of execution
+     */
+    public List<TenantColumnBackfillBatchMetrics> getBatchesMetrics() {
+        return batchesMetrics;
+    }
+
+    /**
+     * @return values of the last processed key, which can be passed to the next run, or null if no key was processed
+     */
+    public List<Object> getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * @return true if all keys were processed, false if the run was stopped because of the maximum number of batches
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return duration of the whole run, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return number of rows updated by all batches
+     */
+    public long getUpdatedRows() {
+        return batchesMetrics.stream().mapToLong(TenantColumnBackfillBatchMetrics::getUpdatedRows).sum();
+    }
+
+    /**
+     * @return number of rows updated per second
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond(getUpdatedRows(), durationNanos);
+    }
+
+    static double rowsPerSecond(long rows, long nanos) {
+        return nanos <= 0 ? 0d : rows * 1_000_000_000d / nanos;
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatementProducer;
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatements;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * The component executes statements produced by the {@link TenantColumnBackfillStatementProducer} component via the JDBC connection.
+ * Each batch is executed and committed in its own transaction, so the row locks are held only for the duration of a single batch,
+ * and the dead tuples of committed batches can be removed by the autovacuum while the backfill is still running.
+ * After each commit the listener ({@link TenantColumnBackfillRunnerOptions#getListener()}) receives the checkpoint
+ * (values of the last processed key) and the number of updated rows per second.
+ * The checkpoint can be passed to the {@link #run(Connection, TenantColumnBackfillStatements, List)} method to resume the backfill.
+ * The auto-commit mode of the connection is restored after the run.
+ */
+public class TenantColumnBackfillRunner {
+
+    private final TenantColumnBackfillRunnerOptions options;
+
+    public TenantColumnBackfillRunner() {
+        this(TenantColumnBackfillRunnerOptions.builder().build());
+    }
+
+    public TenantColumnBackfillRunner(TenantColumnBackfillRunnerOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Executes batches from the beginning of the table.
+     * @param connection database connection
+     * @param statements backfill statements
+     * @return result with metrics
+     * @throws SQLException if any batch could not be executed, the exception of type {@link TenantColumnBackfillException} is thrown
+     */
+    public TenantColumnBackfillResult run(Connection connection, TenantColumnBackfillStatements statements) throws SQLException {
+        return run(connection, statements, null);
+    }
+
+    /**
+     * Executes batches for keys greater than the checkpoint.
+     * @param connection database connection
+     * @param statements backfill statements
+     * @param checkpoint values of the last processed key, in order of the key columns, null means the beginning of the table
+     * @return result with metrics
+     * @throws SQLException if any batch could not be executed, the exception of type {@link TenantColumnBackfillException} is thrown
+     */
+    public TenantColumnBackfillResult run(Connection connection, TenantColumnBackfillStatements statements, List<Object> checkpoint) throws SQLException {
+        if (statements == null) {
+            throw new IllegalArgumentException("The statements object cannot be null");
+        }
+        if (checkpoint != null && checkpoint.size() != statements.getKeyColumns().size()) {
+            throw new IllegalArgumentException("Checkpoint has to have a value for each key column");
+        }
+        long start = System.nanoTime();
+        List<TenantColumnBackfillBatchMetrics> batchesMetrics = new ArrayList<>();
+        List<Object> currentCheckpoint = checkpoint == null ? null : Collections.unmodifiableList(new ArrayList<>(checkpoint));
+        long totalUpdatedRows = 0;
+        boolean completed = false;
+        boolean autoCommit = connection.getAutoCommit();
+        PreparedStatement nextBatchStatement = null;
+        try {
+            connection.setAutoCommit(false);
+            for (int batchIndex = 0; options.getMaxBatches() < 1 || batchIndex < options.getMaxBatches(); batchIndex++) {
+                if (batchIndex > 0) {
+                    sleep(options.getSleepMillis());
+                }
+                long batchStart = System.nanoTime();
+                BatchRow batchRow;
+                try {
+                    if (currentCheckpoint == null) {
+                        try (PreparedStatement firstBatchStatement = connection.prepareStatement(statements.getFirstBatchStatement())) {
+                            batchRow = executeBatch(firstBatchStatement, statements.getKeyColumns().size());
+                        }
+                    } else {
+                        if (nextBatchStatement == null) {
+                            nextBatchStatement = connection.prepareStatement(statements.getNextBatchStatement());
+                        }
+                        for (int i = 0; i < currentCheckpoint.size(); i++) {
+                            nextBatchStatement.setObject(i + 1, currentCheckpoint.get(i));
+                        }
+                        batchRow = executeBatch(nextBatchStatement, statements.getKeyColumns().size());
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    try {
+                        connection.rollback();
+                    } catch (SQLException rollbackException) {
+                        e.addSuppressed(rollbackException);
+                    }
+                    if (e instanceof SQLException) {
+                        throw new TenantColumnBackfillException(format("Failed to execute backfill batch with index %1$d: %2$s", batchIndex, e.getMessage()), currentCheckpoint, (SQLException) e);
+                    }
+                    throw e;
+                }
+                if (batchRow == null) {
+                    completed = true;
+                    break;
+                }
+                currentCheckpoint = batchRow.key;
+                totalUpdatedRows += batchRow.updatedRows;
+                long now = System.nanoTime();
+                TenantColumnBackfillBatchMetrics metrics = new TenantColumnBackfillBatchMetrics(batchIndex, batchRow.updatedRows, currentCheckpoint, now - batchStart, totalUpdatedRows, now - start);
+                batchesMetrics.add(metrics);
+                if (options.getListener() != null) {
+                    options.getListener().onBatchCommitted(metrics);
+                }
+            }
+        } finally {
+            try {
+                if (nextBatchStatement != null) {
+                    nextBatchStatement.close();
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return new TenantColumnBackfillResult(batchesMetrics, currentCheckpoint, completed, System.nanoTime() - start);
+    }
+
+    private static BatchRow executeBatch(PreparedStatement statement, int keyColumnsCount) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            List<Object> key = new ArrayList<>(keyColumnsCount);
+            for (int i = 0; i < keyColumnsCount; i++) {
+                key.add(resultSet.getObject(i + 2));
+            }
+            return new BatchRow(resultSet.getLong(1), Collections.unmodifiableList(key));
+        }
+    }
+
+    private static void sleep(long millis) throws SQLException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the next batch", e);
+        }
+    }
+
+    private static final class BatchRow {
+
+        private final long updatedRows;
+        private final List<Object> key;
+
+        private BatchRow(long updatedRows, List<Object> key) {
+            this.updatedRows = updatedRows;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.starnowski.posmulten.postgresql.jdbc;
+
+/**
+ * Options for the {@link TenantColumnBackfillRunner} component.
+ */
+public class TenantColumnBackfillRunnerOptions {
+
+    /**
+     * Delay between batches, in milliseconds.
+     * The delay gives time to the replicas and the autovacuum to catch up with the changes.
+     */
+    private final long sleepMillis;
+    /**
+     * Maximum number of batches executed by a single run.
+     * The value lower than one means that batches are executed until all keys are processed.
+     */
+    private final int maxBatches;
+    /**
+     * Listener notified about the backfill progress, can be null.
+     */
+    private final ITenantColumnBackfillListener listener;
+
+    public TenantColumnBackfillRunnerOptions(long sleepMillis, int maxBatches, ITenantColumnBackfillListener listener) {
+        this.sleepMillis = sleepMillis;
+        this.maxBatches = maxBatches;
+        this.listener = listener;
+    }
+
+    public long getSleepMillis() {
+        return sleepMillis;
+    }
+
+    public int getMaxBatches() {
+        return maxBatches;
+    }
+
+    public ITenantColumnBackfillListener getListener() {
+        return listener;
+    }
+
+    public static TenantColumnBackfillRunnerOptionsBuilder builder()
+    {
+        return new TenantColumnBackfillRunnerOptionsBuilder();
+    }
+
+    public static class TenantColumnBackfillRunnerOptionsBuilder
+    {
+        private long sleepMillis;
+        private int maxBatches;
+        private ITenantColumnBackfillListener listener;
+
+        public TenantColumnBackfillRunnerOptionsBuilder withSleepMillis(long sleepMillis) {
+            this.sleepMillis = sleepMillis;
+            return this;
+        }
+
+        public TenantColumnBackfillRunnerOptionsBuilder withMaxBatches(int maxBatches) {
+            this.maxBatches = maxBatches;
+            return this;
+        }
+
+        public TenantColumnBackfillRunnerOptionsBuilder withListener(ITenantColumnBackfillListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public TenantColumnBackfillRunnerOptions build()
+        {
+            return new TenantColumnBackfillRunnerOptions(sleepMillis, maxBatches, listener);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.SQLException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class CurrentTenantConnectionSwitcherTest extends Specification {
+
+    static final String SET_TENANT_STATEMENT = "SELECT set_tenant(?);"
+
+    def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+        returnPreparedStatementThatSetCurrentTenant() >> SET_TENANT_STATEMENT
+    }
+    def tested = new CurrentTenantConnectionSwitcher(factory)
+
+    def "should invoke function for each switch by default and reuse prepared statement"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+
+        when:
+            tested.switchTenant(connection, "tenant1")
+            tested.switchTenant(connection, "tenant1")
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            2 * preparedStatement.setString(1, "tenant1")
+            2 * preparedStatement.execute()
+
+        and:
+            !tested.isSkipRedundantSwitches()
+            tested.getTenantSwitchesCount() == 2
+            tested.getSkippedTenantSwitchesCount() == 0
+            tested.getLastTenant(connection) == "tenant1"
+    }
+
+    def "should invoke function only when tenant changes when skipping of redundant switches is enabled"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            tested = new CurrentTenantConnectionSwitcher(factory, true)
+
+        when:
+            tested.switchTenant(connection, "tenant1")
+            tested.switchTenant(connection, "tenant1")
+            tested.switchTenant(connection, "tenant2")
+            tested.switchTenant(connection, "tenant2")
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+
+        and:
+            1 * preparedStatement.setString(1, "tenant1")
+            1 * preparedStatement.setString(1, "tenant2")
+            2 * preparedStatement.execute()
+
+        and:
+            tested.getTenantSwitchesCount() == 2
+            tested.getSkippedTenantSwitchesCount() == 2
+            tested.getLastTenant(connection) == "tenant2"
+    }
+
+    def "should track tenant for the physical connection returned by the unwrap method"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            def firstCheckout = Mock(Connection)
+            def secondCheckout = Mock(Connection)
+            [firstCheckout, secondCheckout].each { proxy ->
+                proxy.isWrapperFor(Connection) >> true
+                proxy.unwrap(Connection) >> physicalConnection
+            }
+            def preparedStatement = Mock(PreparedStatement)
+            tested = new CurrentTenantConnectionSwitcher(factory, true)
+
+        when:
+            tested.switchTenant(firstCheckout, "tenant1")
+            tested.switchTenant(secondCheckout, "tenant1")
+
+        then:
+            1 * firstCheckout.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            0 * secondCheckout.prepareStatement(_)
+            1 * preparedStatement.execute()
+            tested.getLastTenant(secondCheckout) == "tenant1"
+    }
+
+    def "should prepare statement through the passed connection instead of the unwrapped physical connection"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            def firstCheckout = Mock(Connection)
+            def secondCheckout = Mock(Connection)
+            [firstCheckout, secondCheckout].each { proxy ->
+                proxy.isWrapperFor(Connection) >> true
+                proxy.unwrap(Connection) >> physicalConnection
+            }
+            def firstPreparedStatement = Mock(PreparedStatement)
+            def secondPreparedStatement = Mock(PreparedStatement)
+
+        when:
+            tested.switchTenant(firstCheckout, "tenant1")
+
+        then:
+            1 * firstCheckout.prepareStatement(SET_TENANT_STATEMENT) >> firstPreparedStatement
+            1 * firstPreparedStatement.execute()
+
+        when:
+            tested.switchTenant(secondCheckout, "tenant2")
+
+        then: "the statement of the previous checkout is not reused"
+            1 * firstPreparedStatement.close()
+            1 * secondCheckout.prepareStatement(SET_TENANT_STATEMENT) >> secondPreparedStatement
+            1 * secondPreparedStatement.setString(1, "tenant2")
+            1 * secondPreparedStatement.execute()
+            0 * physicalConnection.prepareStatement(_)
+            0 * firstPreparedStatement.execute()
+    }
+
+    def "should invoke function again after invalidation"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+
+            tested = new CurrentTenantConnectionSwitcher(factory, true)
+
+        when:
+            tested.switchTenant(connection, "tenant1")
+            tested.invalidate(connection)
+            tested.switchTenant(connection, "tenant1")
+
+        then:
+            2 * preparedStatement.execute()
+            tested.getLastTenant(connection) == "tenant1"
+    }
+
+    def "should invalidate tenant after the switch that is in progress"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            def executionStarted = new CountDownLatch(1)
+            def executionReleased = new CountDownLatch(1)
+            preparedStatement.execute() >> {
+                executionStarted.countDown()
+                executionReleased.await(5, TimeUnit.SECONDS)
+                true
+            }
+            def switchThread = new Thread({ tested.switchTenant(connection, "tenant1") })
+            def invalidateThread = new Thread({ tested.invalidate(connection) })
+
+        when:
+            switchThread.start()
+            executionStarted.await(5, TimeUnit.SECONDS)
+            invalidateThread.start()
+            invalidateThread.join(200)
+
+        then: "invalidation waits for the switch"
+            invalidateThread.isAlive()
+
+        when:
+            executionReleased.countDown()
+            switchThread.join(5000)
+            invalidateThread.join(5000)
+
+        then:
+            tested.getLastTenant(connection) == null
+    }
+
+    def "should prepare new statement when cached statement was closed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def firstPreparedStatement = Mock(PreparedStatement)
+            def secondPreparedStatement = Mock(PreparedStatement)
+
+        when:
+            tested.switchTenant(connection, "tenant1")
+            tested.switchTenant(connection, "tenant2")
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> firstPreparedStatement
+            1 * firstPreparedStatement.execute()
+
+        then:
+            1 * firstPreparedStatement.isClosed() >> true
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> secondPreparedStatement
+            1 * secondPreparedStatement.execute()
+    }
+
+    def "should not remember tenant when function invocation failed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+
+        when:
+            tested.switchTenant(connection, "tenant1")
+
+        then:
+            1 * preparedStatement.execute() >> { throw new SQLException("failed") }
+            thrown(SQLException)
+            tested.getLastTenant(connection) == null
+            tested.getTenantSwitchesCount() == 0
+    }
+
+    def "should evict state of closed connections"()
+    {
+        given:
+            def openConnection = Mock(Connection)
+            def closedConnection = Mock(Connection)
+            openConnection.prepareStatement(SET_TENANT_STATEMENT) >> Mock(PreparedStatement)
+            closedConnection.prepareStatement(SET_TENANT_STATEMENT) >> Mock(PreparedStatement)
+            openConnection.isClosed() >> false
+            closedConnection.isClosed() >> true
+            tested.switchTenant(openConnection, "tenant1")
+            tested.switchTenant(closedConnection, "tenant1")
+
+        when:
+            tested.evictClosedConnections()
+
+        then:
+            tested.getTrackedConnectionsCount() == 1
+            tested.getLastTenant(openConnection) == "tenant1"
+            tested.getLastTenant(closedConnection) == null
+    }
+
+    def "should refuse skipping of redundant switches for the function that sets the current tenant only for the current transaction"()
+    {
+        given:
+            def transactionScopedFactory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+                isTransactionScoped() >> true
+            }
+
+        when:
+            new CurrentTenantConnectionSwitcher(transactionScopedFactory, true)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Skipping of redundant tenant switches cannot be enabled for the function that sets the current tenant only for the current transaction"
+    }
+
+    def "should allow the function that sets the current tenant only for the current transaction when skipping of redundant switches is disabled"()
+    {
+        given:
+            def transactionScopedFactory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+                isTransactionScoped() >> true
+            }
+
+        when:
+            def result = new CurrentTenantConnectionSwitcher(transactionScopedFactory)
+
+        then:
+            !result.isSkipRedundantSwitches()
+    }
+}
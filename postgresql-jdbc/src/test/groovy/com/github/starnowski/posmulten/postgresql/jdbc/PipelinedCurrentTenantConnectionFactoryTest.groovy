@@ -0,0 +1,327 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+import java.sql.SQLWarning
+import java.sql.Statement
+
+class PipelinedCurrentTenantConnectionFactoryTest extends Specification {
+
+    static final String SET_TENANT_STATEMENT = "SELECT set_current_tenant(?);"
+
+    def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+    def tested = new PipelinedCurrentTenantConnectionFactory(factory)
+
+    def setup()
+    {
+        factory.returnPreparedStatementThatSetCurrentTenant() >> SET_TENANT_STATEMENT
+    }
+
+    def "should send function that sets current tenant together with first executed query and shift parameters indexes"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            def resultSet = Mock(ResultSet)
+            connection.prepareStatement("SELECT * FROM users WHERE id = ? AND name = ?") >> applicationStatement
+            def wrapped = tested.wrap(connection, "t1")
+            def statement = wrapped.prepareStatement("SELECT * FROM users WHERE id = ? AND name = ?")
+            statement.setFetchSize(50)
+            statement.setLong(1, 5L)
+            statement.setString(2, "Bob")
+
+        when:
+            def result = statement.executeQuery()
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users WHERE id = ? AND name = ?") >> pipelinedStatement
+            1 * pipelinedStatement.setFetchSize(50)
+            1 * pipelinedStatement.setString(1, "t1")
+            1 * pipelinedStatement.setLong(2, 5L)
+            1 * pipelinedStatement.setString(3, "Bob")
+
+        then:
+            1 * pipelinedStatement.execute() >> true
+            1 * pipelinedStatement.getMoreResults() >> true
+            1 * pipelinedStatement.getResultSet() >> resultSet
+            0 * applicationStatement.executeQuery()
+
+        when:
+            def next = result.next()
+
+        then:
+            1 * resultSet.next() >> true
+            next
+            result.getStatement().is(statement)
+            statement.getConnection().is(wrapped)
+            tested.getPipelinedTenantSwitchesCount() == 1
+            tested.getSeparateTenantSwitchesCount() == 0
+    }
+
+    def "should execute prepared statement without function that sets current tenant when tenant was already set"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            connection.prepareStatement("UPDATE users SET name = ?") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nUPDATE users SET name = ?") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> false
+            pipelinedStatement.getUpdateCount() >> 3
+            def statement = tested.wrap(connection, "t1").prepareStatement("UPDATE users SET name = ?")
+            statement.setString(1, "Bob")
+
+        when:
+            def firstResult = statement.executeUpdate()
+            def secondResult = statement.executeUpdate()
+
+        then:
+            1 * pipelinedStatement.execute()
+            1 * applicationStatement.executeUpdate() >> 7
+
+        and:
+            firstResult == 3
+            secondResult == 7
+            tested.getPipelinedTenantSwitchesCount() == 1
+    }
+
+    def "should throw exception when query executed together with function that sets current tenant does not return result set"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def pipelinedStatement = Mock(PreparedStatement)
+            connection.prepareStatement("UPDATE users SET name = 'x'") >> Mock(PreparedStatement)
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nUPDATE users SET name = 'x'") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> false
+            def statement = tested.wrap(connection, "t1").prepareStatement("UPDATE users SET name = 'x'")
+
+        when:
+            statement.executeQuery()
+
+        then:
+            def ex = thrown(SQLException)
+            ex.getMessage() == "No results were returned by the query."
+    }
+
+    def "should invoke function that sets current tenant in separate round trip before execution of statement that can not be pipelined"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def setTenantStatement = Mock(PreparedStatement)
+            def applicationStatement = Mock(Statement)
+            connection.createStatement() >> applicationStatement
+            def statement = tested.wrap(connection, "t1").createStatement()
+
+        when:
+            statement.execute("DELETE FROM users")
+            statement.execute("DELETE FROM posts")
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> setTenantStatement
+            1 * setTenantStatement.setString(1, "t1")
+            1 * setTenantStatement.execute()
+            1 * setTenantStatement.close()
+
+        then:
+            1 * applicationStatement.execute("DELETE FROM users")
+
+        then:
+            1 * applicationStatement.execute("DELETE FROM posts")
+
+        and:
+            tested.getSeparateTenantSwitchesCount() == 1
+    }
+
+    def "should invoke function that sets current tenant in separate round trip before execution of batch"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def setTenantStatement = Mock(PreparedStatement)
+            def applicationStatement = Mock(PreparedStatement)
+            connection.prepareStatement("INSERT INTO users (name) VALUES (?)") >> applicationStatement
+            def statement = tested.wrap(connection, "t1").prepareStatement("INSERT INTO users (name) VALUES (?)")
+            statement.setString(1, "Bob")
+            statement.addBatch()
+
+        when:
+            statement.executeBatch()
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> setTenantStatement
+            1 * setTenantStatement.execute()
+
+        then:
+            1 * applicationStatement.executeBatch()
+            0 * connection.prepareStatement(SET_TENANT_STATEMENT + "\nINSERT INTO users (name) VALUES (?)")
+    }
+
+    def "should send function that sets current tenant again after transaction rollback"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            connection.prepareStatement("SELECT * FROM users") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> true
+            def wrapped = tested.wrap(connection, "t1")
+            def statement = wrapped.prepareStatement("SELECT * FROM users")
+
+        when:
+            statement.executeQuery()
+            wrapped.rollback()
+            statement.executeQuery()
+
+        then:
+            2 * pipelinedStatement.execute()
+            1 * connection.rollback()
+            0 * applicationStatement.executeQuery()
+            tested.getPipelinedTenantSwitchesCount() == 2
+    }
+
+    def "should send function that sets current tenant again with next statement when pipelined execution failed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            connection.prepareStatement("SELECT * FROM users") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> true
+            def statement = tested.wrap(connection, "t1").prepareStatement("SELECT * FROM users")
+
+        when:
+            statement.executeQuery()
+
+        then:
+            1 * pipelinedStatement.execute() >> { throw new SQLException("relation does not exist", "42P01") }
+            thrown(SQLException)
+
+        when:
+            statement.executeQuery()
+
+        then:
+            1 * pipelinedStatement.execute() >> true
+            0 * applicationStatement.executeQuery()
+            tested.getPipelinedTenantSwitchesCount() == 1
+    }
+
+    def "should close pipelined statement together with application statement"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            connection.prepareStatement("SELECT * FROM users") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> true
+            def statement = tested.wrap(connection, "t1").prepareStatement("SELECT * FROM users")
+            statement.executeQuery()
+
+        when:
+            statement.close()
+
+        then:
+            1 * pipelinedStatement.close()
+            1 * applicationStatement.close()
+    }
+
+    def "should return generated keys of insert executed together with function that sets current tenant"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            def generatedKeys = Mock(ResultSet)
+            connection.prepareStatement("INSERT INTO users (name) VALUES (?)") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nINSERT INTO users (name) VALUES (?)") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> false
+            pipelinedStatement.getUpdateCount() >> 1
+            def statement = tested.wrap(connection, "t1").prepareStatement("INSERT INTO users (name) VALUES (?)")
+            statement.setString(1, "Bob")
+            statement.executeUpdate()
+
+        when:
+            def keys = statement.getGeneratedKeys()
+            def next = keys.next()
+            def id = keys.getLong(1)
+
+        then:
+            1 * pipelinedStatement.getGeneratedKeys() >> generatedKeys
+            1 * generatedKeys.next() >> true
+            1 * generatedKeys.getLong(1) >> 13L
+            0 * applicationStatement.getGeneratedKeys()
+            next
+            id == 13L
+            keys.getStatement().is(statement)
+    }
+
+    def "should return warnings and result set properties of statement executed together with function that sets current tenant"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            def warning = new SQLWarning("relation already exists")
+            connection.prepareStatement("SELECT * FROM users") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> true
+            def statement = tested.wrap(connection, "t1").prepareStatement("SELECT * FROM users")
+            statement.executeQuery()
+
+        when:
+            def warnings = statement.getWarnings()
+            def resultSetType = statement.getResultSetType()
+            statement.clearWarnings()
+
+        then:
+            1 * pipelinedStatement.getWarnings() >> warning
+            1 * pipelinedStatement.getResultSetType() >> ResultSet.TYPE_FORWARD_ONLY
+            1 * pipelinedStatement.clearWarnings()
+            0 * applicationStatement.getWarnings()
+            0 * applicationStatement.getResultSetType()
+            0 * applicationStatement.clearWarnings()
+            warnings.is(warning)
+            resultSetType == ResultSet.TYPE_FORWARD_ONLY
+    }
+
+    def "should return warnings of application statement when it was executed after tenant was set"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def applicationStatement = Mock(PreparedStatement)
+            def pipelinedStatement = Mock(PreparedStatement)
+            def resultSet = Mock(ResultSet)
+            connection.prepareStatement("SELECT * FROM users") >> applicationStatement
+            connection.prepareStatement(SET_TENANT_STATEMENT + "\nSELECT * FROM users") >> pipelinedStatement
+            pipelinedStatement.getMoreResults() >> true
+            applicationStatement.executeQuery() >> resultSet
+            def statement = tested.wrap(connection, "t1").prepareStatement("SELECT * FROM users")
+            statement.executeQuery()
+
+        when:
+            def result = statement.executeQuery()
+            statement.getWarnings()
+
+        then:
+            1 * applicationStatement.getWarnings()
+            0 * pipelinedStatement.getWarnings()
+            result.getStatement().is(statement)
+    }
+
+    def "should throw exception when tenant identifier is null"()
+    {
+        when:
+            tested.wrap(Mock(Connection), null)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.getMessage() == "Tenant identifier cannot be null"
+    }
+}
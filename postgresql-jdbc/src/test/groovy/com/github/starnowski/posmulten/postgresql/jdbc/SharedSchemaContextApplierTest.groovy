@@ -0,0 +1,510 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.common.SQLDefinition
+import com.github.starnowski.posmulten.postgresql.core.context.ISharedSchemaContext
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.sql.DataSource
+
+import java.sql.BatchUpdateException
+import java.sql.Connection
+import java.sql.ResultSet
+import java.sql.SQLException
+import java.sql.Savepoint
+import java.sql.Statement
+
+class SharedSchemaContextApplierTest extends Specification {
+
+    def "should apply create scripts in batches and commit them in chunks"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> (1..5).collect { definition("CREATE $it", "DROP $it") }
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withStatementsPerTransaction(3)
+                    .withBatchSize(2)
+                    .build())
+
+        when:
+            def result = tested.applyCreateScripts(connection, context)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.setAutoCommit(false)
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.addBatch("CREATE 1")
+            1 * statement.addBatch("CREATE 2")
+            1 * statement.executeBatch() >> ([0, 0] as int[])
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE 3")
+
+        then:
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(false)
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.addBatch("CREATE 4")
+            1 * statement.addBatch("CREATE 5")
+            1 * statement.executeBatch() >> ([0, 0] as int[])
+
+        then:
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+            0 * connection.setSavepoint()
+            0 * connection.rollback()
+
+        and:
+            result.getStatementsCount() == 5
+            result.getRetriesCount() == 0
+            result.getBatchesMetrics().collect { it.getStatements() } == [["CREATE 1", "CREATE 2"], ["CREATE 3"], ["CREATE 4", "CREATE 5"]]
+            result.getBatchesMetrics().collect { it.getFirstStatementIndex() } == [0, 2, 3]
+            result.getBatchesMetrics().every { it.isTransactional() && it.getAttempts() == 1 }
+    }
+
+    def "should apply drop scripts in reverse order and skip blank statements"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> [definition("CREATE 1", "DROP 1"), definition("CREATE 2", null), definition("CREATE 3", "DROP 3")]
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder().withBatchSize(1).build())
+            def executedStatements = []
+
+        when:
+            def result = tested.applyDropScripts(connection, context)
+
+        then:
+            2 * connection.createStatement() >> statement
+            2 * statement.execute(_) >> { parameters -> executedStatements << parameters[0]; false }
+            1 * connection.commit()
+
+        and:
+            executedStatements == ["DROP 3", "DROP 1"]
+            result.getStatementsCount() == 2
+    }
+
+    def "should execute statement of SQL definition that is not transactional outside of the transaction"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> [definition("CREATE TABLE a", "DROP TABLE a"), definition("CREATE INDEX CONCURRENTLY a_idx ON a (tenant_id)", "DROP INDEX CONCURRENTLY a_idx", false), definition("CREATE TABLE b", "DROP TABLE b")]
+            def tested = new SharedSchemaContextApplier()
+
+        when:
+            def result = tested.applyCreateScripts(connection, context)
+
+        then:
+            1 * connection.getAutoCommit() >> false
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE TABLE a")
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE INDEX CONCURRENTLY a_idx ON a (tenant_id)")
+
+        then:
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE TABLE b")
+            1 * connection.commit()
+
+        then: "auto-commit mode should be restored"
+            1 * connection.setAutoCommit(false)
+
+        and:
+            result.getBatchesMetrics().collect { it.isTransactional() } == [true, false, true]
+    }
+
+    def "should set lock timeout at session level for statement of SQL definition that is not transactional and restore previous value"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def resultSet = Mock(ResultSet)
+            def context = Mock(ISharedSchemaContext)
+            context.getSqlDefinitionsView() >> [definition("CREATE INDEX CONCURRENTLY a_idx ON a (tenant_id)", "DROP INDEX CONCURRENTLY a_idx", false)]
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withLockTimeoutMillis(3000)
+                    .withMaxRetries(3)
+                    .build())
+
+        when:
+            tested.applyCreateScripts(connection, context)
+
+        then:
+            1 * connection.setAutoCommit(true)
+            1 * connection.createStatement() >> statement
+            1 * statement.executeQuery("SHOW lock_timeout") >> resultSet
+            1 * resultSet.next() >> true
+            1 * resultSet.getString(1) >> "10s"
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET lock_timeout = '3000ms'")
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE INDEX CONCURRENTLY a_idx ON a (tenant_id)") >> { throw new SQLException("lock timeout", "55P03") }
+
+        then: "statement is not retried and previous lock timeout is restored"
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET lock_timeout = '10s'")
+            0 * statement.execute("CREATE INDEX CONCURRENTLY a_idx ON a (tenant_id)")
+            0 * connection.setSavepoint()
+            0 * connection.rollback(_)
+
+        and:
+            def ex = thrown(SharedSchemaContextApplierException)
+            ex.getStatementIndex() == 0
+    }
+
+    def "should set lock timeout for each transaction"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withStatementsPerTransaction(1)
+                    .withLockTimeoutMillis(3000)
+                    .build())
+
+        when:
+            tested.apply(connection, ["CREATE 1", "CREATE 2"])
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET LOCAL lock_timeout = '3000ms'")
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE 1")
+            1 * connection.commit()
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET LOCAL lock_timeout = '3000ms'")
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("CREATE 2")
+            1 * connection.commit()
+    }
+
+    @Unroll
+    def "should retry batch that failed with sql state #sqlState by rolling back to savepoint"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def savepoint = Mock(Savepoint)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withMaxRetries(2)
+                    .build())
+
+        when:
+            def result = tested.apply(connection, ["CREATE 1", "CREATE 2"])
+
+        then:
+            1 * connection.setSavepoint() >> savepoint
+            1 * connection.createStatement() >> statement
+            1 * statement.executeBatch() >> { throw new BatchUpdateException("batch failed", sqlState, 0, [] as int[], new SQLException("failed", sqlState)) }
+            1 * connection.rollback(savepoint)
+
+        then:
+            1 * connection.setSavepoint() >> savepoint
+            1 * connection.createStatement() >> statement
+            1 * statement.executeBatch() >> ([0, 0] as int[])
+            1 * connection.releaseSavepoint(savepoint)
+
+        then:
+            1 * connection.commit()
+            0 * connection.rollback()
+
+        and:
+            result.getRetriesCount() == 1
+            result.getBatchesMetrics()[0].getAttempts() == 2
+
+        where:
+            sqlState << ["55P03", "40P01", "40001"]
+    }
+
+    def "should rollback transaction and throw exception when retries limit was exceeded"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def savepoint = Mock(Savepoint)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withMaxRetries(1)
+                    .build())
+
+        when:
+            tested.apply(connection, ["CREATE 1"])
+
+        then:
+            2 * connection.setSavepoint() >> savepoint
+            2 * connection.createStatement() >> statement
+            2 * statement.execute("CREATE 1") >> { throw new SQLException("lock timeout", "55P03") }
+            1 * connection.rollback(savepoint)
+            1 * connection.rollback()
+            0 * connection.commit()
+            def ex = thrown(SharedSchemaContextApplierException)
+            ex.getStatementIndex() == 0
+            ex.getStatement() == "CREATE 1"
+            ex.getSQLState() == "55P03"
+    }
+
+    def "should not retry batch that failed because of error other than lock timeout"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withMaxRetries(3)
+                    .build())
+
+        when:
+            tested.apply(connection, ["CREATE 1", "CREATE 2", "CREATE 3"])
+
+        then:
+            1 * connection.setSavepoint() >> Mock(Savepoint)
+            1 * connection.createStatement() >> statement
+            1 * statement.executeBatch() >> { throw new BatchUpdateException("batch failed", "42P01", 0, [1] as int[], new SQLException("relation does not exist", "42P01")) }
+            0 * connection.rollback(_)
+            1 * connection.rollback()
+            def ex = thrown(SharedSchemaContextApplierException)
+            ex.getStatementIndex() == 1
+            ex.getStatement() == "CREATE 2"
+    }
+
+    def "should notify listener about progress"()
+    {
+        given:
+            def connection = Mock(Connection)
+            connection.createStatement() >> Mock(Statement)
+            def listener = Mock(ISharedSchemaContextApplierListener)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withStatementsPerTransaction(2)
+                    .withBatchSize(1)
+                    .withListener(listener)
+                    .build())
+
+        when:
+            tested.apply(connection, ["CREATE 1", "CREATE 2", "CREATE 3"])
+
+        then:
+            1 * listener.onBatchExecuted({ it.getStatements() == ["CREATE 1"] })
+            1 * listener.onBatchExecuted({ it.getStatements() == ["CREATE 2"] })
+
+        then:
+            1 * listener.onStatementsApplied(2, 3)
+
+        then:
+            1 * listener.onBatchExecuted({ it.getStatements() == ["CREATE 3"] })
+
+        then:
+            1 * listener.onStatementsApplied(3, 3)
+    }
+
+    def "should apply statements that validate constraints each in separate transaction"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def context = Mock(ISharedSchemaContext)
+            context.getValidateConstraintStatements() >> ["VALIDATE 1", " ", "VALIDATE 2"]
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withStatementsPerTransaction(10)
+                    .withLockTimeoutMillis(500)
+                    .build())
+
+        when:
+            def result = tested.applyValidateConstraintScripts(connection, context)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+
+        then:
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET LOCAL lock_timeout = '500ms'")
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("VALIDATE 1")
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET LOCAL lock_timeout = '500ms'")
+
+        then:
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("VALIDATE 2")
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+
+        and:
+            result.getBatchesMetrics().collect { it.getStatements() } == [["VALIDATE 1"], ["VALIDATE 2"]]
+            result.getBatchesMetrics().every { it.isTransactional() }
+    }
+
+    def "should apply statements returned for the phase after validation each in separate transaction and in order"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def context = Mock(ISharedSchemaContext)
+            context.getPostValidateConstraintStatements() >> ["SET NOT NULL 1", "DROP CHECK 1"]
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder()
+                    .withStatementsPerTransaction(10)
+                    .build())
+
+        when:
+            def result = tested.applyPostValidateConstraintScripts(connection, context)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+
+        then:
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("SET NOT NULL 1")
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(false)
+            1 * connection.createStatement() >> statement
+            1 * statement.execute("DROP CHECK 1")
+            1 * connection.commit()
+
+        then:
+            1 * connection.setAutoCommit(true)
+
+        and:
+            0 * context.getValidateConstraintStatements()
+            result.getBatchesMetrics().collect { it.getStatements() } == [["SET NOT NULL 1"], ["DROP CHECK 1"]]
+    }
+
+    def "should apply statements that validate constraints in parallel on connections from data source"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def firstConnection = Mock(Connection)
+            def secondConnection = Mock(Connection)
+            List<String> executedStatements = Collections.synchronizedList(new ArrayList<String>())
+            [firstConnection, secondConnection].each { connection ->
+                def statement = Mock(Statement)
+                statement.execute(_) >> { args ->
+                    executedStatements.add(args[0])
+                    true
+                }
+                connection.createStatement() >> statement
+                connection.getAutoCommit() >> true
+            }
+            def context = Mock(ISharedSchemaContext)
+            context.getValidateConstraintStatements() >> (1..5).collect { "VALIDATE $it".toString() }
+            def tested = new SharedSchemaContextApplier()
+
+        when:
+            def result = tested.applyValidateConstraintScripts(dataSource, context, 2)
+
+        then:
+            2 * dataSource.getConnection() >>> [firstConnection, secondConnection]
+            1 * firstConnection.close()
+            1 * secondConnection.close()
+
+        and:
+            new HashSet<String>(executedStatements) == (1..5).collect { "VALIDATE $it".toString() }.toSet()
+            executedStatements.size() == 5
+            result.getBatchesMetrics().collect { it.getFirstStatementIndex() } == [0, 1, 2, 3, 4]
+    }
+
+    def "should skip statements that validate constraints that were not started when one of statements failed"()
+    {
+        given:
+            def dataSource = Mock(DataSource)
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            dataSource.getConnection() >> connection
+            connection.createStatement() >> statement
+            def context = Mock(ISharedSchemaContext)
+            context.getValidateConstraintStatements() >> ["VALIDATE 1", "VALIDATE 2", "VALIDATE 3"]
+            def tested = new SharedSchemaContextApplier()
+
+        when:
+            tested.applyValidateConstraintScripts(dataSource, context, 1)
+
+        then:
+            1 * statement.execute("VALIDATE 1")
+            1 * statement.execute("VALIDATE 2") >> { throw new SQLException("check constraint is violated by some row", "23514") }
+            0 * statement.execute("VALIDATE 3")
+            1 * connection.rollback()
+            1 * connection.close()
+            def ex = thrown(SharedSchemaContextApplierException)
+            ex.getStatementIndex() == 1
+            ex.getStatement() == "VALIDATE 2"
+    }
+
+    def "should throw exception when parallelism is lower than one"()
+    {
+        when:
+            new SharedSchemaContextApplier().applyValidateConstraintScripts(Mock(DataSource), Mock(ISharedSchemaContext), 0)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Parallelism has to be greater than zero"
+    }
+
+    def "should execute passed statements in transaction even if they contain the CONCURRENTLY word"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def tested = new SharedSchemaContextApplier(SharedSchemaContextApplierOptions.builder().withBatchSize(1).build())
+
+        when:
+            def result = tested.apply(connection, ["ALTER TABLE users ADD COLUMN concurrently_updated boolean", "COMMENT ON TABLE users IS 'Updated CONCURRENTLY'"])
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.setAutoCommit(false)
+            1 * statement.execute("ALTER TABLE users ADD COLUMN concurrently_updated boolean")
+            1 * statement.execute("COMMENT ON TABLE users IS 'Updated CONCURRENTLY'")
+            2 * connection.createStatement() >> statement
+            1 * connection.commit()
+
+        and:
+            result.getBatchesMetrics().every { it.isTransactional() }
+    }
+
+    SQLDefinition definition(String createScript, String dropScript, boolean transactional = true)
+    {
+        def definition = Mock(SQLDefinition)
+        definition.getCreateScript() >> createScript
+        definition.getDropScript() >> dropScript
+        definition.isTransactional() >> transactional
+        definition
+    }
+}
@@ -0,0 +1,493 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.SQLException
+import java.sql.Statement
+import java.util.function.Supplier
+
+class TenantAffinityDataSourceTest extends Specification {
+
+    String currentTenant
+    def dataSource = Mock(DataSource)
+    def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory)
+    def switcher = new CurrentTenantConnectionSwitcher(factory, true)
+
+    def setup()
+    {
+        factory.returnPreparedStatementThatSetCurrentTenant() >> "SELECT set_current_tenant(?);"
+    }
+
+    def "should return connection last used by the same tenant"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            def tested = prepareDataSource(2)
+
+        when:
+            def first = getConnection("t1")
+            first.close()
+            def second = getConnection("t1")
+
+        then:
+            1 * dataSource.getConnection() >> physicalConnection
+            isPooledConnectionFor(second, physicalConnection)
+            tested.getTenantAffinityHitsCount() == 1
+            tested.getTenantAffinityMissesCount() == 1
+            switcher.getTenantSwitchesCount() == 1
+            switcher.getSkippedTenantSwitchesCount() == 1
+    }
+
+    def "should prefer idle connection of the same tenant when there are idle connections of other tenants"()
+    {
+        given:
+            def firstPhysicalConnection = prepareConnection()
+            def secondPhysicalConnection = prepareConnection()
+            dataSource.getConnection() >>> [firstPhysicalConnection, secondPhysicalConnection]
+            def tested = prepareDataSource(2)
+            def t1Connection = getConnection("t1")
+            def t2Connection = getConnection("t2")
+            t1Connection.close()
+            t2Connection.close()
+
+        when:
+            def t2SecondConnection = getConnection("t2")
+            def t1SecondConnection = getConnection("t1")
+
+        then:
+            isPooledConnectionFor(t2SecondConnection, secondPhysicalConnection)
+            isPooledConnectionFor(t1SecondConnection, firstPhysicalConnection)
+            tested.getTenantAffinityHitsCount() == 2
+            tested.getTenantAffinityMissesCount() == 2
+            switcher.getTenantSwitchesCount() == 2
+    }
+
+    def "should fall back to the earliest released idle connection of other tenant"()
+    {
+        given:
+            def firstPhysicalConnection = prepareConnection()
+            def secondPhysicalConnection = prepareConnection()
+            dataSource.getConnection() >>> [firstPhysicalConnection, secondPhysicalConnection]
+            def tested = prepareDataSource(2)
+            def t1Connection = getConnection("t1")
+            def t2Connection = getConnection("t2")
+            t1Connection.close()
+            t2Connection.close()
+
+        when:
+            def t3Connection = getConnection("t3")
+
+        then:
+            isPooledConnectionFor(t3Connection, firstPhysicalConnection)
+            switcher.getLastTenant(firstPhysicalConnection) == "t3"
+            tested.getTenantAffinityHitsCount() == 0
+            tested.getTenantAffinityMissesCount() == 3
+            tested.getConnectionsCount() == 2
+            tested.getIdleConnectionsCount() == 1
+    }
+
+    def "should throw exception when connection is not available before timeout"()
+    {
+        given:
+            dataSource.getConnection() >> prepareConnection()
+            tested = new TenantAffinityDataSource(dataSource, { currentTenant } as Supplier, switcher, 1, 10)
+            getConnection("t1")
+
+        when:
+            getConnection("t2")
+
+        then:
+            def ex = thrown(SQLException)
+            ex.message == "Connection is not available, request timed out after 10ms"
+    }
+
+    def "should discard idle connection that was closed"()
+    {
+        given:
+            def firstPhysicalConnection = prepareConnection()
+            def secondPhysicalConnection = prepareConnection()
+            firstPhysicalConnection.isClosed() >>> [false, true]
+            def tested = prepareDataSource(1)
+
+        when:
+            getConnection("t1").close()
+            def nextConnection = getConnection("t1")
+
+        then:
+            2 * dataSource.getConnection() >>> [firstPhysicalConnection, secondPhysicalConnection]
+            1 * firstPhysicalConnection.close()
+
+        and:
+            isPooledConnectionFor(nextConnection, secondPhysicalConnection)
+            tested.getConnectionsCount() == 1
+    }
+
+    def "should rollback transaction when connection is returned to the pool and forget its tenant"()
+    {
+        given:
+            def physicalConnection = prepareConnection(false)
+            dataSource.getConnection() >> physicalConnection
+            def tested = prepareDataSource(1)
+
+        when:
+            getConnection("t1").close()
+
+        then:
+            1 * physicalConnection.rollback()
+
+        when:
+            getConnection("t1")
+
+        then:
+            tested.getTenantAffinityHitsCount() == 0
+            tested.getTenantAffinityMissesCount() == 2
+            switcher.getTenantSwitchesCount() == 2
+    }
+
+    def "should return closed connection to the pool only once"()
+    {
+        given:
+            dataSource.getConnection() >> prepareConnection()
+            def tested = prepareDataSource(1)
+            def connection = getConnection("t1")
+
+        when:
+            connection.close()
+            connection.close()
+
+        then:
+            connection.isClosed()
+            tested.getIdleConnectionsCount() == 1
+
+        when:
+            connection.createStatement()
+
+        then:
+            thrown(SQLException)
+    }
+
+    def "should discard connection when tenant could not be set"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            def statement = Mock(PreparedStatement)
+            physicalConnection.prepareStatement(_) >> statement
+            statement.execute() >> { throw new SQLException("invalid tenant") }
+            dataSource.getConnection() >> physicalConnection
+            def tested = prepareDataSource(1)
+
+        when:
+            getConnection("t1")
+
+        then:
+            thrown(SQLException)
+            1 * physicalConnection.close()
+            tested.getConnectionsCount() == 0
+    }
+
+    def "should close idle connections when the pool is closed"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            dataSource.getConnection() >> physicalConnection
+            def tested = prepareDataSource(1)
+            getConnection("t1").close()
+
+        when:
+            tested.close()
+
+        then:
+            1 * physicalConnection.close()
+            tested.getConnectionsCount() == 0
+
+        when:
+            getConnection("t1")
+
+        then:
+            def ex = thrown(SQLException)
+            ex.message == "The pool is closed"
+    }
+
+    def "should close statements left open by the borrower when connection is returned to the pool"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            def firstStatement = Mock(Statement)
+            def secondStatement = Mock(Statement)
+            physicalConnection.createStatement() >>> [firstStatement, secondStatement]
+            dataSource.getConnection() >> physicalConnection
+            prepareDataSource(1)
+            def connection = getConnection("t1")
+            connection.createStatement()
+            connection.createStatement()
+
+        when:
+            connection.close()
+
+        then:
+            1 * firstStatement.close()
+            1 * secondStatement.close()
+    }
+
+    def "should restore connection properties changed by the borrower when connection is returned to the pool"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            physicalConnection.prepareStatement(_) >> Mock(PreparedStatement)
+            physicalConnection.getAutoCommit() >>> [true, false, false]
+            physicalConnection.isReadOnly() >> false
+            physicalConnection.getTransactionIsolation() >> Connection.TRANSACTION_READ_COMMITTED
+            physicalConnection.getCatalog() >> "db"
+            physicalConnection.getSchema() >> "public"
+            physicalConnection.getNetworkTimeout() >> 0
+            dataSource.getConnection() >> physicalConnection
+            def tested = prepareDataSource(1)
+            def connection = getConnection("t1")
+            connection.setAutoCommit(false)
+            connection.setReadOnly(true)
+            connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE)
+            connection.setCatalog("other_db")
+            connection.setSchema("other_schema")
+            connection.setNetworkTimeout(null, 1000)
+
+        when:
+            connection.close()
+
+        then:
+            1 * physicalConnection.rollback()
+
+        then:
+            1 * physicalConnection.setAutoCommit(true)
+            1 * physicalConnection.setReadOnly(false)
+            1 * physicalConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED)
+            1 * physicalConnection.setCatalog("db")
+            1 * physicalConnection.setSchema("public")
+            1 * physicalConnection.setNetworkTimeout(_, 0)
+            1 * physicalConnection.clearWarnings()
+
+        and:
+            tested.getIdleConnectionsCount() == 1
+    }
+
+    def "should not restore connection properties that were not changed by the borrower"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            dataSource.getConnection() >> physicalConnection
+            prepareDataSource(1)
+            def connection = getConnection("t1")
+
+        when:
+            connection.close()
+
+        then:
+            0 * physicalConnection.setAutoCommit(_)
+            0 * physicalConnection.setReadOnly(_)
+            0 * physicalConnection.setTransactionIsolation(_)
+            0 * physicalConnection.setCatalog(_)
+            0 * physicalConnection.setSchema(_)
+            0 * physicalConnection.setNetworkTimeout(_, _)
+            0 * physicalConnection.rollback()
+    }
+
+    def "should discard connection when its properties could not be restored"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            physicalConnection.setReadOnly(false) >> { throw new SQLException("failed") }
+            dataSource.getConnection() >> physicalConnection
+            def tested = prepareDataSource(1)
+            def connection = getConnection("t1")
+            connection.setReadOnly(true)
+
+        when:
+            connection.close()
+
+        then:
+            1 * physicalConnection.close()
+            tested.getConnectionsCount() == 0
+    }
+
+    def "should not expose the physical connection by the unwrap and isWrapperFor methods"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            dataSource.getConnection() >> physicalConnection
+            prepareDataSource(1)
+            def connection = getConnection("t1")
+
+        when:
+            def unwrapped = connection.unwrap(Connection)
+
+        then:
+            unwrapped.is(connection)
+            connection.isWrapperFor(Connection)
+            !connection.isWrapperFor(DataSource)
+            0 * physicalConnection.unwrap(_)
+            0 * physicalConnection.isWrapperFor(_)
+
+        when:
+            connection.unwrap(DataSource)
+
+        then:
+            def ex = thrown(SQLException)
+            ex.message == "The pooled connection cannot be unwrapped to the type javax.sql.DataSource"
+    }
+
+    def "should throw exception and not return connection of previous tenant when current tenant was not resolved"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            def tested = prepareDataSource(1)
+
+        when: "connection is used by the tenant A and returned to the pool"
+            getConnection("tenantA").close()
+
+        then:
+            1 * dataSource.getConnection() >> physicalConnection
+
+        when: "the connection is requested without tenant"
+            getConnection(null)
+
+        then: "the idle connection with the tenant A is not handed out"
+            def ex = thrown(SQLException)
+            ex.message == "The current tenant was not resolved, the connection cannot be returned without setting the tenant"
+            0 * dataSource.getConnection()
+            0 * physicalConnection._
+            tested.getIdleConnectionsCount() == 1
+    }
+
+    def "should validate idle connection before returning it only when it was idle longer than the specified time"()
+    {
+        given:
+            def firstPhysicalConnection = prepareConnection()
+            def secondPhysicalConnection = prepareConnection()
+            prepareDataSource(TenantAffinityDataSourceOptions.builder().withMaximumPoolSize(1).withValidateAfterIdleMillis(500).withValidationTimeoutSeconds(3).build())
+
+        when: "connection is returned shortly after it was released"
+            getConnection("t1").close()
+            clock += 100_000_000
+            getConnection("t1").close()
+
+        then:
+            1 * dataSource.getConnection() >> firstPhysicalConnection
+            0 * firstPhysicalConnection.isValid(_)
+
+        when: "connection is returned after it was idle longer than the specified time and it is not valid"
+            clock += 600_000_000
+            def nextConnection = getConnection("t1")
+
+        then:
+            1 * firstPhysicalConnection.isValid(3) >> false
+            1 * firstPhysicalConnection.close()
+            1 * dataSource.getConnection() >> secondPhysicalConnection
+            isPooledConnectionFor(nextConnection, secondPhysicalConnection)
+            tested.getConnectionsCount() == 1
+    }
+
+    def "should close idle connections that exceeded idle timeout"()
+    {
+        given:
+            def firstPhysicalConnection = prepareConnection()
+            def secondPhysicalConnection = prepareConnection()
+            dataSource.getConnection() >>> [firstPhysicalConnection, secondPhysicalConnection]
+            prepareDataSource(TenantAffinityDataSourceOptions.builder().withMaximumPoolSize(2).withIdleTimeoutMillis(1000).withMaxLifetimeMillis(0).build())
+            def first = getConnection("t1")
+            def second = getConnection("t2")
+            first.close()
+            clock += 600_000_000
+            second.close()
+
+        when:
+            clock += 600_000_000
+            def result = tested.evictExpiredIdleConnections()
+
+        then:
+            result == 1
+            1 * firstPhysicalConnection.close()
+            0 * secondPhysicalConnection.close()
+            tested.getIdleConnectionsCount() == 1
+            tested.getConnectionsCount() == 1
+    }
+
+    def "should close connection that exceeded maximum lifetime when it is returned to the pool"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            dataSource.getConnection() >> physicalConnection
+            prepareDataSource(TenantAffinityDataSourceOptions.builder().withMaximumPoolSize(1).withMaxLifetimeMillis(1000).build())
+            def connection = getConnection("t1")
+
+        when:
+            clock += 1_000_000_000
+            connection.close()
+
+        then:
+            1 * physicalConnection.close()
+            tested.getIdleConnectionsCount() == 0
+            tested.getConnectionsCount() == 0
+    }
+
+    def "should close connection when it is returned to the pool after connection error"()
+    {
+        given:
+            def physicalConnection = prepareConnection()
+            dataSource.getConnection() >> physicalConnection
+            physicalConnection.setAutoCommit(false) >> { throw new SQLException("I/O error", "08006") }
+            prepareDataSource(1)
+            def connection = getConnection("t1")
+
+        when:
+            connection.setAutoCommit(false)
+
+        then:
+            thrown(SQLException)
+
+        when:
+            connection.close()
+
+        then:
+            1 * physicalConnection.close()
+            tested.getIdleConnectionsCount() == 0
+            tested.getConnectionsCount() == 0
+    }
+
+    TenantAffinityDataSource tested
+    long clock = 0
+
+    TenantAffinityDataSource prepareDataSource(TenantAffinityDataSourceOptions options)
+    {
+        tested = new TenantAffinityDataSource(dataSource, { currentTenant } as Supplier, switcher, options, { clock })
+        tested
+    }
+
+    TenantAffinityDataSource prepareDataSource(int maximumPoolSize)
+    {
+        tested = new TenantAffinityDataSource(dataSource, { currentTenant } as Supplier, switcher, maximumPoolSize, 1000)
+        tested
+    }
+
+    Connection getConnection(String tenant)
+    {
+        currentTenant = tenant
+        tested.getConnection()
+    }
+
+    static boolean isPooledConnectionFor(Connection connection, Connection physicalConnection)
+    {
+        connection.toString() == "TenantAffinityConnection{" + physicalConnection + "}"
+    }
+
+    Connection prepareConnection(boolean autoCommit = true)
+    {
+        def connection = Mock(Connection)
+        connection.getAutoCommit() >> autoCommit
+        connection.isValid(_) >> true
+        connection.prepareStatement(_) >> Mock(PreparedStatement)
+        connection
+    }
+}
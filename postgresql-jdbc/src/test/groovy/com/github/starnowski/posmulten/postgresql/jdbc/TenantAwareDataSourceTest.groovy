@@ -0,0 +1,162 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.SQLException
+
+class TenantAwareDataSourceTest extends Specification {
+
+    static final String SET_TENANT_STATEMENT = "SELECT set_tenant(?);"
+
+    def dataSource = Mock(DataSource)
+    def factory = Mock(ISetCurrentTenantIdFunctionPreparedStatementInvocationFactory) {
+        returnPreparedStatementThatSetCurrentTenant() >> SET_TENANT_STATEMENT
+    }
+    def currentTenant = "tenant1"
+    def tested = new TenantAwareDataSource(dataSource, factory, { currentTenant })
+
+    def "should set tenant for each checkout by default"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+
+        when:
+            tested.getConnection().close()
+            tested.getConnection().close()
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            2 * preparedStatement.setString(1, "tenant1")
+            2 * preparedStatement.execute()
+            2 * connection.close()
+    }
+
+    def "should set tenant only for the first checkout of the same physical connection when skipping of redundant switches is enabled"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+            tested = new TenantAwareDataSource(dataSource, { currentTenant }, new CurrentTenantConnectionSwitcher(factory, true))
+
+        when:
+            tested.getConnection().close()
+            tested.getConnection().close()
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            1 * preparedStatement.setString(1, "tenant1")
+            1 * preparedStatement.execute()
+            2 * connection.close()
+    }
+
+    def "should set tenant again when the current tenant changes"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+
+        when:
+            tested.getConnection()
+            currentTenant = "tenant2"
+            tested.getConnection()
+
+        then:
+            1 * preparedStatement.setString(1, "tenant1")
+            1 * preparedStatement.setString(1, "tenant2")
+            2 * preparedStatement.execute()
+    }
+
+    def "should set tenant again after the transaction rollback"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            tested = new TenantAwareDataSource(dataSource, { currentTenant }, new CurrentTenantConnectionSwitcher(factory, true))
+
+        when:
+            def firstCheckout = tested.getConnection()
+            firstCheckout.rollback()
+            tested.getConnection()
+
+        then:
+            1 * connection.rollback()
+            2 * preparedStatement.execute()
+    }
+
+    def "should not return connection with tenant of its previous user when supplier returns null"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+            currentTenant = "tenantA"
+
+        when: "connection is borrowed by tenant A and returned to the pool"
+            tested.getConnection().close()
+
+        then:
+            1 * connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            1 * preparedStatement.setString(1, "tenantA")
+            1 * preparedStatement.execute()
+            1 * connection.close()
+
+        when: "the same physical connection is borrowed without tenant"
+            currentTenant = null
+            tested.getConnection()
+
+        then: "connection with the tenant A is not returned and goes back to the pool"
+            def ex = thrown(SQLException)
+            ex.message == "The current tenant was not resolved, the connection cannot be returned without setting the tenant"
+            0 * connection.prepareStatement(_)
+            0 * connection.createStatement()
+            1 * connection.close()
+    }
+
+    def "should close connection when tenant could not be set"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def preparedStatement = Mock(PreparedStatement)
+            dataSource.getConnection() >> connection
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> preparedStatement
+            preparedStatement.execute() >> { throw new SQLException("failed") }
+
+        when:
+            tested.getConnection()
+
+        then:
+            thrown(SQLException)
+            1 * connection.close()
+    }
+
+    def "should delegate other methods to the wrapped connection"()
+    {
+        given:
+            def connection = Mock(Connection)
+            dataSource.getConnection() >> connection
+            connection.prepareStatement(SET_TENANT_STATEMENT) >> Mock(PreparedStatement)
+            def wrapped = tested.getConnection()
+
+        when:
+            def autoCommit = wrapped.getAutoCommit()
+            wrapped.commit()
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.commit()
+            autoCommit
+            wrapped.equals(wrapped)
+            !wrapped.equals(connection)
+    }
+}
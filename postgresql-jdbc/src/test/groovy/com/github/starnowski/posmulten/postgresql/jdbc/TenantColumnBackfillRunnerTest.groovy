@@ -0,0 +1,139 @@
+package com.github.starnowski.posmulten.postgresql.jdbc
+
+import com.github.starnowski.posmulten.postgresql.core.TenantColumnBackfillStatements
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+
+class TenantColumnBackfillRunnerTest extends Specification {
+
+    def statements = new TenantColumnBackfillStatements("FIRST", "NEXT", ["id"])
+
+    def "should execute batches in separate transactions until there are no more keys and notify listener after each commit"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def firstStatement = Mock(PreparedStatement)
+            def nextStatement = Mock(PreparedStatement)
+            def listener = Mock(ITenantColumnBackfillListener)
+            def tested = new TenantColumnBackfillRunner(TenantColumnBackfillRunnerOptions.builder().withListener(listener).build())
+
+        when:
+            def result = tested.run(connection, statements)
+
+        then:
+            1 * connection.getAutoCommit() >> true
+            1 * connection.setAutoCommit(false)
+
+        then:
+            1 * connection.prepareStatement("FIRST") >> firstStatement
+            1 * firstStatement.executeQuery() >> resultSet([[3L, 10L]])
+            1 * connection.commit()
+            1 * listener.onBatchCommitted({ it.batchIndex == 0 && it.updatedRows == 3 && it.checkpoint == [10L] && it.totalUpdatedRows == 3 })
+
+        then:
+            1 * connection.prepareStatement("NEXT") >> nextStatement
+            1 * nextStatement.setObject(1, 10L)
+            1 * nextStatement.executeQuery() >> resultSet([[2L, 20L]])
+            1 * connection.commit()
+            1 * listener.onBatchCommitted({ it.batchIndex == 1 && it.updatedRows == 2 && it.checkpoint == [20L] && it.totalUpdatedRows == 5 })
+
+        then:
+            1 * nextStatement.setObject(1, 20L)
+            1 * nextStatement.executeQuery() >> resultSet([])
+            1 * connection.commit()
+            0 * listener.onBatchCommitted(_)
+
+        then:
+            1 * nextStatement.close()
+            1 * connection.setAutoCommit(true)
+
+        and:
+            result.isCompleted()
+            result.getUpdatedRows() == 5
+            result.getCheckpoint() == [20L]
+            result.getBatchesMetrics().size() == 2
+            result.getRowsPerSecond() > 0
+    }
+
+    def "should resume from the checkpoint and stop after maximum number of batches"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def nextStatement = Mock(PreparedStatement)
+            def tested = new TenantColumnBackfillRunner(TenantColumnBackfillRunnerOptions.builder().withMaxBatches(1).build())
+
+        when:
+            def result = tested.run(connection, new TenantColumnBackfillStatements("FIRST", "NEXT", ["post_id", "no"]), [7L, 2])
+
+        then:
+            0 * connection.prepareStatement("FIRST")
+            1 * connection.prepareStatement("NEXT") >> nextStatement
+            1 * nextStatement.setObject(1, 7L)
+            1 * nextStatement.setObject(2, 2)
+            1 * nextStatement.executeQuery() >> resultSet([[4L, 9L, 1]])
+            1 * connection.commit()
+
+        and:
+            !result.isCompleted()
+            result.getUpdatedRows() == 4
+            result.getCheckpoint() == [9L, 1]
+    }
+
+    def "should roll back failed batch and throw exception with the last committed checkpoint"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def firstStatement = Mock(PreparedStatement)
+            def nextStatement = Mock(PreparedStatement)
+            def sqlException = new SQLException("canceling statement due to lock timeout", "55P03")
+            def tested = new TenantColumnBackfillRunner()
+
+        when:
+            tested.run(connection, statements)
+
+        then:
+            1 * connection.getAutoCommit() >> false
+            1 * connection.setAutoCommit(false)
+            1 * connection.prepareStatement("FIRST") >> firstStatement
+            1 * firstStatement.executeQuery() >> resultSet([[3L, 10L]])
+            1 * connection.commit()
+
+        then:
+            1 * connection.prepareStatement("NEXT") >> nextStatement
+            1 * nextStatement.executeQuery() >> { throw sqlException }
+            1 * connection.rollback()
+            0 * connection.commit()
+
+        then: "auto-commit mode is restored"
+            1 * connection.setAutoCommit(false)
+            def ex = thrown(TenantColumnBackfillException)
+            ex.checkpoint == [10L]
+            ex.cause == sqlException
+            ex.SQLState == "55P03"
+            ex.message == "Failed to execute backfill batch with index 1: canceling statement due to lock timeout"
+    }
+
+    def "should throw exception when checkpoint does not have value for each key column"()
+    {
+        when:
+            new TenantColumnBackfillRunner().run(Mock(Connection), statements, [1L, 2L])
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "Checkpoint has to have a value for each key column"
+    }
+
+    private ResultSet resultSet(List<List<Object>> rows)
+    {
+        def resultSet = Mock(ResultSet)
+        def index = -1
+        resultSet.next() >> { ++index < rows.size() }
+        resultSet.getLong(1) >> { rows[index][0] as long }
+        resultSet.getObject(_ as Integer) >> { Integer column -> rows[index][column - 1] }
+        resultSet
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.starnowski.posmulten.postgresql.r2dbc;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the last tenant set for each physical connection.
+ * The R2DBC API does not allow to check if the connection is closed, that is why the connections are weakly referenced,
+ * and the state of connections that were garbage collected is removed with each access to the states.
+ */
+class ConnectionTenantStates {
+
+    private final Map<ConnectionReference, ConnectionTenantState> states = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    ConnectionTenantState getOrCreate(Object connection) {
+        expungeCollectedConnections();
+        ConnectionTenantState state = states.get(new ConnectionReference(connection, null));
+        if (state == null) {
+            ConnectionTenantState newState = new ConnectionTenantState();
+            state = states.putIfAbsent(new ConnectionReference(connection, queue), newState);
+            if (state == null) {
+                state = newState;
+            }
+        }
+        return state;
+    }
+
+    ConnectionTenantState get(Object connection) {
+        expungeCollectedConnections();
+        return states.get(new ConnectionReference(connection, null));
+    }
+
+    int size() {
+        expungeCollectedConnections();
+        return states.size();
+    }
+
+    private void expungeCollectedConnections() {
+        Object reference;
+        while ((reference = queue.poll()) != null) {
+            states.remove(reference);
+        }
+    }
+
+    static class ConnectionTenantState {
+        volatile String tenant;
+    }
+
+    private static class ConnectionReference extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        ConnectionReference(Object connection, ReferenceQueue<Object> queue) {
+            super(connection, queue);
+            this.hashCode = System.identityHashCode(connection);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConnectionReference)) {
+                return false;
+            }
+            Object referent = get();
+            return referent != null && referent == ((ConnectionReference) obj).get();
+        }
+    }
+}
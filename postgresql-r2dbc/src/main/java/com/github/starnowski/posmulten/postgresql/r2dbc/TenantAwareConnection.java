@@ -0,0 +1,112 @@
+package com.github.starnowski.posmulten.postgresql.r2dbc;
+
+import io.r2dbc.spi.*;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * The connection returned by the {@link TenantConnectionFactory}.
+ * The connection invalidates the information about the last tenant after the transaction rollback,
+ * because the rollback reverts changes applied by the function that sets the current tenant in the same transaction.
+ */
+class TenantAwareConnection implements Connection, Wrapped<Connection> {
+
+    private final Connection connection;
+    private final TenantConnectionFactory tenantConnectionFactory;
+
+    TenantAwareConnection(Connection connection, TenantConnectionFactory tenantConnectionFactory) {
+        this.connection = connection;
+        this.tenantConnectionFactory = tenantConnectionFactory;
+    }
+
+    @Override
+    public Publisher<Void> beginTransaction() {
+        return connection.beginTransaction();
+    }
+
+    @Override
+    public Publisher<Void> close() {
+        return connection.close();
+    }
+
+    @Override
+    public Publisher<Void> commitTransaction() {
+        return connection.commitTransaction();
+    }
+
+    @Override
+    public Batch createBatch() {
+        return connection.createBatch();
+    }
+
+    @Override
+    public Publisher<Void> createSavepoint(String name) {
+        return connection.createSavepoint(name);
+    }
+
+    @Override
+    public Statement createStatement(String sql) {
+        return connection.createStatement(sql);
+    }
+
+    @Override
+    public boolean isAutoCommit() {
+        return connection.isAutoCommit();
+    }
+
+    @Override
+    public ConnectionMetadata getMetadata() {
+        return connection.getMetadata();
+    }
+
+    @Override
+    public IsolationLevel getTransactionIsolationLevel() {
+        return connection.getTransactionIsolationLevel();
+    }
+
+    @Override
+    public Publisher<Void> releaseSavepoint(String name) {
+        return connection.releaseSavepoint(name);
+    }
+
+    @Override
+    public Publisher<Void> rollbackTransaction() {
+        return Mono.defer(() -> {
+            tenantConnectionFactory.invalidate(connection);
+            return Mono.from(connection.rollbackTransaction());
+        });
+    }
+
+    @Override
+    public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+        return Mono.defer(() -> {
+            tenantConnectionFactory.invalidate(connection);
+            return Mono.from(connection.rollbackTransactionToSavepoint(name));
+        });
+    }
+
+    @Override
+    public Publisher<Void> setAutoCommit(boolean autoCommit) {
+        return connection.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+        return connection.setTransactionIsolationLevel(isolationLevel);
+    }
+
+    @Override
+    public Publisher<Boolean> validate(ValidationDepth depth) {
+        return connection.validate(depth);
+    }
+
+    @Override
+    public Connection unwrap() {
+        return connection;
+    }
+
+    @Override
+    public String toString() {
+        return "TenantAwareConnection{" + connection + "}";
+    }
+}
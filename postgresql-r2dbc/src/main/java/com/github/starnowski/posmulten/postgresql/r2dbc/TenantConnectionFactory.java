@@ -0,0 +1,197 @@
+package com.github.starnowski.posmulten.postgresql.r2dbc;
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The connection factory decorator that sets the current tenant for each created connection.
+ * The tenant is read from the Reactor context of the subscriber (key {@link #TENANT_CONTEXT_KEY} by default), for example:
+ * <pre>
+ * Mono.usingWhen(tenantConnectionFactory.create(), connection -&gt; ..., Connection::close)
+ *      .contextWrite(TenantConnectionFactory.tenantContext("xds"));
+ * </pre>
+ * If the context does not contain the tenant then the error is emitted and no connection is acquired,
+ * because the pooled connection could still have the tenant set by its previous user.
+ * The function that sets the current tenant is invoked with the tenant passed as the bound parameter
+ * (see {@link ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory}) for each created connection.
+ * The component created with the option that skips redundant switches
+ * (see {@link #TenantConnectionFactory(ConnectionFactory, ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory, Object, boolean)})
+ * invokes the function only when the physical connection has a different tenant than the current one.
+ * The physical connection is resolved by the {@link Wrapped#unwrap()} method, so the connection returned by the connection pool
+ * is mapped to the same state for each acquisition. That is why the decorator should wrap the connection pool, not the driver connection factory.
+ * The component does not block threads and does not use locks.
+ * The returned connection invalidates the information about the last tenant after the transaction rollback.
+ * The component can not be used with the function that sets the current tenant only for the current transaction
+ * (see {@link ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory#isTransactionScoped()}), because such a tenant is reset
+ * at the end of each transaction and the remembered tenant would be stale.
+ */
+public class TenantConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    public static final String TENANT_CONTEXT_KEY = "posmulten.tenant";
+
+    private final ConnectionFactory connectionFactory;
+    private final ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory setCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+    private final Object tenantContextKey;
+    private final boolean skipRedundantSwitches;
+    private final ConnectionTenantStates states = new ConnectionTenantStates();
+    private final AtomicLong tenantSwitchesCount = new AtomicLong();
+    private final AtomicLong skippedTenantSwitchesCount = new AtomicLong();
+
+    public TenantConnectionFactory(ConnectionFactory connectionFactory, ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory setCurrentTenantIdFunctionIndexedParameterInvocationFactory) {
+        this(connectionFactory, setCurrentTenantIdFunctionIndexedParameterInvocationFactory, TENANT_CONTEXT_KEY);
+    }
+
+    public TenantConnectionFactory(ConnectionFactory connectionFactory, ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory setCurrentTenantIdFunctionIndexedParameterInvocationFactory, Object tenantContextKey) {
+        this(connectionFactory, setCurrentTenantIdFunctionIndexedParameterInvocationFactory, tenantContextKey, false);
+    }
+
+    /**
+     * Creates the decorator that can skip the invocation of the function that sets the current tenant when the last tenant
+     * set by this component for the physical connection is the same.
+     * <p>
+     * <b>Skipping is unsafe unless this component is the only writer of the current tenant property for the physical connections.</b>
+     * The remembered tenant becomes stale, and the connection keeps the tenant of the previous user (or no tenant at all)
+     * when the property is changed or reset without this component, for example:
+     * <ul>
+     *     <li>other component that shares the same physical connection sets the tenant</li>
+     *     <li>the application invokes the function that sets the current tenant directly</li>
+     *     <li>the "DISCARD ALL" or "RESET" statement is executed, for example by the connection pool</li>
+     *     <li>the transaction that set the tenant is rolled back and the rollback is not reported by the {@link #invalidate(Connection)} method</li>
+     * </ul>
+     * @param connectionFactory decorated connection factory
+     * @param setCurrentTenantIdFunctionIndexedParameterInvocationFactory factory of the statement that sets the current tenant
+     * @param tenantContextKey key of the tenant in the Reactor context
+     * @param skipRedundantSwitches if true then the function is not invoked when the physical connection already has the same tenant
+     */
+    public TenantConnectionFactory(ConnectionFactory connectionFactory, ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory setCurrentTenantIdFunctionIndexedParameterInvocationFactory, Object tenantContextKey, boolean skipRedundantSwitches) {
+        if (setCurrentTenantIdFunctionIndexedParameterInvocationFactory.isTransactionScoped()) {
+            throw new IllegalArgumentException("The component cannot be used with the function that sets the current tenant only for the current transaction");
+        }
+        this.connectionFactory = connectionFactory;
+        this.setCurrentTenantIdFunctionIndexedParameterInvocationFactory = setCurrentTenantIdFunctionIndexedParameterInvocationFactory;
+        this.tenantContextKey = tenantContextKey;
+        this.skipRedundantSwitches = skipRedundantSwitches;
+    }
+
+    /**
+     * @param tenant tenant identifier
+     * @return Reactor context with the tenant stored for the default key {@link #TENANT_CONTEXT_KEY}
+     */
+    public static Context tenantContext(String tenant) {
+        return Context.of(TENANT_CONTEXT_KEY, tenant);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(contextView -> {
+            String tenant = contextView.getOrDefault(tenantContextKey, null);
+            if (tenant == null) {
+                return Mono.error(new IllegalStateException("The current tenant was not resolved, the connection cannot be returned without setting the tenant"));
+            }
+            return Mono.from(connectionFactory.create()).flatMap(connection -> switchTenant(connection, tenant));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return connectionFactory.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return connectionFactory;
+    }
+
+    /**
+     * Removes the information about the last tenant set for the physical connection.
+     * The method should be invoked when the tenant could be changed without this component, for example after the "DISCARD ALL" statement.
+     * @param connection database connection
+     */
+    public void invalidate(Connection connection) {
+        ConnectionTenantStates.ConnectionTenantState state = states.get(resolvePhysicalConnection(connection));
+        if (state != null) {
+            state.tenant = null;
+        }
+    }
+
+    /**
+     * @param connection database connection
+     * @return the last tenant set for the physical connection or null if it is unknown
+     */
+    public String getLastTenant(Connection connection) {
+        ConnectionTenantStates.ConnectionTenantState state = states.get(resolvePhysicalConnection(connection));
+        return state == null ? null : state.tenant;
+    }
+
+    /**
+     * @return number of invocations of the function that sets the current tenant
+     */
+    public long getTenantSwitchesCount() {
+        return tenantSwitchesCount.get();
+    }
+
+    /**
+     * @return true if the function is not invoked when the physical connection already has the same tenant
+     */
+    public boolean isSkipRedundantSwitches() {
+        return skipRedundantSwitches;
+    }
+
+    /**
+     * @return number of skipped invocations of the function that sets the current tenant, because the connection had already the same tenant
+     */
+    public long getSkippedTenantSwitchesCount() {
+        return skippedTenantSwitchesCount.get();
+    }
+
+    int getTrackedConnectionsCount() {
+        return states.size();
+    }
+
+    private Mono<Connection> switchTenant(Connection connection, String tenant) {
+        Connection tenantAwareConnection = new TenantAwareConnection(connection, this);
+        ConnectionTenantStates.ConnectionTenantState state = states.getOrCreate(resolvePhysicalConnection(connection));
+        if (skipRedundantSwitches && tenant.equals(state.tenant)) {
+            skippedTenantSwitchesCount.incrementAndGet();
+            return Mono.just(tenantAwareConnection);
+        }
+        state.tenant = null;
+        return Flux.from(connection.createStatement(setCurrentTenantIdFunctionIndexedParameterInvocationFactory.returnStatementWithIndexedParameterThatSetCurrentTenant())
+                .bind(0, tenant)
+                .execute())
+                .flatMap(Result::getRowsUpdated)
+                .then(Mono.fromRunnable(() -> {
+                    state.tenant = tenant;
+                    tenantSwitchesCount.incrementAndGet();
+                }))
+                .thenReturn(tenantAwareConnection)
+                .onErrorResume(e -> Mono.from(connection.close())
+                        .onErrorResume(closeException -> {
+                            e.addSuppressed(closeException);
+                            return Mono.empty();
+                        })
+                        .then(Mono.error(e)));
+    }
+
+    static Object resolvePhysicalConnection(Connection connection) {
+        Object current = connection;
+        while (current instanceof Wrapped) {
+            Object unwrapped = ((Wrapped<?>) current).unwrap();
+            if (!(unwrapped instanceof Connection) || unwrapped == current) {
+                break;
+            }
+            current = unwrapped;
+        }
+        return current;
+    }
+}
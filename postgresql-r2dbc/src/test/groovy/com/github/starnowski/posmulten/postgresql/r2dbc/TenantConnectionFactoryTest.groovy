@@ -0,0 +1,200 @@
+package com.github.starnowski.posmulten.postgresql.r2dbc
+
+import com.github.starnowski.posmulten.postgresql.core.rls.function.ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory
+import io.r2dbc.spi.Connection
+import io.r2dbc.spi.ConnectionFactory
+import io.r2dbc.spi.Result
+import io.r2dbc.spi.Statement
+import io.r2dbc.spi.Wrapped
+import reactor.core.publisher.Mono
+import reactor.util.context.Context
+import spock.lang.Specification
+
+class TenantConnectionFactoryTest extends Specification {
+
+    static final String SET_TENANT_STATEMENT = "SELECT set_current_tenant(\$1);"
+
+    def invocationFactory = Mock(ISetCurrentTenantIdFunctionIndexedParameterInvocationFactory)
+    def connectionFactory = Mock(ConnectionFactory)
+
+    def setup()
+    {
+        invocationFactory.returnStatementWithIndexedParameterThatSetCurrentTenant() >> SET_TENANT_STATEMENT
+    }
+
+    def "should set tenant from Reactor context as bound parameter"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def result = Mock(Result)
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory)
+
+        when:
+            def returned = Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+
+        then:
+            1 * connectionFactory.create() >> Mono.just(connection)
+            1 * connection.createStatement(SET_TENANT_STATEMENT) >> statement
+            1 * statement.bind(0, "t1") >> statement
+            1 * statement.execute() >> Mono.just(result)
+            1 * result.getRowsUpdated() >> Mono.just(1)
+
+        and:
+            returned instanceof Wrapped
+            ((Wrapped) returned).unwrap().is(connection)
+            tested.getLastTenant(connection) == "t1"
+            tested.getTenantSwitchesCount() == 1
+            tested.getSkippedTenantSwitchesCount() == 0
+    }
+
+    def "should set tenant for each created connection by default"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            def firstPooledConnection = Mock(PooledConnection)
+            def secondPooledConnection = Mock(PooledConnection)
+            firstPooledConnection.unwrap() >> physicalConnection
+            secondPooledConnection.unwrap() >> physicalConnection
+            def statement = Mock(Statement)
+            statement.execute() >> Mono.just(Mock(Result) { getRowsUpdated() >> Mono.empty() })
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory)
+
+        when:
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+
+        then:
+            2 * connectionFactory.create() >>> [Mono.just(firstPooledConnection), Mono.just(secondPooledConnection)]
+            1 * firstPooledConnection.createStatement(SET_TENANT_STATEMENT) >> statement
+            1 * secondPooledConnection.createStatement(SET_TENANT_STATEMENT) >> statement
+            2 * statement.bind(0, "t1") >> statement
+
+        and:
+            !tested.isSkipRedundantSwitches()
+            tested.getTenantSwitchesCount() == 2
+            tested.getSkippedTenantSwitchesCount() == 0
+    }
+
+    def "should skip tenant switch when physical connection of pooled connection has already the same tenant and skipping is enabled"()
+    {
+        given:
+            def physicalConnection = Mock(Connection)
+            def firstPooledConnection = Mock(PooledConnection)
+            def secondPooledConnection = Mock(PooledConnection)
+            firstPooledConnection.unwrap() >> physicalConnection
+            secondPooledConnection.unwrap() >> physicalConnection
+            def statement = Mock(Statement)
+            statement.bind(_, _) >> statement
+            statement.execute() >> Mono.just(Mock(Result) { getRowsUpdated() >> Mono.empty() })
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory, TenantConnectionFactory.TENANT_CONTEXT_KEY, true)
+
+        when:
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t2")).block()
+
+        then:
+            3 * connectionFactory.create() >>> [Mono.just(firstPooledConnection), Mono.just(secondPooledConnection), Mono.just(firstPooledConnection)]
+            1 * firstPooledConnection.createStatement(SET_TENANT_STATEMENT) >> statement
+            0 * secondPooledConnection.createStatement(_)
+
+        then:
+            1 * firstPooledConnection.createStatement(SET_TENANT_STATEMENT) >> statement
+
+        and:
+            tested.getTenantSwitchesCount() == 2
+            tested.getSkippedTenantSwitchesCount() == 1
+            tested.getLastTenant(secondPooledConnection) == "t2"
+            tested.getTrackedConnectionsCount() == 1
+    }
+
+    def "should emit error and not acquire connection when Reactor context does not contain tenant"()
+    {
+        given:
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory)
+
+        when:
+            Mono.from(tested.create()).block()
+
+        then:
+            def ex = thrown(IllegalStateException)
+            ex.message == "The current tenant was not resolved, the connection cannot be returned without setting the tenant"
+            0 * connectionFactory.create()
+    }
+
+    def "should read tenant from Reactor context for custom key"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory, "customKey")
+
+        when:
+            Mono.from(tested.create()).contextWrite(Context.of("customKey", "t5")).block()
+
+        then:
+            1 * connectionFactory.create() >> Mono.just(connection)
+            1 * connection.createStatement(SET_TENANT_STATEMENT) >> statement
+            1 * statement.bind(0, "t5") >> statement
+            1 * statement.execute() >> Mono.empty()
+            tested.getLastTenant(connection) == "t5"
+    }
+
+    def "should close connection and not remember tenant when tenant switch failed"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            statement.bind(_, _) >> statement
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory)
+
+        when:
+            Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+
+        then:
+            1 * connectionFactory.create() >> Mono.just(connection)
+            1 * connection.createStatement(SET_TENANT_STATEMENT) >> statement
+            1 * statement.execute() >> Mono.error(new IllegalStateException("Tenant is invalid"))
+            1 * connection.close() >> Mono.empty()
+            def ex = thrown(IllegalStateException)
+            ex.message == "Tenant is invalid"
+            tested.getLastTenant(connection) == null
+    }
+
+    def "should invalidate last tenant after transaction rollback"()
+    {
+        given:
+            def connection = Mock(Connection)
+            def statement = Mock(Statement)
+            statement.bind(_, _) >> statement
+            statement.execute() >> Mono.empty()
+            connection.createStatement(_) >> statement
+            connectionFactory.create() >> Mono.just(connection)
+            def tested = new TenantConnectionFactory(connectionFactory, invocationFactory)
+            def returned = Mono.from(tested.create()).contextWrite(TenantConnectionFactory.tenantContext("t1")).block()
+
+        when:
+            Mono.from(returned.rollbackTransaction()).block()
+
+        then:
+            1 * connection.rollbackTransaction() >> Mono.empty()
+            tested.getLastTenant(connection) == null
+    }
+
+    interface PooledConnection extends Connection, Wrapped<Connection> {
+    }
+
+    def "should refuse the function that sets the current tenant only for the current transaction"()
+    {
+        given:
+            invocationFactory.isTransactionScoped() >> true
+
+        when:
+            new TenantConnectionFactory(connectionFactory, invocationFactory)
+
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message == "The component cannot be used with the function that sets the current tenant only for the current transaction"
+    }
+}
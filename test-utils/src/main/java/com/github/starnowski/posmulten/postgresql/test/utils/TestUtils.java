@@ -99,6 +99,44 @@ public class TestUtils {
         });
     }
 
+    public static String selectAndReturnExecutionPlanWithSettingCurrentTenantId(JdbcTemplate jdbcTemplate, String selectStatement, String setCurrentTenantIdStatement)
+    {
+        return jdbcTemplate.execute(new StatementCallback<String>() {
+            @Override
+            public String doInStatement(Statement statement) throws SQLException, DataAccessException {
+                statement.execute(setCurrentTenantIdStatement);
+                return returnExecutionPlan(statement, selectStatement);
+            }
+        });
+    }
+
+    public static String selectAndReturnExecutionPlanWithSettingCurrentTenantIdAndDisabledSequentialScan(JdbcTemplate jdbcTemplate, String selectStatement, String setCurrentTenantIdStatement)
+    {
+        return jdbcTemplate.execute(new StatementCallback<String>() {
+            @Override
+            public String doInStatement(Statement statement) throws SQLException, DataAccessException {
+                statement.execute(setCurrentTenantIdStatement);
+                statement.execute("SET enable_seqscan = off");
+                try {
+                    return returnExecutionPlan(statement, selectStatement);
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+
+    private static String returnExecutionPlan(Statement statement, String selectStatement) throws SQLException
+    {
+        ResultSet rs = statement.executeQuery("EXPLAIN " + selectStatement);
+        StringBuilder sb = new StringBuilder();
+        while (rs.next()) {
+            sb.append(rs.getString(1));
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
     public static void dropFunction(JdbcTemplate jdbcTemplate, String functionName, String schema, String... argumentsTypes)
     {
         String functionReference = returnFunctionReference(functionName, schema);